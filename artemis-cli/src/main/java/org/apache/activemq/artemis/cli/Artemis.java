@@ -42,6 +42,10 @@ import org.apache.activemq.artemis.cli.commands.address.UpdateAddress;
 import org.apache.activemq.artemis.cli.commands.messages.Browse;
 import org.apache.activemq.artemis.cli.commands.messages.Consumer;
 import org.apache.activemq.artemis.cli.commands.messages.Producer;
+import org.apache.activemq.artemis.cli.commands.messages.perf.HelpPerf;
+import org.apache.activemq.artemis.cli.commands.messages.perf.PerfClient;
+import org.apache.activemq.artemis.cli.commands.messages.perf.PerfConsumer;
+import org.apache.activemq.artemis.cli.commands.messages.perf.PerfProducer;
 import org.apache.activemq.artemis.cli.commands.migration1x.Migrate1X;
 import org.apache.activemq.artemis.cli.commands.queue.CreateQueue;
 import org.apache.activemq.artemis.cli.commands.queue.DeleteQueue;
@@ -157,6 +161,9 @@ public class Artemis {
       builder.withGroup("queue").withDescription("Queue tools group (create|delete|update|stat|purge) (example ./artemis queue create)").
          withDefaultCommand(HelpQueue.class).withCommands(CreateQueue.class, DeleteQueue.class, UpdateQueue.class, StatQueue.class, PurgeQueue.class);
 
+      builder.withGroup("perf").withDescription("Perf tools group (producer|consumer|client) (example ./artemis perf client)").
+         withDefaultCommand(HelpPerf.class).withCommands(PerfProducer.class, PerfConsumer.class, PerfClient.class);
+
       builder.withGroup("address").withDescription("Address tools group (create|delete|update|show) (example ./artemis address create)").
          withDefaultCommand(HelpAddress.class).withCommands(CreateAddress.class, DeleteAddress.class, UpdateAddress.class, ShowAddress.class);
 
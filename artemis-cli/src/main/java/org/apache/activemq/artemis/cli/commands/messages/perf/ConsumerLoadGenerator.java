@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+
+/**
+ * It receives the messages of a consumer, recording their end-to-end latency
+ * from the send time set by a {@link ProducerLoadGenerator}.
+ */
+final class ConsumerLoadGenerator implements MessageListener {
+
+   private final LoadStatistics statistics;
+
+   private final long messageCount;
+
+   private long received;
+
+   private volatile boolean finished;
+
+   private volatile Exception failure;
+
+   /**
+    * @param messageCount the number of messages to receive or {@code 0} to receive until stopped
+    */
+   ConsumerLoadGenerator(final LoadStatistics statistics, final long messageCount) {
+      this.statistics = statistics;
+      this.messageCount = messageCount;
+   }
+
+   boolean isFinished() {
+      return finished;
+   }
+
+   Exception getFailure() {
+      return failure;
+   }
+
+   @Override
+   public void onMessage(final Message message) {
+      if (finished) {
+         return;
+      }
+      try {
+         final long receiveTime = LoadStatistics.epochNanos();
+         if (message.propertyExists(ProducerLoadGenerator.SEND_TIME_PROPERTY)) {
+            statistics.messageReceived(receiveTime - message.getLongProperty(ProducerLoadGenerator.SEND_TIME_PROPERTY));
+         } else {
+            // not sent by a perf producer: it counts, but it has no latency
+            statistics.messageReceived();
+         }
+      } catch (JMSException e) {
+         failure = e;
+         finished = true;
+         return;
+      }
+      // the session delivers to a single listener thread at a time
+      if (messageCount > 0 && ++received == messageCount) {
+         finished = true;
+      }
+   }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * The counters and the latency histograms of a load, updated by the load generators
+ * and sampled at each report interval by a single reporting thread.
+ * <br>
+ * The latencies are recorded in nanoseconds: the intervals sampled after the warm-up are added to the totals.
+ */
+final class LoadStatistics {
+
+   private static final int SIGNIFICANT_DIGITS = 3;
+
+   // the send times are exchanged between processes as epoch nanoseconds
+   private static final long EPOCH_NANOS_BASE = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+   private static final long NANO_TIME_BASE = System.nanoTime();
+
+   private final LongAdder sent = new LongAdder();
+
+   private final LongAdder received = new LongAdder();
+
+   private final Recorder sendLatency = new Recorder(SIGNIFICANT_DIGITS);
+
+   private final Recorder endToEndLatency = new Recorder(SIGNIFICANT_DIGITS);
+
+   private final Histogram totalSendLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+   private final Histogram totalEndToEndLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+   private Histogram intervalSendLatency;
+
+   private Histogram intervalEndToEndLatency;
+
+   private long intervalStart = System.nanoTime();
+
+   private long lastSent;
+
+   private long lastReceived;
+
+   private long totalSent;
+
+   private long totalReceived;
+
+   private long measuredNanos;
+
+   static long toEpochNanos(final long nanoTime) {
+      return EPOCH_NANOS_BASE + (nanoTime - NANO_TIME_BASE);
+   }
+
+   static long epochNanos() {
+      return toEpochNanos(System.nanoTime());
+   }
+
+   void messageSent(final long latencyNanos) {
+      sendLatency.recordValue(Math.max(0, latencyNanos));
+      sent.increment();
+   }
+
+   void messageReceived(final long latencyNanos) {
+      // the clocks of different processes could be slightly off
+      endToEndLatency.recordValue(Math.max(0, latencyNanos));
+      received.increment();
+   }
+
+   void messageReceived() {
+      received.increment();
+   }
+
+   long sentCount() {
+      return sent.sum();
+   }
+
+   long receivedCount() {
+      return received.sum();
+   }
+
+   /**
+    * It closes the current interval and opens the next one: the returned histograms are valid
+    * until the next call.
+    *
+    * @param measured {@code true} if the interval is not part of the warm-up
+    */
+   Interval nextInterval(final boolean measured) {
+      final long now = System.nanoTime();
+      intervalSendLatency = sendLatency.getIntervalHistogram(intervalSendLatency);
+      intervalEndToEndLatency = endToEndLatency.getIntervalHistogram(intervalEndToEndLatency);
+      final long sentCount = sent.sum();
+      final long receivedCount = received.sum();
+      final Interval interval = new Interval(now - intervalStart, sentCount - lastSent, receivedCount - lastReceived, intervalSendLatency, intervalEndToEndLatency);
+      intervalStart = now;
+      lastSent = sentCount;
+      lastReceived = receivedCount;
+      if (measured) {
+         measuredNanos += interval.elapsedNanos;
+         totalSent += interval.sent;
+         totalReceived += interval.received;
+         totalSendLatency.add(intervalSendLatency);
+         totalEndToEndLatency.add(intervalEndToEndLatency);
+      }
+      return interval;
+   }
+
+   long getMeasuredNanos() {
+      return measuredNanos;
+   }
+
+   long getTotalSent() {
+      return totalSent;
+   }
+
+   long getTotalReceived() {
+      return totalReceived;
+   }
+
+   Histogram getTotalSendLatency() {
+      return totalSendLatency;
+   }
+
+   Histogram getTotalEndToEndLatency() {
+      return totalEndToEndLatency;
+   }
+
+   static final class Interval {
+
+      final long elapsedNanos;
+
+      final long sent;
+
+      final long received;
+
+      final Histogram sendLatency;
+
+      final Histogram endToEndLatency;
+
+      Interval(final long elapsedNanos,
+               final long sent,
+               final long received,
+               final Histogram sendLatency,
+               final Histogram endToEndLatency) {
+         this.elapsedNanos = elapsedNanos;
+         this.sent = sent;
+         this.received = received;
+         this.sendLatency = sendLatency;
+         this.endToEndLatency = endToEndLatency;
+      }
+   }
+}
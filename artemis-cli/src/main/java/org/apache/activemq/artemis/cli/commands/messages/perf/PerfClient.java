@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.ConnectionFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+
+@Command(name = "client", description = "It will send messages to an instance and consume them, reporting throughput and latency percentiles")
+public class PerfClient extends PerfProducer {
+
+   private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+   @Option(name = "--consumers", description = "Number of consumers on each destination (Default: 1)")
+   int consumers = 1;
+
+   private long producersFinishedTime;
+
+   public PerfClient() {
+      super(true);
+   }
+
+   @Override
+   protected void startLoad(ConnectionFactory factory, LoadStatistics statistics) throws Exception {
+      if (consumers < 1) {
+         throw new IllegalArgumentException("--consumers must be positive");
+      }
+      // the consumers are started first to not miss any message sent to a topic
+      startConsumers(factory, statistics, consumers, 0);
+      super.startLoad(factory, statistics);
+   }
+
+   @Override
+   protected boolean isLoadCompleted(LoadStatistics statistics) {
+      if (!isProducersFinished()) {
+         return false;
+      }
+      final long expected = statistics.sentCount() * (isTopic() ? consumers : 1);
+      if (statistics.receivedCount() >= expected) {
+         return true;
+      }
+      // the messages still to be received after the producers have finished are drained for a limited time
+      final long now = System.nanoTime();
+      if (producersFinishedTime == 0) {
+         producersFinishedTime = now;
+      }
+      if (now - producersFinishedTime >= DRAIN_TIMEOUT_NANOS) {
+         context.err.println("Not all the messages sent have been received: " + statistics.receivedCount() + " out of " + expected);
+         return true;
+      }
+      return false;
+   }
+}
@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.airlift.airline.Option;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.apache.activemq.artemis.cli.commands.ActionContext;
+import org.apache.activemq.artemis.cli.commands.messages.ConnectionAbstract;
+import org.apache.activemq.artemis.utils.JsonLoader;
+
+/**
+ * The base of the perf commands: it starts the load generators and reports throughput and latency percentiles
+ * on each interval until the load is completed, then it reports the totals measured after the warm-up.
+ */
+public abstract class PerfCommand extends ConnectionAbstract {
+
+   private static final String QUEUE_PREFIX = "queue://";
+
+   private static final String TOPIC_PREFIX = "topic://";
+
+   private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+   private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+   private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+   @Option(name = "--destination", description = "Destination to be used. It can be prefixed with queue:// or topic:// (Default: queue://TEST)")
+   String destination = QUEUE_PREFIX + "TEST";
+
+   @Option(name = "--num-destinations", description = "Number of destinations to spread the load on: if more than one, their names are the one of --destination with a .<index> suffix (Default: 1)")
+   int numDestinations = 1;
+
+   @Option(name = "--message-count", description = "Number of messages each producer sends or each consumer receives, 0 for no limit (Default: 0)")
+   long messageCount = 0;
+
+   @Option(name = "--duration", description = "Seconds of load measured after the warm-up, 0 to run until --message-count is reached (Default: 0)")
+   int duration = 0;
+
+   @Option(name = "--warmup", description = "Seconds of load before the measured one (Default: 0)")
+   int warmup = 0;
+
+   @Option(name = "--report-interval", description = "Seconds between the reports (Default: 1)")
+   int reportInterval = 1;
+
+   @Option(name = "--hdr-file", description = "File to write the latency histograms of each measured interval to, in the HdrHistogram log format with values in nanoseconds")
+   String hdrFile;
+
+   @Option(name = "--json-file", description = "File to write the summary of the measured load to, in JSON")
+   String jsonFile;
+
+   private final boolean producing;
+
+   private final boolean consuming;
+
+   private final List<Connection> connections = new ArrayList<>();
+
+   private final List<ProducerLoadGenerator> producers = new ArrayList<>();
+
+   private final List<Thread> producerThreads = new ArrayList<>();
+
+   private final List<ConsumerLoadGenerator> consumers = new ArrayList<>();
+
+   protected PerfCommand(boolean producing, boolean consuming) {
+      this.producing = producing;
+      this.consuming = consuming;
+   }
+
+   /**
+    * It starts the load generators, using {@link #startProducers} and {@link #startConsumers}.
+    */
+   protected abstract void startLoad(ConnectionFactory factory, LoadStatistics statistics) throws Exception;
+
+   /**
+    * @return {@code true} if the load is completed before the end of the duration
+    */
+   protected abstract boolean isLoadCompleted(LoadStatistics statistics);
+
+   @Override
+   public Object execute(ActionContext context) throws Exception {
+      super.execute(context);
+
+      if (numDestinations < 1 || reportInterval < 1 || duration < 0 || warmup < 0 || messageCount < 0) {
+         throw new IllegalArgumentException("--num-destinations and --report-interval must be positive, --duration, --warmup and --message-count can't be negative");
+      }
+
+      final ConnectionFactory factory = createConnectionFactory();
+      final LoadStatistics statistics = new LoadStatistics();
+      try {
+         startLoad(factory, statistics);
+         runLoad(statistics);
+      } finally {
+         stopLoad();
+         if (factory instanceof AutoCloseable) {
+            ((AutoCloseable) factory).close();
+         }
+      }
+
+      final Exception failure = getFailure();
+      if (failure != null) {
+         throw failure;
+      }
+      return summary(statistics);
+   }
+
+   protected final boolean isTopic() {
+      return destination.startsWith(TOPIC_PREFIX);
+   }
+
+   protected final int getNumDestinations() {
+      return numDestinations;
+   }
+
+   protected final boolean isProducersFinished() {
+      for (ProducerLoadGenerator producer : producers) {
+         if (!producer.isFinished()) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   protected final boolean isConsumersFinished() {
+      for (ConsumerLoadGenerator consumer : consumers) {
+         if (!consumer.isFinished()) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * It starts {@code producersPerDestination} producers on each destination, each one with its own connection and thread.
+    *
+    * @param rate the messages per second sent by all the producers together or {@code 0} to send on closed loop
+    */
+   protected final void startProducers(ConnectionFactory factory,
+                                       LoadStatistics statistics,
+                                       int producersPerDestination,
+                                       long rate,
+                                       int messageSize,
+                                       boolean persistent,
+                                       int transactionBatchSize) throws JMSException {
+      final int producerCount = producersPerDestination * numDestinations;
+      final long periodNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(producerCount) / rate : 0;
+      for (int i = 0; i < producersPerDestination; i++) {
+         for (int d = 0; d < numDestinations; d++) {
+            final Connection connection = createConnection(factory);
+            final Session session = transactionBatchSize > 0 ? connection.createSession(true, Session.SESSION_TRANSACTED) : connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            final ProducerLoadGenerator producer = new ProducerLoadGenerator(session, lookupDestination(session, d), statistics, messageSize, persistent, messageCount, periodNanos, transactionBatchSize);
+            producers.add(producer);
+            producerThreads.add(new Thread(producer, "perf-producer-" + producers.size()));
+         }
+      }
+      for (Thread thread : producerThreads) {
+         thread.start();
+      }
+   }
+
+   /**
+    * It starts {@code consumersPerDestination} consumers on each destination, each one with its own connection.
+    *
+    * @param messageCount the number of messages each consumer receives or {@code 0} for no limit
+    */
+   protected final void startConsumers(ConnectionFactory factory,
+                                       LoadStatistics statistics,
+                                       int consumersPerDestination,
+                                       long messageCount) throws JMSException {
+      for (int i = 0; i < consumersPerDestination; i++) {
+         for (int d = 0; d < numDestinations; d++) {
+            final Connection connection = createConnection(factory);
+            final Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            final ConsumerLoadGenerator consumer = new ConsumerLoadGenerator(statistics, messageCount);
+            final MessageConsumer messageConsumer = session.createConsumer(lookupDestination(session, d));
+            messageConsumer.setMessageListener(consumer);
+            consumers.add(consumer);
+            connection.start();
+         }
+      }
+   }
+
+   private Connection createConnection(ConnectionFactory factory) throws JMSException {
+      final Connection connection = factory.createConnection();
+      connections.add(connection);
+      return connection;
+   }
+
+   private Destination lookupDestination(Session session, int index) throws JMSException {
+      String name = destination;
+      if (name.startsWith(TOPIC_PREFIX)) {
+         name = name.substring(TOPIC_PREFIX.length());
+      } else if (name.startsWith(QUEUE_PREFIX)) {
+         name = name.substring(QUEUE_PREFIX.length());
+      }
+      if (numDestinations > 1) {
+         name = name + "." + index;
+      }
+      return isTopic() ? session.createTopic(name) : session.createQueue(name);
+   }
+
+   private Exception getFailure() {
+      for (ProducerLoadGenerator producer : producers) {
+         if (producer.getFailure() != null) {
+            return producer.getFailure();
+         }
+      }
+      for (ConsumerLoadGenerator consumer : consumers) {
+         if (consumer.getFailure() != null) {
+            return consumer.getFailure();
+         }
+      }
+      return null;
+   }
+
+   private void runLoad(LoadStatistics statistics) throws Exception {
+      try (PrintStream hdrStream = hdrFile == null ? null : new PrintStream(new FileOutputStream(hdrFile), false, "UTF-8")) {
+         final HistogramLogWriter hdrWriter = hdrStream == null ? null : createHistogramLogWriter(hdrStream);
+         final long reportIntervalNanos = TimeUnit.SECONDS.toNanos(reportInterval);
+         final long start = System.nanoTime();
+         final long warmupEnd = start + TimeUnit.SECONDS.toNanos(warmup);
+         final long end = duration > 0 ? warmupEnd + TimeUnit.SECONDS.toNanos(duration) : Long.MAX_VALUE;
+         boolean warmingUp = warmup > 0;
+         long nextReport = start + reportIntervalNanos;
+         boolean completed = false;
+         while (!completed) {
+            final long deadline = Math.min(warmingUp ? Math.min(nextReport, warmupEnd) : nextReport, end);
+            completed = awaitCompletion(statistics, deadline);
+            final long now = System.nanoTime();
+            final LoadStatistics.Interval interval = statistics.nextInterval(!warmingUp);
+            report(interval, now - start, warmingUp);
+            if (hdrWriter != null && !warmingUp) {
+               writeInterval(hdrWriter, interval);
+            }
+            if (warmingUp && now - warmupEnd >= 0) {
+               warmingUp = false;
+            }
+            if (now - nextReport >= 0) {
+               nextReport += reportIntervalNanos;
+            }
+            if (end != Long.MAX_VALUE && now - end >= 0) {
+               completed = true;
+            }
+         }
+      }
+   }
+
+   private boolean awaitCompletion(LoadStatistics statistics, long deadline) {
+      long remaining;
+      while ((remaining = deadline - System.nanoTime()) > 0) {
+         if (getFailure() != null || isLoadCompleted(statistics)) {
+            return true;
+         }
+         LockSupport.parkNanos(Math.min(remaining, POLL_NANOS));
+      }
+      return getFailure() != null || isLoadCompleted(statistics);
+   }
+
+   private void stopLoad() throws InterruptedException {
+      for (ProducerLoadGenerator producer : producers) {
+         producer.stop();
+      }
+      for (Thread thread : producerThreads) {
+         thread.join(TimeUnit.SECONDS.toMillis(10));
+      }
+      for (Connection connection : connections) {
+         try {
+            connection.close();
+         } catch (JMSException e) {
+            context.err.println("Error closing connection::" + e.getMessage());
+         }
+      }
+   }
+
+   private HistogramLogWriter createHistogramLogWriter(PrintStream stream) {
+      final HistogramLogWriter writer = new HistogramLogWriter(stream);
+      final long startTime = System.currentTimeMillis();
+      writer.outputLogFormatVersion();
+      writer.outputStartTime(startTime);
+      writer.setBaseTime(startTime);
+      writer.outputLegend();
+      return writer;
+   }
+
+   private void writeInterval(HistogramLogWriter writer, LoadStatistics.Interval interval) {
+      if (producing) {
+         interval.sendLatency.setTag("send");
+         writer.outputIntervalHistogram(interval.sendLatency);
+      }
+      if (consuming) {
+         interval.endToEndLatency.setTag("end-to-end");
+         writer.outputIntervalHistogram(interval.endToEndLatency);
+      }
+   }
+
+   private void report(LoadStatistics.Interval interval, long elapsedNanos, boolean warmingUp) {
+      final StringBuilder line = new StringBuilder(String.format("%8.1fs", elapsedNanos / 1e9));
+      line.append(warmingUp ? " warm-up " : "         ");
+      if (producing) {
+         line.append(String.format(" sent %10.1f msg/s, send latency (us) %s;", throughput(interval.sent, interval.elapsedNanos), percentiles(interval.sendLatency)));
+      }
+      if (consuming) {
+         line.append(String.format(" received %10.1f msg/s, end to end latency (us) %s;", throughput(interval.received, interval.elapsedNanos), percentiles(interval.endToEndLatency)));
+      }
+      context.out.println(line);
+   }
+
+   private JsonObject summary(LoadStatistics statistics) throws Exception {
+      final long measuredNanos = statistics.getMeasuredNanos();
+      context.out.println(String.format("--- summary of %.1f seconds of load after %d seconds of warm-up", measuredNanos / 1e9, warmup));
+      final JsonObjectBuilder summary = JsonLoader.createObjectBuilder()
+         .add("protocol", getProtocol())
+         .add("url", brokerURL)
+         .add("destination", destination)
+         .add("numDestinations", numDestinations)
+         .add("warmupSeconds", warmup)
+         .add("measuredSeconds", measuredNanos / 1e9);
+      if (producing) {
+         final double throughput = throughput(statistics.getTotalSent(), measuredNanos);
+         context.out.println(String.format("sent %d messages, %.1f msg/s, send latency (us) %s", statistics.getTotalSent(), throughput, percentiles(statistics.getTotalSendLatency())));
+         summary.add("sent", toJson(statistics.getTotalSent(), throughput, statistics.getTotalSendLatency()));
+      }
+      if (consuming) {
+         final double throughput = throughput(statistics.getTotalReceived(), measuredNanos);
+         context.out.println(String.format("received %d messages, %.1f msg/s, end to end latency (us) %s", statistics.getTotalReceived(), throughput, percentiles(statistics.getTotalEndToEndLatency())));
+         summary.add("received", toJson(statistics.getTotalReceived(), throughput, statistics.getTotalEndToEndLatency()));
+      }
+      final JsonObject json = summary.build();
+      if (jsonFile != null) {
+         try (JsonWriter writer = JsonLoader.createWriter(new FileWriter(jsonFile))) {
+            writer.writeObject(json);
+         }
+      }
+      return json;
+   }
+
+   private static JsonObjectBuilder toJson(long count, double throughput, Histogram latency) {
+      final JsonObjectBuilder latencyMicros = JsonLoader.createObjectBuilder();
+      if (latency.getTotalCount() > 0) {
+         for (int i = 0; i < PERCENTILES.length; i++) {
+            latencyMicros.add(PERCENTILE_NAMES[i], toMicros(latency.getValueAtPercentile(PERCENTILES[i])));
+         }
+         latencyMicros.add("max", toMicros(latency.getMaxValue())).add("mean", latency.getMean() / 1000);
+      }
+      return JsonLoader.createObjectBuilder().add("count", count).add("throughput", throughput).add("latencyMicros", latencyMicros);
+   }
+
+   private static String percentiles(Histogram latency) {
+      if (latency.getTotalCount() == 0) {
+         return "-";
+      }
+      final StringBuilder percentiles = new StringBuilder();
+      for (int i = 0; i < PERCENTILES.length; i++) {
+         percentiles.append(String.format("%s %.1f ", PERCENTILE_NAMES[i], toMicros(latency.getValueAtPercentile(PERCENTILES[i]))));
+      }
+      return percentiles.append(String.format("max %.1f", toMicros(latency.getMaxValue()))).toString();
+   }
+
+   private static double throughput(long count, long nanos) {
+      return nanos == 0 ? 0 : count * 1e9 / nanos;
+   }
+
+   private static double toMicros(long nanos) {
+      return nanos / 1000d;
+   }
+}
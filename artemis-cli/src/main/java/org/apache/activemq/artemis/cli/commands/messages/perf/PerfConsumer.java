@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.ConnectionFactory;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+
+@Command(name = "consumer", description = "It will consume messages from an instance, reporting throughput and end to end latency percentiles")
+public class PerfConsumer extends PerfCommand {
+
+   @Option(name = "--consumers", description = "Number of consumers on each destination (Default: 1)")
+   int consumers = 1;
+
+   public PerfConsumer() {
+      super(false, true);
+   }
+
+   @Override
+   protected void startLoad(ConnectionFactory factory, LoadStatistics statistics) throws Exception {
+      if (consumers < 1) {
+         throw new IllegalArgumentException("--consumers must be positive");
+      }
+      startConsumers(factory, statistics, consumers, messageCount);
+   }
+
+   @Override
+   protected boolean isLoadCompleted(LoadStatistics statistics) {
+      return messageCount > 0 && isConsumersFinished();
+   }
+}
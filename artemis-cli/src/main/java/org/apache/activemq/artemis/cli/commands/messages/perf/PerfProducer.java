@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.ConnectionFactory;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+
+@Command(name = "producer", description = "It will send messages to an instance, reporting throughput and latency percentiles")
+public class PerfProducer extends PerfCommand {
+
+   @Option(name = "--producers", description = "Number of producers on each destination (Default: 1)")
+   int producers = 1;
+
+   @Option(name = "--rate", description = "Messages per second sent by all the producers together, with latencies measured from the intended send times; 0 to send as fast as possible (Default: 0)")
+   long rate = 0;
+
+   @Option(name = "--message-size", description = "Size in bytes of the body of each message (Default: 1024)")
+   int messageSize = 1024;
+
+   @Option(name = "--non-persistent", description = "It will send messages non persistently")
+   boolean nonPersistent = false;
+
+   @Option(name = "--tx-size", description = "Number of messages sent on each transaction, 0 to not use transactions (Default: 0)")
+   int txSize = 0;
+
+   public PerfProducer() {
+      this(false);
+   }
+
+   protected PerfProducer(boolean consuming) {
+      super(true, consuming);
+   }
+
+   @Override
+   protected void startLoad(ConnectionFactory factory, LoadStatistics statistics) throws Exception {
+      if (producers < 1 || rate < 0 || messageSize < 0 || txSize < 0) {
+         throw new IllegalArgumentException("--producers must be positive, --rate, --message-size and --tx-size can't be negative");
+      }
+      startProducers(factory, statistics, producers, rate, messageSize, !nonPersistent, txSize);
+   }
+
+   @Override
+   protected boolean isLoadCompleted(LoadStatistics statistics) {
+      return isProducersFinished();
+   }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.cli.commands.messages.perf;
+
+import javax.jms.BytesMessage;
+import javax.jms.DeliveryMode;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * It sends messages to a destination, either as fast as it can (closed loop) or at a fixed rate (open loop).
+ * <br>
+ * On open loop each message has an intended send time, following the fixed rate from the start of the load:
+ * the latencies are measured from it rather than from the actual send time, so a stalled send adds
+ * the delay it causes to the following messages too and the coordinated omission is avoided.
+ * The intended send time is carried by the message to measure the end-to-end latency in the same way.
+ */
+final class ProducerLoadGenerator implements Runnable {
+
+   static final String SEND_TIME_PROPERTY = "PERF_SEND_TIME";
+
+   private final Session session;
+
+   private final Destination destination;
+
+   private final LoadStatistics statistics;
+
+   private final byte[] payload;
+
+   private final boolean persistent;
+
+   private final long messageCount;
+
+   private final long periodNanos;
+
+   private final int transactionBatchSize;
+
+   private volatile boolean stopped;
+
+   private volatile boolean finished;
+
+   private volatile Exception failure;
+
+   /**
+    * @param messageCount the number of messages to send or {@code 0} to send until stopped
+    * @param periodNanos  the interval between the intended send times or {@code 0} to send on closed loop
+    */
+   ProducerLoadGenerator(final Session session,
+                         final Destination destination,
+                         final LoadStatistics statistics,
+                         final int messageSize,
+                         final boolean persistent,
+                         final long messageCount,
+                         final long periodNanos,
+                         final int transactionBatchSize) {
+      this.session = session;
+      this.destination = destination;
+      this.statistics = statistics;
+      this.payload = new byte[messageSize];
+      this.persistent = persistent;
+      this.messageCount = messageCount;
+      this.periodNanos = periodNanos;
+      this.transactionBatchSize = transactionBatchSize;
+   }
+
+   void stop() {
+      stopped = true;
+   }
+
+   boolean isFinished() {
+      return finished;
+   }
+
+   Exception getFailure() {
+      return failure;
+   }
+
+   @Override
+   public void run() {
+      try (MessageProducer producer = session.createProducer(destination)) {
+         producer.setDeliveryMode(persistent ? DeliveryMode.PERSISTENT : DeliveryMode.NON_PERSISTENT);
+         final long start = System.nanoTime();
+         int pending = 0;
+         for (long i = 0; !stopped && (messageCount == 0 || i < messageCount); i++) {
+            final long intendedSendTime;
+            if (periodNanos > 0) {
+               intendedSendTime = start + i * periodNanos;
+               if (!waitUntil(intendedSendTime)) {
+                  break;
+               }
+            } else {
+               intendedSendTime = System.nanoTime();
+            }
+            final BytesMessage message = session.createBytesMessage();
+            message.writeBytes(payload);
+            message.setLongProperty(SEND_TIME_PROPERTY, LoadStatistics.toEpochNanos(intendedSendTime));
+            producer.send(message);
+            if (transactionBatchSize > 0 && ++pending == transactionBatchSize) {
+               session.commit();
+               pending = 0;
+            }
+            statistics.messageSent(System.nanoTime() - intendedSendTime);
+         }
+         if (pending > 0) {
+            session.commit();
+         }
+      } catch (JMSException e) {
+         if (!stopped) {
+            failure = e;
+         }
+      } finally {
+         finished = true;
+      }
+   }
+
+   private boolean waitUntil(final long nanoTime) {
+      long remaining;
+      while ((remaining = nanoTime - System.nanoTime()) > 0) {
+         if (stopped) {
+            return false;
+         }
+         LockSupport.parkNanos(remaining);
+      }
+      return true;
+   }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.cli.test;
+
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.activemq.artemis.cli.Artemis;
+import org.apache.activemq.artemis.utils.JsonLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CliPerfTest extends CliTestBase {
+
+   @Before
+   @Override
+   public void setup() throws Exception {
+      setupAuth();
+      super.setup();
+      startServer();
+   }
+
+   @After
+   @Override
+   public void tearDown() throws Exception {
+      try {
+         stopServer();
+      } finally {
+         super.tearDown();
+      }
+   }
+
+   @Test
+   public void testClientOnQueue() throws Exception {
+      File jsonFile = new File(temporaryFolder.getRoot(), "summary.json");
+      File hdrFile = new File(temporaryFolder.getRoot(), "latencies.hdr");
+
+      JsonObject summary = (JsonObject) Artemis.internalExecute("perf", "client",
+              "--user", "admin",
+              "--password", "admin",
+              "--destination", "queue://perf",
+              "--message-count", "100",
+              "--json-file", jsonFile.getAbsolutePath(),
+              "--hdr-file", hdrFile.getAbsolutePath());
+
+      assertEquals(100, summary.getJsonObject("sent").getInt("count"));
+      assertEquals(100, summary.getJsonObject("received").getInt("count"));
+      assertTrue(summary.getJsonObject("received").getJsonObject("latencyMicros").containsKey("p99.9"));
+
+      try (JsonReader reader = JsonLoader.createReader(Files.newBufferedReader(jsonFile.toPath()))) {
+         assertEquals(summary, reader.readObject());
+      }
+      assertTrue(Files.readAllLines(hdrFile.toPath()).stream().anyMatch(line -> line.startsWith("Tag=end-to-end")));
+   }
+
+   @Test
+   public void testClientFanOutOnTopics() throws Exception {
+      JsonObject summary = (JsonObject) Artemis.internalExecute("perf", "client",
+              "--user", "admin",
+              "--password", "admin",
+              "--destination", "topic://perf",
+              "--num-destinations", "2",
+              "--consumers", "2",
+              "--message-count", "50");
+
+      assertEquals(100, summary.getJsonObject("sent").getInt("count"));
+      assertEquals(200, summary.getJsonObject("received").getInt("count"));
+   }
+
+   @Test
+   public void testOpenLoopProducerAndConsumer() throws Exception {
+      JsonObject sent = (JsonObject) Artemis.internalExecute("perf", "producer",
+              "--user", "admin",
+              "--password", "admin",
+              "--destination", "queue://perf",
+              "--rate", "1000",
+              "--producers", "2",
+              "--message-size", "10",
+              "--message-count", "50");
+
+      assertEquals(100, sent.getJsonObject("sent").getInt("count"));
+      assertFalse(sent.containsKey("received"));
+
+      JsonObject received = (JsonObject) Artemis.internalExecute("perf", "consumer",
+              "--user", "admin",
+              "--password", "admin",
+              "--destination", "queue://perf",
+              "--message-count", "100");
+
+      assertEquals(100, received.getJsonObject("received").getInt("count"));
+      assertFalse(received.containsKey("sent"));
+   }
+}
@@ -2255,6 +2255,38 @@ public interface AuditLogger extends BasicLogger {
    @Message(id = 601268, value = "User {0} is getting produced message rate on target resource: {1} {2}", format = Message.Format.MESSAGE_FORMAT)
    void getProducedRate(String user, Object source, Object... args);
 
+   static void getPageCacheSizeBytes(Object source) {
+      LOGGER.getPageCacheSizeBytes(getCaller(), source);
+   }
+
+   @LogMessage(level = Logger.Level.INFO)
+   @Message(id = 601269, value = "User {0} is getting page cache size bytes on target resource: {1} {2}", format = Message.Format.MESSAGE_FORMAT)
+   void getPageCacheSizeBytes(String user, Object source, Object... args);
+
+   static void getPageCacheHits(Object source) {
+      LOGGER.getPageCacheHits(getCaller(), source);
+   }
+
+   @LogMessage(level = Logger.Level.INFO)
+   @Message(id = 601270, value = "User {0} is getting page cache hits on target resource: {1} {2}", format = Message.Format.MESSAGE_FORMAT)
+   void getPageCacheHits(String user, Object source, Object... args);
+
+   static void getPageCacheMisses(Object source) {
+      LOGGER.getPageCacheMisses(getCaller(), source);
+   }
+
+   @LogMessage(level = Logger.Level.INFO)
+   @Message(id = 601271, value = "User {0} is getting page cache misses on target resource: {1} {2}", format = Message.Format.MESSAGE_FORMAT)
+   void getPageCacheMisses(String user, Object source, Object... args);
+
+   static void getPageCacheEvictions(Object source) {
+      LOGGER.getPageCacheEvictions(getCaller(), source);
+   }
+
+   @LogMessage(level = Logger.Level.INFO)
+   @Message(id = 601272, value = "User {0} is getting page cache evictions on target resource: {1} {2}", format = Message.Format.MESSAGE_FORMAT)
+   void getPageCacheEvictions(String user, Object source, Object... args);
+
    //hot path log using a different logger
    static void coreSendMessage(Object source, String user, Object... args) {
       MESSAGE_LOGGER.coreSendMessage(user == null ? getCaller() : user, source, arrayToString(args));
@@ -54,9 +54,15 @@ import static org.apache.activemq.artemis.utils.DataConstants.STRING;
  * This implementation follows section 3.5.4 of the <i>Java Message Service</i> specification
  * (Version 1.1 April 12, 2002).
  * <p>
+ * The properties decoded with {@link #lazyDecode(ByteBuf, TypedPropertiesDecoderPools)} are looked up in place
+ * on the encoded buffer, without decoding them: they are decoded into the map on the first operation needing it,
+ * e.g. a mutation or an iteration.
  */
 public class TypedProperties {
 
+   // a lazy properties looked up this many times is decoded, to not scan the buffer on each lookup
+   private static final int MAX_LAZY_LOOKUPS = 16;
+
    private Map<SimpleString, PropertyValue> properties;
 
    private int size;
@@ -64,6 +70,13 @@ public class TypedProperties {
    private final Predicate<SimpleString> internalPropertyPredicate;
    private boolean internalProperties;
 
+   // not null while the properties are lazy: they are encoded into it from lazyOffset
+   private ByteBuf lazyBuffer;
+   private int lazyOffset;
+   private int lazyCount;
+   private int lazyLookups;
+   private TypedPropertiesDecoderPools lazyPools;
+
    public TypedProperties() {
       this.internalPropertyPredicate = null;
    }
@@ -76,6 +89,9 @@ public class TypedProperties {
     *  Return the number of properties
     * */
    public synchronized int size() {
+      if (lazyBuffer != null) {
+         return lazyCount;
+      }
       return properties == null ? 0 : properties.size();
    }
 
@@ -83,12 +99,15 @@ public class TypedProperties {
       // The estimate is basically the encode size + 2 object references for each entry in the map
       // Note we don't include the attributes or anything else since they already included in the memory estimate
       // of the ServerMessage
+      // The lazy properties are just part of the encoded message
 
       return properties == null ? 0 : size + 2 * DataConstants.SIZE_INT * properties.size();
    }
 
    public TypedProperties(final TypedProperties other) {
       synchronized (other) {
+         // the buffer of lazy properties could change after the copy
+         other.ensureDecoded();
          properties = other.properties == null ? null : new HashMap<>(other.properties);
          size = other.size;
          internalPropertyPredicate = other.internalPropertyPredicate;
@@ -141,7 +160,11 @@ public class TypedProperties {
    }
 
    public void putTypedProperties(final TypedProperties otherProps) {
-      if (otherProps == null || otherProps == this || otherProps.properties == null) {
+      if (otherProps == null || otherProps == this) {
+         return;
+      }
+      otherProps.ensureDecoded();
+      if (otherProps.properties == null) {
          return;
       }
 
@@ -307,6 +330,9 @@ public class TypedProperties {
    }
 
    public synchronized boolean containsProperty(final SimpleString key) {
+      if (lazyBuffer != null && !decodeIfLookedUpTooMuch()) {
+         return lazyValueIndex(key) >= 0;
+      }
       if (properties == null) {
          return false;
 
@@ -315,6 +341,7 @@ public class TypedProperties {
       }
    }
    public synchronized Set<SimpleString> getPropertyNames() {
+      ensureDecoded();
       if (properties == null) {
          return Collections.emptySet();
       } else {
@@ -323,6 +350,12 @@ public class TypedProperties {
    }
 
    public synchronized boolean clearInternalProperties() {
+      if (lazyBuffer != null) {
+         if (!hasLazyInternalProperties()) {
+            return false;
+         }
+         ensureDecoded();
+      }
       return internalProperties && removeInternalProperties();
    }
 
@@ -355,18 +388,21 @@ public class TypedProperties {
    }
 
    public synchronized void forEachKey(Consumer<SimpleString> action) {
+      ensureDecoded();
       if (properties != null) {
          properties.keySet().forEach(action::accept);
       }
    }
 
    public synchronized void forEach(BiConsumer<SimpleString, Object> action) {
+      ensureDecoded();
       if (properties != null) {
          properties.forEach((k, v) -> action.accept(k, v.getValue()));
       }
    }
 
    private synchronized void forEachInternal(BiConsumer<SimpleString, PropertyValue> action) {
+      ensureDecoded();
       if (properties != null) {
          properties.forEach(action::accept);
       }
@@ -374,83 +410,136 @@ public class TypedProperties {
 
    public synchronized void decode(final ByteBuf buffer,
                                    final TypedPropertiesDecoderPools keyValuePools) {
+      lazyBuffer = null;
+      lazyPools = null;
       byte b = buffer.readByte();
       if (b == DataConstants.NULL) {
          properties = null;
          size = 0;
       } else {
          int numHeaders = buffer.readInt();
+         decodeProperties(buffer, numHeaders, keyValuePools);
+      }
+   }
 
-         //optimize the case of no collisions to avoid any resize (it doubles the map size!!!) when load factor is reached
-         properties = new HashMap<>(numHeaders, 1.0f);
+   /**
+    * Like {@link #decode(ByteBuf, TypedPropertiesDecoderPools)}, but the properties are not decoded:
+    * {@link #getProperty}, {@link #containsProperty} and the typed getters read them in place from {@code buffer},
+    * until an operation needs to decode them, see {@link #ensureDecoded()}.
+    * <br>
+    * {@code buffer} is kept until then: its reader index is moved by this, hence it cannot be shared
+    * (e.g. pass a duplicate) and its content cannot change.
+    */
+   public synchronized void lazyDecode(final ByteBuf buffer,
+                                       final TypedPropertiesDecoderPools keyValuePools) {
+      byte b = buffer.readByte();
+      if (b == DataConstants.NULL) {
+         lazyBuffer = null;
+         lazyPools = null;
+         properties = null;
          size = 0;
+      } else {
+         properties = null;
+         lazyCount = buffer.readInt();
+         lazyOffset = buffer.readerIndex();
+         lazyLookups = 0;
+         int index = lazyOffset;
+         for (int i = 0; i < lazyCount; i++) {
+            index = skipLazyValue(buffer, index + DataConstants.SIZE_INT + buffer.getInt(index));
+         }
+         buffer.readerIndex(index);
+         size = index - lazyOffset;
+         lazyBuffer = buffer;
+         lazyPools = keyValuePools;
+      }
+   }
 
-         for (int i = 0; i < numHeaders; i++) {
-            final SimpleString key = SimpleString.readSimpleString(buffer, keyValuePools == null ? null : keyValuePools.getPropertyKeysPool());
+   /**
+    * It decodes the lazy properties, if any: it is needed before changing the buffer they are read from.
+    */
+   public synchronized void ensureDecoded() {
+      final ByteBuf buffer = lazyBuffer;
+      if (buffer == null) {
+         return;
+      }
+      lazyBuffer = null;
+      buffer.readerIndex(lazyOffset);
+      decodeProperties(buffer, lazyCount, lazyPools);
+      lazyPools = null;
+   }
 
-            byte type = buffer.readByte();
+   private void decodeProperties(final ByteBuf buffer,
+                                 final int numHeaders,
+                                 final TypedPropertiesDecoderPools keyValuePools) {
+      //optimize the case of no collisions to avoid any resize (it doubles the map size!!!) when load factor is reached
+      properties = new HashMap<>(numHeaders, 1.0f);
+      size = 0;
 
-            PropertyValue val;
+      for (int i = 0; i < numHeaders; i++) {
+         final SimpleString key = SimpleString.readSimpleString(buffer, keyValuePools == null ? null : keyValuePools.getPropertyKeysPool());
 
-            switch (type) {
-               case NULL: {
-                  val = NullValue.INSTANCE;
-                  doPutValue(key, val);
-                  break;
-               }
-               case CHAR: {
-                  val = new CharValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case BOOLEAN: {
-                  val = BooleanValue.of(buffer.readBoolean());
-                  doPutValue(key, val);
-                  break;
-               }
-               case BYTE: {
-                  val = ByteValue.valueOf(buffer.readByte());
-                  doPutValue(key, val);
-                  break;
-               }
-               case BYTES: {
-                  val = new BytesValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case SHORT: {
-                  val = new ShortValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case INT: {
-                  val = new IntValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case LONG: {
-                  val = new LongValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case FLOAT: {
-                  val = new FloatValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case DOUBLE: {
-                  val = new DoubleValue(buffer);
-                  doPutValue(key, val);
-                  break;
-               }
-               case STRING: {
-                  val = StringValue.readStringValue(buffer, keyValuePools == null ? null : keyValuePools.getPropertyValuesPool());
-                  doPutValue(key, val);
-                  break;
-               }
-               default: {
-                  throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
-               }
+         byte type = buffer.readByte();
+
+         PropertyValue val;
+
+         switch (type) {
+            case NULL: {
+               val = NullValue.INSTANCE;
+               doPutValue(key, val);
+               break;
+            }
+            case CHAR: {
+               val = new CharValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case BOOLEAN: {
+               val = BooleanValue.of(buffer.readBoolean());
+               doPutValue(key, val);
+               break;
+            }
+            case BYTE: {
+               val = ByteValue.valueOf(buffer.readByte());
+               doPutValue(key, val);
+               break;
+            }
+            case BYTES: {
+               val = new BytesValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case SHORT: {
+               val = new ShortValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case INT: {
+               val = new IntValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case LONG: {
+               val = new LongValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case FLOAT: {
+               val = new FloatValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case DOUBLE: {
+               val = new DoubleValue(buffer);
+               doPutValue(key, val);
+               break;
+            }
+            case STRING: {
+               val = StringValue.readStringValue(buffer, keyValuePools == null ? null : keyValuePools.getPropertyValuesPool());
+               doPutValue(key, val);
+               break;
+            }
+            default: {
+               throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
             }
          }
       }
@@ -462,7 +551,11 @@ public class TypedProperties {
 
 
    public synchronized void encode(final ByteBuf buffer) {
-      if (properties == null || size == 0) {
+      if (lazyBuffer != null) {
+         buffer.writeByte(DataConstants.NOT_NULL);
+         buffer.writeInt(lazyCount);
+         buffer.writeBytes(lazyBuffer, lazyOffset, size);
+      } else if (properties == null || size == 0) {
          buffer.writeByte(DataConstants.NULL);
       } else {
          buffer.writeByte(DataConstants.NOT_NULL);
@@ -480,7 +573,9 @@ public class TypedProperties {
    }
 
    public synchronized int getEncodeSize() {
-      if (properties == null || size == 0) {
+      if (lazyBuffer != null) {
+         return DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + size;
+      } else if (properties == null || size == 0) {
          return DataConstants.SIZE_BYTE;
       } else {
          return DataConstants.SIZE_BYTE + DataConstants.SIZE_INT + size;
@@ -488,6 +583,8 @@ public class TypedProperties {
    }
 
    public synchronized void clear() {
+      lazyBuffer = null;
+      lazyPools = null;
       if (properties != null) {
          properties.clear();
       }
@@ -496,6 +593,7 @@ public class TypedProperties {
 
    @Override
    public synchronized String toString() {
+      ensureDecoded();
       StringBuilder sb = new StringBuilder("TypedProperties[");
 
       if (properties != null) {
@@ -547,6 +645,7 @@ public class TypedProperties {
    // Private ------------------------------------------------------------------------------------
 
    private synchronized void doPutValue(final SimpleString key, final PropertyValue value) {
+      ensureDecoded();
       if (!internalProperties && internalPropertyPredicate != null && internalPropertyPredicate.test(key)) {
          internalProperties = true;
       }
@@ -564,6 +663,7 @@ public class TypedProperties {
    }
 
    private synchronized Object doRemoveProperty(final SimpleString key) {
+      ensureDecoded();
       if (properties == null) {
          return null;
       }
@@ -578,6 +678,11 @@ public class TypedProperties {
    }
 
    private synchronized Object doGetProperty(final SimpleString key) {
+      if (lazyBuffer != null && !decodeIfLookedUpTooMuch()) {
+         final int index = lazyValueIndex(key);
+         return index < 0 ? null : readLazyValue(index);
+      }
+
       if (properties == null) {
          return null;
       }
@@ -590,6 +695,118 @@ public class TypedProperties {
       }
    }
 
+   private boolean decodeIfLookedUpTooMuch() {
+      if (++lazyLookups > MAX_LAZY_LOOKUPS) {
+         ensureDecoded();
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * @return the index of the type of the value of {@code key} in the lazy buffer or {@code -1} if not found
+    */
+   private int lazyValueIndex(final SimpleString key) {
+      final ByteBuf buffer = lazyBuffer;
+      final int keyLength = key.getData().length;
+      int index = lazyOffset;
+      for (int i = 0; i < lazyCount; i++) {
+         final int length = buffer.getInt(index);
+         index += DataConstants.SIZE_INT;
+         if (length == keyLength && key.equals(buffer, index, length)) {
+            return index + length;
+         }
+         index = skipLazyValue(buffer, index + length);
+      }
+      return -1;
+   }
+
+   private boolean hasLazyInternalProperties() {
+      if (internalPropertyPredicate == null) {
+         return false;
+      }
+      final ByteBuf buffer = lazyBuffer;
+      final SimpleString.ByteBufSimpleStringPool keysPool = lazyPools == null ? null : lazyPools.getPropertyKeysPool();
+      int index = lazyOffset;
+      for (int i = 0; i < lazyCount; i++) {
+         buffer.readerIndex(index);
+         final SimpleString key = SimpleString.readSimpleString(buffer, keysPool);
+         if (internalPropertyPredicate.test(key)) {
+            return true;
+         }
+         index = skipLazyValue(buffer, buffer.readerIndex());
+      }
+      return false;
+   }
+
+   /**
+    * @return the index following the value whose type is at {@code index}
+    */
+   private static int skipLazyValue(final ByteBuf buffer, final int index) {
+      final byte type = buffer.getByte(index);
+      final int valueIndex = index + DataConstants.SIZE_BYTE;
+      switch (type) {
+         case NULL:
+            return valueIndex;
+         case CHAR:
+            return valueIndex + DataConstants.SIZE_CHAR;
+         case BOOLEAN:
+            return valueIndex + DataConstants.SIZE_BOOLEAN;
+         case BYTE:
+            return valueIndex + DataConstants.SIZE_BYTE;
+         case SHORT:
+            return valueIndex + DataConstants.SIZE_SHORT;
+         case INT:
+            return valueIndex + DataConstants.SIZE_INT;
+         case LONG:
+            return valueIndex + DataConstants.SIZE_LONG;
+         case FLOAT:
+            return valueIndex + DataConstants.SIZE_FLOAT;
+         case DOUBLE:
+            return valueIndex + DataConstants.SIZE_DOUBLE;
+         case BYTES:
+         case STRING:
+            return valueIndex + DataConstants.SIZE_INT + buffer.getInt(valueIndex);
+         default:
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+      }
+   }
+
+   private Object readLazyValue(final int index) {
+      final ByteBuf buffer = lazyBuffer;
+      buffer.readerIndex(index);
+      final byte type = buffer.readByte();
+      switch (type) {
+         case NULL:
+            return null;
+         case CHAR:
+            return (char) buffer.readShort();
+         case BOOLEAN:
+            return buffer.readBoolean();
+         case BYTE:
+            return buffer.readByte();
+         case BYTES:
+            return new BytesValue(buffer).val;
+         case SHORT:
+            return buffer.readShort();
+         case INT:
+            return buffer.readInt();
+         case LONG:
+            return buffer.readLong();
+         case FLOAT:
+            return buffer.readFloat();
+         case DOUBLE:
+            return buffer.readDouble();
+         case STRING:
+            if (lazyPools == null) {
+               return SimpleString.readSimpleString(buffer);
+            }
+            return lazyPools.getPropertyValuesPool().getOrCreate(buffer).val;
+         default:
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+      }
+   }
+
    // Inner classes ------------------------------------------------------------------------------
 
    private abstract static class PropertyValue {
@@ -1040,6 +1257,9 @@ public class TypedProperties {
    }
 
    public synchronized boolean isEmpty() {
+      if (lazyBuffer != null) {
+         return lazyCount == 0;
+      }
       if (properties == null) {
          return true;
       } else {
@@ -1048,6 +1268,7 @@ public class TypedProperties {
    }
 
    public synchronized Set<String> getMapNames() {
+      ensureDecoded();
       if (properties == null) {
          return Collections.emptySet();
       } else {
@@ -1060,6 +1281,7 @@ public class TypedProperties {
    }
 
    public synchronized Map<String, Object> getMap() {
+      ensureDecoded();
       if (properties == null) {
          return Collections.emptyMap();
       } else {
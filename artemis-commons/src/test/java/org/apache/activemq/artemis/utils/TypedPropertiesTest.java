@@ -226,6 +226,91 @@ public class TypedPropertiesTest {
       TypedPropertiesTest.assertEqualsTypeProperties(emptyProps, decodedProps);
    }
 
+   @Test
+   public void testLazyDecode() throws Exception {
+      props.putByteProperty(RandomUtil.randomSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomSimpleString(), RandomUtil.randomBytes());
+      props.putBytesProperty(RandomUtil.randomSimpleString(), null);
+      props.putBooleanProperty(RandomUtil.randomSimpleString(), RandomUtil.randomBoolean());
+      props.putShortProperty(RandomUtil.randomSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomSimpleString(), RandomUtil.randomChar());
+      props.putSimpleStringProperty(RandomUtil.randomSimpleString(), RandomUtil.randomSimpleString());
+      props.putSimpleStringProperty(RandomUtil.randomSimpleString(), null);
+
+      ByteBuf buffer = Unpooled.buffer(1024);
+      props.encode(buffer);
+
+      TypedProperties lazyProps = new TypedProperties();
+      lazyProps.lazyDecode(buffer.duplicate(), null);
+
+      // the lookups don't decode
+      Assert.assertEquals(props.size(), lazyProps.size());
+      Assert.assertEquals(props.getEncodeSize(), lazyProps.getEncodeSize());
+      for (SimpleString name : props.getPropertyNames()) {
+         Object value = props.getProperty(name);
+         if (value instanceof byte[]) {
+            Assert.assertArrayEquals((byte[]) value, lazyProps.getBytesProperty(name));
+         } else {
+            Assert.assertEquals(value, lazyProps.getProperty(name));
+         }
+      }
+      Assert.assertFalse(lazyProps.containsProperty(RandomUtil.randomSimpleString()));
+      Assert.assertNull(lazyProps.getProperty(RandomUtil.randomSimpleString()));
+      Assert.assertEquals(0, lazyProps.getMemoryOffset());
+
+      ByteBuf lazyBuffer = Unpooled.buffer(1024);
+      lazyProps.encode(lazyBuffer);
+      Assert.assertEquals(buffer, lazyBuffer);
+
+      // too many lookups decode
+      for (SimpleString name : props.getPropertyNames()) {
+         Assert.assertTrue(lazyProps.containsProperty(name));
+      }
+      Assert.assertNotEquals(0, lazyProps.getMemoryOffset());
+      TypedPropertiesTest.assertEqualsTypeProperties(props, lazyProps);
+
+      lazyProps = new TypedProperties();
+      lazyProps.lazyDecode(buffer.duplicate(), null);
+
+      // a change decodes
+      lazyProps.putIntProperty(key, 1);
+      Assert.assertNotEquals(0, lazyProps.getMemoryOffset());
+      Assert.assertEquals(props.size() + 1, lazyProps.size());
+      lazyProps.removeProperty(key);
+      TypedPropertiesTest.assertEqualsTypeProperties(props, lazyProps);
+   }
+
+   @Test
+   public void testLazyDecodeEmpty() throws Exception {
+      ByteBuf buffer = Unpooled.buffer(1024);
+      new TypedProperties().encode(buffer);
+
+      TypedProperties lazyProps = new TypedProperties();
+      lazyProps.lazyDecode(buffer, null);
+      Assert.assertFalse(buffer.isReadable());
+      Assert.assertTrue(lazyProps.isEmpty());
+      Assert.assertNull(lazyProps.getProperty(key));
+   }
+
+   @Test
+   public void testLazyDecodeWithPools() throws Exception {
+      SimpleString value = SimpleString.toSimpleString("value");
+      props.putSimpleStringProperty(key, value);
+      ByteBuf buffer = Unpooled.buffer(1024);
+      props.encode(buffer);
+
+      TypedProperties.TypedPropertiesDecoderPools pools = new TypedProperties.TypedPropertiesDecoderPools();
+      TypedProperties lazyProps = new TypedProperties();
+      lazyProps.lazyDecode(buffer.duplicate(), pools);
+      Object first = lazyProps.getProperty(key);
+      Assert.assertEquals(value, first);
+      Assert.assertSame(first, lazyProps.getProperty(key));
+   }
+
    private static final SimpleString PROP_NAME = SimpleString.toSimpleString("TEST_PROP");
 
    @Test
@@ -250,6 +335,29 @@ public class TypedPropertiesTest {
       Assert.assertFalse(properties.clearInternalProperties());
    }
 
+   @Test
+   public void testLazyDecodeClearInternalProperties() {
+      TypedProperties properties = new TypedProperties(PROP_NAME::equals);
+      properties.putBooleanProperty(key, RandomUtil.randomBoolean());
+      ByteBuf buffer = Unpooled.buffer(1024);
+      properties.encode(buffer);
+
+      TypedProperties lazyProperties = new TypedProperties(PROP_NAME::equals);
+      lazyProperties.lazyDecode(buffer.duplicate(), null);
+      Assert.assertFalse(lazyProperties.clearInternalProperties());
+      Assert.assertEquals(0, lazyProperties.getMemoryOffset());
+
+      properties.putBooleanProperty(PROP_NAME, RandomUtil.randomBoolean());
+      buffer.clear();
+      properties.encode(buffer);
+
+      lazyProperties = new TypedProperties(PROP_NAME::equals);
+      lazyProperties.lazyDecode(buffer.duplicate(), null);
+      Assert.assertTrue(lazyProperties.clearInternalProperties());
+      Assert.assertFalse(lazyProperties.containsProperty(PROP_NAME));
+      Assert.assertTrue(lazyProperties.containsProperty(key));
+   }
+
    @Before
    public void setUp() throws Exception {
       props = new TypedProperties();
@@ -76,6 +76,10 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_BUFFER_SIZE_NIO;
    }
 
+   public static boolean isDefaultJournalBufferAdaptiveTimeout() {
+      return DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT;
+   }
+
    public static String getPropMaskPassword() {
       return PROP_MASK_PASSWORD;
    }
@@ -114,6 +118,7 @@ public final class ActiveMQDefaultConfiguration {
    private static int DEFAULT_JOURNAL_MAX_IO_NIO = 1;
    private static int DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO = ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO;
    private static int DEFAULT_JOURNAL_BUFFER_SIZE_NIO = ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO;
+   private static boolean DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT = false;
 
    // XXX not on schema.
    //properties passed to acceptor/connectors.
@@ -160,6 +165,12 @@ public final class ActiveMQDefaultConfiguration {
    // how long (in ms) to wait before invalidating the security cache
    private static long DEFAULT_SECURITY_INVALIDATION_INTERVAL = 10000;
 
+   // how many authentications the security cache can hold
+   private static int DEFAULT_AUTHENTICATION_CACHE_SIZE = 1000;
+
+   // how many authorizations the security cache can hold
+   private static int DEFAULT_AUTHORIZATION_CACHE_SIZE = 1000;
+
    // how long (in ms) to wait to acquire a file lock on the journal
    private static long DEFAULT_JOURNAL_LOCK_ACQUISITION_TIMEOUT = -1;
 
@@ -415,6 +426,15 @@ public final class ActiveMQDefaultConfiguration {
    // When a replica comes online this is how long the replicating server will wait for a confirmation from the replica that the replication synchronization process is complete
    private static long DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT = 30000;
 
+   // The maximum size (in bytes) of the batches of operations a live server sends to its replica, 0 sends each operation on its own
+   private static int DEFAULT_REPLICATION_BATCH_SIZE = 0;
+
+   // How long (in ms) a batch of replicated operations that isn't full can wait for more operations before being sent
+   private static long DEFAULT_REPLICATION_BATCH_DELAY = 0;
+
+   // How many files a live server can send at once to its replica during the initial synchronization
+   private static int DEFAULT_INITIAL_REPLICATION_SYNC_CONCURRENCY = 1;
+
    // Will this backup server come live on a normal server shutdown
    private static boolean DEFAULT_FAILOVER_ON_SERVER_SHUTDOWN = false;
 
@@ -666,6 +686,20 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_SECURITY_INVALIDATION_INTERVAL;
    }
 
+   /**
+    * how many authentications the security cache can hold
+    */
+   public static int getDefaultAuthenticationCacheSize() {
+      return DEFAULT_AUTHENTICATION_CACHE_SIZE;
+   }
+
+   /**
+    * how many authorizations the security cache can hold
+    */
+   public static int getDefaultAuthorizationCacheSize() {
+      return DEFAULT_AUTHORIZATION_CACHE_SIZE;
+   }
+
    /**
     * how long (in ms) to wait to acquire a file lock on the journal
     */
@@ -1263,6 +1297,27 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT;
    }
 
+   /**
+    * the maximum size (in bytes) of the batches of operations sent to the replica, 0 disables the batching
+    */
+   public static int getDefaultReplicationBatchSize() {
+      return DEFAULT_REPLICATION_BATCH_SIZE;
+   }
+
+   /**
+    * how long (in ms) a batch of replicated operations that isn't full can wait for more operations
+    */
+   public static long getDefaultReplicationBatchDelay() {
+      return DEFAULT_REPLICATION_BATCH_DELAY;
+   }
+
+   /**
+    * how many files can be sent at once to the replica during the initial synchronization
+    */
+   public static int getDefaultInitialReplicationSyncConcurrency() {
+      return DEFAULT_INITIAL_REPLICATION_SYNC_CONCURRENCY;
+   }
+
    /**
     * if we have to start as a replicated server this is the delay to wait before fail-back occurs
     *
@@ -254,6 +254,25 @@ public interface Message {
     * */
    RefCountMessageListener getContext();
 
+   /**
+    * The data attached to this message by the broker, e.g. a protocol specific conversion of it shared by
+    * its deliveries: it isn't persisted nor sent and it's discarded when the message is changed.
+    *
+    * @return the data attached with {@code key} or {@code null} if none
+    */
+   default Object getUserContext(Object key) {
+      return null;
+   }
+
+   /**
+    * It attaches {@code value} to this message with {@code key}, replacing the data attached before:
+    * a {@code null} value removes it.
+    *
+    * @see #getUserContext(Object)
+    */
+   default void setUserContext(Object key, Object value) {
+   }
+
    default SimpleString getGroupID() {
       return null;
    }
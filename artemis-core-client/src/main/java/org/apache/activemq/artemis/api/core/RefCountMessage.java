@@ -17,6 +17,8 @@
 
 package org.apache.activemq.artemis.api.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public abstract class RefCountMessage implements Message {
@@ -30,6 +32,8 @@ public abstract class RefCountMessage implements Message {
 
    private RefCountMessageListener context;
 
+   private volatile Map<Object, Object> userContext;
+
    @Override
    public Message setContext(RefCountMessageListener context) {
       this.context = context;
@@ -41,6 +45,44 @@ public abstract class RefCountMessage implements Message {
       return context;
    }
 
+   @Override
+   public Object getUserContext(Object key) {
+      final Map<Object, Object> userContext = this.userContext;
+      return userContext == null ? null : userContext.get(key);
+   }
+
+   @Override
+   public void setUserContext(Object key, Object value) {
+      Map<Object, Object> userContext = this.userContext;
+      if (userContext == null) {
+         if (value == null) {
+            return;
+         }
+         synchronized (this) {
+            userContext = this.userContext;
+            if (userContext == null) {
+               userContext = new ConcurrentHashMap<>(2);
+               this.userContext = userContext;
+            }
+         }
+      }
+      if (value == null) {
+         userContext.remove(key);
+      } else {
+         userContext.put(key, value);
+      }
+   }
+
+   /**
+    * To be called when the message is changed: the data attached to it could be stale.
+    */
+   protected void clearUserContext() {
+      final Map<Object, Object> userContext = this.userContext;
+      if (userContext != null) {
+         userContext.clear();
+      }
+   }
+
    @Override
    public int getRefCount() {
       return refCount;
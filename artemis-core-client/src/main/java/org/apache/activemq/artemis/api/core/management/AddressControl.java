@@ -97,6 +97,30 @@ public interface AddressControl {
    @Attribute(desc = "number of bytes used by each page for this address")
    long getNumberOfBytesPerPage() throws Exception;
 
+   /**
+    * Returns the size (in bytes) of the messages of the paging files cached in memory for this address.
+    */
+   @Attribute(desc = "size (in bytes) of the messages of the paging files cached in memory for this address")
+   long getPageCacheSizeBytes() throws Exception;
+
+   /**
+    * Returns the number of page lookups served by the page cache of this address.
+    */
+   @Attribute(desc = "number of page lookups served by the page cache of this address")
+   long getPageCacheHits() throws Exception;
+
+   /**
+    * Returns the number of page lookups not served by the page cache of this address.
+    */
+   @Attribute(desc = "number of page lookups not served by the page cache of this address")
+   long getPageCacheMisses() throws Exception;
+
+   /**
+    * Returns the number of paging files evicted from the page cache of this address.
+    */
+   @Attribute(desc = "number of paging files evicted from the page cache of this address")
+   long getPageCacheEvictions() throws Exception;
+
    /**
     * Returns the names of all bindings (both queues and diverts) bound to this address
     */
@@ -366,7 +366,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    @Override
    public ActiveMQBuffer getBodyBuffer() {
       // if using the writable buffer, we must parse properties
-      getProperties();
+      getProperties().ensureDecoded();
 
       internalWritableBuffer();
 
@@ -402,6 +402,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       if (validBuffer) {
          validBuffer = false;
       }
+      clearUserContext();
    }
 
    protected CoreMessage(CoreMessage other) {
@@ -584,7 +585,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
             properties = new TypedProperties(INTERNAL_PROPERTY_NAMES_PREDICATE);
             if (buffer != null && propertiesLocation >= 0) {
                final ByteBuf byteBuf = buffer.duplicate().readerIndex(propertiesLocation);
-               properties.decode(byteBuf, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools());
+               // the properties are read in place until changed: the buffer is re-encoded only after decoding them
+               properties.lazyDecode(byteBuf, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools());
             }
             this.properties = properties;
          }
@@ -691,7 +693,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    public synchronized CoreMessage encode() {
 
-      getProperties();
+      // the lazy properties are read from the buffer about to be overwritten
+      getProperties().ensureDecoded();
 
       if (writableBuffer != null) {
          // The message encode takes into consideration the PacketImpl which is not part of this encoding
@@ -234,6 +234,17 @@ public interface Channel {
     */
    void clearCommands();
 
+   /**
+    * Whether a {@link org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage}
+    * can be sent: its body is written by the transport straight from the file, so it can't be intercepted
+    * nor resent on reattach.
+    *
+    * @return {@code true} if it can be sent, {@code false} otherwise
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
    /**
     * returns the confirmation window size this channel is using.
     *
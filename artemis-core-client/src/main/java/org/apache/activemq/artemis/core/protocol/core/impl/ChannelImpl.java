@@ -39,6 +39,7 @@ import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.PacketsConfirmedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.utils.ConcurrentUtil;
 import org.jboss.logging.Logger;
@@ -204,6 +205,11 @@ public final class ChannelImpl implements Channel {
       return lock;
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      return confWindowSize < 0 && (interceptors == null || interceptors.isEmpty()) && connection.getTransportConnection().isFileRegionSupported();
+   }
+
    @Override
    public int getConfirmationWindowSize() {
       return confWindowSize;
@@ -337,7 +343,12 @@ public final class ChannelImpl implements Channel {
          // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
          // buffer is full, preventing any incoming buffers being handled and blocking failover
          try {
-            connection.getTransportConnection().write(buffer, flush, batch);
+            if (packet instanceof SessionReceiveFileContinuationMessage) {
+               final SessionReceiveFileContinuationMessage fileContinuation = (SessionReceiveFileContinuationMessage) packet;
+               connection.getTransportConnection().write(buffer, fileContinuation.getFileRegion(), fileContinuation.encodeTrailer(connection));
+            } else {
+               connection.getTransportConnection().write(buffer, flush, batch);
+            }
          } catch (Throwable t) {
             //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
             //The client would get still know about this as the exception bubbles up the call stack instead.
@@ -279,6 +279,10 @@ public class PacketImpl implements Packet {
 
    public static final byte FEDERATION_DOWNSTREAM_CONNECT = -16;
 
+   public static final byte REPLICATION_BATCH = -17;
+
+   public static final byte REPLICATION_BATCH_RESPONSE = -18;
+
 
    // Static --------------------------------------------------------
 
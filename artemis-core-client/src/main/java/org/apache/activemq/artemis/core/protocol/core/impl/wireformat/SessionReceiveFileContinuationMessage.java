@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import io.netty.channel.FileRegion;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * A {@link SessionReceiveContinuationMessage} whose body is read from a file by the transport connection,
+ * see {@link org.apache.activemq.artemis.spi.core.remoting.Connection#write(ActiveMQBuffer, FileRegion, ActiveMQBuffer)}.
+ * <br>
+ * It is encoded in two parts, the one before and the one after the body, and it is decoded by the receiver
+ * as a {@link SessionReceiveContinuationMessage}.
+ */
+public class SessionReceiveFileContinuationMessage extends SessionReceiveContinuationMessage {
+
+   private static final int TRAILER_SIZE = DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG;
+
+   private final FileRegion fileRegion;
+
+   private final int bodySize;
+
+   public SessionReceiveFileContinuationMessage(final long consumerID,
+                                                final FileRegion fileRegion,
+                                                final int bodySize,
+                                                final boolean continues) {
+      super(consumerID, null, continues, false);
+      this.fileRegion = fileRegion;
+      this.bodySize = bodySize;
+   }
+
+   public FileRegion getFileRegion() {
+      return fileRegion;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return super.expectedEncodeSize() + bodySize;
+   }
+
+   @Override
+   public boolean isRequiresConfirmations() {
+      return false;
+   }
+
+   /**
+    * @return the part of the packet before the body
+    */
+   @Override
+   public ActiveMQBuffer encode(final CoreRemotingConnection connection) {
+      final int headerSize = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT;
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(headerSize);
+      encodeHeader(buffer);
+      buffer.writeInt(bodySize);
+      size = expectedEncodeSize();
+      // The length doesn't include the actual length byte
+      buffer.setInt(0, size - DataConstants.SIZE_INT);
+      return buffer;
+   }
+
+   /**
+    * @return the part of the packet after the body
+    */
+   public ActiveMQBuffer encodeTrailer(final CoreRemotingConnection connection) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(TRAILER_SIZE);
+      buffer.writeBoolean(continues);
+      buffer.writeLong(getConsumerID());
+      return buffer;
+   }
+
+   @Override
+   public String toString() {
+      return getParentString() + ", bodySize=" + bodySize + ", continues=" + continues + ", consumerID=" + getConsumerID() + "]";
+   }
+}
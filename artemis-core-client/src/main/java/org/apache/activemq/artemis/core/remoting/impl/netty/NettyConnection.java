@@ -20,7 +20,9 @@ import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
 import io.netty.buffer.ByteBuf;
@@ -70,6 +72,11 @@ public class NettyConnection implements Connection {
 
    private boolean ready = true;
 
+   // the coalesced writes not flushed yet: the last one to be served by the event loop flushes all of them
+   private final AtomicInteger pendingCoalescedWrites = new AtomicInteger(0);
+
+   private final Runnable coalescedFlush = this::coalescedFlush;
+
    public NettyConnection(final Map<String, Object> configuration,
                           final Channel channel,
                           final BaseConnectionLifeCycleListener<?> listener,
@@ -286,6 +293,32 @@ public class NettyConnection implements Connection {
       write(buffer, flush, batched, null);
    }
 
+   @Override
+   public final void writeCoalesced(final ActiveMQBuffer buffer) {
+      final Channel channel = this.channel;
+      pendingCoalescedWrites.incrementAndGet();
+      // the write is queued by netty on the event loop, accounting its bytes as pending on the channel
+      channel.write(buffer.byteBuf(), channel.voidPromise());
+      final EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         coalescedFlush();
+      } else {
+         try {
+            // it runs after the write, as the event loop serves its tasks in order
+            eventLoop.execute(coalescedFlush);
+         } catch (RejectedExecutionException e) {
+            // the event loop is shutting down: the channel is going to be closed too
+            pendingCoalescedWrites.decrementAndGet();
+         }
+      }
+   }
+
+   private void coalescedFlush() {
+      if (pendingCoalescedWrites.decrementAndGet() == 0) {
+         channel.flush();
+      }
+   }
+
    private void checkConnectionState() {
       if (this.closed || !this.channel.isActive()) {
          throw new IllegalStateException("Connection " + getID() + " closed or disconnected");
@@ -16,9 +16,15 @@
  */
 package org.apache.activemq.artemis.spi.core.remoting;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.TimeUnit;
 
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
@@ -101,6 +107,60 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * writes the buffer to the connection, letting its flush be coalesced with the ones of the writes following it:
+    * the connection is flushed as soon as no other coalesced write is pending, with no further delay.
+    *
+    * @param buffer the buffer to write
+    */
+   default void writeCoalesced(ActiveMQBuffer buffer) {
+      write(buffer, false, false);
+   }
+
+   /**
+    * @return {@code true} if {@link #write(ActiveMQBuffer, FileRegion, ActiveMQBuffer)} transfers the file region
+    * without copying it in memory, {@code false} otherwise
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * writes and flushes the header, the file region and the trailer to the connection, with no other write in between:
+    * the file region contents are transferred from the file to the connection without being copied in memory.
+    *
+    * If {@link #isFileRegionSupported()} is {@code false} they are copied into a single buffer, written as
+    * {@link #write(ActiveMQBuffer, boolean, boolean)} does.
+    *
+    * @param header     the buffer to write before the file region
+    * @param fileRegion the file region to write, released once written
+    * @param trailer    the buffer to write after the file region
+    */
+   default void write(ActiveMQBuffer header, FileRegion fileRegion, ActiveMQBuffer trailer) {
+      try {
+         final int bodySize = (int) fileRegion.count();
+         final ActiveMQBuffer buffer = createTransportBuffer(header.readableBytes() + bodySize + trailer.readableBytes());
+         buffer.writeBytes(header, header.readableBytes());
+         final WritableByteChannel body = Channels.newChannel(new ByteBufOutputStream(buffer.byteBuf()));
+         long transferred = 0;
+         while (transferred < bodySize) {
+            final long written = fileRegion.transferTo(body, transferred);
+            if (written <= 0) {
+               throw new IOException("Unable to read " + (bodySize - transferred) + " bytes of " + fileRegion);
+            }
+            transferred += written;
+         }
+         buffer.writeBytes(trailer, trailer.readableBytes());
+         write(buffer, true, false);
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      } finally {
+         fileRegion.release();
+         header.release();
+         trailer.release();
+      }
+   }
+
    /**
     * This should close the internal channel without calling any listeners.
     * This is to avoid a situation where the broker is busy writing on an internal thread.
@@ -147,6 +147,26 @@ public class CoreMessageTest {
       Assert.assertEquals(TEXT, TextMessageUtil.readBodyText(sendMessageReceivedSent.getMessage().getReadOnlyBodyBuffer()).toString());
    }
 
+   /** The properties are looked up in place, then the message is changed and re-encoded on the same buffer */
+   @Test
+   public void testChangeAddressAfterPropertyLookup() {
+      ByteBuf newBuffer = Unpooled.buffer(BYTE_ENCODE.capacity());
+      newBuffer.writeBytes(BYTE_ENCODE, 0, BYTE_ENCODE.writerIndex());
+      CoreMessage decodedMessage = internalDecode(newBuffer);
+      Assert.assertTrue(decodedMessage.containsProperty(PROP1_NAME));
+      Assert.assertEquals(PROP1_VALUE, decodedMessage.getSimpleStringProperty(PROP1_NAME));
+
+      SimpleString newAddress = new SimpleString(BIGGER_TEXT);
+      decodedMessage.setAddress(newAddress);
+      ByteBuf destinedBuffer = Unpooled.buffer(decodedMessage.getEncodeSize());
+      decodedMessage.sendBuffer(destinedBuffer, 0);
+
+      CoreMessage newDecoded = internalDecode(destinedBuffer);
+      Assert.assertEquals(newAddress, newDecoded.getAddressSimpleString());
+      Assert.assertEquals(PROP1_VALUE, newDecoded.getSimpleStringProperty(PROP1_NAME));
+      Assert.assertEquals(TEXT, TextMessageUtil.readBodyText(newDecoded.getReadOnlyBodyBuffer()).toString());
+   }
+
    private CoreMessage decodeMessage() {
 
       ByteBuf newBuffer = Unpooled.buffer(BYTE_ENCODE.capacity());
@@ -195,6 +215,22 @@ public class CoreMessageTest {
       testChangeBodyString(BIGGER_TEXT);
    }
 
+   @Test
+   public void testUserContextDiscardedOnChange() {
+      final CoreMessage decodedMessage = decodeMessage();
+      final Object key = new Object();
+      Assert.assertNull(decodedMessage.getUserContext(key));
+      decodedMessage.setUserContext(key, "converted");
+      Assert.assertEquals("converted", decodedMessage.getUserContext(key));
+
+      decodedMessage.putStringProperty("newProperty", "value");
+      Assert.assertNull(decodedMessage.getUserContext(key));
+
+      decodedMessage.setUserContext(key, "converted");
+      decodedMessage.setUserContext(key, null);
+      Assert.assertNull(decodedMessage.getUserContext(key));
+   }
+
    @Test
    public void testGenerateEmpty() {
       CoreMessage empty = new CoreMessage().initBuffer(100);
@@ -20,6 +20,7 @@ import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.List;
 
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 
 /**
@@ -109,4 +110,24 @@ public interface SequentialFileFactory {
    boolean isDatasync();
 
    long getBufferSize();
+
+   /**
+    * @return the {@link TimedBuffer} shared by the files of this factory, or {@code null} if it isn't buffered
+    */
+   default TimedBuffer getTimedBuffer() {
+      return null;
+   }
+
+   /**
+    * Enables the adaptive timeout on the {@link TimedBuffer} of this factory, if there's any.
+    *
+    * @see TimedBuffer#setAdaptiveTimeout(boolean)
+    */
+   default SequentialFileFactory setAdaptiveBufferTimeout(boolean enabled) {
+      final TimedBuffer timedBuffer = getTimedBuffer();
+      if (timedBuffer != null) {
+         timedBuffer.setAdaptiveTimeout(enabled);
+      }
+      return this;
+   }
 }
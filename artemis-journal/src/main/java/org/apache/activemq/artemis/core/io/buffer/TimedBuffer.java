@@ -55,6 +55,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // The number of tries on sleep before switching to spin
    private static final int MAX_CHECKS_ON_SLEEP = 20;
 
+   // The adaptive timeout will never go below timeout / MIN_ADAPTIVE_TIMEOUT_DIVISOR
+   private static final int MIN_ADAPTIVE_TIMEOUT_DIVISOR = 16;
+
    // Attributes ----------------------------------------------------
 
    private TimedBufferObserver bufferObserver;
@@ -76,6 +79,21 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
    private final int timeout;
 
+   private final long minAdaptiveTimeout;
+
+   // The timeout effectively used by the timer, it will only differ from timeout when adaptive is on
+   private volatile long currentTimeout;
+
+   private volatile boolean adaptiveTimeout;
+
+   // number of sync requests added since the last flush, every access is synchronized
+   private int pendingSyncRequests = 0;
+
+   private final AtomicLong syncFlushes = new AtomicLong(0);
+
+   // sync flushes that completed more than one sync request
+   private final AtomicLong batchedSyncFlushes = new AtomicLong(0);
+
    // used to measure sync requests. When a sync is requested, it shouldn't take more than timeout to happen
    private volatile boolean pendingSync = false;
 
@@ -132,6 +150,41 @@ public final class TimedBuffer extends CriticalComponentImpl {
       callbacks = new ArrayList<>();
 
       this.timeout = timeout;
+
+      this.currentTimeout = timeout;
+
+      this.minAdaptiveTimeout = Math.max(1, timeout / MIN_ADAPTIVE_TIMEOUT_DIVISOR);
+   }
+
+   /**
+    * When enabled the timeout will shrink every time a sync flush has completed a single sync request, as waiting
+    * for the timeout didn't batch anything, and it will grow back up to the configured timeout once concurrent sync
+    * requests are being batched again.
+    */
+   public void setAdaptiveTimeout(boolean adaptiveTimeout) {
+      this.adaptiveTimeout = adaptiveTimeout;
+      if (!adaptiveTimeout) {
+         currentTimeout = timeout;
+      }
+   }
+
+   public boolean isAdaptiveTimeout() {
+      return adaptiveTimeout;
+   }
+
+   /**
+    * @return the timeout (in nanoseconds) currently used to flush the buffer
+    */
+   public long getCurrentTimeout() {
+      return currentTimeout;
+   }
+
+   public long getSyncFlushes() {
+      return syncFlushes.get();
+   }
+
+   public long getBatchedSyncFlushes() {
+      return batchedSyncFlushes.get();
    }
 
    public void start() {
@@ -300,6 +353,8 @@ public final class TimedBuffer extends CriticalComponentImpl {
             if (sync) {
                pendingSync = true;
 
+               pendingSyncRequests++;
+
                startSpin();
             }
          }
@@ -325,6 +380,8 @@ public final class TimedBuffer extends CriticalComponentImpl {
             if (sync) {
                pendingSync = true;
 
+               pendingSyncRequests++;
+
                startSpin();
             }
          }
@@ -362,8 +419,20 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
                stopSpin();
 
+               if (pendingSync) {
+                  syncFlushes.incrementAndGet();
+                  if (pendingSyncRequests > 1) {
+                     batchedSyncFlushes.incrementAndGet();
+                  }
+                  if (adaptiveTimeout) {
+                     adaptTimeout(pendingSyncRequests);
+                  }
+               }
+
                pendingSync = false;
 
+               pendingSyncRequests = 0;
+
                // swap the instance as the previous callback list is being used asynchronously
                callbacks = new ArrayList<>();
 
@@ -389,6 +458,15 @@ public final class TimedBuffer extends CriticalComponentImpl {
 
    // Private -------------------------------------------------------
 
+   private void adaptTimeout(int syncRequests) {
+      final long current = currentTimeout;
+      if (syncRequests > 1) {
+         currentTimeout = Math.min(timeout, current * 2);
+      } else {
+         currentTimeout = Math.max(minAdaptiveTimeout, current - (current >> 2));
+      }
+   }
+
    // Inner classes -------------------------------------------------
 
    private class LogRatesTimerTask extends TimerTask {
@@ -462,12 +540,12 @@ public final class TimedBuffer extends CriticalComponentImpl {
                      //          We only need to wait 80% more..
                      //          timeFromTheLastFlush would be the difference
                      //          And if the device took more than that time, there's no need to wait at all.
-                     final long timeToSleep = timeout - timeFromTheLastFlush;
+                     final long timeToSleep = currentTimeout - timeFromTheLastFlush;
                      if (timeToSleep > 0) {
                         useSleep = sleepIfPossible(timeToSleep);
                      }
                   }
-               } else if (bufferObserver != null && System.nanoTime() - lastFlushTime > timeout) {
+               } else if (bufferObserver != null && System.nanoTime() - lastFlushTime > currentTimeout) {
                   lastFlushTime = System.nanoTime();
                   // if not using flush we will spin and do the time checks manually
                   flush();
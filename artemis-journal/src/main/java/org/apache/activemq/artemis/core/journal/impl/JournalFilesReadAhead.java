@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.jboss.logging.Logger;
+
+/**
+ * This is a helper class for the Journal load, which will read the next data file from the disk
+ * while the current one is being parsed and loaded.
+ * <br>
+ * The files are still delivered in order: two buffers are used alternately and a buffer is only
+ * reused once the file it contains has been completely parsed.
+ */
+final class JournalFilesReadAhead implements AutoCloseable {
+
+   private static final Logger logger = Logger.getLogger(JournalFilesReadAhead.class);
+
+   private final SequentialFileFactory fileFactory;
+
+   // null means the files will be read on the caller's thread
+   private final Executor executor;
+
+   private final AtomicReference<ByteBuffer> evenBufferRef;
+
+   // AtomicReference is used only as a reference, not as an Atomic value
+   private final AtomicReference<ByteBuffer> oddBufferRef = new AtomicReference<>();
+
+   private List<JournalFile> files;
+
+   private int nextFile;
+
+   private FutureTask<ByteBuffer> pendingRead;
+
+   /**
+    * @param evenBufferRef the buffer reference owned by the caller, the other buffer is released on {@link #close()}
+    */
+   JournalFilesReadAhead(final SequentialFileFactory fileFactory,
+                         final Executor executor,
+                         final AtomicReference<ByteBuffer> evenBufferRef) {
+      this.fileFactory = fileFactory;
+      this.executor = executor;
+      this.evenBufferRef = evenBufferRef;
+   }
+
+   void start(final List<JournalFile> files) throws Exception {
+      awaitPendingRead();
+      this.files = files;
+      this.nextFile = 0;
+      if (!files.isEmpty()) {
+         scheduleRead(0);
+      }
+   }
+
+   /**
+    * It returns the content of {@code file}, that has to be the next one on the started list,
+    * and starts reading the following one.
+    *
+    * @return the file content, or {@code null} if the file is too small to contain any record
+    */
+   ByteBuffer next(final JournalFile file) throws Exception {
+      if (files == null || nextFile >= files.size() || files.get(nextFile) != file) {
+         throw new IllegalStateException("Journal file " + file + " is not the next one to be read");
+      }
+      final ByteBuffer content = awaitPendingRead();
+      nextFile++;
+      if (nextFile < files.size()) {
+         scheduleRead(nextFile);
+      }
+      return content;
+   }
+
+   /**
+    * @return the buffer reference holding the content returned by the last {@link #next(JournalFile)}
+    */
+   AtomicReference<ByteBuffer> getBufferReference() {
+      return bufferReference(nextFile - 1);
+   }
+
+   @Override
+   public void close() {
+      try {
+         awaitPendingRead();
+      } catch (Exception e) {
+         logger.debug("Error on reading ahead a journal file that won't be loaded", e);
+      }
+      files = null;
+      final ByteBuffer buffer = oddBufferRef.get();
+      if (buffer != null) {
+         fileFactory.releaseDirectBuffer(buffer);
+         oddBufferRef.lazySet(null);
+      }
+   }
+
+   private AtomicReference<ByteBuffer> bufferReference(int fileIndex) {
+      return (fileIndex & 1) == 0 ? evenBufferRef : oddBufferRef;
+   }
+
+   private void scheduleRead(int fileIndex) {
+      final JournalFile file = files.get(fileIndex);
+      final AtomicReference<ByteBuffer> bufferRef = bufferReference(fileIndex);
+      pendingRead = new FutureTask<>(() -> JournalImpl.readWholeJournalFile(fileFactory, file, bufferRef));
+      if (executor == null) {
+         pendingRead.run();
+      } else {
+         executor.execute(pendingRead);
+      }
+   }
+
+   private ByteBuffer awaitPendingRead() throws Exception {
+      final FutureTask<ByteBuffer> read = pendingRead;
+      if (read == null) {
+         return null;
+      }
+      pendingRead = null;
+      try {
+         return read.get();
+      } catch (ExecutionException e) {
+         final Throwable cause = e.getCause();
+         if (cause instanceof Exception) {
+            throw (Exception) cause;
+         }
+         throw new Exception(cause.getMessage(), cause);
+      }
+   }
+}
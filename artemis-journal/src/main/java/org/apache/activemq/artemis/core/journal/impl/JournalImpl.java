@@ -173,7 +173,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    private final JournalFilesRepository filesRepository;
 
    // Compacting may replace this structure
-   private final ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
+   // it is replaced by the records calculated by the compactor at the end of compacting
+   private volatile ConcurrentLongHashMap<JournalRecord> records = new ConcurrentLongHashMap<>();
 
    private final ConcurrentLongHashSet pendingRecords = new ConcurrentLongHashSet();
 
@@ -216,6 +217,13 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile int compactCount = 0;
 
+   // number of data files the running compacting still has to read
+   private volatile int compactPendingFiles = 0;
+
+   private volatile long compactLastStallNanos = 0;
+
+   private final AtomicLong compactReclaimedBytes = new AtomicLong(0);
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
@@ -489,6 +497,21 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                               final JournalFile file,
                               final JournalReaderCallback reader,
                               final AtomicReference<ByteBuffer> wholeFileBufferReference) throws Exception {
+      final ByteBuffer wholeFileBuffer = readWholeJournalFile(fileFactory, file, wholeFileBufferReference);
+      if (wholeFileBuffer == null) {
+         return -1;
+      }
+      return parseJournalFile(fileFactory, file, wholeFileBuffer, reader, wholeFileBufferReference);
+   }
+
+   /**
+    * It reads the whole file into a direct buffer (limited to the file size), without parsing it.
+    *
+    * @return the buffer with the file content or {@code null} if the file is too small to contain any record
+    */
+   static ByteBuffer readWholeJournalFile(final SequentialFileFactory fileFactory,
+                                          final JournalFile file,
+                                          final AtomicReference<ByteBuffer> wholeFileBufferReference) throws Exception {
       file.getFile().open(1, false);
       ByteBuffer wholeFileBuffer = null;
       try {
@@ -496,7 +519,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          if (filesize < JournalImpl.SIZE_HEADER) {
             // the file is damaged or the system crash before it was able to write
-            return -1;
+            return null;
          }
          wholeFileBuffer = allocateDirectBufferIfNeeded(fileFactory, filesize, wholeFileBufferReference);
 
@@ -506,6 +529,40 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             throw new RuntimeException("Invalid read! The system couldn't read the entire file into memory");
          }
 
+         return wholeFileBuffer;
+      } catch (Throwable e) {
+         if (wholeFileBufferReference == null && wholeFileBuffer != null) {
+            fileFactory.releaseDirectBuffer(wholeFileBuffer);
+         }
+         ActiveMQJournalLogger.LOGGER.errorReadingFile(e);
+         throw new Exception(e.getMessage(), e);
+      } finally {
+         try {
+            file.getFile().close(false);
+         } catch (Throwable ignored) {
+         }
+      }
+   }
+
+   private static int readAheadJournalFile(final SequentialFileFactory fileFactory,
+                                           final JournalFile file,
+                                           final JournalReaderCallback reader,
+                                           final JournalFilesReadAhead readAhead) throws Exception {
+      final ByteBuffer wholeFileBuffer = readAhead.next(file);
+      if (wholeFileBuffer == null) {
+         return -1;
+      }
+      return parseJournalFile(fileFactory, file, wholeFileBuffer, reader, readAhead.getBufferReference());
+   }
+
+   private static int parseJournalFile(final SequentialFileFactory fileFactory,
+                                       final JournalFile file,
+                                       final ByteBuffer wholeFileBuffer,
+                                       final JournalReaderCallback reader,
+                                       final AtomicReference<ByteBuffer> wholeFileBufferReference) throws Exception {
+      try {
+         final int journalFileSize = wholeFileBuffer.limit();
+
          // First long is the ordering timestamp, we just jump its position
          wholeFileBuffer.position(JournalImpl.SIZE_HEADER);
 
@@ -792,13 +849,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          ActiveMQJournalLogger.LOGGER.errorReadingFile(e);
          throw new Exception(e.getMessage(), e);
       } finally {
-         if (wholeFileBufferReference == null && wholeFileBuffer != null) {
+         if (wholeFileBufferReference == null) {
             fileFactory.releaseDirectBuffer(wholeFileBuffer);
          }
-         try {
-            file.getFile().close(false);
-         } catch (Throwable ignored) {
-         }
       }
    }
 
@@ -1592,6 +1645,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             // We need to guarantee that the journal is frozen for this short time
             // We don't freeze the journal as we compact, only for the short time where we replace records
+            long stallStart = System.nanoTime();
             journalLock.writeLock().lock();
             try {
                if (state != JournalState.LOADED) {
@@ -1625,9 +1679,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                // We will calculate the new records during compacting, what will take the position the records will take
                // after compacting
-               records.clear();
+               records = new ConcurrentLongHashMap<>();
+
+               compactPendingFiles = dataFilesToProcess.size();
             } finally {
                journalLock.writeLock().unlock();
+               compactLastStallNanos = System.nanoTime() - stallStart;
             }
 
             Collections.sort(dataFilesToProcess, JOURNAL_FILE_COMPARATOR);
@@ -1643,6 +1700,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                for (final JournalFile file : dataFilesToProcess) {
                   try {
                      JournalImpl.readJournalFile(fileFactory, file, compactor, wholeFileBufferRef);
+                     compactPendingFiles--;
                   } catch (Throwable e) {
                      ActiveMQJournalLogger.LOGGER.compactReadError(file);
                      throw new Exception("Error on reading compacting for " + file, e);
@@ -1668,6 +1726,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
+            stallStart = System.nanoTime();
             journalLock.writeLock().lock();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
@@ -1677,10 +1736,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
                newDatafiles = localCompactor.getNewDataFiles();
 
-               // Restore newRecords created during compacting
-               localCompactor.getNewRecords().forEach((id, newRecord) -> {
-                  records.put(id, newRecord);
-               });
+               // Restore newRecords created during compacting:
+               // the records added while compacting are usually just a few compared to the compacted ones,
+               // so they are moved into the compacted records instead of the other way around
+               final ConcurrentLongHashMap<JournalRecord> newRecords = localCompactor.getNewRecords();
+               records.forEach((id, record) -> newRecords.putIfAbsent(id, record));
+               records = newRecords;
 
                // Restore compacted dataFiles
                for (int i = newDatafiles.size() - 1; i >= 0; i--) {
@@ -1718,8 +1779,11 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                });
             } finally {
                journalLock.writeLock().unlock();
+               compactLastStallNanos = Math.max(compactLastStallNanos, System.nanoTime() - stallStart);
             }
 
+            compactReclaimedBytes.addAndGet((long) (dataFilesToProcess.size() - newDatafiles.size()) * fileSize);
+
             // At this point the journal is unlocked. We keep renaming files while the journal is already operational
             renameFiles(dataFilesToProcess, newDatafiles);
             deleteControlFile(controlFile);
@@ -1732,6 +1796,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             if (logger.isDebugEnabled()) {
                logger.debug("Flushing compacting on journal " + this);
             }
+            compactPendingFiles = 0;
             // An Exception was probably thrown, and the compactor was not cleared
             if (compactor != null) {
                try {
@@ -1804,7 +1869,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    private synchronized JournalLoadInformation load(final LoaderCallback loadManager,
                                                     final boolean changeData,
                                                     final JournalState replicationSync,
-                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef) throws Exception {
+                                                    final AtomicReference<ByteBuffer> wholeFileBufferRef,
+                                                    final JournalFilesReadAhead readAhead) throws Exception {
       JournalState state;
       assert (state = this.state) != JournalState.STOPPED &&
          state != JournalState.LOADED &&
@@ -1830,12 +1896,15 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
+      // the next file is read from the disk while the current one is being loaded
+      readAhead.start(orderedFiles);
+
       for (final JournalFile file : orderedFiles) {
          logger.trace("Loading file " + file.getFile().getFileName());
 
          final AtomicBoolean hasData = new AtomicBoolean(false);
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+         int resultLastPost = JournalImpl.readAheadJournalFile(fileFactory, file, new JournalReaderCallback() {
 
             private void checkID(final long id) {
                if (id > maxID.longValue()) {
@@ -2057,7 +2126,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                hasData.lazySet(true);
             }
 
-         }, wholeFileBufferRef);
+         }, readAhead);
 
          if (hasData.get()) {
             lastDataPos = resultLastPost;
@@ -2125,9 +2194,12 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       }
       // AtomicReference is used only as a reference, not as an Atomic value
       final AtomicReference<ByteBuffer> wholeFileBufferRef = new AtomicReference<>();
+      final JournalFilesReadAhead readAhead = new JournalFilesReadAhead(fileFactory, ioExecutorFactory == null ? null : ioExecutorFactory.getExecutor(), wholeFileBufferRef);
       try {
-         return load(loadManager, changeData, replicationSync, wholeFileBufferRef);
+         return load(loadManager, changeData, replicationSync, wholeFileBufferRef, readAhead);
       } finally {
+         // it must happen before releasing wholeFileBufferRef, as a pending read could still be using it
+         readAhead.close();
          final ByteBuffer wholeFileBuffer = wholeFileBufferRef.get();
          if (wholeFileBuffer != null) {
             fileFactory.releaseDirectBuffer(wholeFileBuffer);
@@ -3163,4 +3235,25 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
    public int getCompactCount() {
       return compactCount;
    }
+
+   /**
+    * @return the number of data files the running compacting has yet to read, {@code 0} if none is running
+    */
+   public int getCompactPendingFiles() {
+      return compactPendingFiles;
+   }
+
+   /**
+    * @return the longest time (in nanoseconds) the appenders were held by a single locked phase of the last compacting
+    */
+   public long getCompactLastStallTime() {
+      return compactLastStallNanos;
+   }
+
+   /**
+    * @return the bytes reclaimed by compacting since the journal has been created
+    */
+   public long getCompactReclaimedBytes() {
+      return compactReclaimedBytes.get();
+   }
 }
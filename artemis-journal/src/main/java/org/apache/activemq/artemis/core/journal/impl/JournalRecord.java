@@ -16,10 +16,7 @@
  */
 package org.apache.activemq.artemis.core.journal.impl;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.activemq.artemis.api.core.Pair;
+import java.util.Arrays;
 
 /**
  * This holds the relationship a record has with other files in regard to reference counting.
@@ -29,11 +26,19 @@ import org.apache.activemq.artemis.api.core.Pair;
  */
 public class JournalRecord {
 
+   private static final int INITIAL_UPDATE_FILES = 2;
+
    private final JournalFile addFile;
 
    private final int size;
 
-   private List<Pair<JournalFile, Integer>> updateFiles;
+   // the files holding updates of this record: consecutive updates on the same file share the same slot
+   // and updateCountsAndSizes packs their number (high int) and their total size (low int)
+   private JournalFile[] updateFiles;
+
+   private long[] updateCountsAndSizes;
+
+   private int updateFilesSize;
 
    public JournalRecord(final JournalFile addFile, final int size) {
       this.addFile = addFile;
@@ -46,12 +51,22 @@ public class JournalRecord {
    }
 
    void addUpdateFile(final JournalFile updateFile, final int size) {
-      if (updateFiles == null) {
-         updateFiles = new ArrayList<>();
+      final int last = updateFilesSize - 1;
+      if (last >= 0 && updateFiles[last] == updateFile) {
+         updateCountsAndSizes[last] = pack(updateCount(last) + 1, updateSize(last) + size);
+      } else {
+         if (updateFiles == null) {
+            updateFiles = new JournalFile[INITIAL_UPDATE_FILES];
+            updateCountsAndSizes = new long[INITIAL_UPDATE_FILES];
+         } else if (updateFilesSize == updateFiles.length) {
+            updateFiles = Arrays.copyOf(updateFiles, updateFilesSize * 2);
+            updateCountsAndSizes = Arrays.copyOf(updateCountsAndSizes, updateFilesSize * 2);
+         }
+         updateFiles[updateFilesSize] = updateFile;
+         updateCountsAndSizes[updateFilesSize] = pack(1, size);
+         updateFilesSize++;
       }
 
-      updateFiles.add(new Pair<>(updateFile, size));
-
       updateFile.incPosCount();
 
       updateFile.addSize(size);
@@ -61,25 +76,36 @@ public class JournalRecord {
       file.incNegCount(addFile);
       addFile.decSize(size);
 
-      if (updateFiles != null) {
-         for (Pair<JournalFile, Integer> updFile : updateFiles) {
-            file.incNegCount(updFile.getA());
-            updFile.getA().decSize(updFile.getB());
+      for (int i = 0; i < updateFilesSize; i++) {
+         final JournalFile updateFile = updateFiles[i];
+         for (int updates = updateCount(i); updates > 0; updates--) {
+            file.incNegCount(updateFile);
          }
+         updateFile.decSize(updateSize(i));
       }
    }
 
+   private static long pack(final int count, final int size) {
+      return ((long) count << 32) | (size & 0xFFFFFFFFL);
+   }
+
+   private int updateCount(final int index) {
+      return (int) (updateCountsAndSizes[index] >>> 32);
+   }
+
+   private int updateSize(final int index) {
+      return (int) updateCountsAndSizes[index];
+   }
+
    @Override
    public String toString() {
       StringBuilder buffer = new StringBuilder();
       buffer.append("JournalRecord(add=" + addFile.getFile().getFileName());
 
-      if (updateFiles != null) {
-
-         for (Pair<JournalFile, Integer> update : updateFiles) {
-            buffer.append(", update=" + update.getA().getFile().getFileName());
+      for (int i = 0; i < updateFilesSize; i++) {
+         for (int updates = updateCount(i); updates > 0; updates--) {
+            buffer.append(", update=" + updateFiles[i].getFile().getFileName());
          }
-
       }
 
       buffer.append(")");
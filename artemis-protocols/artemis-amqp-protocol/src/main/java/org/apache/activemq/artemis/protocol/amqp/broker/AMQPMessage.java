@@ -660,6 +660,7 @@ public class AMQPMessage extends RefCountMessage {
    @Override
    public void messageChanged() {
       modified = true;
+      clearUserContext();
    }
 
    @Override
@@ -69,6 +69,8 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
 
    private int amqpLowCredits = AmqpSupport.AMQP_LOW_CREDITS_DEFAULT;
 
+   private int amqpMinLargeMessageSize = AmqpSupport.AMQP_MIN_LARGE_MESSAGE_SIZE_DEFAULT;
+
    private boolean amqpDuplicateDetection = true;
 
    private boolean amqpUseModifiedForTransientDeliveryErrors = AmqpSupport.AMQP_USE_MODIFIED_FOR_TRANSIENT_DELIVERY_ERRORS;
@@ -229,6 +231,15 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
       return this;
    }
 
+   public int getAmqpMinLargeMessageSize() {
+      return amqpMinLargeMessageSize;
+   }
+
+   public ProtonProtocolManager setAmqpMinLargeMessageSize(int amqpMinLargeMessageSize) {
+      this.amqpMinLargeMessageSize = amqpMinLargeMessageSize;
+      return this;
+   }
+
    @Override
    public boolean isProtocol(byte[] array) {
       return array.length >= 4 && array[0] == (byte) 'A' && array[1] == (byte) 'M' && array[2] == (byte) 'Q' && array[3] == (byte) 'P';
@@ -32,6 +32,9 @@ public class AmqpSupport {
    public static final int AMQP_CREDITS_DEFAULT = 1000;
    public static final int AMQP_LOW_CREDITS_DEFAULT = 300;
 
+   // Deliveries larger than this are sent to consumers in chunks of this size, 0 to send them whole
+   public static final int AMQP_MIN_LARGE_MESSAGE_SIZE_DEFAULT = 0;
+
    // Defaults for controlling the interpretation of AMQP dispositions
    public static final boolean AMQP_TREAT_REJECT_AS_UNMODIFIED_DELIVERY_FAILURE = false;
 
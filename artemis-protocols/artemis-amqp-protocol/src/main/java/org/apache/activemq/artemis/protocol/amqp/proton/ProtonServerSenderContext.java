@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.protocol.amqp.proton;
 
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -120,6 +121,15 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
    private final Object creditsLock = new Object();
    private final java.util.function.Consumer<? super MessageReference> executeDelivery;
    private final boolean amqpTreatRejectAsUnmodifiedDeliveryFailed;
+   private final int amqpMinLargeMessageSize;
+
+   /**
+    * The large message being streamed: no other delivery can begin until it is complete.
+    * It is only written by the connection handler.
+    */
+   private volatile LargeMessageDelivery largeMessageDelivery;
+   // The deliveries executed while streaming a large message, only accessed by the connection handler
+   private final ArrayDeque<MessageReference> deferredDeliveries = new ArrayDeque<>();
 
    public ProtonServerSenderContext(AMQPConnectionContext connection,
                                     Sender sender,
@@ -133,6 +143,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       this.executeDelivery = this::executeDelivery;
       amqpTreatRejectAsUnmodifiedDeliveryFailed = this.connection.getProtocolManager()
                                                                  .isAmqpTreatRejectAsUnmodifiedDeliveryFailed();
+      amqpMinLargeMessageSize = this.connection.getProtocolManager().getAmqpMinLargeMessageSize();
    }
 
    public Object getBrokerConsumer() {
@@ -143,6 +154,10 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
    public void onFlow(int currentCredits, boolean drain) {
       connection.requireInHandler();
 
+      if (sender.getLocalState() == EndpointState.CLOSED) {
+         abortLargeMessageDelivery();
+      }
+
       setupCredit();
 
       ServerConsumerImpl serverConsumer = (ServerConsumerImpl) brokerConsumer;
@@ -175,7 +190,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       }
 
       synchronized (creditsLock) {
-         return credits > 0 && sender.getLocalState() != EndpointState.CLOSED;
+         return credits > 0 && sender.getLocalState() != EndpointState.CLOSED && largeMessageDelivery == null;
       }
    }
 
@@ -540,6 +555,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       protonSession.removeSender(sender);
 
       connection.runLater(() -> {
+         abortLargeMessageDelivery();
          sender.close();
          try {
             sessionSPI.closeSender(brokerConsumer);
@@ -558,6 +574,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
    public void close(boolean remoteLinkClose) throws ActiveMQAMQPException {
       try {
          closed = true;
+         connection.runNow(this::abortLargeMessageDelivery);
          sessionSPI.closeSender(brokerConsumer);
          // if this is a link close rather than a connection close or detach, we need to delete
          // any durable resources for say pub subs
@@ -779,6 +796,11 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
 
    private void executeDelivery(MessageReference messageReference) {
 
+      if (largeMessageDelivery != null) {
+         deferredDeliveries.add(messageReference);
+         return;
+      }
+
       try {
          if (sender.getLocalState() == EndpointState.CLOSED) {
             log.debug("Not delivering message " + messageReference + " as the sender is closed and credits were available, if you see too many of these it means clients are issuing credits and closing the connection with pending credits a lot of times");
@@ -799,6 +821,12 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
          delivery.setMessageFormat((int) message.getMessageFormat());
          delivery.setContext(messageReference);
 
+         if (amqpMinLargeMessageSize > 0 && sendBuffer.remaining() > amqpMinLargeMessageSize) {
+            largeMessageDelivery = new LargeMessageDelivery(messageReference, delivery, sendBuffer);
+            largeMessageDelivery.deliver();
+            return;
+         }
+
          try {
 
             if (releaseRequired) {
@@ -811,19 +839,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
                sender.sendNoCopy(sendBuffer);
             }
 
-            if (preSettle) {
-               // Presettled means the client implicitly accepts any delivery we send it.
-               try {
-                  sessionSPI.ack(null, brokerConsumer, messageReference.getMessage());
-               } catch (Exception e) {
-                  log.debug(e.getMessage(), e);
-               }
-               delivery.settle();
-            } else {
-               sender.advance();
-            }
-
-            connection.flush();
+            finishDelivery(messageReference, delivery);
          } finally {
             synchronized (creditsLock) {
                pending.decrementAndGet();
@@ -838,6 +854,138 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       }
    }
 
+   private void finishDelivery(MessageReference messageReference, Delivery delivery) {
+      if (preSettle) {
+         // Presettled means the client implicitly accepts any delivery we send it.
+         try {
+            sessionSPI.ack(null, brokerConsumer, messageReference.getMessage());
+         } catch (Exception e) {
+            log.debug(e.getMessage(), e);
+         }
+         delivery.settle();
+      } else {
+         sender.advance();
+      }
+
+      connection.flush();
+   }
+
+   /**
+    * It drops the large message being streamed and the deliveries waiting for it, when the sender is closed:
+    * they won't be resumed, their references are cancelled by the broker consumer being closed.
+    */
+   private void abortLargeMessageDelivery() {
+      connection.requireInHandler();
+
+      final LargeMessageDelivery aborted = largeMessageDelivery;
+      if (aborted != null) {
+         largeMessageDelivery = null;
+         aborted.release();
+      }
+      final int deferred = deferredDeliveries.size();
+      if (deferred > 0) {
+         deferredDeliveries.clear();
+         synchronized (creditsLock) {
+            pending.addAndGet(-deferred);
+         }
+      }
+   }
+
+   /**
+    * It streams a large message to the sender in chunks of {@code amqpMinLargeMessageSize} bytes,
+    * writing each chunk to the connection before copying the next one into proton: the message is never
+    * copied whole into the proton and netty buffers, no matter how many consumers are receiving it.
+    */
+   private final class LargeMessageDelivery implements ReadyListener {
+
+      private final MessageReference messageReference;
+      private final Delivery delivery;
+      private final ReadableBuffer sendBuffer;
+
+      LargeMessageDelivery(MessageReference messageReference, Delivery delivery, ReadableBuffer sendBuffer) {
+         this.messageReference = messageReference;
+         this.delivery = delivery;
+         this.sendBuffer = sendBuffer;
+      }
+
+      @Override
+      public void readyForWriting() {
+         connection.runNow(this::deliver);
+      }
+
+      void deliver() {
+         connection.requireInHandler();
+
+         if (largeMessageDelivery != this) {
+            // aborted by the sender close
+            return;
+         }
+
+         boolean done = true;
+         try {
+            if (sender.getLocalState() == EndpointState.CLOSED) {
+               log.debug("Not completing the delivery of large message " + messageReference + " as the sender is closed");
+               return;
+            }
+
+            if (!connection.flowControl(this)) {
+               // it will be resumed by readyForWriting
+               done = false;
+               return;
+            }
+
+            final int limit = sendBuffer.limit();
+            final int chunkEnd = sendBuffer.position() + Math.min(amqpMinLargeMessageSize, sendBuffer.remaining());
+            sendBuffer.limit(chunkEnd);
+            try {
+               sender.send(sendBuffer);
+            } finally {
+               sendBuffer.limit(limit);
+               sendBuffer.position(chunkEnd);
+            }
+
+            if (sendBuffer.hasRemaining()) {
+               done = false;
+               connection.flush();
+               // the chunk is written before the next one is sent
+               connection.runLater(this::deliver);
+               return;
+            }
+
+            finishDelivery(messageReference, delivery);
+         } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            brokerConsumer.errorProcessing(e, messageReference);
+         } finally {
+            if (done) {
+               complete();
+            }
+         }
+      }
+
+      private void release() {
+         synchronized (creditsLock) {
+            pending.decrementAndGet();
+         }
+         if (sendBuffer instanceof NettyReadable) {
+            ((NettyReadable) sendBuffer).getByteBuf().release();
+         }
+      }
+
+      private void complete() {
+         release();
+         largeMessageDelivery = null;
+
+         MessageReference deferred;
+         while (largeMessageDelivery == null && (deferred = deferredDeliveries.poll()) != null) {
+            executeDelivery(deferred);
+         }
+         if (largeMessageDelivery == null) {
+            brokerConsumer.promptDelivery();
+         }
+      }
+   }
+
    private static boolean hasCapabilities(Symbol symbol, Source source) {
       if (source != null) {
          if (source.getCapabilities() != null) {
@@ -16,21 +16,46 @@
  */
 package org.apache.activemq.artemis.protocol.amqp.proton;
 
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.AddressQueryResult;
+import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.QueueQueryResult;
+import org.apache.activemq.artemis.protocol.amqp.broker.AMQPMessage;
 import org.apache.activemq.artemis.protocol.amqp.broker.AMQPSessionCallback;
 import org.apache.activemq.artemis.protocol.amqp.broker.ProtonProtocolManager;
 import org.apache.activemq.artemis.protocol.amqp.exceptions.ActiveMQAMQPNotFoundException;
+import org.apache.activemq.artemis.protocol.amqp.util.NettyReadable;
+import org.apache.activemq.artemis.protocol.amqp.util.NettyWritable;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Source;
+import org.apache.qpid.proton.codec.ReadableBuffer;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.EndpointState;
 import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.message.impl.MessageImpl;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ProtonServerSenderContextTest {
@@ -57,4 +82,144 @@ public class ProtonServerSenderContextTest {
       sc.initialise();
    }
 
+   @Test
+   public void testStreamsLargeMessageInChunks() throws Exception {
+      final int minLargeMessageSize = 1024;
+      final LargeMessageFixture fixture = new LargeMessageFixture(minLargeMessageSize);
+      final List<String> events = fixture.events;
+
+      MessageReference large = reference(minLargeMessageSize * 2, 0);
+      final int largeSize = ((AMQPMessage) large.getMessage()).getSendBuffer(0).remaining();
+      fixture.senderContext.deliverMessage(large, null);
+      fixture.senderContext.deliverMessage(reference(10, 0), null);
+
+      // the small delivery waits for the large one to be complete
+      Assert.assertEquals(2, events.size());
+      Assert.assertEquals("send " + minLargeMessageSize, events.get(1));
+      Assert.assertFalse(fixture.senderContext.hasCredits());
+
+      fixture.runLater();
+
+      Assert.assertEquals("delivery", events.get(0));
+      Assert.assertEquals("send " + minLargeMessageSize, events.get(2));
+      Assert.assertEquals("send " + (largeSize - 2 * minLargeMessageSize), events.get(3));
+      Assert.assertEquals("advance", events.get(4));
+      Assert.assertEquals("delivery", events.get(5));
+      Assert.assertEquals("advance", events.get(6));
+      Assert.assertEquals(7, events.size());
+      verify(fixture.consumer).promptDelivery();
+   }
+
+   @Test
+   public void testLargeMessageReleasedOnClose() throws Exception {
+      final int minLargeMessageSize = 1024;
+      final LargeMessageFixture fixture = new LargeMessageFixture(minLargeMessageSize);
+      final List<String> events = fixture.events;
+
+      // a redelivery: its send buffer is a pooled copy of the message
+      fixture.senderContext.deliverMessage(reference(minLargeMessageSize * 2, 2), null);
+      fixture.senderContext.deliverMessage(reference(10, 0), null);
+      Assert.assertEquals(2, events.size());
+      Assert.assertEquals(1, fixture.sendBuffers.size());
+      final ByteBuf sendBuffer = fixture.sendBuffers.get(0);
+      Assert.assertEquals(1, sendBuffer.refCnt());
+
+      // the connection isn't writable anymore: the rest of the message waits for it
+      fixture.writable = false;
+      fixture.runLater();
+      Assert.assertEquals(2, events.size());
+
+      fixture.senderContext.close(false);
+      Assert.assertEquals(0, sendBuffer.refCnt());
+
+      // neither the large message nor the deferred delivery are resumed
+      Assert.assertEquals(1, fixture.readyListeners.size());
+      fixture.writable = true;
+      fixture.readyListeners.get(0).readyForWriting();
+      fixture.runLater();
+      Assert.assertEquals(2, events.size());
+   }
+
+   private static final class LargeMessageFixture {
+
+      final List<String> events = new ArrayList<>();
+      final List<ByteBuf> sendBuffers = new ArrayList<>();
+      final ArrayDeque<Runnable> later = new ArrayDeque<>();
+      final List<ReadyListener> readyListeners = new ArrayList<>();
+      final Consumer consumer = mock(Consumer.class);
+      final ProtonServerSenderContext senderContext;
+      volatile boolean writable = true;
+
+      LargeMessageFixture(int minLargeMessageSize) throws Exception {
+         ProtonProtocolManager protocolManager = mock(ProtonProtocolManager.class);
+         when(protocolManager.getAmqpMinLargeMessageSize()).thenReturn(minLargeMessageSize);
+         AMQPConnectionContext connection = mock(AMQPConnectionContext.class);
+         when(connection.getProtocolManager()).thenReturn(protocolManager);
+         when(connection.flowControl(any())).thenAnswer(invocation -> {
+            if (!writable) {
+               readyListeners.add(invocation.getArgument(0));
+            }
+            return writable;
+         });
+         doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+         }).when(connection).runNow(any());
+         doAnswer(invocation -> later.add(invocation.getArgument(0))).when(connection).runLater(any());
+
+         Sender sender = mock(Sender.class);
+         Source source = new Source();
+         source.setAddress("queue");
+         when(sender.getRemoteSource()).thenReturn(source);
+         when(sender.getLocalState()).thenReturn(EndpointState.ACTIVE);
+         when(sender.delivery(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            events.add("delivery");
+            return mock(Delivery.class);
+         });
+         when(sender.send(any(ReadableBuffer.class))).thenAnswer(invocation -> {
+            ReadableBuffer buffer = invocation.getArgument(0);
+            if (buffer instanceof NettyReadable && !sendBuffers.contains(((NettyReadable) buffer).getByteBuf())) {
+               sendBuffers.add(((NettyReadable) buffer).getByteBuf());
+            }
+            events.add("send " + buffer.remaining());
+            buffer.position(buffer.limit());
+            return 0;
+         });
+         when(sender.advance()).thenAnswer(invocation -> events.add("advance"));
+
+         AMQPSessionContext protonSession = mock(AMQPSessionContext.class);
+         when(protonSession.getTag()).thenReturn(new byte[]{1});
+         AMQPSessionCallback sessionSPI = mock(AMQPSessionCallback.class);
+         when(sessionSPI.addressQuery(any(), any(), anyBoolean())).thenReturn(new AddressQueryResult(null, Collections.singleton(RoutingType.ANYCAST), 0, false, true, false, false, 0));
+         QueueQueryResult queueQueryResult = mock(QueueQueryResult.class);
+         when(queueQueryResult.isExists()).thenReturn(true);
+         when(sessionSPI.queueQuery(any(), any(), anyBoolean())).thenReturn(queueQueryResult);
+         when(sessionSPI.getTransportConnection()).thenReturn(mock(Connection.class));
+         when(sessionSPI.createSender(any(), any(), any(), anyBoolean())).thenReturn(consumer);
+
+         senderContext = new ProtonServerSenderContext(connection, sender, protonSession, sessionSPI);
+         senderContext.initialise();
+      }
+
+      void runLater() {
+         Runnable next;
+         while ((next = later.poll()) != null) {
+            next.run();
+         }
+      }
+   }
+
+   private static MessageReference reference(int bodySize, int deliveryCount) {
+      MessageImpl protonMessage = (MessageImpl) org.apache.qpid.proton.message.Message.Factory.create();
+      protonMessage.setBody(new Data(new Binary(new byte[bodySize])));
+      ByteBuf buffer = Unpooled.buffer(bodySize + 100);
+      protonMessage.encode(new NettyWritable(buffer));
+      byte[] encoded = new byte[buffer.readableBytes()];
+      buffer.readBytes(encoded);
+
+      MessageReference reference = mock(MessageReference.class);
+      when(reference.getMessage()).thenReturn(new AMQPMessage(0, encoded, null));
+      when(reference.getDeliveryCount()).thenReturn(deliveryCount);
+      return reference;
+   }
 }
@@ -36,6 +36,7 @@ import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 
+import io.netty.buffer.ByteBufOutputStream;
 import org.apache.activemq.advisory.AdvisorySupport;
 import org.apache.activemq.artemis.api.core.ActiveMQAddressExistsException;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -130,7 +131,6 @@ import org.apache.activemq.state.ConsumerState;
 import org.apache.activemq.state.ProducerState;
 import org.apache.activemq.state.SessionState;
 import org.apache.activemq.transport.TransmitCallback;
-import org.apache.activemq.util.ByteSequence;
 import org.jboss.logging.Logger;
 
 /**
@@ -142,6 +142,9 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
 
    private static final KeepAliveInfo PING = new KeepAliveInfo();
 
+   // the initial size of the buffers of the commands other than the message dispatches
+   private static final int COMMAND_BUFFER_SIZE = 256;
+
    private final OpenWireProtocolManager protocolManager;
 
    private boolean destroyed = false;
@@ -466,17 +469,32 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
    }
 
    public void physicalSend(Command command) throws IOException {
+      physicalSend(command, false);
+   }
+
+   /**
+    * @param coalesceFlush whether the flush of the command can be coalesced with the ones of the commands following it
+    */
+   public void physicalSend(Command command, boolean coalesceFlush) throws IOException {
 
       if (logger.isTraceEnabled()) {
          tracePhysicalSend(transportConnection, command);
       }
 
       try {
-         final ByteSequence bytes = outWireFormat.marshal(command);
-         final int bufferSize = bytes.length;
-         final ActiveMQBuffer buffer = transportConnection.createTransportBuffer(bufferSize);
-         buffer.writeBytes(bytes.data, bytes.offset, bufferSize);
-         transportConnection.write(buffer, false, false);
+         final ActiveMQBuffer buffer = transportConnection.createTransportBuffer(expectedEncodeSize(command));
+         try {
+            // the command is marshalled straight into the transport buffer, with no intermediate copy
+            outWireFormat.marshal(command, new ByteBufOutputStream(buffer.byteBuf()));
+         } catch (Throwable t) {
+            buffer.byteBuf().release();
+            throw t;
+         }
+         if (coalesceFlush) {
+            transportConnection.writeCoalesced(buffer);
+         } else {
+            transportConnection.write(buffer, false, false);
+         }
          bufferSent();
       } catch (IOException e) {
          throw e;
@@ -486,6 +504,17 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
 
    }
 
+   private static int expectedEncodeSize(Command command) {
+      if (command.isMessageDispatch()) {
+         final Message message = ((MessageDispatch) command).getMessage();
+         if (message != null) {
+            // it includes the minimum message size, enough for the headers and the dispatch info
+            return message.getSize();
+         }
+      }
+      return COMMAND_BUFFER_SIZE;
+   }
+
    public void dispatchAsync(Command message) throws Exception {
       dispatchSync(message);
    }
@@ -577,13 +606,32 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
    }
 
    public void deliverMessage(MessageDispatch dispatch) {
-      Message m = dispatch.getMessage();
-      if (m != null) {
-         long endTime = System.currentTimeMillis();
-         m.setBrokerOutTime(endTime);
-      }
+      deliverMessage(dispatch, false);
+   }
+
+   /**
+    * @param coalesceFlush whether the flush of the dispatch can be coalesced with the ones of the dispatches following it
+    */
+   public void deliverMessage(MessageDispatch dispatch, boolean coalesceFlush) {
+      boolean sent = false;
+      try {
+         Message m = dispatch.getMessage();
+         if (m != null) {
+            long endTime = System.currentTimeMillis();
+            m.setBrokerOutTime(endTime);
+         }
 
-      sendCommand(dispatch);
+         sent = sendCommand(dispatch, coalesceFlush);
+      } finally {
+         final TransmitCallback sub = dispatch.getTransmitCallback();
+         if (sub != null) {
+            if (sent) {
+               sub.onSuccess();
+            } else {
+               sub.onFailure();
+            }
+         }
+      }
    }
 
    public OpenWireFormat wireFormat() {
@@ -769,6 +817,10 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
     * This will answer with commands to the client
     */
    public boolean sendCommand(final Command command) {
+      return sendCommand(command, false);
+   }
+
+   private boolean sendCommand(final Command command, final boolean coalesceFlush) {
       if (ActiveMQServerLogger.LOGGER.isTraceEnabled()) {
          ActiveMQServerLogger.LOGGER.trace("sending " + command);
       }
@@ -778,7 +830,7 @@ public class OpenWireConnection extends AbstractRemotingConnection implements Se
       }
 
       try {
-         physicalSend(command);
+         physicalSend(command, coalesceFlush);
       } catch (Exception e) {
          return false;
       } catch (Throwable t) {
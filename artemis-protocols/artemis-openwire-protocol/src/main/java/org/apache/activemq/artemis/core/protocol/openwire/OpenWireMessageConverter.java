@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
@@ -65,6 +66,7 @@ import org.apache.activemq.command.MessageDispatch;
 import org.apache.activemq.command.MessageId;
 import org.apache.activemq.command.ProducerId;
 import org.apache.activemq.command.TransactionId;
+import org.apache.activemq.transport.TransmitCallback;
 import org.apache.activemq.util.ByteArrayInputStream;
 import org.apache.activemq.util.ByteSequence;
 import org.apache.activemq.util.ByteSequenceData;
@@ -100,6 +102,9 @@ public final class OpenWireMessageConverter {
    private static final SimpleString AMQ_MSG_DROPPABLE =  new SimpleString(AMQ_PREFIX + "DROPPABLE");
    private static final SimpleString AMQ_MSG_COMPRESSED = new SimpleString(AMQ_PREFIX + "COMPRESSED");
 
+   // the key of the conversion shared by the OpenWire consumers of a message, see Message::getUserContext
+   private static final Object SHARED_AMQ_MESSAGE = new Object();
+
    private OpenWireMessageConverter() {
 
    }
@@ -495,22 +500,97 @@ public final class OpenWireMessageConverter {
    }
 
    public static MessageDispatch createMessageDispatch(MessageReference reference,
-                                                       ICoreMessage message,
+                                                       org.apache.activemq.artemis.api.core.Message message,
                                                        WireFormat marshaller,
                                                        AMQConsumer consumer) throws IOException {
-      ActiveMQMessage amqMessage = toAMQMessage(reference, message, marshaller, consumer);
+      final ActiveMQMessage amqMessage;
+      SharedAMQMessage sharedMessage = null;
+      // a message routed to many queues (e.g. to the subscriptions of a topic) is converted once for all its
+      // consumers: each one gets a copy, sharing the content and the marshalled properties of the conversion
+      if (message.getRefCount() > 1 && !consumer.hasNotificationDestination()) {
+         sharedMessage = (SharedAMQMessage) message.getUserContext(SHARED_AMQ_MESSAGE);
+         if (sharedMessage == null || !sharedMessage.acquire()) {
+            final ActiveMQMessage converted = toAMQMessage(message.toCore(), marshaller, false);
+            converted.beforeMarshall(marshaller);
+            sharedMessage = new SharedAMQMessage(message, converted);
+            message.setUserContext(SHARED_AMQ_MESSAGE, sharedMessage);
+         }
+      }
+      try {
+         if (sharedMessage != null) {
+            amqMessage = (ActiveMQMessage) sharedMessage.converted.copy();
+         } else {
+            amqMessage = toAMQMessage(message.toCore(), marshaller, consumer.hasNotificationDestination());
+         }
+         amqMessage.setDestination(OpenWireUtil.toAMQAddress(message, consumer.getOpenwireDestination()));
+         amqMessage.setRedeliveryCounter(reference.getDeliveryCount() - 1);
+
+         //we can use core message id for sequenceId
+         amqMessage.getMessageId().setBrokerSequenceId(message.getMessageID());
+         MessageDispatch md = new MessageDispatch();
+         md.setConsumerId(consumer.getId());
+         md.setRedeliveryCounter(reference.getDeliveryCount() - 1);
+         md.setDeliverySequenceId(amqMessage.getMessageId().getBrokerSequenceId());
+         md.setMessage(amqMessage);
+         ActiveMQDestination destination = amqMessage.getDestination();
+         md.setDestination(destination);
+         // the shared conversion is released once the dispatch has been written
+         md.setTransmitCallback(sharedMessage);
+
+         return md;
+      } catch (Throwable t) {
+         if (sharedMessage != null) {
+            sharedMessage.release();
+         }
+         throw t;
+      }
+   }
+
+   /**
+    * The conversion shared by the OpenWire deliveries of a message. It isn't accounted in the memory used by the
+    * message, so it's dropped once the last of the deliveries using it has been written.
+    */
+   private static final class SharedAMQMessage implements TransmitCallback {
+
+      private final org.apache.activemq.artemis.api.core.Message message;
 
-      //we can use core message id for sequenceId
-      amqMessage.getMessageId().setBrokerSequenceId(message.getMessageID());
-      MessageDispatch md = new MessageDispatch();
-      md.setConsumerId(consumer.getId());
-      md.setRedeliveryCounter(reference.getDeliveryCount() - 1);
-      md.setDeliverySequenceId(amqMessage.getMessageId().getBrokerSequenceId());
-      md.setMessage(amqMessage);
-      ActiveMQDestination destination = amqMessage.getDestination();
-      md.setDestination(destination);
+      private final ActiveMQMessage converted;
+
+      // the deliveries using the conversion, it can't be acquired anymore once they drop to 0
+      private final AtomicInteger deliveries = new AtomicInteger(1);
+
+      SharedAMQMessage(org.apache.activemq.artemis.api.core.Message message, ActiveMQMessage converted) {
+         this.message = message;
+         this.converted = converted;
+      }
 
-      return md;
+      boolean acquire() {
+         int current;
+         do {
+            current = deliveries.get();
+            if (current == 0) {
+               return false;
+            }
+         } while (!deliveries.compareAndSet(current, current + 1));
+         return true;
+      }
+
+      private void release() {
+         if (deliveries.decrementAndGet() == 0 && message.getUserContext(SHARED_AMQ_MESSAGE) == this) {
+            // at worst, a conversion attached meanwhile is dropped and the next delivery converts the message again
+            message.setUserContext(SHARED_AMQ_MESSAGE, null);
+         }
+      }
+
+      @Override
+      public void onSuccess() {
+         release();
+      }
+
+      @Override
+      public void onFailure() {
+         release();
+      }
    }
 
    private static final class EagerActiveMQBytesMessage extends ActiveMQBytesMessage {
@@ -520,12 +600,22 @@ public final class OpenWireMessageConverter {
          OutputStream os = bytesOut;
          this.dataOut = new DataOutputStream(os);
       }
+
+      @Override
+      public org.apache.activemq.command.Message copy() {
+         // ActiveMQBytesMessage::copy would store the (empty) written bytes as content first
+         final EagerActiveMQBytesMessage copy = new EagerActiveMQBytesMessage(0);
+         copy(copy);
+         return copy;
+      }
    }
 
-   private static ActiveMQMessage toAMQMessage(MessageReference reference,
-                                               ICoreMessage coreMessage,
+   /**
+    * The fields depending on the consumer, i.e. the destination and the redelivery counter, aren't set.
+    */
+   private static ActiveMQMessage toAMQMessage(ICoreMessage coreMessage,
                                                WireFormat marshaller,
-                                               AMQConsumer consumer) throws IOException {
+                                               boolean internalProperties) throws IOException {
       final ActiveMQMessage amqMsg;
       final byte coreType = coreMessage.getType();
       final Boolean compressProp = (Boolean) coreMessage.getObjectProperty(AMQ_MSG_COMPRESSED);
@@ -614,9 +704,6 @@ public final class OpenWireMessageConverter {
       if (dsBytes != null) {
          setAMQMsgDataStructure(amqMsg, marshaller, dsBytes);
       }
-      final ActiveMQDestination actualDestination = consumer.getOpenwireDestination();
-      amqMsg.setDestination(OpenWireUtil.toAMQAddress(coreMessage, actualDestination));
-
       final Object value = coreMessage.getGroupID();
       if (value != null) {
          String groupId = value.toString();
@@ -659,8 +746,6 @@ public final class OpenWireMessageConverter {
          amqMsg.setMarshalledProperties(new ByteSequence(marshalledBytes));
       }
 
-      amqMsg.setRedeliveryCounter(reference.getDeliveryCount() - 1);
-
       final byte[] replyToBytes = (byte[]) coreMessage.getObjectProperty(AMQ_MSG_REPLY_TO);
       if (replyToBytes != null) {
          setAMQMsgReplyTo(amqMsg, marshaller, replyToBytes);
@@ -688,7 +773,7 @@ public final class OpenWireMessageConverter {
 
       final Set<SimpleString> props = coreMessage.getPropertyNames();
       if (props != null) {
-         setAMQMsgObjectProperties(amqMsg, coreMessage, props, consumer);
+         setAMQMsgObjectProperties(amqMsg, coreMessage, props, internalProperties);
       }
 
       if (bytes != null) {
@@ -940,10 +1025,10 @@ public final class OpenWireMessageConverter {
    private static void setAMQMsgObjectProperties(final ActiveMQMessage amqMsg,
                                                  final ICoreMessage coreMessage,
                                                  final Set<SimpleString> props,
-                                                 final AMQConsumer consumer) throws IOException {
+                                                 final boolean internalProperties) throws IOException {
       for (SimpleString s : props) {
          final String keyStr = s.toString();
-         if (!consumer.hasNotificationDestination() && (keyStr.startsWith("_AMQ") || keyStr.startsWith("__HDR_"))) {
+         if (!internalProperties && (keyStr.startsWith("_AMQ") || keyStr.startsWith("__HDR_"))) {
             continue;
          }
          final Object prop = coreMessage.getObjectProperty(s);
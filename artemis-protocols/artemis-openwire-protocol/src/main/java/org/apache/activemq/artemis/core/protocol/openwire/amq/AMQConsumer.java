@@ -242,23 +242,32 @@ public class AMQConsumer {
 
    }
 
-   public int handleDeliver(MessageReference reference, ICoreMessage message, int deliveryCount) {
-      MessageDispatch dispatch;
+   public int handleDeliver(MessageReference reference, Message message, int deliveryCount) {
+      MessageDispatch dispatch = null;
       try {
          if (messagePullHandler != null && !messagePullHandler.checkForcedConsumer(message)) {
             return 0;
          }
 
+         final Message deliveredMessage;
          if (session.getConnection().isNoLocal() || session.isInternal()) {
             //internal session always delivers messages to noLocal advisory consumers
             //so we need to remove this property too.
-            message.removeProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME);
+            final ICoreMessage coreMessage = message.toCore();
+            coreMessage.removeProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME);
+            deliveredMessage = coreMessage;
+         } else {
+            deliveredMessage = message;
          }
          //handleDeliver is performed by an executor (see JBPAPP-6030): any AMQConsumer can share the session.wireFormat()
-         dispatch = OpenWireMessageConverter.createMessageDispatch(reference, message, session.wireFormat(), this);
+         dispatch = OpenWireMessageConverter.createMessageDispatch(reference, deliveredMessage, session.wireFormat(), this);
          int size = dispatch.getMessage().getSize();
          reference.setProtocolData(dispatch.getMessage().getMessageId());
-         session.deliverMessage(dispatch);
+         // from now on the connection calls the transmit callback of the dispatch, whatever happens
+         final MessageDispatch delivering = dispatch;
+         dispatch = null;
+         // while the consumer has credits for more dispatches, their flushes can be coalesced
+         session.deliverMessage(delivering, currentWindow.get() > 1);
          currentWindow.decrementAndGet();
          return size;
       } catch (IOException e) {
@@ -267,6 +276,11 @@ public class AMQConsumer {
       } catch (Throwable t) {
          ActiveMQServerLogger.LOGGER.warn("Error during message dispatch", t);
          return 0;
+      } finally {
+         // the dispatch hasn't reached the connection: release what its transmit callback holds (eg a shared conversion)
+         if (dispatch != null && dispatch.getTransmitCallback() != null) {
+            dispatch.getTransmitCallback().onFailure();
+         }
       }
    }
 
@@ -309,7 +309,7 @@ public class AMQSession implements SessionCallback {
       AMQConsumer theConsumer = (AMQConsumer) consumer.getProtocolData();
       //clear up possible rolledback ids.
       theConsumer.removeRolledback(reference);
-      return theConsumer.handleDeliver(reference, message.toCore(), deliveryCount);
+      return theConsumer.handleDeliver(reference, message, deliveryCount);
    }
 
    @Override
@@ -540,6 +540,10 @@ public class AMQSession implements SessionCallback {
       this.connection.deliverMessage(dispatch);
    }
 
+   public void deliverMessage(MessageDispatch dispatch, boolean coalesceFlush) {
+      this.connection.deliverMessage(dispatch, coalesceFlush);
+   }
+
    public void close() throws Exception {
       this.coreSession.close(false);
    }
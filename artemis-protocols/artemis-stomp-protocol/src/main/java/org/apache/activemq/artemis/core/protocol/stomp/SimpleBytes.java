@@ -37,6 +37,13 @@ public class SimpleBytes {
       return new String(contents, 0, index, StandardCharsets.UTF_8);
    }
 
+   /**
+    * @return the same as {@link #getString()}, without a new string for the standard header names
+    */
+   public String getHeaderName() {
+      return StompDecoder.headerName(contents, 0, index, StandardCharsets.UTF_8);
+   }
+
    public void reset() {
       index = 0;
    }
@@ -808,7 +808,14 @@ public final class StompConnection implements RemotingConnection {
    }
 
    public void physicalSend(StompFrame frame) throws Exception {
-      ActiveMQBuffer buffer = frame.toActiveMQBuffer();
+      // the frame is encoded straight into a (pooled) transport buffer, released by the transport once written
+      final ActiveMQBuffer buffer = getTransportConnection().createTransportBuffer(frame.getEncodedSize());
+      try {
+         frame.encode(buffer);
+      } catch (Throwable t) {
+         buffer.byteBuf().release();
+         throw t;
+      }
       synchronized (sendLock) {
          getTransportConnection().write(buffer, false, false);
       }
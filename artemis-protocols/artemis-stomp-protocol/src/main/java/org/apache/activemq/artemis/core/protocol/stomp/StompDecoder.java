@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.protocol.stomp;
 
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -131,6 +133,26 @@ public class StompDecoder {
 
    public static final byte TAB = (byte) '\t';
 
+   /**
+    * The header names sent by the clients are almost always the standard ones:
+    * they are looked up by length and content instead of being decoded into new strings.
+    */
+   private static final String[][] KNOWN_HEADER_NAMES = knownHeaderNames(
+      Stomp.Headers.RECEIPT_REQUESTED, Stomp.Headers.TRANSACTION, Stomp.Headers.CONTENT_LENGTH,
+      Stomp.Headers.CONTENT_TYPE, Stomp.Headers.ACCEPT_VERSION,
+      Stomp.Headers.Send.DESTINATION, Stomp.Headers.Send.DESTINATION_TYPE, Stomp.Headers.Send.CORRELATION_ID,
+      Stomp.Headers.Send.REPLY_TO, Stomp.Headers.Send.EXPIRATION_TIME, Stomp.Headers.Send.PRIORITY,
+      Stomp.Headers.Send.TYPE, Stomp.Headers.Send.PERSISTENT, Stomp.Headers.Send.AMQ_SCHEDULED_DELAY,
+      Stomp.Headers.Send.AMQ_SCHEDULED_TIME,
+      Stomp.Headers.Message.MESSAGE_ID, Stomp.Headers.Message.REDELIVERED, Stomp.Headers.Message.TIMESTAMP,
+      Stomp.Headers.Message.SUBSCRIPTION, Stomp.Headers.Message.ACK, Stomp.Headers.Message.VALIDATED_USER,
+      Stomp.Headers.Subscribe.ID, Stomp.Headers.Subscribe.SELECTOR, Stomp.Headers.Subscribe.DURABLE_SUBSCRIBER_NAME,
+      Stomp.Headers.Subscribe.DURABLE_SUBSCRIPTION_NAME, Stomp.Headers.Subscribe.ACTIVEMQ_DURABLE_SUBSCRIPTION_NAME,
+      Stomp.Headers.Subscribe.SUBSCRIPTION_TYPE, Stomp.Headers.Subscribe.NO_LOCAL, Stomp.Headers.Subscribe.ACTIVEMQ_NO_LOCAL,
+      Stomp.Headers.Connect.LOGIN, Stomp.Headers.Connect.PASSCODE, Stomp.Headers.Connect.CLIENT_ID,
+      Stomp.Headers.Connect.REQUEST_ID, Stomp.Headers.Connect.HOST, Stomp.Headers.Connect.HEART_BEAT,
+      Stomp.Headers.Response.RECEIPT_ID);
+
    public byte[] workingBuffer = new byte[1024];
 
    public int pos;
@@ -184,7 +206,7 @@ public class StompDecoder {
     * unsupported EOLs ("\r\n" valid for 1.2 only). The StompConnection will switch
     * to proper version decoders on catching such exceptions.
     */
-   public synchronized StompFrame decode(final ActiveMQBuffer buffer) throws ActiveMQStompException {
+   public StompFrame decode(final ActiveMQBuffer buffer) throws ActiveMQStompException {
       int readable = buffer.readableBytes();
 
       if (data + readable >= workingBuffer.length) {
@@ -285,7 +307,8 @@ public class StompDecoder {
          switch (b) {
             case HEADER_SEPARATOR: {
                if (inHeaderName) {
-                  headerName = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+                  // STOMP 1.0 doesn't define any encoding: the platform one is used, as for the values
+                  headerName = headerName(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1, Charset.defaultCharset());
 
                   inHeaderName = false;
 
@@ -611,6 +634,39 @@ public class StompDecoder {
       return str.toString();
    }
 
+   /**
+    * @return the standard header name encoded by {@code bytes} or a new string decoded with {@code charset} if it
+    * isn't a standard one
+    */
+   protected static String headerName(final byte[] bytes, final int offset, final int length, final Charset charset) {
+      if (length < KNOWN_HEADER_NAMES.length) {
+      candidates:
+         for (String name : KNOWN_HEADER_NAMES[length]) {
+            for (int i = 0; i < length; i++) {
+               if (name.charAt(i) != bytes[offset + i]) {
+                  continue candidates;
+               }
+            }
+            return name;
+         }
+      }
+      return new String(bytes, offset, length, charset);
+   }
+
+   private static String[][] knownHeaderNames(final String... names) {
+      int maxLength = 0;
+      for (String name : names) {
+         maxLength = Math.max(maxLength, name.length());
+      }
+      final String[][] namesByLength = new String[maxLength + 1][0];
+      for (String name : names) {
+         final String[] sameLength = Arrays.copyOf(namesByLength[name.length()], namesByLength[name.length()].length + 1);
+         sameLength[sameLength.length - 1] = name;
+         namesByLength[name.length()] = sameLength;
+      }
+      return namesByLength;
+   }
+
    /**
     * This should be overridden by subclasses.
     */
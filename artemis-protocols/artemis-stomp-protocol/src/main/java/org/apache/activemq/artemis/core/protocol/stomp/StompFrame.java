@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.core.protocol.stomp.v10.StompFrameV10;
@@ -42,8 +44,6 @@ public class StompFrame {
 
    protected ActiveMQBuffer buffer = null;
 
-   protected int size;
-
    private boolean disconnect;
 
    private boolean isPing;
@@ -68,11 +68,22 @@ public class StompFrame {
       return command;
    }
 
+   /**
+    * @return the bytes written by {@link #encode(ActiveMQBuffer)}
+    */
    public int getEncodedSize() throws Exception {
-      if (buffer == null) {
-         buffer = toActiveMQBuffer();
+      if (isPing()) {
+         return 1;
       }
-      return size;
+      int size = ByteBufUtil.utf8Bytes(command) + 1 + encodedHeadersSize();
+      if (isContentLengthRequired()) {
+         size += Stomp.Headers.CONTENT_LENGTH.length() + 1 + decimalSize(bytesBody.length) + 1;
+      }
+      size++;
+      if (bytesBody != null) {
+         size += bytesBody.length;
+      }
+      return size + END_OF_FRAME.length;
    }
 
    @Override
@@ -93,54 +104,96 @@ public class StompFrame {
       isPing = ping;
    }
 
+   /**
+    * @return the frame encoded in a heap buffer, see {@link #encode(ActiveMQBuffer)} to encode it in any buffer
+    */
    public ActiveMQBuffer toActiveMQBuffer() throws Exception {
       if (buffer == null) {
-         if (isPing()) {
-            buffer = ActiveMQBuffers.fixedBuffer(1);
-            buffer.writeByte((byte) 10);
-            size = buffer.writerIndex();
-            return buffer;
-         }
+         buffer = ActiveMQBuffers.fixedBuffer(getEncodedSize());
+         encode(buffer);
+      } else {
+         buffer.readerIndex(0);
+      }
+      return buffer;
+   }
 
-         StringBuilder head = new StringBuilder(512);
-         head.append(command);
-         head.append(Stomp.NEWLINE);
-         // Output the headers.
-         encodeHeaders(head);
-         if (bytesBody != null && bytesBody.length > 0 && !hasHeader(Stomp.Headers.CONTENT_LENGTH) && !(this instanceof StompFrameV10)) {
-            head.append(Stomp.Headers.CONTENT_LENGTH);
-            head.append(Stomp.Headers.SEPARATOR);
-            head.append(bytesBody.length);
-            head.append(Stomp.NEWLINE);
-         }
-         // Add a newline to separate the headers from the content.
-         head.append(Stomp.NEWLINE);
+   /**
+    * It writes the frame to {@code buffer}, with no intermediate copy of the headers nor of the body.
+    */
+   public void encode(ActiveMQBuffer buffer) throws Exception {
+      if (isPing()) {
+         buffer.writeByte(StompDecoder.NEW_LINE);
+         return;
+      }
+      final ByteBuf byteBuf = buffer.byteBuf();
+      writeUtf8(byteBuf, command);
+      byteBuf.writeByte(StompDecoder.NEW_LINE);
+      // Output the headers.
+      encodeHeaders(byteBuf);
+      if (isContentLengthRequired()) {
+         ByteBufUtil.writeAscii(byteBuf, Stomp.Headers.CONTENT_LENGTH);
+         byteBuf.writeByte(StompDecoder.HEADER_SEPARATOR);
+         writeDecimal(byteBuf, bytesBody.length);
+         byteBuf.writeByte(StompDecoder.NEW_LINE);
+      }
+      // Add a newline to separate the headers from the content.
+      byteBuf.writeByte(StompDecoder.NEW_LINE);
+      if (bytesBody != null) {
+         byteBuf.writeBytes(bytesBody);
+      }
+      byteBuf.writeBytes(END_OF_FRAME);
+   }
 
-         byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
-         int bodyLength = (bytesBody == null) ? 0 : bytesBody.length;
+   private boolean isContentLengthRequired() {
+      return bytesBody != null && bytesBody.length > 0 && !hasHeader(Stomp.Headers.CONTENT_LENGTH) && !(this instanceof StompFrameV10);
+   }
 
-         buffer = ActiveMQBuffers.fixedBuffer(headBytes.length + bodyLength + END_OF_FRAME.length);
+   protected void encodeHeaders(ByteBuf buffer) {
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+         writeUtf8(buffer, String.valueOf(header.getKey()));
+         buffer.writeByte(StompDecoder.HEADER_SEPARATOR);
+         writeUtf8(buffer, String.valueOf(header.getValue()));
+         buffer.writeByte(StompDecoder.NEW_LINE);
+      }
+   }
 
-         buffer.writeBytes(headBytes);
-         if (bytesBody != null) {
-            buffer.writeBytes(bytesBody);
-         }
-         buffer.writeBytes(END_OF_FRAME);
+   /**
+    * @return the bytes written by {@link #encodeHeaders(ByteBuf)}
+    */
+   protected int encodedHeadersSize() {
+      int size = 0;
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+         size += ByteBufUtil.utf8Bytes(String.valueOf(header.getKey())) + 1 + ByteBufUtil.utf8Bytes(String.valueOf(header.getValue())) + 1;
+      }
+      return size;
+   }
 
-         size = buffer.writerIndex();
-      } else {
-         buffer.readerIndex(0);
+   /**
+    * Unlike {@link ByteBufUtil#writeUtf8(ByteBuf, CharSequence)}, it doesn't reserve the maximum bytes needed by
+    * {@code str} but the exact ones: {@code buffer} isn't expanded past the size returned by {@link #getEncodedSize()}.
+    */
+   protected static void writeUtf8(ByteBuf buffer, String str) {
+      ByteBufUtil.reserveAndWriteUtf8(buffer, str, ByteBufUtil.utf8Bytes(str));
+   }
+
+   private static void writeDecimal(ByteBuf buffer, int value) {
+      final int size = decimalSize(value);
+      buffer.ensureWritable(size);
+      final int index = buffer.writerIndex();
+      for (int i = size - 1; i >= 0; i--) {
+         buffer.setByte(index + i, '0' + value % 10);
+         value /= 10;
       }
-      return buffer;
+      buffer.writerIndex(index + size);
    }
 
-   protected void encodeHeaders(StringBuilder head) {
-      for (Map.Entry<String, String> header : headers.entrySet()) {
-         head.append(header.getKey());
-         head.append(Stomp.Headers.SEPARATOR);
-         head.append(header.getValue());
-         head.append(Stomp.NEWLINE);
+   private static int decimalSize(int value) {
+      int size = 1;
+      while (value >= 10) {
+         value /= 10;
+         size++;
       }
+      return size;
    }
 
    public String getHeader(String key) {
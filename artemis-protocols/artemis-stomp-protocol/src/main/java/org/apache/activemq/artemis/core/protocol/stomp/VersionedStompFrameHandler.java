@@ -329,9 +329,10 @@ public abstract class VersionedStompFrameHandler {
 
       int size = buffer.writerIndex();
 
-      byte[] data = new byte[size];
+      final byte[] data;
 
       if (serverMessage.containsProperty(Stomp.Headers.CONTENT_LENGTH) || serverMessage.getType() == Message.BYTES_TYPE) {
+         data = new byte[size];
          frame.addHeader(Headers.CONTENT_LENGTH, String.valueOf(data.length));
          buffer.readBytes(data);
       } else {
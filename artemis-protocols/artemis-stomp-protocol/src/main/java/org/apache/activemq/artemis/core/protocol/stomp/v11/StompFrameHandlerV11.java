@@ -596,7 +596,7 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -20,7 +20,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.apache.activemq.artemis.core.protocol.stomp.Stomp;
+import org.apache.activemq.artemis.core.protocol.stomp.StompDecoder;
 import org.apache.activemq.artemis.core.protocol.stomp.StompFrame;
 
 public class StompFrameV11 extends StompFrame {
@@ -37,15 +40,58 @@ public class StompFrameV11 extends StompFrame {
    }
 
    @Override
-   protected void encodeHeaders(StringBuilder head) {
+   protected void encodeHeaders(ByteBuf buffer) {
       for (Header h : allHeaders) {
-         head.append(h.getEncodedKey());
-         head.append(Stomp.Headers.SEPARATOR);
-         head.append(h.getEncodedValue());
-         head.append(Stomp.NEWLINE);
+         writeEscaped(buffer, h.key);
+         buffer.writeByte(StompDecoder.HEADER_SEPARATOR);
+         writeEscaped(buffer, h.val);
+         buffer.writeByte(StompDecoder.NEW_LINE);
       }
    }
 
+   @Override
+   protected int encodedHeadersSize() {
+      int size = 0;
+      for (Header h : allHeaders) {
+         size += escapedSize(h.key) + 1 + escapedSize(h.val) + 1;
+      }
+      return size;
+   }
+
+   private void writeEscaped(ByteBuf buffer, String str) {
+      if (str == null) {
+         return;
+      }
+      writeUtf8(buffer, escapes(str) == 0 ? str : encode(str));
+   }
+
+   private static int escapedSize(String str) {
+      if (str == null) {
+         return 0;
+      }
+      // each escaped character takes 2 bytes instead of 1
+      return ByteBufUtil.utf8Bytes(str) + escapes(str);
+   }
+
+   /**
+    * @return the characters to be escaped in {@code str}, see {@link #encode(String)}
+    */
+   private static int escapes(String str) {
+      int escapes = 0;
+      for (int i = 0, length = str.length(); i < length; i++) {
+         switch (str.charAt(i)) {
+            case '\n':
+            case '\r':
+            case '\\':
+            case ':':
+               escapes++;
+               break;
+            default:
+         }
+      }
+      return escapes;
+   }
+
    @Override
    public void addHeader(String key, String val) {
       if (!headers.containsKey(key)) {
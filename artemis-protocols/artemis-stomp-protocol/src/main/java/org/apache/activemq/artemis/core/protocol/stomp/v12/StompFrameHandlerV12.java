@@ -149,7 +149,7 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.protocol.stomp.v10.StompFrameV10;
+import org.apache.activemq.artemis.core.protocol.stomp.v11.StompFrameV11;
+import org.apache.activemq.artemis.core.protocol.stomp.v12.StompFrameV12;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StompFrameTest {
+
+   private static final String[] ESCAPED_HEADERS = {
+      "new\nline", "carriage\rreturn",
+      "back\\slash", "co:lon",
+      "all:\\\r\n", "\n"};
+
+   private static final String[] NON_ASCII_HEADERS = {
+      "destination", "/queue/été",
+      "über", "中文",
+      "emoji", "😀"};
+
+   @Test
+   public void testEncodeV10() throws Exception {
+      assertEncodedAsBefore(new StompFrameV10(Stomp.Responses.MESSAGE), "body".getBytes(StandardCharsets.UTF_8), Stomp.Headers.Message.MESSAGE_ID, "1", Stomp.Headers.Send.DESTINATION, "/queue/a");
+      // 1.0 doesn't escape anything nor add the content-length header
+      assertEncodedAsBefore(new StompFrameV10(Stomp.Responses.MESSAGE), new byte[]{1, 0, 2}, "co:lon", "back\\slash");
+      assertEncodedAsBefore(new StompFrameV10(Stomp.Responses.MESSAGE), "été".getBytes(StandardCharsets.UTF_8), NON_ASCII_HEADERS);
+      assertEncodedAsBefore(new StompFrameV10(Stomp.Responses.RECEIPT), null, Stomp.Headers.Response.RECEIPT_ID, "42");
+   }
+
+   @Test
+   public void testEncodeV11() throws Exception {
+      assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.MESSAGE), "body".getBytes(StandardCharsets.UTF_8), Stomp.Headers.Message.MESSAGE_ID, "1", Stomp.Headers.Send.DESTINATION, "/queue/a");
+      assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.MESSAGE), new byte[]{1, 0, 2}, ESCAPED_HEADERS);
+      assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.MESSAGE), "été".getBytes(StandardCharsets.UTF_8), NON_ASCII_HEADERS);
+      // repeated headers, but content-length
+      assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.MESSAGE), new byte[]{1}, "repeated", "1", "repeated", "2", Stomp.Headers.CONTENT_LENGTH, "1", Stomp.Headers.CONTENT_LENGTH, "1");
+      assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.CONNECTED), null, Stomp.Headers.Connect.HEART_BEAT, "10000,10000", "null-value", null);
+   }
+
+   @Test
+   public void testEncodeV12() throws Exception {
+      assertEncodedAsBefore(new StompFrameV12(Stomp.Responses.MESSAGE), "body".getBytes(StandardCharsets.UTF_8), Stomp.Headers.Message.MESSAGE_ID, "1", Stomp.Headers.Message.ACK, "ack:1");
+      assertEncodedAsBefore(new StompFrameV12(Stomp.Responses.MESSAGE), new byte[]{1, 0, 2}, ESCAPED_HEADERS);
+      assertEncodedAsBefore(new StompFrameV12(Stomp.Responses.MESSAGE), "été".getBytes(StandardCharsets.UTF_8), NON_ASCII_HEADERS);
+      assertEncodedAsBefore(new StompFrameV12(Stomp.Responses.ERROR), new byte[0], Stomp.Headers.Error.MESSAGE, "failed");
+   }
+
+   @Test
+   public void testEncodeContentLength() throws Exception {
+      for (int length : new int[]{1, 9, 10, 99, 100, 12345, 1 << 20}) {
+         final byte[] body = new byte[length];
+         Arrays.fill(body, (byte) 'a');
+         assertEncodedAsBefore(new StompFrameV11(Stomp.Responses.MESSAGE), body, Stomp.Headers.Send.DESTINATION, "/queue/a");
+         assertEncodedAsBefore(new StompFrameV12(Stomp.Responses.MESSAGE), body, Stomp.Headers.CONTENT_LENGTH, String.valueOf(length));
+      }
+   }
+
+   @Test
+   public void testEncodePing() throws Exception {
+      final StompFrame ping = new StompFrameV11(Stomp.Commands.STOMP);
+      ping.setPing(true);
+      Assert.assertEquals(1, ping.getEncodedSize());
+      Assert.assertArrayEquals(new byte[]{'\n'}, encode(ping));
+      Assert.assertArrayEquals(new byte[]{'\n'}, readAll(ping.toActiveMQBuffer()));
+   }
+
+   @Test
+   public void testKnownHeaderNames() {
+      for (String name : new String[]{Stomp.Headers.CONTENT_LENGTH, Stomp.Headers.Send.DESTINATION, Stomp.Headers.Connect.HEART_BEAT, Stomp.Headers.Subscribe.ID}) {
+         final byte[] bytes = (" " + name + ":").getBytes(StandardCharsets.US_ASCII);
+         Assert.assertSame(name, StompDecoder.headerName(bytes, 1, name.length(), StandardCharsets.UTF_8));
+      }
+   }
+
+   @Test
+   public void testUnknownHeaderNames() {
+      for (String name : new String[]{"", "destinatioN", "destination-x", "custom", "über", "中文"}) {
+         final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+         Assert.assertEquals(name, StompDecoder.headerName(bytes, 0, bytes.length, StandardCharsets.UTF_8));
+      }
+      // 1.0 decodes them with the platform encoding
+      final byte[] latin = "über".getBytes(StandardCharsets.ISO_8859_1);
+      Assert.assertEquals("über", StompDecoder.headerName(latin, 0, latin.length, StandardCharsets.ISO_8859_1));
+   }
+
+   private static void assertEncodedAsBefore(StompFrame frame, byte[] body, String... headers) throws Exception {
+      for (int i = 0; i < headers.length; i += 2) {
+         frame.addHeader(headers[i], headers[i + 1]);
+      }
+      if (body != null) {
+         frame.setByteBody(body);
+      }
+      final byte[] expected = encodeAsBefore(frame, headers);
+      Assert.assertEquals(expected.length, frame.getEncodedSize());
+      Assert.assertArrayEquals(expected, encode(frame));
+      Assert.assertArrayEquals(expected, readAll(frame.toActiveMQBuffer()));
+   }
+
+   private static byte[] encode(StompFrame frame) throws Exception {
+      // a buffer that can't grow: the encoded size must be exact
+      final ActiveMQBuffer buffer = ActiveMQBuffers.fixedBuffer(frame.getEncodedSize());
+      frame.encode(buffer);
+      Assert.assertEquals(buffer.capacity(), buffer.writerIndex());
+      return readAll(buffer);
+   }
+
+   private static byte[] readAll(ActiveMQBuffer buffer) {
+      final byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.readBytes(bytes);
+      return bytes;
+   }
+
+   /**
+    * The encoding of the frames before they were written straight into the transport buffer.
+    */
+   private static byte[] encodeAsBefore(StompFrame frame, String... headers) {
+      final StringBuilder head = new StringBuilder(512);
+      head.append(frame.getCommand());
+      head.append(Stomp.NEWLINE);
+      if (frame instanceof StompFrameV11) {
+         boolean contentLength = false;
+         for (int i = 0; i < headers.length; i += 2) {
+            if (headers[i].equals(Stomp.Headers.CONTENT_LENGTH)) {
+               if (contentLength) {
+                  continue;
+               }
+               contentLength = true;
+            }
+            head.append(frame.encode(headers[i]));
+            head.append(Stomp.Headers.SEPARATOR);
+            head.append(frame.encode(headers[i + 1]));
+            head.append(Stomp.NEWLINE);
+         }
+      } else {
+         for (Map.Entry<String, String> header : frame.getHeadersMap().entrySet()) {
+            head.append(header.getKey());
+            head.append(Stomp.Headers.SEPARATOR);
+            head.append(header.getValue());
+            head.append(Stomp.NEWLINE);
+         }
+      }
+      final byte[] body = frame.getBodyAsBytes();
+      if (body != null && body.length > 0 && !frame.hasHeader(Stomp.Headers.CONTENT_LENGTH) && !(frame instanceof StompFrameV10)) {
+         head.append(Stomp.Headers.CONTENT_LENGTH);
+         head.append(Stomp.Headers.SEPARATOR);
+         head.append(body.length);
+         head.append(Stomp.NEWLINE);
+      }
+      head.append(Stomp.NEWLINE);
+
+      final byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+      final int bodyLength = body == null ? 0 : body.length;
+      final byte[] encoded = Arrays.copyOf(headBytes, headBytes.length + bodyLength + 2);
+      if (body != null) {
+         System.arraycopy(body, 0, encoded, headBytes.length, bodyLength);
+      }
+      encoded[encoded.length - 2] = 0;
+      encoded[encoded.length - 1] = '\n';
+      return encoded;
+   }
+}
@@ -374,6 +374,13 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
    protected Boolean compare(Comparable lv, Comparable rv) {
       Class<? extends Comparable> lc = lv.getClass();
       Class<? extends Comparable> rc = rv.getClass();
+      // integral values can be compared as long without converting (and boxing) them first:
+      // it gives the same result of the conversions below, that are applied to the same pairs of types
+      final int lRank = integralRank(lc);
+      final int rRank = integralRank(rc);
+      if (lRank > 0 && rRank > 0 && (lRank <= rRank || (lc == Long.class && rc == Integer.class))) {
+         return asBoolean(Long.compare(((Number) lv).longValue(), ((Number) rv).longValue())) ? Boolean.TRUE : Boolean.FALSE;
+      }
       // If the the objects are not of the same type,
       // try to convert up to allow the comparison.
       if (lc != rc) {
@@ -486,6 +493,22 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
       return asBoolean(lv.compareTo(rv)) ? Boolean.TRUE : Boolean.FALSE;
    }
 
+   /**
+    * @return the rank of the integral type, from {@code Byte} to {@code Long}, or {@code 0} if it's not integral
+    */
+   private static int integralRank(Class<?> type) {
+      if (type == Integer.class) {
+         return 3;
+      } else if (type == Long.class) {
+         return 4;
+      } else if (type == Short.class) {
+         return 2;
+      } else if (type == Byte.class) {
+         return 1;
+      }
+      return 0;
+   }
+
    protected abstract boolean asBoolean(int answer);
 
    @Override
@@ -233,6 +233,23 @@ public class SelectorTest {
       assertSelector(message, "doubleProp = 10", false);
    }
 
+   @Test
+   public void testIntegralComparisons() throws Exception {
+      MockMessage message = createMessage();
+      message.setLongProperty("bigLongProp", Long.MAX_VALUE);
+      assertSelector(message, "byteProp < 124", true);
+      assertSelector(message, "shortProp > 122", true);
+      assertSelector(message, "intProp <= 123", true);
+      assertSelector(message, "longProp >= 124", false);
+      assertSelector(message, "bigLongProp > 2147483647", true);
+      assertSelector(message, "byteProp < bigLongProp", true);
+      assertSelector(message, "intProp BETWEEN 100 AND 200", true);
+      // an integral value isn't compared with a narrower one, but Long with Integer
+      assertSelector(message, "longProp = intProp", true);
+      assertSelector(message, "intProp = byteProp", false);
+      assertSelector(message, "123 = byteProp", false);
+   }
+
    @Test
    public void testAndSelectors() throws Exception {
       MockMessage message = createMessage();
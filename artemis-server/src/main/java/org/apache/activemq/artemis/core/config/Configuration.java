@@ -209,6 +209,28 @@ public interface Configuration {
     */
    Configuration setSecurityInvalidationInterval(long interval);
 
+   /**
+    * Returns the maximum number of authentications the security cache can hold, {@code 0} if they aren't cached. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_AUTHENTICATION_CACHE_SIZE}.
+    */
+   int getAuthenticationCacheSize();
+
+   /**
+    * Sets the maximum number of authentications the security cache can hold.
+    */
+   Configuration setAuthenticationCacheSize(int size);
+
+   /**
+    * Returns the maximum number of authorizations the security cache can hold, {@code 0} if they aren't cached. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_AUTHORIZATION_CACHE_SIZE}.
+    */
+   int getAuthorizationCacheSize();
+
+   /**
+    * Sets the maximum number of authorizations the security cache can hold.
+    */
+   Configuration setAuthorizationCacheSize(int size);
+
    /**
     * Returns whether security is enabled for this server. <br>
     * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_SECURITY_ENABLED}.
@@ -796,6 +818,19 @@ public interface Configuration {
     */
    Configuration setJournalBufferTimeout_NIO(int journalBufferTimeout);
 
+   /**
+    * Returns whether the journal buffer timeout is used as an upper bound that shrinks while sync
+    * requests aren't being batched, and grows back once they are.
+    * <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_BUFFER_ADAPTIVE_TIMEOUT}.
+    */
+   boolean isJournalBufferAdaptiveTimeout();
+
+   /**
+    * Sets whether the journal buffer timeout should adapt to the sync requests being batched.
+    */
+   Configuration setJournalBufferAdaptiveTimeout(boolean adaptiveTimeout);
+
    /**
     * Returns the buffer size (in bytes) for NIO.
     * <br>
@@ -39,6 +39,12 @@ public class ReplicaPolicyConfiguration implements HAPolicyConfiguration {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationBatchSize = ActiveMQDefaultConfiguration.getDefaultReplicationBatchSize();
+
+   private long replicationBatchDelay = ActiveMQDefaultConfiguration.getDefaultReplicationBatchDelay();
+
+   private int initialReplicationSyncConcurrency = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncConcurrency();
+
    private boolean voteOnReplicationFailure = ActiveMQDefaultConfiguration.getDefaultVoteOnReplicationFailure();
 
    private int quorumSize = ActiveMQDefaultConfiguration.getDefaultQuorumSize();
@@ -133,6 +139,33 @@ public class ReplicaPolicyConfiguration implements HAPolicyConfiguration {
       return this;
    }
 
+   public int getReplicationBatchSize() {
+      return replicationBatchSize;
+   }
+
+   public ReplicaPolicyConfiguration setReplicationBatchSize(int replicationBatchSize) {
+      this.replicationBatchSize = replicationBatchSize;
+      return this;
+   }
+
+   public long getReplicationBatchDelay() {
+      return replicationBatchDelay;
+   }
+
+   public ReplicaPolicyConfiguration setReplicationBatchDelay(long replicationBatchDelay) {
+      this.replicationBatchDelay = replicationBatchDelay;
+      return this;
+   }
+
+   public int getInitialReplicationSyncConcurrency() {
+      return initialReplicationSyncConcurrency;
+   }
+
+   public ReplicaPolicyConfiguration setInitialReplicationSyncConcurrency(int initialReplicationSyncConcurrency) {
+      this.initialReplicationSyncConcurrency = initialReplicationSyncConcurrency;
+      return this;
+   }
+
    public boolean getVoteOnReplicationFailure() {
       return voteOnReplicationFailure;
    }
@@ -29,6 +29,12 @@ public class ReplicatedPolicyConfiguration implements HAPolicyConfiguration {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationBatchSize = ActiveMQDefaultConfiguration.getDefaultReplicationBatchSize();
+
+   private long replicationBatchDelay = ActiveMQDefaultConfiguration.getDefaultReplicationBatchDelay();
+
+   private int initialReplicationSyncConcurrency = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncConcurrency();
+
    private boolean voteOnReplicationFailure = ActiveMQDefaultConfiguration.getDefaultVoteOnReplicationFailure();
 
    private int quorumSize = ActiveMQDefaultConfiguration.getDefaultQuorumSize();
@@ -86,6 +92,33 @@ public class ReplicatedPolicyConfiguration implements HAPolicyConfiguration {
       return this;
    }
 
+   public int getReplicationBatchSize() {
+      return replicationBatchSize;
+   }
+
+   public ReplicatedPolicyConfiguration setReplicationBatchSize(int replicationBatchSize) {
+      this.replicationBatchSize = replicationBatchSize;
+      return this;
+   }
+
+   public long getReplicationBatchDelay() {
+      return replicationBatchDelay;
+   }
+
+   public ReplicatedPolicyConfiguration setReplicationBatchDelay(long replicationBatchDelay) {
+      this.replicationBatchDelay = replicationBatchDelay;
+      return this;
+   }
+
+   public int getInitialReplicationSyncConcurrency() {
+      return initialReplicationSyncConcurrency;
+   }
+
+   public ReplicatedPolicyConfiguration setInitialReplicationSyncConcurrency(int initialReplicationSyncConcurrency) {
+      this.initialReplicationSyncConcurrency = initialReplicationSyncConcurrency;
+      return this;
+   }
+
    public boolean getVoteOnReplicationFailure() {
       return voteOnReplicationFailure;
    }
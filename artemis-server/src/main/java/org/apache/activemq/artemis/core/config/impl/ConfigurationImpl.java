@@ -119,6 +119,10 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private long securityInvalidationInterval = ActiveMQDefaultConfiguration.getDefaultSecurityInvalidationInterval();
 
+   private int authenticationCacheSize = ActiveMQDefaultConfiguration.getDefaultAuthenticationCacheSize();
+
+   private int authorizationCacheSize = ActiveMQDefaultConfiguration.getDefaultAuthorizationCacheSize();
+
    private boolean securityEnabled = ActiveMQDefaultConfiguration.isDefaultSecurityEnabled();
 
    private boolean gracefulShutdownEnabled = ActiveMQDefaultConfiguration.isDefaultGracefulShutdownEnabled();
@@ -225,6 +229,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalBufferSize_NIO = ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio();
 
+   protected boolean journalBufferAdaptiveTimeout = ActiveMQDefaultConfiguration.isDefaultJournalBufferAdaptiveTimeout();
+
    protected boolean logJournalWriteRate = ActiveMQDefaultConfiguration.isDefaultJournalLogWriteRate();
 
    private WildcardConfiguration wildcardConfiguration = new WildcardConfiguration();
@@ -500,6 +506,28 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getAuthenticationCacheSize() {
+      return authenticationCacheSize;
+   }
+
+   @Override
+   public ConfigurationImpl setAuthenticationCacheSize(final int size) {
+      authenticationCacheSize = size;
+      return this;
+   }
+
+   @Override
+   public int getAuthorizationCacheSize() {
+      return authorizationCacheSize;
+   }
+
+   @Override
+   public ConfigurationImpl setAuthorizationCacheSize(final int size) {
+      authorizationCacheSize = size;
+      return this;
+   }
+
    @Override
    public long getConnectionTTLOverride() {
       return connectionTTLOverride;
@@ -1357,6 +1385,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isJournalBufferAdaptiveTimeout() {
+      return journalBufferAdaptiveTimeout;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalBufferAdaptiveTimeout(final boolean adaptiveTimeout) {
+      journalBufferAdaptiveTimeout = adaptiveTimeout;
+      return this;
+   }
+
    @Override
    public int getJournalBufferSize_NIO() {
       return journalBufferSize_NIO;
@@ -1844,6 +1883,7 @@ public class ConfigurationImpl implements Configuration, Serializable {
       result = prime * result + journalBufferSize_NIO;
       result = prime * result + journalBufferTimeout_AIO;
       result = prime * result + journalBufferTimeout_NIO;
+      result = prime * result + (journalBufferAdaptiveTimeout ? 1231 : 1237);
       result = prime * result + journalCompactMinFiles;
       result = prime * result + journalCompactPercentage;
       result = prime * result + ((journalDirectory == null) ? 0 : journalDirectory.hashCode());
@@ -1878,6 +1918,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
       result = prime * result + (securityEnabled ? 1231 : 1237);
       result = prime * result + (populateValidatedUser ? 1231 : 1237);
       result = prime * result + (int) (securityInvalidationInterval ^ (securityInvalidationInterval >>> 32));
+      result = prime * result + authenticationCacheSize;
+      result = prime * result + authorizationCacheSize;
       result = prime * result + ((securitySettings == null) ? 0 : securitySettings.hashCode());
       result = prime * result + (int) (serverDumpInterval ^ (serverDumpInterval >>> 32));
       result = prime * result + threadPoolMaxSize;
@@ -2001,6 +2043,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
          return false;
       if (journalBufferTimeout_NIO != other.journalBufferTimeout_NIO)
          return false;
+      if (journalBufferAdaptiveTimeout != other.journalBufferAdaptiveTimeout)
+         return false;
       if (journalCompactMinFiles != other.journalCompactMinFiles)
          return false;
       if (journalCompactPercentage != other.journalCompactPercentage)
@@ -2100,6 +2144,10 @@ public class ConfigurationImpl implements Configuration, Serializable {
          return false;
       if (securityInvalidationInterval != other.securityInvalidationInterval)
          return false;
+      if (authenticationCacheSize != other.authenticationCacheSize)
+         return false;
+      if (authorizationCacheSize != other.authorizationCacheSize)
+         return false;
       if (securitySettings == null) {
          if (other.securitySettings != null)
             return false;
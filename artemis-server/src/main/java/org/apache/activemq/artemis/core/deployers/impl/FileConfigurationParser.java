@@ -185,6 +185,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String PAGE_MAX_CACHE_SIZE_NODE_NAME = "page-max-cache-size";
 
+   private static final String PAGE_MAX_CACHE_BYTES_NODE_NAME = "page-max-cache-bytes";
+
+   private static final String PAGE_READ_AHEAD_NODE_NAME = "page-read-ahead";
+
    private static final String MESSAGE_COUNTER_HISTORY_DAY_LIMIT_NODE_NAME = "message-counter-history-day-limit";
 
    private static final String LVQ_NODE_NAME = "last-value-queue";
@@ -357,6 +361,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setSecurityInvalidationInterval(getLong(e, "security-invalidation-interval", config.getSecurityInvalidationInterval(), Validators.GT_ZERO));
 
+      config.setAuthenticationCacheSize(getInteger(e, "authentication-cache-size", config.getAuthenticationCacheSize(), Validators.GE_ZERO));
+
+      config.setAuthorizationCacheSize(getInteger(e, "authorization-cache-size", config.getAuthorizationCacheSize(), Validators.GE_ZERO));
+
       config.setConnectionTTLOverride(getLong(e, "connection-ttl-override", config.getConnectionTTLOverride(), Validators.MINUS_ONE_OR_GT_ZERO));
 
       config.setEnabledAsyncConnectionExecution(getBoolean(e, "async-connection-execution-enabled", config.isAsyncConnectionExecutionEnabled()));
@@ -620,6 +628,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalDeviceBlockSize(getInteger(e, "journal-device-block-size", null, Validators.MINUS_ONE_OR_GE_ZERO));
 
+      config.setJournalBufferAdaptiveTimeout(getBoolean(e, "journal-buffer-adaptive-timeout", config.isJournalBufferAdaptiveTimeout()));
+
       if (config.getJournalType() == JournalType.ASYNCIO) {
          config.setJournalBufferTimeout_AIO(journalBufferTimeout);
          config.setJournalBufferSize_AIO(journalBufferSize);
@@ -1075,6 +1085,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setPageSizeBytes((int) pageSizeLong);
          } else if (PAGE_MAX_CACHE_SIZE_NODE_NAME.equalsIgnoreCase(name)) {
             addressSettings.setPageCacheMaxSize(XMLUtil.parseInt(child));
+         } else if (PAGE_MAX_CACHE_BYTES_NODE_NAME.equalsIgnoreCase(name)) {
+            addressSettings.setPageCacheMaxBytes(ByteUtil.convertTextBytes(getTrimmedTextContent(child)));
+         } else if (PAGE_READ_AHEAD_NODE_NAME.equalsIgnoreCase(name)) {
+            int pageReadAhead = XMLUtil.parseInt(child);
+            Validators.GE_ZERO.validate(PAGE_READ_AHEAD_NODE_NAME, pageReadAhead);
+            addressSettings.setPageReadAhead(pageReadAhead);
          } else if (MESSAGE_COUNTER_HISTORY_DAY_LIMIT_NODE_NAME.equalsIgnoreCase(name)) {
             addressSettings.setMessageCounterHistoryDayLimit(XMLUtil.parseInt(child));
          } else if (ADDRESS_FULL_MESSAGE_POLICY_NODE_NAME.equalsIgnoreCase(name)) {
@@ -1467,6 +1483,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       configuration.setInitialReplicationSyncTimeout(getLong(policyNode, "initial-replication-sync-timeout", configuration.getInitialReplicationSyncTimeout(), Validators.GT_ZERO));
 
+      configuration.setReplicationBatchSize(getTextBytesAsIntBytes(policyNode, "replication-batch-size", configuration.getReplicationBatchSize(), Validators.GE_ZERO));
+
+      configuration.setReplicationBatchDelay(getLong(policyNode, "replication-batch-delay", configuration.getReplicationBatchDelay(), Validators.GE_ZERO));
+
+      configuration.setInitialReplicationSyncConcurrency(getInteger(policyNode, "initial-replication-sync-concurrency", configuration.getInitialReplicationSyncConcurrency(), Validators.GT_ZERO));
+
       configuration.setVoteOnReplicationFailure(getBoolean(policyNode, "vote-on-replication-failure", configuration.getVoteOnReplicationFailure()));
 
       configuration.setVoteRetries(getInteger(policyNode, "vote-retries", configuration.getVoteRetries(), Validators.MINUS_ONE_OR_GE_ZERO));
@@ -1494,6 +1516,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       configuration.setInitialReplicationSyncTimeout(getLong(policyNode, "initial-replication-sync-timeout", configuration.getInitialReplicationSyncTimeout(), Validators.GT_ZERO));
 
+      configuration.setReplicationBatchSize(getTextBytesAsIntBytes(policyNode, "replication-batch-size", configuration.getReplicationBatchSize(), Validators.GE_ZERO));
+
+      configuration.setReplicationBatchDelay(getLong(policyNode, "replication-batch-delay", configuration.getReplicationBatchDelay(), Validators.GE_ZERO));
+
+      configuration.setInitialReplicationSyncConcurrency(getInteger(policyNode, "initial-replication-sync-concurrency", configuration.getInitialReplicationSyncConcurrency(), Validators.GT_ZERO));
+
       configuration.setClusterName(getString(policyNode, "cluster-name", configuration.getClusterName(), Validators.NO_CHECK));
 
       configuration.setMaxSavedReplicatedJournalsSize(getInteger(policyNode, "max-saved-replicated-journals-size", configuration.getMaxSavedReplicatedJournalsSize(), Validators.MINUS_ONE_OR_GE_ZERO));
@@ -116,8 +116,12 @@ public class FilterImpl implements Filter {
    }
 
 
+   /**
+    * The expression isn't changed after being parsed and doesn't keep any state while being evaluated:
+    * it can be matched concurrently by any number of threads.
+    */
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -236,6 +236,74 @@ public class AddressControlImpl extends AbstractControl implements AddressContro
       }
    }
 
+   @Override
+   public long getPageCacheSizeBytes() throws Exception {
+      if (AuditLogger.isEnabled()) {
+         AuditLogger.getPageCacheSizeBytes(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getCursorProvider().getCacheSizeBytes();
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public long getPageCacheHits() throws Exception {
+      if (AuditLogger.isEnabled()) {
+         AuditLogger.getPageCacheHits(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getCursorProvider().getCacheHits();
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public long getPageCacheMisses() throws Exception {
+      if (AuditLogger.isEnabled()) {
+         AuditLogger.getPageCacheMisses(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getCursorProvider().getCacheMisses();
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public long getPageCacheEvictions() throws Exception {
+      if (AuditLogger.isEnabled()) {
+         AuditLogger.getPageCacheEvictions(this.addressInfo);
+      }
+      clearIO();
+      try {
+         final PagingStore pagingStore = getPagingStore();
+         if (pagingStore == null) {
+            return 0;
+         }
+         return pagingStore.getCursorProvider().getCacheEvictions();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    private PagingStore getPagingStore() throws Exception {
       return pagingManager.getPageStore(addressInfo.getName());
    }
@@ -17,9 +17,8 @@
 package org.apache.activemq.artemis.core.paging.cursor;
 
 import org.apache.activemq.artemis.core.paging.PagedMessage;
-import org.apache.activemq.artemis.utils.SoftValueLongObjectHashMap;
 
-public interface PageCache extends SoftValueLongObjectHashMap.ValueCache {
+public interface PageCache {
 
    long getPageId();
 
@@ -32,7 +31,6 @@ public interface PageCache extends SoftValueLongObjectHashMap.ValueCache {
    /**
     * @return whether this cache is still being updated
     */
-   @Override
    boolean isLive();
 
    /**
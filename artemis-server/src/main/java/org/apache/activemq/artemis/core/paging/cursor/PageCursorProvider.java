@@ -31,6 +31,11 @@ public interface PageCursorProvider {
 
    PageCache getPageCache(long pageNr);
 
+   /**
+    * As {@link #getPageCache(long)}, reading ahead the pages that {@code subscription} is going to consume next.
+    */
+   PageCache getPageCache(long pageNr, PageSubscription subscription);
+
    PagedReference newReference(PagePosition pos, PagedMessage msg, PageSubscription sub);
 
    void addPageCache(PageCache cache);
@@ -69,6 +74,33 @@ public interface PageCursorProvider {
 
    void setCacheMaxSize(int size);
 
+   /**
+    * @param bytes the max size of the messages kept in the cache, {@code -1} to only bound the number of pages
+    */
+   void setCacheMaxBytes(long bytes);
+
+   long getCacheSizeBytes();
+
+   /**
+    * @return the number of page lookups served by the cache
+    */
+   long getCacheHits();
+
+   /**
+    * @return the number of page lookups not served by the cache
+    */
+   long getCacheMisses();
+
+   /**
+    * @return the number of pages evicted from the cache to stay within its bounds
+    */
+   long getCacheEvictions();
+
+   /**
+    * @param pages the number of pages to read ahead of the consumers, {@code 0} to disable reading ahead
+    */
+   void setReadAheadPages(int pages);
+
    /**
     * @param pageCursorImpl
     */
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.cursor.impl;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.cursor.PageCache;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.jboss.logging.Logger;
+
+/**
+ * The pages cached by a {@link PageCursorProviderImpl}.
+ * <br>
+ * The least recently used pages are evicted as soon as the cache holds more than {@code maxElements} pages or more
+ * than {@code maxBytes} of messages. While {@code maxBytes} is set the pages are strongly referenced, so the memory
+ * used doesn't depend on when the GC decides to clear soft references; otherwise they are softly referenced, as the
+ * GC is the only bound to the memory they use. Live pages are still being written, hence they are never evicted and
+ * their messages are accounted only once they stop being live.
+ * <br>
+ * Lookups don't need any lock, while the methods changing the cache have to be serialized by the caller.
+ */
+final class BoundedPageCache {
+
+   private static final Logger logger = Logger.getLogger(BoundedPageCache.class);
+
+   private static final long UNKNOWN_SIZE = -1;
+
+   private final ConcurrentLongHashMap<Entry> entries = new ConcurrentLongHashMap<>();
+
+   // the entries whose page was cleared by the GC
+   private final ReferenceQueue<PageCache> clearedEntries = new ReferenceQueue<>();
+
+   // the entries whose size is still unknown: there are just a few of them, as only the page being written is live
+   private final List<Entry> liveEntries = new ArrayList<>(1);
+
+   // the least recently used entry, the others follow in order of use
+   private Entry head;
+
+   private Entry tail;
+
+   private final AtomicLong evictions = new AtomicLong(0);
+
+   // it orders the lookups, to find the least recently used page
+   private final AtomicLong useClock = new AtomicLong(0);
+
+   private volatile int maxElements;
+
+   private volatile long maxBytes;
+
+   private final AtomicLong sizeBytes = new AtomicLong(0);
+
+   BoundedPageCache(final int maxElements, final long maxBytes) {
+      this.maxElements = maxElements;
+      this.maxBytes = maxBytes;
+   }
+
+   /**
+    * @param maxElements the max number of pages, {@code 0} or less means no limit
+    */
+   void setMaxElements(final int maxElements) {
+      this.maxElements = maxElements;
+      evict(null);
+   }
+
+   int getMaxElements() {
+      return maxElements;
+   }
+
+   /**
+    * @param maxBytes the max size of the messages of the cached pages, {@code 0} or less means that the GC can clear
+    *                 the pages that aren't live
+    */
+   void setMaxBytes(final long maxBytes) {
+      this.maxBytes = maxBytes;
+      for (Entry entry = head; entry != null; entry = entry.next) {
+         if (entry.size != UNKNOWN_SIZE) {
+            entry.strong = maxBytes > 0 ? entry.get() : null;
+         }
+      }
+      evict(null);
+   }
+
+   long getMaxBytes() {
+      return maxBytes;
+   }
+
+   PageCache get(final long pageId) {
+      final Entry entry = entries.get(pageId);
+      if (entry == null) {
+         return null;
+      }
+      final PageCache cache = entry.cache();
+      if (cache != null) {
+         entry.lastUsed = useClock.incrementAndGet();
+      }
+      return cache;
+   }
+
+   boolean containsKey(final long pageId) {
+      final Entry entry = entries.get(pageId);
+      return entry != null && entry.cache() != null;
+   }
+
+   void put(final PageCache cache) {
+      processClearedEntries();
+      final Entry entry = new Entry(cache, clearedEntries);
+      final Entry previous = entries.put(cache.getPageId(), entry);
+      if (previous != null) {
+         discard(previous);
+      }
+      link(entry);
+      if (cache.isLive()) {
+         liveEntries.add(entry);
+      } else {
+         account(entry);
+      }
+      evict(entry);
+   }
+
+   PageCache remove(final long pageId) {
+      processClearedEntries();
+      final Entry entry = entries.remove(pageId);
+      if (entry == null) {
+         return null;
+      }
+      discard(entry);
+      return entry.cache();
+   }
+
+   void clear() {
+      entries.clear();
+      liveEntries.clear();
+      head = null;
+      tail = null;
+      sizeBytes.set(0);
+   }
+
+   int size() {
+      processClearedEntries();
+      return entries.size();
+   }
+
+   /**
+    * @return the size of the messages of the cached pages that aren't live anymore
+    */
+   long getSizeBytes() {
+      return sizeBytes.get();
+   }
+
+   long getEvictions() {
+      return evictions.get();
+   }
+
+   List<PageCache> values() {
+      final List<Entry> values = entries.values();
+      final List<PageCache> caches = new ArrayList<>(values.size());
+      for (Entry entry : values) {
+         final PageCache cache = entry.cache();
+         if (cache != null) {
+            caches.add(cache);
+         }
+      }
+      return caches;
+   }
+
+   /**
+    * It evicts the least recently used pages while the cache is beyond its bounds,
+    * but never {@code justAdded}: the caller is going to use it.
+    * <br>
+    * The entries are kept in order of use, but lookups don't reorder them: an entry used since it was last
+    * positioned is moved where its last use belongs when it is found at the head, otherwise it is the least
+    * recently used one.
+    */
+   private void evict(final Entry justAdded) {
+      accountLiveEntries();
+      final int maxElements = this.maxElements;
+      final long maxBytes = this.maxBytes;
+      if (maxElements <= 0 && maxBytes <= 0) {
+         return;
+      }
+      int elements = entries.size();
+      // each entry is moved at most once
+      int visits = 2 * elements;
+      Entry entry = head;
+      while (entry != null && visits-- > 0 && ((maxElements > 0 && elements > maxElements) || (maxBytes > 0 && sizeBytes.get() > maxBytes))) {
+         final Entry next = entry.next;
+         if (entry == justAdded || entry.size == UNKNOWN_SIZE) {
+            // live pages are never evicted, so their position doesn't matter
+            entry = next;
+         } else if (entry.lastUsed > entry.position) {
+            final Entry prev = entry.prev;
+            reposition(entry);
+            entry = prev == null ? head : prev.next;
+         } else {
+            entries.remove(entry.pageId, entry);
+            discard(entry);
+            elements--;
+            evictions.incrementAndGet();
+            if (logger.isTraceEnabled()) {
+               logger.trace("Evicting page " + entry.pageId + " from the page cache");
+            }
+            entry = next;
+         }
+      }
+   }
+
+   /**
+    * It moves {@code entry} after the entries positioned before its last use, but not before the ones preceding it.
+    */
+   private void reposition(final Entry entry) {
+      final Entry prev = entry.prev;
+      unlink(entry);
+      entry.position = entry.lastUsed;
+      Entry after = tail;
+      while (after != prev && after.position > entry.position) {
+         after = after.prev;
+      }
+      entry.prev = after;
+      if (after == null) {
+         entry.next = head;
+         head = entry;
+      } else {
+         entry.next = after.next;
+         after.next = entry;
+      }
+      if (entry.next == null) {
+         tail = entry;
+      } else {
+         entry.next.prev = entry;
+      }
+   }
+
+   /**
+    * It accounts the pages that stopped being live.
+    */
+   private void accountLiveEntries() {
+      for (int i = liveEntries.size() - 1; i >= 0; i--) {
+         final Entry entry = liveEntries.get(i);
+         final PageCache cache = entry.strong;
+         if (cache == null || !cache.isLive()) {
+            liveEntries.remove(i);
+            if (cache != null && entries.get(entry.pageId) == entry) {
+               account(entry);
+            }
+         }
+      }
+   }
+
+   private void account(final Entry entry) {
+      entry.size = sizeOf(entry.get());
+      sizeBytes.addAndGet(entry.size);
+      if (maxBytes <= 0) {
+         entry.strong = null;
+      }
+   }
+
+   private void processClearedEntries() {
+      Entry entry;
+      while ((entry = (Entry) clearedEntries.poll()) != null) {
+         if (entries.remove(entry.pageId, entry)) {
+            discard(entry);
+         }
+      }
+   }
+
+   private void link(final Entry entry) {
+      entry.position = useClock.incrementAndGet();
+      entry.prev = tail;
+      entry.next = null;
+      if (tail == null) {
+         head = entry;
+      } else {
+         tail.next = entry;
+      }
+      tail = entry;
+   }
+
+   private void unlink(final Entry entry) {
+      if (entry.prev == null) {
+         if (head == entry) {
+            head = entry.next;
+         }
+      } else {
+         entry.prev.next = entry.next;
+      }
+      if (entry.next == null) {
+         if (tail == entry) {
+            tail = entry.prev;
+         }
+      } else {
+         entry.next.prev = entry.prev;
+      }
+      entry.prev = null;
+      entry.next = null;
+   }
+
+   private void discard(final Entry entry) {
+      unlink(entry);
+      if (entry.size != UNKNOWN_SIZE) {
+         sizeBytes.addAndGet(-entry.size);
+         entry.size = UNKNOWN_SIZE;
+      } else {
+         liveEntries.remove(entry);
+      }
+   }
+
+   private static long sizeOf(final PageCache cache) {
+      if (cache == null) {
+         return 0;
+      }
+      final PagedMessage[] messages = cache.getMessages();
+      long size = 0;
+      if (messages != null) {
+         for (PagedMessage message : messages) {
+            size += message.getEncodeSize();
+         }
+      }
+      return size;
+   }
+
+   private static final class Entry extends SoftReference<PageCache> {
+
+      final long pageId;
+
+      // null if the GC can clear the page
+      volatile PageCache strong;
+
+      // UNKNOWN_SIZE until the page isn't live anymore
+      long size = UNKNOWN_SIZE;
+
+      // the last time the entry was moved to the tail
+      long position;
+
+      volatile long lastUsed;
+
+      Entry prev;
+
+      Entry next;
+
+      Entry(final PageCache cache, final ReferenceQueue<PageCache> queue) {
+         super(cache, queue);
+         this.pageId = cache.getPageId();
+         this.strong = cache;
+      }
+
+      PageCache cache() {
+         final PageCache cache = strong;
+         return cache != null ? cache : get();
+      }
+   }
+}
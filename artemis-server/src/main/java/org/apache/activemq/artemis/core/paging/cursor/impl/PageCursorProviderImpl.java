@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.core.filter.Filter;
@@ -38,9 +39,9 @@ import org.apache.activemq.artemis.core.paging.cursor.PagedReferenceImpl;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
-import org.apache.activemq.artemis.utils.SoftValueLongObjectHashMap;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.jboss.logging.Logger;
@@ -72,7 +73,16 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    // This is the same executor used at the PageStoreImpl. One Executor per pageStore
    private final ArtemisExecutor executor;
 
-   private final SoftValueLongObjectHashMap<PageCache> softCache;
+   private final BoundedPageCache pageCache;
+
+   private final AtomicLong pageCacheHits = new AtomicLong(0);
+
+   private final AtomicLong pageCacheMisses = new AtomicLong(0);
+
+   private volatile int readAheadPages = 0;
+
+   // the last page scheduled to be read ahead for each subscription, by cursorID
+   private final ConcurrentLongHashMap<AtomicLong> readAheadLastPages = new ConcurrentLongHashMap<>();
 
    private LongObjectHashMap<Integer> numberOfMessages = null;
 
@@ -107,7 +117,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       this.pagingStore = pagingStore;
       this.storageManager = storageManager;
       this.executor = executor;
-      this.softCache = new SoftValueLongObjectHashMap<>(maxCacheSize);
+      this.pageCache = new BoundedPageCache(maxCacheSize, AddressSettings.DEFAULT_PAGE_MAX_CACHE_BYTES);
       if (!readWholePage) {
          this.numberOfMessages = new LongObjectHashMap<>();
       }
@@ -155,6 +165,14 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       return new PagedReferenceImpl(pos, msg, subscription);
    }
 
+   @Override
+   public PageCache getPageCache(final long pageId, final PageSubscription subscription) {
+      if (readAheadPages > 0 && pageId <= pagingStore.getCurrentWritingPage()) {
+         readAhead(pageId, subscription);
+      }
+      return getPageCache(pageId);
+   }
+
    @Override
    public PageCache getPageCache(final long pageId) {
       try {
@@ -163,20 +181,26 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          }
          boolean createPage = false;
          CompletableFuture<PageCache> inProgressReadPage;
-         PageCache cache;
+         PageCache cache = pageCache.get(pageId);
+         if (cache != null) {
+            pageCacheHits.incrementAndGet();
+            return cache;
+         }
          Page page = null;
-         synchronized (softCache) {
-            cache = softCache.get(pageId);
+         synchronized (pageCache) {
+            cache = pageCache.get(pageId);
             if (cache != null) {
+               pageCacheHits.incrementAndGet();
                return cache;
             }
+            pageCacheMisses.incrementAndGet();
             if (!pagingStore.checkPageFileExists((int) pageId)) {
                return null;
             }
             Page currentPage = pagingStore.getCurrentPage();
             // Live page cache might be cleared by gc, we need to retrieve it otherwise partially written page cache is being returned
             if (currentPage != null && currentPage.getPageId() == pageId && (cache = currentPage.getLiveCache()) != null) {
-               softCache.put(cache.getPageId(), cache);
+               pageCache.put(cache);
                return cache;
             }
             inProgressReadPage = inProgressReadPages.get(pageId);
@@ -212,6 +236,64 @@ public class PageCursorProviderImpl implements PageCursorProvider {
       }
    }
 
+   /**
+    * It schedules the read of the pages following {@code pageId} that haven't been read ahead yet for
+    * {@code subscription}, so it won't wait on the disk when it moves to the next page.
+    * Each subscription has its own window: one lagging behind the others reads ahead the pages they have
+    * already consumed.
+    */
+   private void readAhead(final long pageId, final PageSubscription subscription) {
+      // the pages read ahead share the cache with the ones being consumed: leave room for the latter
+      final int maxElements = pageCache.getMaxElements();
+      final int pages = maxElements > 0 ? Math.min(readAheadPages, maxElements - 1) : readAheadPages;
+      // the current writing page is kept in memory by the paging store
+      final long lastPage = Math.min(pageId + pages, pagingStore.getCurrentWritingPage() - 1);
+      final AtomicLong readAheadLastPage = readAheadLastPages.computeIfAbsent(subscription.getId(), id -> new AtomicLong(-1));
+      long previousLastPage;
+      long firstPage;
+      do {
+         previousLastPage = readAheadLastPage.get();
+         // the subscription has moved back before its last window (eg a rollback): start a new one
+         firstPage = previousLastPage - pages > pageId ? pageId + 1 : Math.max(pageId + 1, previousLastPage + 1);
+         if (firstPage > lastPage) {
+            return;
+         }
+      }
+      while (!readAheadLastPage.compareAndSet(previousLastPage, lastPage));
+      final long fromPage = firstPage;
+      executor.execute(() -> {
+         for (long nextPage = fromPage; nextPage <= lastPage; nextPage++) {
+            try {
+               readAheadPage(nextPage);
+            } catch (Throwable e) {
+               // it will be read again when a consumer gets there
+               logger.debugf(e, "Error on reading ahead pageNr=%d on cursor %s", nextPage, pagingStore.getAddress());
+               return;
+            }
+         }
+      });
+   }
+
+   private void readAheadPage(final long pageId) throws Exception {
+      final CompletableFuture<PageCache> readPage;
+      final PageCache cache;
+      final Page page;
+      synchronized (pageCache) {
+         if (pageCache.containsKey(pageId) || inProgressReadPages.containsKey(pageId)) {
+            return;
+         }
+         if (!pagingStore.checkPageFileExists((int) pageId)) {
+            return;
+         }
+         readPage = new CompletableFuture<>();
+         cache = createPageCache(pageId);
+         page = pagingStore.createPage((int) pageId);
+         inProgressReadPages.put(pageId, readPage);
+      }
+      logger.tracef("reading ahead pageNr=%d on cursor %s", pageId, pagingStore.getAddress());
+      readPage(pageId, page, cache, readPage);
+   }
+
    private PageCache readPage(long pageId,
                               Page page,
                               PageCache cache,
@@ -241,7 +323,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          cache.setMessages(pgdMessages.toArray(new PagedMessage[num]));
       } catch (Throwable t) {
          inProgressReadPage.completeExceptionally(t);
-         synchronized (softCache) {
+         synchronized (pageCache) {
             inProgressReadPages.remove(pageId);
          }
          throw t;
@@ -257,9 +339,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          }
       }
       inProgressReadPage.complete(cache);
-      synchronized (softCache) {
+      synchronized (pageCache) {
          inProgressReadPages.remove(pageId);
-         softCache.put(pageId, cache);
+         pageCache.put(cache);
          if (numberOfMessages != null && num != -1) {
             numberOfMessages.put(pageId, Integer.valueOf(num));
          }
@@ -270,27 +352,61 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    @Override
    public void addPageCache(PageCache cache) {
       logger.tracef("Add page cache %s", cache);
-      synchronized (softCache) {
-         softCache.put(cache.getPageId(), cache);
+      synchronized (pageCache) {
+         pageCache.put(cache);
       }
    }
 
    @Override
    public void setCacheMaxSize(final int size) {
-      softCache.setMaxElements(size);
+      synchronized (pageCache) {
+         pageCache.setMaxElements(size);
+      }
+   }
+
+   @Override
+   public void setCacheMaxBytes(final long bytes) {
+      synchronized (pageCache) {
+         pageCache.setMaxBytes(bytes);
+      }
+   }
+
+   @Override
+   public void setReadAheadPages(final int pages) {
+      readAheadPages = pages;
    }
 
    @Override
    public int getCacheSize() {
-      synchronized (softCache) {
-         return softCache.size();
+      synchronized (pageCache) {
+         return pageCache.size();
       }
    }
 
+   @Override
+   public long getCacheSizeBytes() {
+      return pageCache.getSizeBytes();
+   }
+
+   @Override
+   public long getCacheHits() {
+      return pageCacheHits.get();
+   }
+
+   @Override
+   public long getCacheMisses() {
+      return pageCacheMisses.get();
+   }
+
+   @Override
+   public long getCacheEvictions() {
+      return pageCache.getEvictions();
+   }
+
    @Override
    public void clearCache() {
-      synchronized (softCache) {
-         softCache.clear();
+      synchronized (pageCache) {
+         pageCache.clear();
       }
    }
 
@@ -350,6 +466,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    @Override
    public void close(PageSubscription cursor) {
       activeCursors.remove(cursor.getId());
+      readAheadLastPages.remove(cursor.getId());
 
       scheduleCleanup();
    }
@@ -527,8 +644,8 @@ public class PageCursorProviderImpl implements PageCursorProvider {
          for (Page depagedPage : depagedPages) {
             PageCache cache;
             PagedMessage[] pgdMessages;
-            synchronized (softCache) {
-               cache = softCache.get((long) depagedPage.getPageId());
+            synchronized (pageCache) {
+               cache = pageCache.get((long) depagedPage.getPageId());
             }
 
             if (logger.isTraceEnabled()) {
@@ -559,9 +676,9 @@ public class PageCursorProviderImpl implements PageCursorProvider {
             }
 
             depagedPage.delete(pgdMessages);
-            synchronized (softCache) {
+            synchronized (pageCache) {
                long pageId = (long) depagedPage.getPageId();
-               softCache.remove(pageId);
+               pageCache.remove(pageId);
                numberOfMessages.remove(pageId);
             }
             onDeletePage(depagedPage);
@@ -638,7 +755,7 @@ public class PageCursorProviderImpl implements PageCursorProvider {
    @Override
    public void printDebug() {
       System.out.println("Debug information for PageCursorProviderImpl:");
-      for (PageCache cache : softCache.values()) {
+      for (PageCache cache : pageCache.values()) {
          System.out.println("Cache " + cache);
       }
    }
@@ -404,7 +404,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
       while (retPos.getPageNr() <= pageStore.getCurrentWritingPage()) {
          PageReader pageReader = pageReaders.get(retPos.getPageNr());
          if (pageReader == null) {
-            cache = cursorProvider.getPageCache(retPos.getPageNr());
+            cache = cursorProvider.getPageCache(retPos.getPageNr(), this);
          } else {
             cache = pageReader;
          }
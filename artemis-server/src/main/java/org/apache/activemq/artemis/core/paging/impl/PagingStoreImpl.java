@@ -193,6 +193,10 @@ public class PagingStoreImpl implements PagingStore {
 
       this.cursorProvider = storeFactory.newCursorProvider(this, this.storageManager, addressSettings, executor);
 
+      this.cursorProvider.setCacheMaxBytes(addressSettings.getPageCacheMaxBytes());
+
+      this.cursorProvider.setReadAheadPages(addressSettings.getPageReadAhead());
+
       this.usingGlobalMaxSize = pagingManager.isUsingGlobalSize();
    }
 
@@ -211,6 +215,8 @@ public class PagingStoreImpl implements PagingStore {
 
       if (cursorProvider != null) {
          cursorProvider.setCacheMaxSize(addressSettings.getPageCacheMaxSize());
+         cursorProvider.setCacheMaxBytes(addressSettings.getPageCacheMaxBytes());
+         cursorProvider.setReadAheadPages(addressSettings.getPageReadAhead());
       }
    }
 
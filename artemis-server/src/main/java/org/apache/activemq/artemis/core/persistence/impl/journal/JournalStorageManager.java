@@ -165,6 +165,8 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
 
       journalFF.setDatasync(config.isJournalDatasync());
 
+      journalFF.setAdaptiveBufferTimeout(config.isJournalBufferAdaptiveTimeout());
+
 
       int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
       Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
@@ -692,6 +694,8 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
          sendJournalFile(bindingsFiles, JournalContent.BINDINGS);
          sendLargeMessageFiles(pendingLargeMessages);
          sendPagesToBackup(pageFilesToSync, pagingManager);
+         // the files might still be going to the backup
+         replicator.awaitFileSyncs();
 
          storageManagerLock.writeLock().lock();
          try {
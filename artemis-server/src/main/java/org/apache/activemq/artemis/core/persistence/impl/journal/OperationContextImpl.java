@@ -16,9 +16,6 @@
  */
 package org.apache.activemq.artemis.core.persistence.impl.journal;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -30,6 +27,7 @@ import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 
 /**
  * Each instance of OperationContextImpl is associated with an executor (usually an ordered Executor).
@@ -40,6 +38,9 @@ import org.apache.activemq.artemis.utils.ExecutorFactory;
  * If there are no pending IO operations, the tasks are just executed at the callers thread without any context switch.
  *
  * So, if you are doing operations that are not dependent on IO (e.g NonPersistentMessages) you wouldn't have any context switch.
+ *
+ * No lock is taken: the operations are tracked by monotonic counters and the tasks wait on lock-free queues,
+ * drained by one completing thread at time.
  */
 public class OperationContextImpl implements OperationContext {
 
@@ -70,24 +71,26 @@ public class OperationContextImpl implements OperationContext {
       OperationContextImpl.threadLocalContext.set(context);
    }
 
-   private List<TaskHolder> tasks;
-   private List<TaskHolder> storeOnlyTasks;
+   private static final int TASKS_CHUNK_SIZE = 32;
 
-   private long minimalStore = Long.MAX_VALUE;
-   private long minimalReplicated = Long.MAX_VALUE;
-   private long minimalPage = Long.MAX_VALUE;
+   // the tasks are added by any thread and drained by the thread that owns the drain, see checkTasks
+   private final MpscUnboundedArrayQueue<TaskHolder> tasks = new MpscUnboundedArrayQueue<>(TASKS_CHUNK_SIZE);
+   private final MpscUnboundedArrayQueue<TaskHolder> storeOnlyTasks = new MpscUnboundedArrayQueue<>(TASKS_CHUNK_SIZE);
 
    private final AtomicLong storeLineUp = new AtomicLong(0);
    private final AtomicLong replicationLineUp = new AtomicLong(0);
    private final AtomicLong pageLineUp = new AtomicLong(0);
 
-   private long stored = 0;
-   private long replicated = 0;
-   private long paged = 0;
+   private final AtomicLong stored = new AtomicLong(0);
+   private final AtomicLong replicated = new AtomicLong(0);
+   private final AtomicLong paged = new AtomicLong(0);
+
+   // the number of requests to check the tasks: only who moves it from 0 drains them
+   private final AtomicInteger checkRequests = new AtomicInteger(0);
 
-   private int errorCode = -1;
+   private volatile int errorCode = -1;
 
-   private String errorMessage = null;
+   private volatile String errorMessage = null;
 
    private final Executor executor;
 
@@ -104,8 +107,8 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void pageSyncDone() {
-      paged++;
+   public void pageSyncDone() {
+      paged.incrementAndGet();
       checkTasks();
    }
 
@@ -120,8 +123,8 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void replicationDone() {
-      replicated++;
+   public void replicationDone() {
+      replicated.incrementAndGet();
       checkTasks();
    }
 
@@ -137,94 +140,83 @@ public class OperationContextImpl implements OperationContext {
          return;
       }
 
-      boolean executeNow = false;
-
-      synchronized (this) {
-         final int UNDEFINED = Integer.MIN_VALUE;
-         int storeLined = UNDEFINED;
-         int pageLined = UNDEFINED;
-         int replicationLined = UNDEFINED;
-         if (storeOnly) {
-            if (storeOnlyTasks == null) {
-               storeOnlyTasks = new LinkedList<>();
-            }
-         } else {
-            if (tasks == null) {
-               tasks = new LinkedList<>();
-               minimalReplicated = (replicationLined = replicationLineUp.intValue());
-               minimalStore = (storeLined = storeLineUp.intValue());
-               minimalPage = (pageLined = pageLineUp.intValue());
-            }
-         }
-         //On the next branches each of them is been used
-         if (replicationLined == UNDEFINED) {
-            replicationLined = replicationLineUp.intValue();
-            storeLined = storeLineUp.intValue();
-            pageLined = pageLineUp.intValue();
-         }
-         // On this case, we can just execute the context directly
-
-         if (replicationLined == replicated && storeLined == stored && pageLined == paged) {
-            // We want to avoid the executor if everything is complete...
-            // However, we can't execute the context if there are executions pending
-            // We need to use the executor on this case
-            if (executorsPending.get() == 0) {
-               // No need to use an executor here or a context switch
-               // there are no actions pending.. hence we can just execute the task directly on the same thread
-               executeNow = true;
-            } else {
-               execute(completion);
-            }
-         } else {
-            if (storeOnly) {
-               storeOnlyTasks.add(new TaskHolder(completion, storeLined, replicationLined, pageLined));
-            } else {
-               tasks.add(new TaskHolder(completion, storeLined, replicationLined, pageLined));
-            }
+      final long replicationLined = replicationLineUp.get();
+      final long storeLined = storeLineUp.get();
+      final long pageLined = pageLineUp.get();
+
+      // On this case, we can just execute the context directly
+      if (replicated.get() >= replicationLined && stored.get() >= storeLined && paged.get() >= pageLined) {
+         // We want to avoid the executor if everything is complete...
+         // However, we can't execute the context if there are tasks waiting or executions pending:
+         // a task polled by the drain is counted by executorsPending before the drain is over,
+         // and a store only task can still wait for a drain while its store is already done
+         if (tasks.isEmpty() && storeOnlyTasks.isEmpty() && checkRequests.get() == 0 && executorsPending.get() == 0) {
+            // No need to use an executor here or a context switch
+            // there are no actions pending.. hence we can just execute the task directly on the same thread
+            completion.done();
+            return;
          }
       }
 
-      if (executeNow) {
-         // Executing outside of any locks
-         completion.done();
+      final TaskHolder holder = new TaskHolder(completion, storeLined, replicationLined, pageLined);
+      if (storeOnly) {
+         storeOnlyTasks.offer(holder);
+      } else {
+         tasks.offer(holder);
       }
-
+      // the operations could have been completed since the line ups were read
+      checkTasks();
    }
 
    @Override
-   public synchronized void done() {
-      stored++;
+   public void done() {
+      stored.incrementAndGet();
       checkTasks();
    }
 
+   /**
+    * Any thread can request to check the tasks, but only one at time drains them:
+    * the others just leave their request to it, to be served before it stops draining.
+    */
    private void checkTasks() {
+      if (checkRequests.getAndIncrement() != 0) {
+         return;
+      }
+      int requests = 1;
+      do {
+         drainTasks();
+         requests = checkRequests.addAndGet(-requests);
+      }
+      while (requests != 0);
+   }
 
-      if (storeOnlyTasks != null) {
-         Iterator<TaskHolder> iter = storeOnlyTasks.iterator();
-         while (iter.hasNext()) {
-            TaskHolder holder = iter.next();
-            if (stored >= holder.storeLined) {
-               // If set, we use an executor to avoid the server being single threaded
-               execute(holder.task);
+   private void drainTasks() {
+      final long stored = this.stored.get();
+      final long replicated = this.replicated.get();
+      final long paged = this.paged.get();
 
-               iter.remove();
-            }
+      TaskHolder holder;
+      while ((holder = storeOnlyTasks.peek()) != null && stored >= holder.storeLined) {
+         storeOnlyTasks.poll();
+         // If set, we use an executor to avoid the server being single threaded
+         execute(holder.task);
+      }
+
+      if (errorCode != -1) {
+         while ((holder = tasks.poll()) != null) {
+            holder.task.onError(errorCode, errorMessage);
          }
+         return;
       }
 
-      if (stored >= minimalStore && replicated >= minimalReplicated && paged >= minimalPage) {
-         Iterator<TaskHolder> iter = tasks.iterator();
-         while (iter.hasNext()) {
-            TaskHolder holder = iter.next();
-            if (stored >= holder.storeLined && replicated >= holder.replicationLined && paged >= holder.pageLined) {
-               // If set, we use an executor to avoid the server being single threaded
-               execute(holder.task);
-
-               iter.remove();
-            } else {
-               // End of list here. No other task will be completed after this
-               break;
-            }
+      while ((holder = tasks.peek()) != null) {
+         if (stored >= holder.storeLined && replicated >= holder.replicationLined && paged >= holder.pageLined) {
+            tasks.poll();
+            // If set, we use an executor to avoid the server being single threaded
+            execute(holder.task);
+         } else {
+            // End of list here. No other task will be completed after this
+            break;
          }
       }
    }
@@ -262,18 +254,12 @@ public class OperationContextImpl implements OperationContext {
    }
 
    @Override
-   public synchronized void onError(final int errorCode, final String errorMessage) {
-      this.errorCode = errorCode;
+   public void onError(final int errorCode, final String errorMessage) {
+      // the message is written first: who reads the code after it reads the message too
       this.errorMessage = errorMessage;
+      this.errorCode = errorCode;
 
-      if (tasks != null) {
-         Iterator<TaskHolder> iter = tasks.iterator();
-         while (iter.hasNext()) {
-            TaskHolder holder = iter.next();
-            holder.task.onError(errorCode, errorMessage);
-            iter.remove();
-         }
-      }
+      checkTasks();
    }
 
    static final class TaskHolder {
@@ -290,13 +276,13 @@ public class OperationContextImpl implements OperationContext {
             "]";
       }
 
-      final int storeLined;
-      final int replicationLined;
-      final int pageLined;
+      final long storeLined;
+      final long replicationLined;
+      final long pageLined;
 
       final IOCallback task;
 
-      TaskHolder(final IOCallback task, int storeLined, int replicationLined, int pageLined) {
+      TaskHolder(final IOCallback task, long storeLined, long replicationLined, long pageLined) {
          this.storeLined = storeLined;
          this.replicationLined = replicationLined;
          this.pageLined = pageLined;
@@ -324,37 +310,29 @@ public class OperationContextImpl implements OperationContext {
 
    @Override
    public String toString() {
-      StringBuffer buffer = new StringBuffer();
-      if (tasks != null) {
-         for (TaskHolder hold : tasks) {
-            buffer.append("Task = " + hold + "\n");
-         }
-      }
-
-      return "OperationContextImpl [" + hashCode() + "] [minimalStore=" + minimalStore +
-         ", storeLineUp=" +
+      return "OperationContextImpl [" + hashCode() + "] [storeLineUp=" +
          storeLineUp +
          ", stored=" +
          stored +
-         ", minimalReplicated=" +
-         minimalReplicated +
          ", replicationLineUp=" +
          replicationLineUp +
          ", replicated=" +
          replicated +
          ", paged=" +
          paged +
-         ", minimalPage=" +
-         minimalPage +
          ", pageLineUp=" +
          pageLineUp +
          ", errorCode=" +
          errorCode +
          ", errorMessage=" +
          errorMessage +
+         ", tasks=" +
+         tasks.size() +
+         ", storeOnlyTasks=" +
+         storeOnlyTasks.size() +
          ", executorsPending=" +
          executorsPending +
          ", executor=" + this.executor +
-         "]" + buffer.toString();
+         "]";
    }
 }
\ No newline at end of file
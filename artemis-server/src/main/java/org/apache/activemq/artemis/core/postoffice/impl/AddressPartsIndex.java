@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.postoffice.Address;
+
+/**
+ * A trie of addresses keyed by their {@link Address#getAddressParts() parts}, used by {@link WildcardAddressManager}
+ * to find the addresses to link without comparing every address with every wildcard address.
+ * <br>
+ * The trie only narrows the candidates by following the literal and wildcard parts: every candidate is still checked
+ * with {@link Address#matches(Address)}, so the matching rules are exactly the same.
+ * <br>
+ * This is not thread safe.
+ */
+final class AddressPartsIndex {
+
+   private final char singleWord;
+
+   private final char anyWords;
+
+   private final SimpleString singleWordPart;
+
+   private final Node root = new Node();
+
+   private int size = 0;
+
+   AddressPartsIndex(final WildcardConfiguration wildcardConfiguration) {
+      this.singleWord = wildcardConfiguration.getSingleWord();
+      this.anyWords = wildcardConfiguration.getAnyWords();
+      this.singleWordPart = new SimpleString(String.valueOf(singleWord));
+   }
+
+   void put(final Address address) {
+      Node node = root;
+      for (SimpleString part : address.getAddressParts()) {
+         node = node.children.computeIfAbsent(part, p -> new Node());
+      }
+      if (node.address == null) {
+         size++;
+      }
+      node.address = address;
+   }
+
+   void remove(final Address address) {
+      if (remove(root, address.getAddressParts(), 0)) {
+         size--;
+      }
+   }
+
+   void clear() {
+      root.children.clear();
+      root.address = null;
+      size = 0;
+   }
+
+   int size() {
+      return size;
+   }
+
+   /**
+    * To be used on an index of addresses without wildcards.
+    *
+    * @param wildcardAddress the wildcard address
+    * @param consumer        it receives the indexed addresses matched by {@code wildcardAddress}
+    */
+   void forEachMatchedBy(final Address wildcardAddress, final Consumer<Address> consumer) {
+      forEachMatchedBy(root, wildcardAddress.getAddressParts(), 0, wildcardAddress, consumer);
+   }
+
+   /**
+    * To be used on an index of wildcard addresses.
+    *
+    * @param address the address without wildcards
+    * @param consumer it receives the indexed wildcard addresses matching {@code address}
+    */
+   void forEachMatching(final Address address, final Consumer<Address> consumer) {
+      forEachMatching(root, address.getAddressParts(), 0, address, consumer);
+   }
+
+   private boolean remove(final Node node, final SimpleString[] parts, final int index) {
+      if (index == parts.length) {
+         final boolean removed = node.address != null;
+         node.address = null;
+         return removed;
+      }
+      final Node child = node.children.get(parts[index]);
+      if (child == null) {
+         return false;
+      }
+      final boolean removed = remove(child, parts, index + 1);
+      if (child.address == null && child.children.isEmpty()) {
+         node.children.remove(parts[index]);
+      }
+      return removed;
+   }
+
+   private void forEachMatchedBy(final Node node,
+                                 final SimpleString[] parts,
+                                 final int index,
+                                 final Address wildcardAddress,
+                                 final Consumer<Address> consumer) {
+      if (index == parts.length) {
+         acceptIfMatchedBy(node.address, wildcardAddress, consumer);
+         return;
+      }
+      final SimpleString part = parts[index];
+      if (isWildcard(part, anyWords)) {
+         forEachInSubTree(node, address -> acceptIfMatchedBy(address, wildcardAddress, consumer));
+      } else if (isWildcard(part, singleWord)) {
+         for (Node child : node.children.values()) {
+            forEachMatchedBy(child, parts, index + 1, wildcardAddress, consumer);
+         }
+      } else {
+         if (index == parts.length - 1 && startsWith(part, anyWords)) {
+            // a last part starting with the any-words wildcard matches addresses that ended before it
+            acceptIfMatchedBy(node.address, wildcardAddress, consumer);
+         }
+         final Node child = node.children.get(part);
+         if (child != null) {
+            forEachMatchedBy(child, parts, index + 1, wildcardAddress, consumer);
+         }
+      }
+   }
+
+   private void forEachMatching(final Node node,
+                                final SimpleString[] parts,
+                                final int index,
+                                final Address address,
+                                final Consumer<Address> consumer) {
+      for (Map.Entry<SimpleString, Node> entry : node.children.entrySet()) {
+         final SimpleString part = entry.getKey();
+         if (isWildcard(part, anyWords)) {
+            forEachInSubTree(entry.getValue(), wildcardAddress -> acceptIfMatchedBy(address, wildcardAddress, consumer, wildcardAddress));
+         } else if (index == parts.length && startsWith(part, anyWords)) {
+            // a last part starting with the any-words wildcard matches addresses that ended before it
+            acceptIfMatchedBy(address, entry.getValue().address, consumer, entry.getValue().address);
+         }
+      }
+      if (index == parts.length) {
+         acceptIfMatchedBy(address, node.address, consumer, node.address);
+         return;
+      }
+      final Node child = node.children.get(parts[index]);
+      if (child != null) {
+         forEachMatching(child, parts, index + 1, address, consumer);
+      }
+      final Node singleWordChild = node.children.get(singleWordPart);
+      if (singleWordChild != null) {
+         forEachMatching(singleWordChild, parts, index + 1, address, consumer);
+      }
+   }
+
+   private static void acceptIfMatchedBy(final Address address,
+                                         final Address wildcardAddress,
+                                         final Consumer<Address> consumer) {
+      acceptIfMatchedBy(address, wildcardAddress, consumer, address);
+   }
+
+   private static void acceptIfMatchedBy(final Address address,
+                                         final Address wildcardAddress,
+                                         final Consumer<Address> consumer,
+                                         final Address candidate) {
+      if (address != null && wildcardAddress != null && address.matches(wildcardAddress)) {
+         consumer.accept(candidate);
+      }
+   }
+
+   private static void forEachInSubTree(final Node node, final Consumer<Address> consumer) {
+      if (node.address != null) {
+         consumer.accept(node.address);
+      }
+      for (Node child : node.children.values()) {
+         forEachInSubTree(child, consumer);
+      }
+   }
+
+   private static boolean isWildcard(final SimpleString part, final char wildcard) {
+      return part.length() == 1 && part.charAt(0) == wildcard;
+   }
+
+   private static boolean startsWith(final SimpleString part, final char wildcard) {
+      return part.length() > 0 && part.charAt(0) == wildcard;
+   }
+
+   private static final class Node {
+
+      final Map<SimpleString, Node> children = new HashMap<>(2);
+
+      Address address;
+   }
+}
@@ -17,9 +17,9 @@
 package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
 
 import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
 import org.apache.activemq.artemis.api.core.Pair;
@@ -37,19 +37,40 @@ import org.jboss.logging.Logger;
  * A DuplicateIDCacheImpl
  *
  * A fixed size rotating cache of last X duplicate ids.
+ * <br>
+ * The ids are kept in a ring of primitive arrays, indexed by an open addressing table of ring positions:
+ * verifying and adding an id doesn't allocate anything and no wrapper object is kept for each id.
+ * The ring and the table grow together with the ids, up to the cache size.
+ * <br>
+ * The changes are serialized by the cache monitor and made while holding {@link #arraysLock}: {@link #contains}
+ * doesn't take any lock unless a change happens while it looks up the arrays.
  */
 public class DuplicateIDCacheImpl implements DuplicateIDCache {
 
    private static final Logger logger = Logger.getLogger(DuplicateIDCacheImpl.class);
 
-   // ByteHolder, position
-   private final Map<ByteArrayHolder, Integer> cache = new ConcurrentHashMap<>();
+   private static final int INITIAL_CAPACITY = 16;
+
+   // the table slots contain ring positions + 1: 0 is an empty slot
+   private static final int EMPTY_SLOT = 0;
+
+   private static final long NO_RECORD_ID = -1;
 
    private final SimpleString address;
 
-   // Note - deliberately typed as ArrayList since we want to ensure fast indexed
-   // based array access
-   private final ArrayList<Pair<ByteArrayHolder, Long>> ids;
+   private final StampedLock arraysLock = new StampedLock();
+
+   // the ring: a deleted id is null
+   private byte[][] ids;
+
+   private long[] recordIDs;
+
+   private int[] hashes;
+
+   // how many ring positions have been used, ie ids.length until the cache has been filled once
+   private int ringSize;
+
+   private int[] table;
 
    private int pos;
 
@@ -67,7 +88,15 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
 
       cacheSize = size;
 
-      ids = new ArrayList<>(size);
+      final int capacity = Math.max(1, Math.min(size, INITIAL_CAPACITY));
+
+      ids = new byte[capacity][];
+
+      recordIDs = new long[capacity];
+
+      hashes = new int[capacity];
+
+      table = new int[tableCapacity(capacity)];
 
       this.storageManager = storageManager;
 
@@ -75,7 +104,7 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
    }
 
    @Override
-   public void load(final List<Pair<byte[], Long>> theIds) throws Exception {
+   public synchronized void load(final List<Pair<byte[], Long>> theIds) throws Exception {
       long txID = -1;
 
       // If we have more IDs than cache size, we shrink the first ones
@@ -96,13 +125,18 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
             storageManager.deleteDuplicateIDTransactional(txID, id.getB());
             deleteCount--;
          } else {
-            ByteArrayHolder bah = new ByteArrayHolder(id.getA());
+            final int position = ringSize;
 
-            Pair<ByteArrayHolder, Long> pair = new Pair<>(bah, id.getB());
+            final long stamp = arraysLock.writeLock();
+            try {
+               ensureRingCapacity(position + 1);
 
-            cache.put(bah, ids.size());
+               setInRing(position, id.getA(), id.getB() == null ? NO_RECORD_ID : id.getB());
+            } finally {
+               arraysLock.unlockWrite(stamp);
+            }
 
-            ids.add(pair);
+            ringSize++;
             if (logger.isTraceEnabled()) {
                logger.trace("DuplicateIDCacheImpl::load loading id=" + describeID(id.getA(), id.getB()));
             }
@@ -114,7 +148,7 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
          storageManager.commit(txID);
       }
 
-      pos = ids.size();
+      pos = ringSize;
 
       if (pos == cacheSize) {
          pos = 0;
@@ -123,29 +157,32 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
    }
 
    @Override
-   public void deleteFromCache(byte[] duplicateID) throws Exception {
+   public synchronized void deleteFromCache(byte[] duplicateID) throws Exception {
       if (logger.isTraceEnabled()) {
          logger.trace("DuplicateIDCacheImpl::deleteFromCache deleting id=" + describeID(duplicateID, 0));
       }
 
-      ByteArrayHolder bah = new ByteArrayHolder(duplicateID);
+      final int position = find(duplicateID, hash(duplicateID));
 
-      Integer posUsed = cache.remove(bah);
+      if (position >= 0) {
+         final long recordID = recordIDs[position];
 
-      if (posUsed != null) {
-         Pair<ByteArrayHolder, Long> id;
+         final long stamp = arraysLock.writeLock();
+         try {
+            removeFromTable(position);
 
-         synchronized (this) {
-            id = ids.get(posUsed.intValue());
+            ids[position] = null;
 
-            if (id.getA().equals(bah)) {
-               id.setA(null);
-               storageManager.deleteDuplicateID(id.getB());
-               if (logger.isTraceEnabled()) {
-                  logger.trace("DuplicateIDCacheImpl(" + this.address + ")::deleteFromCache deleting id=" + describeID(duplicateID, id.getB()));
-               }
-               id.setB(null);
-            }
+            recordIDs[position] = NO_RECORD_ID;
+         } finally {
+            arraysLock.unlockWrite(stamp);
+         }
+
+         if (recordID != NO_RECORD_ID) {
+            storageManager.deleteDuplicateID(recordID);
+         }
+         if (logger.isTraceEnabled()) {
+            logger.trace("DuplicateIDCacheImpl(" + this.address + ")::deleteFromCache deleting id=" + describeID(duplicateID, recordID));
          }
       }
 
@@ -161,7 +198,20 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
 
    @Override
    public boolean contains(final byte[] duplID) {
-      boolean contains = cache.get(new ByteArrayHolder(duplID)) != null;
+      final int hash = hash(duplID);
+      boolean contains = false;
+      final long optimisticStamp = arraysLock.tryOptimisticRead();
+      if (optimisticStamp != 0) {
+         contains = optimisticFind(duplID, hash);
+      }
+      if (optimisticStamp == 0 || !arraysLock.validate(optimisticStamp)) {
+         final long stamp = arraysLock.readLock();
+         try {
+            contains = find(duplID, hash) >= 0;
+         } finally {
+            arraysLock.unlockRead(stamp);
+         }
+      }
 
       if (contains) {
          logger.trace("DuplicateIDCacheImpl(" + this.address + ")::constains found a duplicate " + describeID(duplID, 0));
@@ -238,58 +288,53 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
          logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory Adding " + describeID(duplID, recordID));
       }
 
-      ByteArrayHolder holder = new ByteArrayHolder(duplID);
+      // the record of the id replaced, deleted once the arrays have been changed
+      long oldRecordID = NO_RECORD_ID;
 
-      cache.put(holder, pos);
+      final long stamp = arraysLock.writeLock();
+      try {
+         if (pos < ringSize) {
+            final byte[] oldID = ids[pos];
 
-      Pair<ByteArrayHolder, Long> id;
+            // The id here might be null if it was explicit deleted
+            if (oldID != null) {
+               oldRecordID = recordIDs[pos];
 
-      if (pos < ids.size()) {
-         // Need fast array style access here -hence ArrayList typing
-         id = ids.get(pos);
+               if (logger.isTraceEnabled()) {
+                  logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory removing excess duplicateDetection " + describeID(oldID, oldRecordID));
+               }
 
-         // The id here might be null if it was explicit deleted
-         if (id.getA() != null) {
-            if (logger.isTraceEnabled()) {
-               logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory removing excess duplicateDetection " + describeID(id.getA().bytes, id.getB()));
+               removeFromTable(pos);
             }
 
-            cache.remove(id.getA());
-
-            // Record already exists - we delete the old one and add the new one
-            // Note we can't use update since journal update doesn't let older records get
-            // reclaimed
-
-            if (id.getB() != null) {
-               try {
-                  storageManager.deleteDuplicateID(id.getB());
-               } catch (Exception e) {
-                  ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
-               }
+            if (logger.isTraceEnabled()) {
+               logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory replacing old duplicateID by " + describeID(duplID, recordID));
+            }
+         } else {
+            if (logger.isTraceEnabled()) {
+               logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory Adding new duplicateID " + describeID(duplID, recordID));
             }
-         }
-
-         id.setA(holder);
 
-         // The recordID could be negative if the duplicateCache is configured to not persist,
-         // -1 would mean null on this case
-         id.setB(recordID >= 0 ? recordID : null);
+            ensureRingCapacity(pos + 1);
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory replacing old duplicateID by " + describeID(id.getA().bytes, id.getB()));
+            ringSize++;
          }
 
-         holder.pos = pos;
-      } else {
-         id = new Pair<>(holder, recordID >= 0 ? recordID : null);
+         // The recordID could be negative if the duplicateCache is configured to not persist
+         setInRing(pos, duplID, recordID >= 0 ? recordID : NO_RECORD_ID);
+      } finally {
+         arraysLock.unlockWrite(stamp);
+      }
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("DuplicateIDCacheImpl(" + this.address + ")::addToCacheInMemory Adding new duplicateID " + describeID(id.getA().bytes, id.getB()));
+      // Record already exists - we delete the old one and add the new one
+      // Note we can't use update since journal update doesn't let older records get
+      // reclaimed
+      if (oldRecordID != NO_RECORD_ID) {
+         try {
+            storageManager.deleteDuplicateID(oldRecordID);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
          }
-
-         ids.add(id);
-
-         holder.pos = pos;
       }
 
       if (pos++ == cacheSize - 1) {
@@ -301,29 +346,182 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
    public void clear() throws Exception {
       logger.debug("DuplicateIDCacheImpl(" + this.address + ")::clear removing duplicate ID data");
       synchronized (this) {
-         if (ids.size() > 0) {
+         if (ringSize > 0) {
             long tx = storageManager.generateID();
-            for (Pair<ByteArrayHolder, Long> id : ids) {
-               storageManager.deleteDuplicateIDTransactional(tx, id.getB());
+            for (int i = 0; i < ringSize; i++) {
+               if (recordIDs[i] != NO_RECORD_ID) {
+                  storageManager.deleteDuplicateIDTransactional(tx, recordIDs[i]);
+               }
             }
             storageManager.commit(tx);
          }
 
-         ids.clear();
-         cache.clear();
+         final long stamp = arraysLock.writeLock();
+         try {
+            Arrays.fill(ids, 0, ringSize, null);
+            Arrays.fill(table, EMPTY_SLOT);
+         } finally {
+            arraysLock.unlockWrite(stamp);
+         }
+         ringSize = 0;
          pos = 0;
       }
    }
 
    @Override
-   public List<Pair<byte[], Long>> getMap() {
-      List<Pair<byte[], Long>> list = new ArrayList<>();
-      for (Pair<ByteArrayHolder, Long> id : ids) {
-         list.add(new Pair<>(id.getA().bytes, id.getB()));
+   public synchronized List<Pair<byte[], Long>> getMap() {
+      List<Pair<byte[], Long>> list = new ArrayList<>(ringSize);
+      for (int i = 0; i < ringSize; i++) {
+         if (ids[i] != null) {
+            list.add(new Pair<>(ids[i], recordIDs[i] == NO_RECORD_ID ? null : recordIDs[i]));
+         }
       }
       return list;
    }
 
+   /**
+    * It replaces the id at {@code position} of the ring, that has to be already removed from the table.
+    * <br>
+    * If the same id is already in the cache, its older position is just left in the ring to be removed once reused.
+    */
+   private void setInRing(final int position, final byte[] duplID, final long recordID) {
+      final int hash = hash(duplID);
+      final int previous = find(duplID, hash);
+      if (previous >= 0) {
+         removeFromTable(previous);
+      }
+      ids[position] = duplID;
+      recordIDs[position] = recordID;
+      hashes[position] = hash;
+      insertInTable(position);
+   }
+
+   private void ensureRingCapacity(final int capacity) {
+      if (capacity <= ids.length) {
+         return;
+      }
+      final int doubled = (int) Math.min(Integer.MAX_VALUE >> 2, Math.max(capacity, ids.length * 2L));
+      final int newCapacity = cacheSize > 0 ? Math.min(cacheSize, doubled) : doubled;
+      ids = Arrays.copyOf(ids, newCapacity);
+      recordIDs = Arrays.copyOf(recordIDs, newCapacity);
+      hashes = Arrays.copyOf(hashes, newCapacity);
+      if (tableCapacity(newCapacity) > table.length) {
+         rehash(tableCapacity(newCapacity));
+      }
+   }
+
+   /**
+    * @return a power of two capacity keeping the table at most half full
+    */
+   private static int tableCapacity(final int ringCapacity) {
+      return Integer.highestOneBit(Math.max(1, ringCapacity) * 2 - 1) * 2;
+   }
+
+   /**
+    * The table is always kept at most half full, by growing it together with the ring.
+    */
+   private void rehash(final int capacity) {
+      final int[] oldTable = table;
+      table = new int[capacity];
+      for (int entry : oldTable) {
+         if (entry != EMPTY_SLOT) {
+            insertInTable(entry - 1);
+         }
+      }
+   }
+
+   private void insertInTable(final int position) {
+      final int mask = table.length - 1;
+      int slot = hashes[position] & mask;
+      while (table[slot] != EMPTY_SLOT) {
+         slot = (slot + 1) & mask;
+      }
+      table[slot] = position + 1;
+   }
+
+   /**
+    * @return the ring position of {@code duplID} or {@code -1} if not found
+    */
+   private int find(final byte[] duplID, final int hash) {
+      final int mask = table.length - 1;
+      int slot = hash & mask;
+      int entry;
+      while ((entry = table[slot]) != EMPTY_SLOT) {
+         final int position = entry - 1;
+         if (hashes[position] == hash && Arrays.equals(ids[position], duplID)) {
+            return position;
+         }
+         slot = (slot + 1) & mask;
+      }
+      return -1;
+   }
+
+   /**
+    * Like {@link #find}, but without holding any lock: the arrays could be changed meanwhile, so the result is valid
+    * only if the optimistic read is validated afterwards.
+    */
+   private boolean optimisticFind(final byte[] duplID, final int hash) {
+      final int[] table = this.table;
+      final int[] hashes = this.hashes;
+      final byte[][] ids = this.ids;
+      final int mask = table.length - 1;
+      int slot = hash & mask;
+      // a change could fill the table while it is probed
+      for (int probes = 0; probes < table.length; probes++) {
+         final int entry = table[slot];
+         if (entry == EMPTY_SLOT) {
+            return false;
+         }
+         final int position = entry - 1;
+         if (position >= hashes.length || position >= ids.length) {
+            return false;
+         }
+         if (hashes[position] == hash && Arrays.equals(ids[position], duplID)) {
+            return true;
+         }
+         slot = (slot + 1) & mask;
+      }
+      return false;
+   }
+
+   /**
+    * It removes the slot of the ring {@code position}, if any, by shifting back the next colliding slots:
+    * no tombstones are left behind.
+    */
+   private void removeFromTable(final int position) {
+      final int mask = table.length - 1;
+      int slot = hashes[position] & mask;
+      int entry;
+      while ((entry = table[slot]) != position + 1) {
+         if (entry == EMPTY_SLOT) {
+            return;
+         }
+         slot = (slot + 1) & mask;
+      }
+      int free = slot;
+      slot = (slot + 1) & mask;
+      while ((entry = table[slot]) != EMPTY_SLOT) {
+         final int home = hashes[entry - 1] & mask;
+         // the entry can be moved back into the free slot only if its home slot isn't between them
+         if (((slot - home) & mask) >= ((slot - free) & mask)) {
+            table[free] = entry;
+            free = slot;
+         }
+         slot = (slot + 1) & mask;
+      }
+      table[free] = EMPTY_SLOT;
+   }
+
+   private static int hash(final byte[] bytes) {
+      int hash = 0;
+      for (byte b : bytes) {
+         hash = 31 * hash + b;
+      }
+      // spread the bits, given that the table is indexed by the lowest ones
+      hash *= 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+   }
+
    private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
 
       final byte[] duplID;
@@ -367,49 +565,4 @@ public class DuplicateIDCacheImpl implements DuplicateIDCache {
          return null;
       }
    }
-
-   private static final class ByteArrayHolder {
-
-      ByteArrayHolder(final byte[] bytes) {
-         this.bytes = bytes;
-      }
-
-      final byte[] bytes;
-
-      int hash;
-
-      int pos;
-
-      @Override
-      public boolean equals(final Object other) {
-         if (other instanceof ByteArrayHolder) {
-            ByteArrayHolder s = (ByteArrayHolder) other;
-
-            if (bytes.length != s.bytes.length) {
-               return false;
-            }
-
-            for (int i = 0; i < bytes.length; i++) {
-               if (bytes[i] != s.bytes[i]) {
-                  return false;
-               }
-            }
-
-            return true;
-         } else {
-            return false;
-         }
-      }
-
-      @Override
-      public int hashCode() {
-         if (hash == 0) {
-            for (byte b : bytes) {
-               hash = 31 * hash + b;
-            }
-         }
-
-         return hash;
-      }
-   }
 }
@@ -46,17 +46,29 @@ public class WildcardAddressManager extends SimpleAddressManager {
 
    private final Map<SimpleString, Address> wildCardAddresses = new ConcurrentHashMap<>();
 
+   /**
+    * These index {@link #addresses} and {@link #wildCardAddresses} by their parts, to link a new address
+    * without matching it against all the others: they are guarded by this.
+    */
+   private final AddressPartsIndex addressesIndex;
+
+   private final AddressPartsIndex wildCardAddressesIndex;
+
    public WildcardAddressManager(final BindingsFactory bindingsFactory,
                                  final WildcardConfiguration wildcardConfiguration,
                                  final StorageManager storageManager,
                                  final MetricsManager metricsManager) {
       super(bindingsFactory, wildcardConfiguration, storageManager, metricsManager);
+      this.addressesIndex = new AddressPartsIndex(this.wildcardConfiguration);
+      this.wildCardAddressesIndex = new AddressPartsIndex(this.wildcardConfiguration);
    }
 
    public WildcardAddressManager(final BindingsFactory bindingsFactory,
                                  final StorageManager storageManager,
                                  final MetricsManager metricsManager) {
       super(bindingsFactory, storageManager, metricsManager);
+      this.addressesIndex = new AddressPartsIndex(this.wildcardConfiguration);
+      this.wildCardAddressesIndex = new AddressPartsIndex(this.wildcardConfiguration);
    }
 
    @Override
@@ -168,8 +180,12 @@ public class WildcardAddressManager extends SimpleAddressManager {
    @Override
    public void clear() {
       super.clear();
-      addresses.clear();
-      wildCardAddresses.clear();
+      synchronized (this) {
+         addresses.clear();
+         wildCardAddresses.clear();
+         addressesIndex.clear();
+         wildCardAddressesIndex.clear();
+      }
    }
 
    private Address getAddress(final SimpleString address) {
@@ -195,20 +211,17 @@ public class WildcardAddressManager extends SimpleAddressManager {
          actualAddress = add;
          addAddress(address, actualAddress);
       }
-      if (actualAddress.containsWildCard()) {
-         for (Address destAdd : addresses.values()) {
-            if (destAdd.matches(actualAddress)) {
-               destAdd.addLinkedAddress(actualAddress);
-               actualAddress.addLinkedAddress(destAdd);
-            }
-         }
+      final Address linkingAddress = actualAddress;
+      if (linkingAddress.containsWildCard()) {
+         addressesIndex.forEachMatchedBy(linkingAddress, destAdd -> {
+            destAdd.addLinkedAddress(linkingAddress);
+            linkingAddress.addLinkedAddress(destAdd);
+         });
       } else {
-         for (Address destAdd : wildCardAddresses.values()) {
-            if (actualAddress.matches(destAdd)) {
-               destAdd.addLinkedAddress(actualAddress);
-               actualAddress.addLinkedAddress(destAdd);
-            }
-         }
+         wildCardAddressesIndex.forEachMatching(linkingAddress, destAdd -> {
+            destAdd.addLinkedAddress(linkingAddress);
+            linkingAddress.addLinkedAddress(destAdd);
+         });
       }
       return actualAddress;
    }
@@ -216,8 +229,10 @@ public class WildcardAddressManager extends SimpleAddressManager {
    private void addAddress(final SimpleString address, final Address actualAddress) {
       if (actualAddress.containsWildCard()) {
          wildCardAddresses.put(address, actualAddress);
+         wildCardAddressesIndex.put(actualAddress);
       } else {
          addresses.put(address, actualAddress);
+         addressesIndex.put(actualAddress);
       }
    }
 
@@ -239,9 +254,13 @@ public class WildcardAddressManager extends SimpleAddressManager {
 
    private void removeAddress(final Address add) {
       if (add.containsWildCard()) {
-         wildCardAddresses.remove(add.getAddress());
+         if (wildCardAddresses.remove(add.getAddress()) != null) {
+            wildCardAddressesIndex.remove(add);
+         }
       } else {
-         addresses.remove(add.getAddress());
+         if (addresses.remove(add.getAddress()) != null) {
+            addressesIndex.remove(add);
+         }
       }
    }
 }
@@ -33,6 +33,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.QuorumVote
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.QuorumVoteReplyMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -66,6 +68,8 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.QUO
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.QUORUM_VOTE_REPLY;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_APPEND;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_APPEND_TX;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_BATCH;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_BATCH_RESPONSE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_COMMIT_ROLLBACK;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_DELETE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_DELETE_TX;
@@ -182,6 +186,14 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
             packet = new ReplicationResponseMessageV2();
             break;
          }
+         case REPLICATION_BATCH: {
+            packet = new ReplicationBatchMessage(buffer -> decode(buffer, connection));
+            break;
+         }
+         case REPLICATION_BATCH_RESPONSE: {
+            packet = new ReplicationBatchResponseMessage();
+            break;
+         }
          case REPLICATION_PAGE_WRITE: {
             packet = new ReplicationPageWriteMessage();
             break;
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.message.impl.CoreMessageObjectPools;
@@ -26,6 +27,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Disconnect
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage_1X;
@@ -113,6 +115,29 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public boolean supportsFileRegion() {
+      return channel.isFileRegionSupported();
+   }
+
+   @Override
+   public int sendLargeMessageContinuation(ServerConsumer consumer, FileRegion body, boolean continues) {
+      if (!channel.isFileRegionSupported()) {
+         body.release();
+         return -1;
+      }
+      final Packet packet = new SessionReceiveFileContinuationMessage(consumer.getID(), body, (int) body.count(), continues);
+      boolean sent = false;
+      try {
+         sent = channel.send(packet);
+      } finally {
+         if (!sent) {
+            body.release();
+         }
+      }
+      return packet.getPacketSize();
+   }
+
    @Override
    public int sendMessage(MessageReference ref, Message message, ServerConsumer consumer, int deliveryCount)  {
 
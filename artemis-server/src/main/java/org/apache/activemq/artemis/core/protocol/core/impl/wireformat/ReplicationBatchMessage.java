@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Several replicated journal, page and large-message operations sent to the backup at once, which
+ * handles them in order and answers them all with a single {@link ReplicationBatchResponseMessage}.
+ * <p>
+ * Each operation is encoded as if it was sent on its own, header included.
+ */
+public final class ReplicationBatchMessage extends PacketImpl {
+
+   private final List<Packet> packets = new ArrayList<>();
+
+   private final Function<ActiveMQBuffer, Packet> packetDecoder;
+
+   private int packetsEncodeSize;
+
+   public ReplicationBatchMessage() {
+      super(REPLICATION_BATCH);
+      this.packetDecoder = null;
+   }
+
+   /**
+    * @param packetDecoder decodes an operation of the batch, its type included
+    */
+   public ReplicationBatchMessage(final Function<ActiveMQBuffer, Packet> packetDecoder) {
+      super(REPLICATION_BATCH);
+      this.packetDecoder = packetDecoder;
+   }
+
+   /**
+    * @return whether a packet of {@code type} can be sent as part of a batch
+    */
+   public static boolean isBatchable(final byte type) {
+      switch (type) {
+         case REPLICATION_APPEND:
+         case REPLICATION_APPEND_TX:
+         case REPLICATION_DELETE:
+         case REPLICATION_DELETE_TX:
+         case REPLICATION_PREPARE:
+         case REPLICATION_COMMIT_ROLLBACK:
+         case REPLICATION_PAGE_WRITE:
+         case REPLICATION_PAGE_EVENT:
+         case REPLICATION_LARGE_MESSAGE_BEGIN:
+         case REPLICATION_LARGE_MESSAGE_WRITE:
+         case REPLICATION_LARGE_MESSAGE_END:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   public void addPacket(final PacketImpl packet) {
+      packets.add(packet);
+      packetsEncodeSize += packet.expectedEncodeSize();
+   }
+
+   public List<Packet> getPackets() {
+      return packets;
+   }
+
+   public boolean isEmpty() {
+      return packets.isEmpty();
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE +
+         DataConstants.SIZE_INT + // buffer.writeInt(packets.size());
+         packetsEncodeSize;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeInt(packets.size());
+      for (Packet packet : packets) {
+         final int start = buffer.writerIndex();
+         buffer.writeInt(0); // The length gets filled in at the end
+         buffer.writeByte(packet.getType());
+         buffer.writeLong(getChannelID());
+         ((PacketImpl) packet).encodeRest(buffer);
+         // The length doesn't include the actual length int
+         buffer.setInt(start, buffer.writerIndex() - start - DataConstants.SIZE_INT);
+      }
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final int count = buffer.readInt();
+      for (int i = 0; i < count; i++) {
+         final int length = buffer.readInt();
+         packets.add(packetDecoder.apply(buffer.readSlice(length)));
+      }
+   }
+
+   @Override
+   public void release() {
+      for (Packet packet : packets) {
+         packet.release();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return getParentString() + ", packets=" + packets.size() + "]";
+   }
+}
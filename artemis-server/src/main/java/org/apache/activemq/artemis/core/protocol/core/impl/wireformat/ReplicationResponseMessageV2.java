@@ -24,6 +24,8 @@ public final class ReplicationResponseMessageV2 extends ReplicationResponseMessa
 
    boolean synchronizationIsFinishedAcknowledgement = false;
 
+   boolean synchronizationFailed = false;
+
    public ReplicationResponseMessageV2(final boolean synchronizationIsFinishedAcknowledgement) {
       super(REPLICATION_RESPONSE_V2);
 
@@ -43,28 +45,44 @@ public final class ReplicationResponseMessageV2 extends ReplicationResponseMessa
       return this;
    }
 
+   public boolean isSynchronizationFailed() {
+      return synchronizationFailed;
+   }
+
+   public ReplicationResponseMessageV2 setSynchronizationFailed(boolean synchronizationFailed) {
+      this.synchronizationFailed = synchronizationFailed;
+      return this;
+   }
+
    @Override
    public int expectedEncodeSize() {
       return PACKET_HEADERS_SIZE +
-         DataConstants.SIZE_BOOLEAN; // buffer.writeBoolean(synchronizationIsFinishedAcknowledgement);
+         DataConstants.SIZE_BOOLEAN + // buffer.writeBoolean(synchronizationIsFinishedAcknowledgement);
+         DataConstants.SIZE_BOOLEAN; // buffer.writeBoolean(synchronizationFailed);
    }
 
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       super.encodeRest(buffer);
       buffer.writeBoolean(synchronizationIsFinishedAcknowledgement);
+      buffer.writeBoolean(synchronizationFailed);
    }
 
    @Override
    public void decodeRest(final ActiveMQBuffer buffer) {
       super.decodeRest(buffer);
       synchronizationIsFinishedAcknowledgement = buffer.readBoolean();
+      // older backups don't send it
+      if (buffer.readableBytes() >= DataConstants.SIZE_BOOLEAN) {
+         synchronizationFailed = buffer.readBoolean();
+      }
    }
 
    @Override
    public String toString() {
       StringBuffer buf = new StringBuffer(getParentString());
       buf.append(", synchronizationIsFinishedAcknowledgement=" + synchronizationIsFinishedAcknowledgement);
+      buf.append(", synchronizationFailed=" + synchronizationFailed);
       buf.append("]");
       return buf.toString();
    }
@@ -47,6 +47,10 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
    private byte[] byteArray;
    private SimpleString pageStoreName;
    private FileType fileType;
+   /**
+    * The checksum of the whole file, sent along with the packet closing it, or {@code -1} if unknown.
+    */
+   private long checksum = -1;
 
    public enum FileType {
       JOURNAL(0), PAGE(1), LARGE_MESSAGE(2);
@@ -89,6 +93,17 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       determineType();
    }
 
+   /**
+    * Creates the packet closing a file, whose content has the given checksum.
+    */
+   public ReplicationSyncFileMessage(AbstractJournalStorageManager.JournalContent content,
+                                     SimpleString storeName,
+                                     long id,
+                                     long checksum) {
+      this(content, storeName, id, -1, null);
+      this.checksum = checksum;
+   }
+
    private void determineType() {
       if (journalType != null) {
          fileType = FileType.JOURNAL;
@@ -126,6 +141,8 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
 
       if (dataSize > 0) {
          size += byteBuffer.writerIndex(); // buffer.writeBytes(byteBuffer, 0, byteBuffer.writerIndex());
+      } else if (checksum != -1) {
+         size += DataConstants.SIZE_LONG; // buffer.writeLong(checksum);
       }
 
       return size;
@@ -158,6 +175,9 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
        */
       if (dataSize > 0) {
          buffer.writeBytes(byteBuffer, 0, byteBuffer.writerIndex());
+      } else if (checksum != -1) {
+         // older backups just ignore it
+         buffer.writeLong(checksum);
       }
 
       release();
@@ -194,6 +214,8 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       if (size > 0) {
          byteArray = new byte[size];
          buffer.readBytes(byteArray);
+      } else if (buffer.readableBytes() >= DataConstants.SIZE_LONG) {
+         checksum = buffer.readLong();
       }
    }
 
@@ -217,6 +239,13 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       return pageStoreName;
    }
 
+   /**
+    * @return the checksum of the file closed by this packet, or {@code -1} if unknown
+    */
+   public long getChecksum() {
+      return checksum;
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
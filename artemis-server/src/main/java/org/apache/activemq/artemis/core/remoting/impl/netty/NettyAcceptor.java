@@ -221,6 +221,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean directDeliver;
 
+   private final boolean zeroCopyLargeMessages;
+
    private final boolean httpUpgradeEnabled;
 
    private final long connectionsAllowed;
@@ -336,6 +338,8 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
 
+      zeroCopyLargeMessages = ConfigurationHelper.getBooleanProperty(TransportConstants.ZERO_COPY_LARGE_MESSAGES, TransportConstants.DEFAULT_ZERO_COPY_LARGE_MESSAGES, configuration);
+
       httpUpgradeEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.HTTP_UPGRADE_ENABLED_PROP_NAME, TransportConstants.DEFAULT_HTTP_UPGRADE_ENABLED, configuration);
 
       connectionsAllowed = ConfigurationHelper.getLongProperty(TransportConstants.CONNECTIONS_ALLOWED, TransportConstants.DEFAULT_CONNECTIONS_ALLOWED, configuration);
@@ -425,6 +429,9 @@ public class NettyAcceptor extends AbstractAcceptor {
       final int writeBufferHighWaterMark = this.writeBufferHighWaterMark != -1 ? this.writeBufferHighWaterMark : WriteBufferWaterMark.DEFAULT.high();
       final WriteBufferWaterMark writeBufferWaterMark = new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark);
       bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
+      if (zeroCopyLargeMessages) {
+         bootstrap.childOption(ChannelOption.MESSAGE_SIZE_ESTIMATOR, NettyServerConnection.FILE_REGION_SIZE_ESTIMATOR);
+      }
       if (backlog != -1) {
          bootstrap.option(ChannelOption.SO_BACKLOG, backlog);
       }
@@ -863,7 +870,7 @@ public class NettyAcceptor extends AbstractAcceptor {
             super.channelActive(ctx);
             Listener connectionListener = new Listener();
 
-            NettyServerConnection nc = new NettyServerConnection(configuration, ctx.channel(), connectionListener, !httpEnabled && batchDelay > 0, directDeliver);
+            NettyServerConnection nc = new NettyServerConnection(configuration, ctx.channel(), connectionListener, !httpEnabled && batchDelay > 0, directDeliver, zeroCopyLargeMessages);
 
             connectionListener.connectionCreated(NettyAcceptor.this, nc, protocolHandler.getProtocol(protocol));
 
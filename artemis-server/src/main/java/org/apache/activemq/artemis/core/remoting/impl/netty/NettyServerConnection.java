@@ -19,16 +19,79 @@ package org.apache.activemq.artemis.core.remoting.impl.netty;
 import java.util.Map;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultMessageSizeEstimator;
+import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
+import io.netty.channel.MessageSizeEstimator;
+import io.netty.handler.ssl.SslHandler;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.server.protocol.websocket.WebSocketServerHandler;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
 
 public class NettyServerConnection extends NettyConnection {
 
+   /**
+    * It sizes the file regions by their count, instead of 0 as the default estimator does: the regions queued by
+    * {@link #write(ActiveMQBuffer, FileRegion, ActiveMQBuffer)} count toward the write buffer water marks,
+    * making the channel not writable like the buffers of the same size would.
+    */
+   public static final MessageSizeEstimator FILE_REGION_SIZE_ESTIMATOR = () -> {
+      final MessageSizeEstimator.Handle defaultHandle = DefaultMessageSizeEstimator.DEFAULT.newHandle();
+      return msg -> msg instanceof FileRegion ? (int) Math.min(((FileRegion) msg).count(), Integer.MAX_VALUE) : defaultHandle.size(msg);
+   };
+
+   private final boolean zeroCopyLargeMessages;
+
    public NettyServerConnection(Map<String, Object> configuration,
                                 Channel channel,
                                 ServerConnectionLifeCycleListener listener,
                                 boolean batchingEnabled,
                                 boolean directDeliver) {
+      this(configuration, channel, listener, batchingEnabled, directDeliver, false);
+   }
+
+   public NettyServerConnection(Map<String, Object> configuration,
+                                Channel channel,
+                                ServerConnectionLifeCycleListener listener,
+                                boolean batchingEnabled,
+                                boolean directDeliver,
+                                boolean zeroCopyLargeMessages) {
       super(configuration, channel, listener, batchingEnabled, directDeliver);
+      this.zeroCopyLargeMessages = zeroCopyLargeMessages;
+   }
+
+   @Override
+   public boolean isFileRegionSupported() {
+      if (!zeroCopyLargeMessages) {
+         return false;
+      }
+      // the file contents would bypass the encryption and the framing done by these handlers
+      final ChannelPipeline pipeline = channel.pipeline();
+      return pipeline.get(SslHandler.class) == null &&
+         pipeline.get(WebSocketServerHandler.class) == null &&
+         pipeline.get(HttpAcceptorHandler.class) == null;
    }
 
+   @Override
+   public void write(ActiveMQBuffer header, FileRegion fileRegion, ActiveMQBuffer trailer) {
+      if (!isFileRegionSupported()) {
+         super.write(header, fileRegion, trailer);
+         return;
+      }
+      final Channel channel = this.channel;
+      final EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         write(channel, header, fileRegion, trailer);
+      } else {
+         // the writes of other threads are queued on the event loop too: none can get in between
+         eventLoop.execute(() -> write(channel, header, fileRegion, trailer));
+      }
+   }
+
+   private static void write(Channel channel, ActiveMQBuffer header, FileRegion fileRegion, ActiveMQBuffer trailer) {
+      channel.write(header.byteBuf(), channel.voidPromise());
+      channel.write(fileRegion, channel.voidPromise());
+      channel.writeAndFlush(trailer.byteBuf(), channel.voidPromise());
+   }
 }
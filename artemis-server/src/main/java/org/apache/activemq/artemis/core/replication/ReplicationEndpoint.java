@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Interceptor;
@@ -58,6 +59,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQEx
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.BackupReplicationStartFailedMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -120,6 +123,15 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    private final ConcurrentMap<SimpleString, ConcurrentMap<Integer, Page>> pageIndex = new ConcurrentHashMap<>();
    private final ConcurrentMap<Long, ReplicatedLargeMessage> largeMessages = new ConcurrentHashMap<>();
 
+   /**
+    * Checksums of the files being synchronized, checked against the ones sent by the 'live' server
+    * when they get closed.
+    */
+   private final Map<String, CRC32> syncFileChecksums = new HashMap<>();
+
+   // the backup can't be up-to-date if any file got corrupted on its way
+   private boolean syncFileCorrupted;
+
    // Used on tests, to simulate failures on delete pages
    private boolean deletePages = true;
    private volatile boolean started;
@@ -195,28 +207,10 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
             return;
          }
 
-         if (type == PacketImpl.REPLICATION_APPEND) {
-            handleAppendAddRecord((ReplicationAddMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_APPEND_TX) {
-            handleAppendAddTXRecord((ReplicationAddTXMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_DELETE) {
-            handleAppendDelete((ReplicationDeleteMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_DELETE_TX) {
-            handleAppendDeleteTX((ReplicationDeleteTXMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_PREPARE) {
-            handlePrepare((ReplicationPrepareMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_COMMIT_ROLLBACK) {
-            handleCommitRollback((ReplicationCommitMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_PAGE_WRITE) {
-            handlePageWrite((ReplicationPageWriteMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_PAGE_EVENT) {
-            handlePageEvent((ReplicationPageEventMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_BEGIN) {
-            handleLargeMessageBegin((ReplicationLargeMessageBeginMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_WRITE) {
-            handleLargeMessageWrite((ReplicationLargeMessageWriteMessage) packet);
-         } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_END) {
-            handleLargeMessageEnd((ReplicationLargeMessageEndMessage) packet);
+         if (ReplicationBatchMessage.isBatchable(type)) {
+            handleOperation(packet);
+         } else if (type == PacketImpl.REPLICATION_BATCH) {
+            response = handleBatch((ReplicationBatchMessage) packet);
          } else if (type == PacketImpl.REPLICATION_START_FINISH_SYNC) {
             response = handleStartReplicationSynchronization((ReplicationStartSyncMessage) packet);
          } else if (type == PacketImpl.REPLICATION_SYNC_FILE) {
@@ -253,6 +247,54 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       channel.send(response);
    }
 
+   /**
+    * Handles a journal, page or large-message operation, see {@link ReplicationBatchMessage#isBatchable(byte)}.
+    */
+   private void handleOperation(final Packet packet) throws Exception {
+      final byte type = packet.getType();
+      if (type == PacketImpl.REPLICATION_APPEND) {
+         handleAppendAddRecord((ReplicationAddMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_APPEND_TX) {
+         handleAppendAddTXRecord((ReplicationAddTXMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_DELETE) {
+         handleAppendDelete((ReplicationDeleteMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_DELETE_TX) {
+         handleAppendDeleteTX((ReplicationDeleteTXMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_PREPARE) {
+         handlePrepare((ReplicationPrepareMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_COMMIT_ROLLBACK) {
+         handleCommitRollback((ReplicationCommitMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_PAGE_WRITE) {
+         handlePageWrite((ReplicationPageWriteMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_PAGE_EVENT) {
+         handlePageEvent((ReplicationPageEventMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_BEGIN) {
+         handleLargeMessageBegin((ReplicationLargeMessageBeginMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_WRITE) {
+         handleLargeMessageWrite((ReplicationLargeMessageWriteMessage) packet);
+      } else if (type == PacketImpl.REPLICATION_LARGE_MESSAGE_END) {
+         handleLargeMessageEnd((ReplicationLargeMessageEndMessage) packet);
+      }
+   }
+
+   /**
+    * The operations of the batch are answered at once, but as if each one was sent on its own:
+    * the ones that failed aren't acknowledged.
+    */
+   private ReplicationBatchResponseMessage handleBatch(final ReplicationBatchMessage batch) {
+      int handled = 0;
+      for (Packet packet : batch.getPackets()) {
+         try {
+            handleOperation(packet);
+            handled++;
+         } catch (Exception e) {
+            logger.warn(e.getMessage(), e);
+            ActiveMQServerLogger.LOGGER.errorHandlingReplicationPacket(e, packet);
+         }
+      }
+      return new ReplicationBatchResponseMessage(handled);
+   }
+
    /**
     * @param packet
     */
@@ -438,6 +480,7 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       }
 
       journalsHolder = null;
+      syncFileChecksums.clear();
       backupQuorum.liveIDSet(liveID);
       activation.setRemoteBackupUpToDate();
 
@@ -458,6 +501,15 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    private void handleReplicationSynchronization(ReplicationSyncFileMessage msg) throws Exception {
       long id = msg.getId();
       byte[] data = msg.getData();
+      if (!checkSyncFile(msg)) {
+         ActiveMQServerLogger.LOGGER.replicaSyncFileCorrupted(msg.getFileType(), id);
+         syncFileCorrupted = true;
+         // start again from scratch
+         if (activation != null) {
+            activation.failOver(null);
+         }
+         return;
+      }
       SequentialFile channel1;
       switch (msg.getFileType()) {
          case LARGE_MESSAGE: {
@@ -503,6 +555,24 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       channel1.writeDirect(ByteBuffer.wrap(data), false);
    }
 
+   /**
+    * Updates the checksum of the file with the data received, or compares it to the one sent by the
+    * 'live' server when the file gets closed.
+    *
+    * @return {@code false} if the file got corrupted
+    */
+   private boolean checkSyncFile(ReplicationSyncFileMessage msg) {
+      final String file = msg.getFileType() + ":" + msg.getJournalContent() + ":" + msg.getPageStore() + ":" + msg.getId();
+      final byte[] data = msg.getData();
+      if (data != null) {
+         syncFileChecksums.computeIfAbsent(file, f -> new CRC32()).update(data);
+         return true;
+      }
+      final CRC32 checksum = syncFileChecksums.remove(file);
+      // older 'live' servers don't send any
+      return msg.getChecksum() == -1 || msg.getChecksum() == (checksum == null ? 0 : checksum.getValue());
+   }
+
    /**
     * Reserves files (with the given fileID) in the specified journal, and places a
     * {@link FileWrapperJournal} in place to store messages while synchronization is going on.
@@ -522,6 +592,11 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
          return replicationResponseMessage;
 
       if (packet.isSynchronizationFinished()) {
+         if (syncFileCorrupted) {
+            // let the live give up on this backup instead of waiting for an acknowledgement
+            replicationResponseMessage.setSynchronizationFailed(true);
+            return replicationResponseMessage;
+         }
          finishSynchronization(packet.getNodeID());
          replicationResponseMessage.setSynchronizationIsFinishedAcknowledgement(true);
          return replicationResponseMessage;
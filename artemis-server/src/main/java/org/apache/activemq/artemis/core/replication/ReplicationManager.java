@@ -21,15 +21,22 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
@@ -55,6 +62,8 @@ import org.apache.activemq.artemis.core.protocol.core.impl.ChannelImpl.CHANNEL_I
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
@@ -140,6 +149,34 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private final ReusableLatch synchronizationIsFinishedAcknowledgement = new ReusableLatch(0);
 
+   private volatile boolean synchronizationFailed;
+
+   private final int batchSize;
+
+   private final long batchDelay;
+
+   private final ScheduledExecutorService scheduledExecutor;
+
+   // the tasks submitted to the replicationStream that haven't run yet
+   private final AtomicInteger pendingPackets = new AtomicInteger();
+
+   // the operations waiting to be sent together: only accessed by the replicationStream
+   private ReplicationBatchMessage batch;
+
+   // the tokens of the batched operations, they join the pendingTokens once the batch is sent
+   private final List<OperationContext> batchTokens = new ArrayList<>();
+
+   private ReplicationBatchMessage delayedBatch;
+
+   private final int syncConcurrency;
+
+   // limits the files synchronized at once
+   private final Semaphore fileSyncPermits;
+
+   private final ReusableLatch pendingFileSyncs = new ReusableLatch(0);
+
+   private volatile Exception fileSyncFailure;
+
    /**
     * @param remotingConnection
     */
@@ -148,6 +185,24 @@ public final class ReplicationManager implements ActiveMQComponent {
                              final long timeout,
                              final long initialReplicationSyncTimeout,
                              final ExecutorFactory ioExecutorFactory) {
+      this(server, remotingConnection, timeout, initialReplicationSyncTimeout, ActiveMQDefaultConfiguration.getDefaultReplicationBatchSize(), ActiveMQDefaultConfiguration.getDefaultReplicationBatchDelay(), ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncConcurrency(), ioExecutorFactory);
+   }
+
+   /**
+    * @param batchSize  the maximum size (in bytes) of the batches of operations sent to the backup, 0 sends each
+    *                   operation on its own
+    * @param batchDelay how long (in ms) a batch that isn't full can wait for more operations, 0 sends it as soon
+    *                   as no more operations are waiting to be replicated
+    * @param syncConcurrency how many files can be sent at once during the initial synchronization
+    */
+   public ReplicationManager(ActiveMQServer server,
+                             CoreRemotingConnection remotingConnection,
+                             final long timeout,
+                             final long initialReplicationSyncTimeout,
+                             final int batchSize,
+                             final long batchDelay,
+                             final int syncConcurrency,
+                             final ExecutorFactory ioExecutorFactory) {
       this.server = server;
       this.ioExecutorFactory = ioExecutorFactory;
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
@@ -155,6 +210,11 @@ public final class ReplicationManager implements ActiveMQComponent {
       this.remotingConnection = remotingConnection;
       this.replicationStream = ioExecutorFactory.getExecutor();
       this.timeout = timeout;
+      this.batchSize = batchSize;
+      this.batchDelay = batchDelay;
+      this.scheduledExecutor = server != null ? server.getScheduledPool() : null;
+      this.syncConcurrency = syncConcurrency;
+      this.fileSyncPermits = new Semaphore(Math.max(1, syncConcurrency));
    }
 
    public void appendUpdateRecord(final byte journalID,
@@ -313,6 +373,9 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       enabled = false;
 
+      // nobody is going to acknowledge the synchronization anymore
+      synchronizationIsFinishedAcknowledgement.countDown(synchronizationIsFinishedAcknowledgement.getCount());
+
       if (clearTokens) {
          clearReplicationTokens();
       }
@@ -378,20 +441,90 @@ public final class ReplicationManager implements ActiveMQComponent {
          repliToken.replicationLineUp();
       }
 
+      pendingPackets.incrementAndGet();
       replicationStream.execute(() -> {
          if (enabled) {
-            pendingTokens.add(repliToken);
-            flowControl(packet.expectedEncodeSize());
-            replicatingChannel.send(packet);
+            if (batchSize > 0 && ReplicationBatchMessage.isBatchable(packet.getType())) {
+               batch((PacketImpl) packet, repliToken);
+            } else {
+               // the operations already batched must get to the backup first
+               sendBatch();
+               pendingTokens.add(repliToken);
+               flowControl(packet.expectedEncodeSize());
+               replicatingChannel.send(packet);
+            }
          } else {
             packet.release();
             repliToken.replicationDone();
          }
+         if (pendingPackets.decrementAndGet() == 0 && batch != null) {
+            // nothing else to batch for now
+            if (batchDelay > 0 && scheduledExecutor != null) {
+               delayBatch();
+            } else {
+               sendBatch();
+            }
+         }
       });
 
       return repliToken;
    }
 
+   private void batch(final PacketImpl packet, final OperationContext repliToken) {
+      if (batch != null && batch.expectedEncodeSize() + packet.expectedEncodeSize() > batchSize) {
+         sendBatch();
+      }
+      if (batch == null) {
+         batch = new ReplicationBatchMessage();
+      }
+      batch.addPacket(packet);
+      batchTokens.add(repliToken);
+      if (batch.expectedEncodeSize() >= batchSize) {
+         sendBatch();
+      }
+   }
+
+   private void delayBatch() {
+      final ReplicationBatchMessage delayed = batch;
+      if (delayedBatch == delayed) {
+         return;
+      }
+      delayedBatch = delayed;
+      try {
+         scheduledExecutor.schedule(() -> replicationStream.execute(() -> {
+            if (batch == delayed) {
+               sendBatch();
+            }
+         }), batchDelay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+         sendBatch();
+      }
+   }
+
+   private void sendBatch() {
+      final ReplicationBatchMessage batch = this.batch;
+      if (batch == null) {
+         return;
+      }
+      this.batch = null;
+      delayedBatch = null;
+      if (!enabled) {
+         // as an operation that couldn't be sent on its own
+         batch.release();
+         for (OperationContext repliToken : batchTokens) {
+            repliToken.replicationDone();
+         }
+         batchTokens.clear();
+         return;
+      }
+      pendingTokens.addAll(batchTokens);
+      batchTokens.clear();
+      // a single operation is sent as is: its response is smaller too
+      final Packet packet = batch.getPackets().size() == 1 ? batch.getPackets().get(0) : batch;
+      flowControl(packet.expectedEncodeSize());
+      replicatingChannel.send(packet);
+   }
+
    /**
     * This was written as a refactoring of sendReplicatePacket.
     * In case you refactor this in any way, this method must hold a lock on replication lock. .
@@ -426,6 +559,12 @@ public final class ReplicationManager implements ActiveMQComponent {
       ctx.replicationDone();
    }
 
+   private void replicated(final int count) {
+      for (int i = 0; i < count; i++) {
+         replicated();
+      }
+   }
+
    // Inner classes -------------------------------------------------
 
    private final class ReplicatedSessionFailureListener implements SessionFailureListener {
@@ -460,11 +599,16 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       @Override
       public void handlePacket(final Packet packet) {
-         if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
+         if (packet.getType() == PacketImpl.REPLICATION_BATCH_RESPONSE) {
+            replicated(((ReplicationBatchResponseMessage) packet).getCount());
+         } else if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
             replicated();
             if (packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
                ReplicationResponseMessageV2 replicationResponseMessage = (ReplicationResponseMessageV2) packet;
-               if (replicationResponseMessage.isSynchronizationIsFinishedAcknowledgement()) {
+               if (replicationResponseMessage.isSynchronizationFailed()) {
+                  synchronizationFailed = true;
+                  synchronizationIsFinishedAcknowledgement.countDown();
+               } else if (replicationResponseMessage.isSynchronizationIsFinishedAcknowledgement()) {
                   synchronizationIsFinishedAcknowledgement.countDown();
                }
             }
@@ -501,25 +645,76 @@ public final class ReplicationManager implements ActiveMQComponent {
       if (!enabled) {
          return;
       }
-      SequentialFile file = jf.getFile().cloneFile();
-      try {
-         ActiveMQServerLogger.LOGGER.replicaSyncFile(file, file.size());
-         sendLargeFile(content, null, jf.getFileID(), file, Long.MAX_VALUE);
-      } finally {
-         if (file.isOpen())
-            file.close();
-      }
+      syncFile(() -> {
+         SequentialFile file = jf.getFile().cloneFile();
+         try {
+            ActiveMQServerLogger.LOGGER.replicaSyncFile(file, file.size());
+            sendLargeFile(content, null, jf.getFileID(), file, Long.MAX_VALUE);
+         } finally {
+            if (file.isOpen())
+               file.close();
+         }
+      });
    }
 
    public void syncLargeMessageFile(SequentialFile file, long size, long id) throws Exception {
       if (enabled) {
-         sendLargeFile(null, null, id, file, size);
+         syncFile(() -> sendLargeFile(null, null, id, file, size));
       }
    }
 
    public void syncPages(SequentialFile file, long id, SimpleString queueName) throws Exception {
       if (enabled)
-         sendLargeFile(null, queueName, id, file, Long.MAX_VALUE);
+         syncFile(() -> sendLargeFile(null, queueName, id, file, Long.MAX_VALUE));
+   }
+
+   /**
+    * Waits for the files still being sent to the backup, see {@link #syncJournalFile},
+    * {@link #syncLargeMessageFile} and {@link #syncPages}.
+    *
+    * @throws Exception the first failure sending any of them
+    */
+   public void awaitFileSyncs() throws Exception {
+      pendingFileSyncs.await();
+      final Exception failure = fileSyncFailure;
+      if (failure != null) {
+         throw failure;
+      }
+   }
+
+   /**
+    * The file is sent by the caller, or on another thread if it can be sent along with other files:
+    * the chunks of a file are sent in order, but they can be interleaved with the ones of other files.
+    */
+   private void syncFile(final FileSync fileSync) throws Exception {
+      if (syncConcurrency <= 1) {
+         fileSync.sync();
+         return;
+      }
+      final Exception failure = fileSyncFailure;
+      if (failure != null) {
+         throw failure;
+      }
+      fileSyncPermits.acquire();
+      pendingFileSyncs.countUp();
+      ioExecutorFactory.getExecutor().execute(() -> {
+         try {
+            if (fileSyncFailure == null) {
+               fileSync.sync();
+            }
+         } catch (Exception e) {
+            fileSyncFailure = e;
+         } finally {
+            fileSyncPermits.release();
+            pendingFileSyncs.countDown();
+         }
+      });
+   }
+
+   @FunctionalInterface
+   private interface FileSync {
+
+      void sync() throws Exception;
    }
 
    private class FlushAction implements Runnable {
@@ -566,13 +761,13 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       int packetsSent = 0;
       FlushAction action = new FlushAction();
+      // the backup checks the file it got against it
+      final CRC32 checksum = new CRC32();
 
       try {
          try (FileInputStream fis = new FileInputStream(file.getJavaFile()); FileChannel channel = fis.getChannel()) {
 
-            // We can afford having a single buffer here for this entire loop
-            // because sendReplicatePacket will encode the packet as a NettyBuffer
-            // through ActiveMQBuffer class leaving this buffer free to be reused on the next copy
+            // Each chunk gets its own buffer, released once sendReplicatePacket has encoded the packet
             while (true) {
                final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(size, size);
                buffer.clear();
@@ -587,8 +782,14 @@ public final class ReplicationManager implements ActiveMQComponent {
                      maxBytesToSend = maxBytesToSend - bytesRead;
                   }
                }
-               logger.debug("sending " + buffer.writerIndex() + " bytes on file " + file.getFileName());
-               // sending -1 or 0 bytes will close the file at the backup
+               if (toSend <= 0) {
+                  buffer.release();
+                  break;
+               }
+               // only the bytes read are sent
+               buffer.writerIndex(toSend);
+               checksum.update(buffer.nioBuffer(0, toSend));
+               logger.debug("sending " + toSend + " bytes on file " + file.getFileName());
                // We cannot simply send everything of a file through the executor,
                // otherwise we would run out of memory.
                // so we don't use the executor here
@@ -598,10 +799,12 @@ public final class ReplicationManager implements ActiveMQComponent {
                if (packetsSent % flowControlSize == 0) {
                   flushReplicationStream(action);
                }
-               if (bytesRead == -1 || bytesRead == 0 || maxBytesToSend == 0)
+               if (maxBytesToSend == 0)
                   break;
             }
          }
+         // this will close the file at the backup
+         sendReplicatePacket(new ReplicationSyncFileMessage(content, pageStore, id, checksum.getValue()), true);
          flushReplicationStream(action);
       } finally {
          if (file.isOpen())
@@ -640,7 +843,7 @@ public final class ReplicationManager implements ActiveMQComponent {
     *
     * @param nodeID
     */
-   public void sendSynchronizationDone(String nodeID, long initialReplicationSyncTimeout, IOCriticalErrorListener criticalErrorListener) throws ActiveMQReplicationTimeooutException {
+   public void sendSynchronizationDone(String nodeID, long initialReplicationSyncTimeout, IOCriticalErrorListener criticalErrorListener) throws ActiveMQException {
       if (enabled) {
 
          if (logger.isTraceEnabled()) {
@@ -648,6 +851,10 @@ public final class ReplicationManager implements ActiveMQComponent {
          }
 
          synchronizationIsFinishedAcknowledgement.countUp();
+         if (!enabled) {
+            // stopped before the latch could be released by stop()
+            throw ActiveMQMessageBundle.BUNDLE.replicationSynchronizationFailed();
+         }
          sendReplicatePacket(new ReplicationStartSyncMessage(nodeID));
          try {
             if (!synchronizationIsFinishedAcknowledgement.await(initialReplicationSyncTimeout)) {
@@ -674,6 +881,10 @@ public final class ReplicationManager implements ActiveMQComponent {
          } catch (InterruptedException e) {
             logger.debug(e);
          }
+         if (synchronizationFailed || !enabled) {
+            logger.trace("sendSynchronizationDone wasn't acknowledged by the backup");
+            throw ActiveMQMessageBundle.BUNDLE.replicationSynchronizationFailed();
+         }
          inSync = false;
 
          logger.trace("sendSynchronizationDone finished");
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.security.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * The results of the security checks of a {@link SecurityStoreImpl}, each one valid for a time to live.
+ * <br>
+ * It holds up to a maximum number of results: once full, the expired ones are dropped first and then
+ * arbitrary ones, as many as needed to let it grow again before the next eviction.
+ * A maximum size of {@code 0} disables it.
+ */
+final class SecurityCache<K, V> {
+
+   // the entries evicted at once when the cache is full, as a fraction of its maximum size
+   private static final int EVICTION_DIVISOR = 8;
+
+   private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+   private final int maxSize;
+
+   private final long timeToLive;
+
+   private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+   private final LongAdder hits = new LongAdder();
+
+   private final LongAdder misses = new LongAdder();
+
+   /**
+    * @param timeToLive how long (in ms) a result is valid
+    */
+   SecurityCache(final int maxSize, final long timeToLive) {
+      this.maxSize = maxSize;
+      this.timeToLive = timeToLive;
+   }
+
+   boolean isEnabled() {
+      return maxSize > 0;
+   }
+
+   /**
+    * @return the value cached for {@code key} if not expired at {@code now}, {@code null} otherwise
+    */
+   V get(final K key, final long now) {
+      if (maxSize <= 0) {
+         return null;
+      }
+      final Entry<V> entry = entries.get(key);
+      if (entry == null) {
+         misses.increment();
+         return null;
+      }
+      if (now - entry.createdAt > timeToLive) {
+         entries.remove(key, entry);
+         misses.increment();
+         return null;
+      }
+      hits.increment();
+      return entry.value;
+   }
+
+   /**
+    * {@code key} is owned by the cache after this call: it must not be changed anymore.
+    */
+   void put(final K key, final V value, final long now) {
+      if (maxSize <= 0) {
+         return;
+      }
+      if (entries.size() >= maxSize) {
+         evict(now);
+      }
+      entries.put(key, new Entry<>(value, now));
+   }
+
+   void remove(final K key) {
+      entries.remove(key);
+   }
+
+   void removeIf(final BiPredicate<? super K, ? super V> filter) {
+      final Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+         final Map.Entry<K, Entry<V>> entry = iterator.next();
+         if (filter.test(entry.getKey(), entry.getValue().value)) {
+            iterator.remove();
+         }
+      }
+   }
+
+   void clear() {
+      entries.clear();
+   }
+
+   int size() {
+      return entries.size();
+   }
+
+   double getHitRatio() {
+      final long hits = this.hits.sum();
+      final long lookups = hits + misses.sum();
+      return lookups == 0 ? 0d : (double) hits / lookups;
+   }
+
+   private void evict(final long now) {
+      // a thread evicting is enough: the others can go past the maximum size for a while
+      if (!evicting.compareAndSet(false, true)) {
+         return;
+      }
+      try {
+         final int targetSize = maxSize - Math.max(1, maxSize / EVICTION_DIVISOR);
+         entries.values().removeIf(entry -> now - entry.createdAt > timeToLive);
+         final Iterator<Entry<V>> iterator = entries.values().iterator();
+         while (entries.size() > targetSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+         }
+      } finally {
+         evicting.set(false);
+      }
+   }
+
+   private static final class Entry<V> {
+
+      final V value;
+
+      final long createdAt;
+
+      Entry(final V value, final long createdAt) {
+         this.value = value;
+         this.createdAt = createdAt;
+      }
+   }
+}
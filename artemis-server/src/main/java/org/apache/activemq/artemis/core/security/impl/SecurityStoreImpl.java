@@ -16,11 +16,21 @@
  */
 package org.apache.activemq.artemis.core.security.impl;
 
+import javax.security.cert.CertificateEncodingException;
 import javax.security.cert.X509Certificate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
 import org.apache.activemq.artemis.api.core.management.ManagementHelper;
@@ -40,7 +50,6 @@ import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager;
 import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager2;
 import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager3;
-import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.jboss.logging.Logger;
 
@@ -55,11 +64,17 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
 
    private final ActiveMQSecurityManager securityManager;
 
-   private final ConcurrentMap<String, ConcurrentHashSet<SimpleString>> cache = new ConcurrentHashMap<>();
+   // the key used by each thread to look up the authorizations, without creating one for every check
+   private static final ThreadLocal<AuthorizationKey> lookupKeys = ThreadLocal.withInitial(AuthorizationKey::new);
 
-   private final long invalidationInterval;
+   private final SecurityCache<AuthorizationKey, Authorization> authorizationCache;
 
-   private volatile long lastCheck;
+   private final SecurityCache<String, Authentication> authenticationCache;
+
+   private final AtomicInteger changes = new AtomicInteger(0);
+
+   // the passwords are not kept by the authentication cache: it keeps their salted digests
+   private final byte[] passwordSalt = new byte[16];
 
    private boolean securityEnabled;
 
@@ -81,9 +96,28 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
                             final String managementClusterUser,
                             final String managementClusterPassword,
                             final NotificationService notificationService) {
+      this(securityRepository, securityManager, invalidationInterval, securityEnabled, managementClusterUser, managementClusterPassword, notificationService, ActiveMQDefaultConfiguration.getDefaultAuthenticationCacheSize(), ActiveMQDefaultConfiguration.getDefaultAuthorizationCacheSize());
+   }
+
+   /**
+    * @param notificationService can be <code>null</code>
+    * @param authenticationCacheSize the maximum number of authentications cached, {@code 0} to disable the cache
+    * @param authorizationCacheSize the maximum number of authorizations cached, {@code 0} to disable the cache
+    */
+   public SecurityStoreImpl(final HierarchicalRepository<Set<Role>> securityRepository,
+                            final ActiveMQSecurityManager securityManager,
+                            final long invalidationInterval,
+                            final boolean securityEnabled,
+                            final String managementClusterUser,
+                            final String managementClusterPassword,
+                            final NotificationService notificationService,
+                            final int authenticationCacheSize,
+                            final int authorizationCacheSize) {
       this.securityRepository = securityRepository;
       this.securityManager = securityManager;
-      this.invalidationInterval = invalidationInterval;
+      this.authenticationCache = new SecurityCache<>(authenticationCacheSize, invalidationInterval);
+      this.authorizationCache = new SecurityCache<>(authorizationCacheSize, invalidationInterval);
+      new SecureRandom().nextBytes(passwordSalt);
       this.securityEnabled = securityEnabled;
       this.managementClusterUser = managementClusterUser;
       this.managementClusterPassword = managementClusterPassword;
@@ -106,6 +140,7 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
    @Override
    public void stop() {
       securityRepository.unRegisterListener(this);
+      invalidateCache();
    }
 
    @Override
@@ -130,6 +165,15 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             }
          }
 
+         final long now = System.currentTimeMillis();
+         final String authenticationKey = authenticationCache.isEnabled() ? createAuthenticationKey(user, password, connection) : null;
+         if (authenticationKey != null) {
+            final Authentication cached = authenticationCache.get(authenticationKey, now);
+            if (cached != null) {
+               return cached.validatedUser;
+            }
+         }
+
          String validatedUser = null;
          boolean userIsValid = false;
 
@@ -166,6 +210,10 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             throw e;
          }
 
+         if (authenticationKey != null) {
+            authenticationCache.put(authenticationKey, new Authentication(validatedUser), now);
+         }
+
          return validatedUser;
       }
 
@@ -190,29 +238,30 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
          }
 
          String user = session.getUsername();
-         if (checkCached(address, user, checkType)) {
+         final long now = System.currentTimeMillis();
+         if (authorizationCache.get(lookupKeys.get().set(user, checkType, address), now) != null) {
             // OK
             return;
          }
 
          String saddress = address.toString();
 
-         Set<Role> roles = securityRepository.getMatch(saddress);
-
          // bypass permission checks for management cluster user
          if (managementClusterUser.equals(user) && session.getPassword().equals(managementClusterPassword)) {
             return;
          }
 
-         final boolean validated;
-         if (securityManager instanceof ActiveMQSecurityManager3) {
-            final ActiveMQSecurityManager3 securityManager3 = (ActiveMQSecurityManager3) securityManager;
-            validated = securityManager3.validateUserAndRole(user, session.getPassword(), roles, checkType, saddress, session.getRemotingConnection()) != null;
-         } else if (securityManager instanceof ActiveMQSecurityManager2) {
-            final ActiveMQSecurityManager2 securityManager2 = (ActiveMQSecurityManager2) securityManager;
-            validated = securityManager2.validateUserAndRole(user, session.getPassword(), roles, checkType, saddress, session.getRemotingConnection());
-         } else {
-            validated = securityManager.validateUserAndRole(user, session.getPassword(), roles, checkType);
+         final int changes = this.changes.get();
+         final Set<Role> roles = securityRepository.getMatch(saddress);
+         final boolean validated = validate(user, roles, saddress, checkType, session);
+         // a denial isn't cached: it could be due to a transient failure of the security manager
+         if (validated) {
+            final AuthorizationKey key = new AuthorizationKey().set(user, checkType, address);
+            authorizationCache.put(key, new Authorization(roles), now);
+            if (this.changes.get() != changes) {
+               // the roles could have been changed before being cached: onChange could have missed them
+               authorizationCache.remove(key);
+            }
          }
 
          if (!validated) {
@@ -237,52 +286,158 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             AuditLogger.securityFailure(ex);
             throw ex;
          }
-         // if we get here we're granted, add to the cache
-         ConcurrentHashSet<SimpleString> set = new ConcurrentHashSet<>();
-         ConcurrentHashSet<SimpleString> act = cache.putIfAbsent(user + "." + checkType.name(), set);
-         if (act != null) {
-            set = act;
-         }
-         set.add(address);
-
       }
    }
 
+   /**
+    * Only the authorizations of the addresses whose roles have been changed are invalidated.
+    */
    @Override
    public void onChange() {
-      invalidateCache();
+      changes.incrementAndGet();
+      final Map<SimpleString, Set<Role>> roles = new HashMap<>();
+      authorizationCache.removeIf((key, authorization) -> !Objects.equals(authorization.roles, roles.computeIfAbsent(key.address, address -> securityRepository.getMatch(address.toString()))));
    }
 
    // Public --------------------------------------------------------
 
+   public double getAuthenticationCacheHitRatio() {
+      return authenticationCache.getHitRatio();
+   }
+
+   public int getAuthenticationCacheSize() {
+      return authenticationCache.size();
+   }
+
+   public double getAuthorizationCacheHitRatio() {
+      return authorizationCache.getHitRatio();
+   }
+
+   public int getAuthorizationCacheSize() {
+      return authorizationCache.size();
+   }
+
+   public void invalidateCache() {
+      authenticationCache.clear();
+      authorizationCache.clear();
+   }
+
    // Protected -----------------------------------------------------
 
    // Package Private -----------------------------------------------
 
    // Private -------------------------------------------------------
-   private void invalidateCache() {
-      cache.clear();
+
+   private boolean validate(final String user,
+                            final Set<Role> roles,
+                            final String saddress,
+                            final CheckType checkType,
+                            final SecurityAuth session) throws Exception {
+      if (securityManager instanceof ActiveMQSecurityManager3) {
+         final ActiveMQSecurityManager3 securityManager3 = (ActiveMQSecurityManager3) securityManager;
+         return securityManager3.validateUserAndRole(user, session.getPassword(), roles, checkType, saddress, session.getRemotingConnection()) != null;
+      } else if (securityManager instanceof ActiveMQSecurityManager2) {
+         final ActiveMQSecurityManager2 securityManager2 = (ActiveMQSecurityManager2) securityManager;
+         return securityManager2.validateUserAndRole(user, session.getPassword(), roles, checkType, saddress, session.getRemotingConnection());
+      } else {
+         return securityManager.validateUserAndRole(user, session.getPassword(), roles, checkType);
+      }
+   }
+
+   /**
+    * The key of an authentication includes the identity the connection carries, ie its peer principal and its
+    * certificates, because the security manager could authenticate the connection itself.
+    *
+    * @return the key of the authentication or {@code null} if it can't be cached, ie without any credentials:
+    * the identity would come just from the connection, eg a Kerberos peer principal
+    */
+   private String createAuthenticationKey(final String user, final String password, final RemotingConnection connection) {
+      if (user == null && password == null) {
+         return null;
+      }
+      final MessageDigest digest;
+      try {
+         digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException(e);
+      }
+      digest.update(passwordSalt);
+      if (password != null) {
+         digest.update((byte) 1);
+         digest.update(password.getBytes(StandardCharsets.UTF_8));
+      }
+      final X509Certificate[] certs = CertificateUtil.getCertsFromConnection(connection);
+      if (certs != null) {
+         for (X509Certificate cert : certs) {
+            if (cert != null) {
+               try {
+                  digest.update(cert.getEncoded());
+               } catch (CertificateEncodingException e) {
+                  return null;
+               }
+            }
+         }
+      }
+      final Principal peerPrincipal = CertificateUtil.getPeerPrincipalFromConnection(connection);
+      final String peerName = peerPrincipal == null ? "" : peerPrincipal.getName();
+      return user + '\u0000' + peerName + '\u0000' + Base64.getEncoder().encodeToString(digest.digest());
    }
 
-   private boolean checkCached(final SimpleString dest, final String user, final CheckType checkType) {
-      long now = System.currentTimeMillis();
+   // Inner class ---------------------------------------------------
 
-      boolean granted = false;
+   private static final class AuthorizationKey {
 
-      if (now - lastCheck > invalidationInterval) {
-         invalidateCache();
+      private String user;
 
-         lastCheck = now;
-      } else {
-         ConcurrentHashSet<SimpleString> act = cache.get(user + "." + checkType.name());
-         if (act != null) {
-            granted = act.contains(dest);
+      private CheckType checkType;
+
+      private SimpleString address;
+
+      private int hashCode;
+
+      AuthorizationKey set(final String user, final CheckType checkType, final SimpleString address) {
+         this.user = user;
+         this.checkType = checkType;
+         this.address = address;
+         this.hashCode = (Objects.hashCode(user) * 31 + checkType.hashCode()) * 31 + address.hashCode();
+         return this;
+      }
+
+      @Override
+      public boolean equals(final Object o) {
+         if (this == o) {
+            return true;
          }
+         if (!(o instanceof AuthorizationKey)) {
+            return false;
+         }
+         final AuthorizationKey other = (AuthorizationKey) o;
+         return hashCode == other.hashCode && checkType == other.checkType && Objects.equals(user, other.user) && address.equals(other.address);
       }
 
-      return granted;
+      @Override
+      public int hashCode() {
+         return hashCode;
+      }
    }
 
-   // Inner class ---------------------------------------------------
+   private static final class Authorization {
+
+      // the roles matching the address when the authorization has been checked
+      final Set<Role> roles;
+
+      Authorization(final Set<Role> roles) {
+         this.roles = roles;
+      }
+   }
+
+   private static final class Authentication {
+
+      final String validatedUser;
+
+      Authentication(final String validatedUser) {
+         this.validatedUser = validatedUser;
+      }
+   }
 
 }
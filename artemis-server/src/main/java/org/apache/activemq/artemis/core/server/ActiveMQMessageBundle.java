@@ -391,6 +391,9 @@ public interface ActiveMQMessageBundle {
    @Message(id = 229120, value = "connection with ID {0} closed by management", format = Message.Format.MESSAGE_FORMAT)
    ActiveMQInternalErrorException connectionWithIDClosedByManagement(String ID);
 
+   @Message(id = 229121, value = "Replication synchronization failed: the backup rejected the synchronized files or replication stopped")
+   ActiveMQIllegalStateException replicationSynchronizationFailed();
+
    @Message(id = 229200, value = "Maximum Consumer Limit Reached on Queue:(address={0},queue={1})", format = Message.Format.MESSAGE_FORMAT)
    ActiveMQQueueMaxConsumerLimitReached maxConsumerLimitReachedForQueue(SimpleString address, SimpleString queueName);
 
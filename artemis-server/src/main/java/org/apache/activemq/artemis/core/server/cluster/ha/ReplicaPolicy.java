@@ -39,6 +39,12 @@ public class ReplicaPolicy extends BackupPolicy {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationBatchSize = ActiveMQDefaultConfiguration.getDefaultReplicationBatchSize();
+
+   private long replicationBatchDelay = ActiveMQDefaultConfiguration.getDefaultReplicationBatchDelay();
+
+   private int initialReplicationSyncConcurrency = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncConcurrency();
+
    /*
    * what quorum size to use for voting
    * */
@@ -138,6 +144,9 @@ public class ReplicaPolicy extends BackupPolicy {
    public ReplicatedPolicy getReplicatedPolicy() {
       if (replicatedPolicy == null) {
          replicatedPolicy = new ReplicatedPolicy(false, allowFailback, initialReplicationSyncTimeout, groupName, clusterName, this, networkHealthCheck, voteOnReplicationFailure, quorumSize, voteRetries, voteRetryWait, quorumVoteWait);
+         replicatedPolicy.setReplicationBatchSize(replicationBatchSize);
+         replicatedPolicy.setReplicationBatchDelay(replicationBatchDelay);
+         replicatedPolicy.setInitialReplicationSyncConcurrency(initialReplicationSyncConcurrency);
       }
       return replicatedPolicy;
    }
@@ -207,6 +216,30 @@ public class ReplicaPolicy extends BackupPolicy {
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
    }
 
+   public int getReplicationBatchSize() {
+      return replicationBatchSize;
+   }
+
+   public void setReplicationBatchSize(int replicationBatchSize) {
+      this.replicationBatchSize = replicationBatchSize;
+   }
+
+   public long getReplicationBatchDelay() {
+      return replicationBatchDelay;
+   }
+
+   public void setReplicationBatchDelay(long replicationBatchDelay) {
+      this.replicationBatchDelay = replicationBatchDelay;
+   }
+
+   public int getInitialReplicationSyncConcurrency() {
+      return initialReplicationSyncConcurrency;
+   }
+
+   public void setInitialReplicationSyncConcurrency(int initialReplicationSyncConcurrency) {
+      this.initialReplicationSyncConcurrency = initialReplicationSyncConcurrency;
+   }
+
    @Override
    public Activation createActivation(ActiveMQServerImpl server,
                                       boolean wasLive,
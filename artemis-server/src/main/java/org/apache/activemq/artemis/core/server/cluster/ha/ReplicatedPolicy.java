@@ -34,6 +34,12 @@ public class ReplicatedPolicy implements HAPolicy<LiveActivation> {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationBatchSize = ActiveMQDefaultConfiguration.getDefaultReplicationBatchSize();
+
+   private long replicationBatchDelay = ActiveMQDefaultConfiguration.getDefaultReplicationBatchDelay();
+
+   private int initialReplicationSyncConcurrency = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncConcurrency();
+
    /*
    * these are only set by the ReplicaPolicy after failover to decide if the live server can failback, these should not
    * be exposed in configuration.
@@ -148,6 +154,30 @@ public class ReplicatedPolicy implements HAPolicy<LiveActivation> {
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
    }
 
+   public int getReplicationBatchSize() {
+      return replicationBatchSize;
+   }
+
+   public void setReplicationBatchSize(int replicationBatchSize) {
+      this.replicationBatchSize = replicationBatchSize;
+   }
+
+   public long getReplicationBatchDelay() {
+      return replicationBatchDelay;
+   }
+
+   public void setReplicationBatchDelay(long replicationBatchDelay) {
+      this.replicationBatchDelay = replicationBatchDelay;
+   }
+
+   public int getInitialReplicationSyncConcurrency() {
+      return initialReplicationSyncConcurrency;
+   }
+
+   public void setInitialReplicationSyncConcurrency(int initialReplicationSyncConcurrency) {
+      this.initialReplicationSyncConcurrency = initialReplicationSyncConcurrency;
+   }
+
    public String getClusterName() {
       return clusterName;
    }
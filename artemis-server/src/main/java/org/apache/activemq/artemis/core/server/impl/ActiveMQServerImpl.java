@@ -77,8 +77,11 @@ import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.io.aio.AIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
 import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
 import org.apache.activemq.artemis.core.paging.PagingStoreFactory;
@@ -2787,7 +2790,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          ActiveMQServerLogger.LOGGER.clusterSecurityRisk();
       }
 
-      securityStore = new SecurityStoreImpl(securityRepository, securityManager, configuration.getSecurityInvalidationInterval(), configuration.isSecurityEnabled(), configuration.getClusterUser(), configuration.getClusterPassword(), managementService);
+      securityStore = new SecurityStoreImpl(securityRepository, securityManager, configuration.getSecurityInvalidationInterval(), configuration.isSecurityEnabled(), configuration.getClusterUser(), configuration.getClusterPassword(), managementService, configuration.getAuthenticationCacheSize(), configuration.getAuthorizationCacheSize());
 
       queueFactory = new QueueFactoryImpl(executorFactory, scheduledPool, addressSettingsRepository, storageManager, this);
 
@@ -2996,6 +2999,25 @@ public class ActiveMQServerImpl implements ActiveMQServer {
             builder.register(BrokerMetricNames.CONNECTION_COUNT, this, metrics -> Double.valueOf(getConnectionCount()), ActiveMQServerControl.CONNECTION_COUNT_DESCRIPTION);
             builder.register(BrokerMetricNames.TOTAL_CONNECTION_COUNT, this, metrics -> Double.valueOf(getTotalConnectionCount()), ActiveMQServerControl.TOTAL_CONNECTION_COUNT_DESCRIPTION);
             builder.register(BrokerMetricNames.ADDRESS_MEMORY_USAGE, this, metrics -> Double.valueOf(getPagingManager().getGlobalSize()), ActiveMQServerControl.ADDRESS_MEMORY_USAGE_DESCRIPTION);
+            final SequentialFileFactory journalFF = storageManager.getJournalSequentialFileFactory();
+            final TimedBuffer timedBuffer = journalFF == null ? null : journalFF.getTimedBuffer();
+            if (timedBuffer != null) {
+               builder.register(BrokerMetricNames.JOURNAL_BUFFER_TIMEOUT, timedBuffer, metrics -> Double.valueOf(timedBuffer.getCurrentTimeout()), "Timeout (in nanoseconds) currently used to flush the journal buffer");
+               builder.register(BrokerMetricNames.JOURNAL_BUFFER_BATCHED_SYNC_RATIO, timedBuffer, metrics -> timedBuffer.getSyncFlushes() == 0 ? 0d : (double) timedBuffer.getBatchedSyncFlushes() / timedBuffer.getSyncFlushes(), "Ratio of journal buffer sync flushes that completed more than one sync request");
+            }
+            if (storageManager.getMessageJournal() instanceof JournalImpl) {
+               final JournalImpl messageJournal = (JournalImpl) storageManager.getMessageJournal();
+               builder.register(BrokerMetricNames.JOURNAL_COMPACT_PENDING_FILES, messageJournal, metrics -> Double.valueOf(messageJournal.getCompactPendingFiles()), "Number of data files the running journal compacting has yet to read");
+               builder.register(BrokerMetricNames.JOURNAL_COMPACT_STALL_TIME, messageJournal, metrics -> Double.valueOf(messageJournal.getCompactLastStallTime()), "Longest time (in nanoseconds) the last journal compacting held the appenders");
+               builder.register(BrokerMetricNames.JOURNAL_COMPACT_RECLAIMED_BYTES, messageJournal, metrics -> Double.valueOf(messageJournal.getCompactReclaimedBytes()), "Bytes reclaimed by journal compacting");
+            }
+            if (securityStore instanceof SecurityStoreImpl) {
+               final SecurityStoreImpl securityStoreImpl = (SecurityStoreImpl) securityStore;
+               builder.register(BrokerMetricNames.AUTHENTICATION_CACHE_HIT_RATIO, securityStoreImpl, metrics -> securityStoreImpl.getAuthenticationCacheHitRatio(), "Ratio of authentications found in the security cache");
+               builder.register(BrokerMetricNames.AUTHENTICATION_CACHE_SIZE, securityStoreImpl, metrics -> Double.valueOf(securityStoreImpl.getAuthenticationCacheSize()), "Number of authentications held by the security cache");
+               builder.register(BrokerMetricNames.AUTHORIZATION_CACHE_HIT_RATIO, securityStoreImpl, metrics -> securityStoreImpl.getAuthorizationCacheHitRatio(), "Ratio of authorizations found in the security cache");
+               builder.register(BrokerMetricNames.AUTHORIZATION_CACHE_SIZE, securityStoreImpl, metrics -> Double.valueOf(securityStoreImpl.getAuthorizationCacheSize()), "Number of authorizations held by the security cache");
+            }
          });
       }
    }
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * The references delivered by a {@link ServerConsumerImpl}, in delivery order and indexed by message ID:
+ * the references acknowledged out of order are found in constant time, without scanning the older ones.
+ * <br>
+ * The references are kept in a circular array, where the removed ones leave an empty slot until the array
+ * is compacted, and the index is an open addressing table of their slots: no object is allocated per reference.
+ * <br>
+ * If more references have the same message ID, only the first added one is indexed
+ * and the others are found by scanning all the references.
+ * <br>
+ * This is not thread safe.
+ */
+final class DeliveringReferences implements Iterable<MessageReference> {
+
+   private static final int INITIAL_CAPACITY = 8;
+
+   private static final int NO_SLOT = -1;
+
+   private MessageReference[] references = new MessageReference[INITIAL_CAPACITY];
+
+   // the ID of the message of each reference when it has been added
+   private long[] messageIDs = new long[INITIAL_CAPACITY];
+
+   // the slot of the first reference and the slots taken from it on, the empty ones included
+   private int head;
+
+   private int span;
+
+   private int size;
+
+   // the slots of the indexed references, by message ID: twice the references, to keep the probes short
+   private int[] index = newIndex(2 * INITIAL_CAPACITY);
+
+   private int indexed;
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   void addLast(final MessageReference reference) {
+      if (span == references.length) {
+         resize();
+      }
+      add((head + span) & (references.length - 1), reference);
+   }
+
+   void addFirst(final MessageReference reference) {
+      if (span == references.length) {
+         resize();
+      }
+      head = (head - 1) & (references.length - 1);
+      add(head, reference);
+   }
+
+   MessageReference peek() {
+      return size == 0 ? null : references[head];
+   }
+
+   MessageReference poll() {
+      return size == 0 ? null : remove(head);
+   }
+
+   /**
+    * @return the removed reference with the given message ID or {@code null} if not found
+    */
+   MessageReference removeByID(final long messageID) {
+      int slot = indexed(messageID);
+      if (slot == NO_SLOT && size > indexed) {
+         // there are references not indexed because of a duplicated message ID
+         for (int i = 0, mask = references.length - 1; i < span; i++) {
+            final int candidate = (head + i) & mask;
+            if (references[candidate] != null && messageIDs[candidate] == messageID) {
+               slot = candidate;
+               break;
+            }
+         }
+      }
+      return slot == NO_SLOT ? null : remove(slot);
+   }
+
+   void addAllTo(final Collection<? super MessageReference> references) {
+      for (MessageReference reference : this) {
+         references.add(reference);
+      }
+   }
+
+   /**
+    * The returned iterator supports {@link Iterator#remove()}.
+    */
+   @Override
+   public Iterator<MessageReference> iterator() {
+      return new Iterator<MessageReference>() {
+
+         private final int mask = references.length - 1;
+
+         private int slot = head;
+
+         // the slots still to be visited, the empty ones included
+         private int slots = span;
+
+         private int last = NO_SLOT;
+
+         @Override
+         public boolean hasNext() {
+            skipEmptySlots();
+            return slots > 0;
+         }
+
+         @Override
+         public MessageReference next() {
+            skipEmptySlots();
+            if (slots == 0) {
+               throw new NoSuchElementException();
+            }
+            last = slot;
+            slot = (slot + 1) & mask;
+            slots--;
+            return references[last];
+         }
+
+         @Override
+         public void remove() {
+            if (last == NO_SLOT) {
+               throw new IllegalStateException();
+            }
+            DeliveringReferences.this.remove(last);
+            last = NO_SLOT;
+         }
+
+         private void skipEmptySlots() {
+            while (slots > 0 && references[slot] == null) {
+               slot = (slot + 1) & mask;
+               slots--;
+            }
+         }
+      };
+   }
+
+   private void add(final int slot, final MessageReference reference) {
+      final long messageID = reference.getMessage().getMessageID();
+      references[slot] = reference;
+      messageIDs[slot] = messageID;
+      span++;
+      size++;
+      if (indexed(messageID) == NO_SLOT) {
+         index(slot);
+      }
+   }
+
+   private MessageReference remove(final int slot) {
+      final MessageReference reference = references[slot];
+      references[slot] = null;
+      size--;
+      if (indexed(messageIDs[slot]) == slot) {
+         unindex(slot);
+      }
+      final int mask = references.length - 1;
+      if (size == 0) {
+         head = 0;
+         span = 0;
+      } else {
+         // the first and the last slots are never empty
+         while (references[head] == null) {
+            head = (head + 1) & mask;
+            span--;
+         }
+         while (references[(head + span - 1) & mask] == null) {
+            span--;
+         }
+      }
+      return reference;
+   }
+
+   /**
+    * It compacts the references, growing the array only if it would still be more than half full.
+    */
+   private void resize() {
+      final MessageReference[] oldReferences = references;
+      final long[] oldMessageIDs = messageIDs;
+      final int capacity = size * 2 > oldReferences.length ? oldReferences.length * 2 : oldReferences.length;
+      final boolean[] wasIndexed = new boolean[size];
+      final MessageReference[] newReferences = new MessageReference[capacity];
+      final long[] newMessageIDs = new long[capacity];
+      for (int i = 0, added = 0, mask = oldReferences.length - 1; i < span; i++) {
+         final int slot = (head + i) & mask;
+         if (oldReferences[slot] != null) {
+            wasIndexed[added] = indexed(oldMessageIDs[slot]) == slot;
+            newReferences[added] = oldReferences[slot];
+            newMessageIDs[added] = oldMessageIDs[slot];
+            added++;
+         }
+      }
+      references = newReferences;
+      messageIDs = newMessageIDs;
+      head = 0;
+      span = size;
+      index = newIndex(2 * capacity);
+      indexed = 0;
+      for (int slot = 0; slot < size; slot++) {
+         if (wasIndexed[slot]) {
+            index(slot);
+         }
+      }
+   }
+
+   private static int[] newIndex(final int capacity) {
+      final int[] index = new int[capacity];
+      Arrays.fill(index, NO_SLOT);
+      return index;
+   }
+
+   private int indexPosition(final long messageID) {
+      final int hash = Long.hashCode(messageID) * 0x9E3779B9;
+      return (hash ^ (hash >>> 16)) & (index.length - 1);
+   }
+
+   /**
+    * @return the slot of the reference indexed with {@code messageID} or {@link #NO_SLOT} if none
+    */
+   private int indexed(final long messageID) {
+      final int mask = index.length - 1;
+      for (int i = indexPosition(messageID); index[i] != NO_SLOT; i = (i + 1) & mask) {
+         if (messageIDs[index[i]] == messageID) {
+            return index[i];
+         }
+      }
+      return NO_SLOT;
+   }
+
+   private void index(final int slot) {
+      final int mask = index.length - 1;
+      int i = indexPosition(messageIDs[slot]);
+      while (index[i] != NO_SLOT) {
+         i = (i + 1) & mask;
+      }
+      index[i] = slot;
+      indexed++;
+   }
+
+   private void unindex(final int slot) {
+      final int mask = index.length - 1;
+      int hole = indexPosition(messageIDs[slot]);
+      while (index[hole] != slot) {
+         hole = (hole + 1) & mask;
+      }
+      // the following entries are shifted back into the hole if it is on their probe sequence
+      for (int i = (hole + 1) & mask; index[i] != NO_SLOT; i = (i + 1) & mask) {
+         final int position = indexPosition(messageIDs[index[i]]);
+         if (((i - position) & mask) >= ((i - hole) & mask)) {
+            index[hole] = index[i];
+            hole = i;
+         }
+      }
+      index[hole] = NO_SLOT;
+      indexed--;
+   }
+}
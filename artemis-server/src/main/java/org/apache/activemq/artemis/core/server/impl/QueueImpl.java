@@ -187,6 +187,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    // The quantity of pagedReferences on messageReferences priority list
    private final AtomicInteger pagedReferences = new AtomicInteger(0);
 
+   // No reference on messageReferences expires before it: the expiry scanner won't scan them until then
+   private final AtomicLong earliestExpiration = new AtomicLong(Long.MAX_VALUE);
+
    // The estimate of memory being consumed by this queue. Used to calculate instances of messages to depage
    private final AtomicInteger queueMemorySize = new AtomicInteger(0);
 
@@ -208,7 +211,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private AtomicLong messagesReplaced = new AtomicLong(0);
 
-   private boolean paused;
+   private volatile boolean paused;
 
    private long pauseStatusRecord = -1;
 
@@ -1078,10 +1081,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    protected boolean scheduleIfPossible(MessageReference ref) {
       if (scheduledDeliveryHandler.checkAndSchedule(ref, true)) {
-         synchronized (this) {
-            if (!ref.isPaged()) {
-               incrementMesssagesAdded();
-            }
+         // messagesAdded is atomic, there's no need to hold the queue lock here
+         if (!ref.isPaged()) {
+            incrementMesssagesAdded();
          }
 
          return true;
@@ -2227,38 +2229,61 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                return;
             }
 
-            if (logger.isDebugEnabled()) {
-               logger.debug("Scanning for expires on " + QueueImpl.this.getName());
-            }
+            final long now = System.currentTimeMillis();
+
+            if (now - earliestExpiration.get() < 0) {
+               // no reference can be expired yet: there is no need to scan them
+               if (logger.isTraceEnabled()) {
+                  logger.trace("Skipping the scan for expires on " + QueueImpl.this.getName() + " until " + earliestExpiration.get());
+               }
+               hasElements = !messageReferences.isEmpty();
+               scannerRunning.decrementAndGet();
+            } else {
+               if (logger.isDebugEnabled()) {
+                  logger.debug("Scanning for expires on " + QueueImpl.this.getName());
+               }
 
-            LinkedListIterator<MessageReference> iter = iterator();
+               // the references added while scanning lower it again, the scanned ones are accounted below
+               final long previousEarliestExpiration = earliestExpiration.getAndSet(Long.MAX_VALUE);
+               long nextEarliestExpiration = Long.MAX_VALUE;
+               boolean scanned = false;
 
-            try {
-               while (postOffice.isStarted() && iter.hasNext()) {
-                  hasElements = true;
-                  MessageReference ref = iter.next();
-                  if (ref.getMessage().isExpired()) {
-                     incDelivering(ref);
-                     expired = true;
-                     expiredMessages.add(ref);
-                     iter.remove();
-
-                     if (++elementsExpired >= MAX_DELIVERIES_IN_LOOP) {
-                        logger.debug("Breaking loop of expiring");
-                        scannerRunning.incrementAndGet();
-                        getExecutor().execute(this);
-                        break;
+               LinkedListIterator<MessageReference> iter = iterator();
+
+               try {
+                  while (postOffice.isStarted() && iter.hasNext()) {
+                     hasElements = true;
+                     MessageReference ref = iter.next();
+                     if (ref.getMessage().isExpired()) {
+                        incDelivering(ref);
+                        expired = true;
+                        expiredMessages.add(ref);
+                        iter.remove();
+
+                        if (++elementsExpired >= MAX_DELIVERIES_IN_LOOP) {
+                           logger.debug("Breaking loop of expiring");
+                           scannerRunning.incrementAndGet();
+                           getExecutor().execute(this);
+                           break;
+                        }
+                     } else {
+                        final long expiration = ref.getMessage().getExpiration();
+                        if (expiration != 0 && expiration < nextEarliestExpiration) {
+                           nextEarliestExpiration = expiration;
+                        }
                      }
                   }
+                  scanned = !iter.hasNext();
+               } finally {
+                  try {
+                     iter.close();
+                  } catch (Throwable ignored) {
+                  }
+                  // a partial scan doesn't know the expiration of the references left behind
+                  earliestExpiration.accumulateAndGet(scanned ? nextEarliestExpiration : Math.min(previousEarliestExpiration, now), Math::min);
+                  scannerRunning.decrementAndGet();
+                  logger.debug("Scanning for expires on " + QueueImpl.this.getName() + " done");
                }
-            } finally {
-               try {
-                  iter.close();
-               } catch (Throwable ignored) {
-               }
-               scannerRunning.decrementAndGet();
-               logger.debug("Scanning for expires on " + QueueImpl.this.getName() + " done");
-
             }
          }
 
@@ -2558,7 +2583,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    @Override
-   public synchronized boolean isPaused() {
+   public boolean isPaused() {
       return paused || (addressInfo != null && addressInfo.isPaused());
    }
 
@@ -2934,6 +2959,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       if (ref.isPaged()) {
          pagedReferences.incrementAndGet();
       }
+      final long expiration = ref.getMessage().getExpiration();
+      if (expiration != 0 && expiration < earliestExpiration.get()) {
+         earliestExpiration.accumulateAndGet(expiration, Math::min);
+      }
    }
 
    private void scheduleDepage(final boolean scheduleExpiry) {
@@ -3423,12 +3452,14 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
          consumers.reset();
 
+         // the group doesn't change between consumers, so it is only extracted once
+         final SimpleString groupID = extractGroupID(ref);
+
          while (consumers.hasNext() || redistributor != null) {
 
             ConsumerHolder<? extends Consumer> holder = redistributor == null ? consumers.next() : redistributor;
             Consumer consumer = holder.consumer;
 
-            final SimpleString groupID = extractGroupID(ref);
             Consumer groupConsumer = getGroupConsumer(groupID);
 
             if (groupConsumer != null) {
@@ -3705,22 +3736,22 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    @Override
-   public synchronized void resetMessagesAdded() {
+   public void resetMessagesAdded() {
       messagesAdded.set(0);
    }
 
    @Override
-   public synchronized void resetMessagesAcknowledged() {
+   public void resetMessagesAcknowledged() {
       messagesAcknowledged.set(0);
    }
 
    @Override
-   public synchronized void resetMessagesExpired() {
+   public void resetMessagesExpired() {
       messagesExpired.set(0);
    }
 
    @Override
-   public synchronized void resetMessagesKilled() {
+   public void resetMessagesKilled() {
       messagesKilled.set(0);
    }
 
@@ -17,14 +17,10 @@
 package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -37,6 +33,10 @@ import org.jboss.logging.Logger;
 
 /**
  * Handles scheduling deliveries to a queue at the correct time.
+ * <br>
+ * The scheduled references are kept in a {@link ScheduledReferencesWheel} and a single delivery is pending on the
+ * scheduled executor at any time, for the earliest delivery time: it is replaced only by an earlier one and once
+ * run it schedules the next one.
  */
 public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
@@ -44,11 +44,10 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    private final ScheduledExecutorService scheduledExecutor;
 
-   private final Map<Long, Runnable> runnables = new ConcurrentHashMap<>();
+   // the delivery time of the pending ScheduledDeliveryRunnable, guarded by scheduledReferences
+   private long pendingDeliveryTime = Long.MAX_VALUE;
 
-   // This contains RefSchedules which are delegates to the real references
-   // just adding some information to keep it in order accordingly to the initial operations
-   private final TreeSet<RefScheduled> scheduledReferences = new TreeSet<>(new MessageReferenceComparator());
+   private final ScheduledReferencesWheel scheduledReferences = new ScheduledReferencesWheel();
 
    private final QueueMessageMetrics metrics;
 
@@ -78,7 +77,7 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    public void addInPlace(final long deliveryTime, final MessageReference ref, final boolean tail) {
       synchronized (scheduledReferences) {
-         scheduledReferences.add(new RefScheduled(ref, tail));
+         scheduledReferences.add(deliveryTime, ref, tail);
       }
       metrics.incrementMetrics(ref);
    }
@@ -105,14 +104,9 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    @Override
    public List<MessageReference> getScheduledReferences() {
-      List<MessageReference> refs = new LinkedList<>();
-
       synchronized (scheduledReferences) {
-         for (RefScheduled ref : scheduledReferences) {
-            refs.add(ref.getRef());
-         }
+         return scheduledReferences.toList();
       }
-      return refs;
    }
 
    @Override
@@ -120,62 +114,55 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       List<MessageReference> refs = new ArrayList<>();
 
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (filter == null || filter.match(ref.getMessage())) {
-               iter.remove();
-               refs.add(ref);
-               metrics.decrementMetrics(ref);
-            }
-         }
+         scheduledReferences.removeIf(ref -> filter == null || filter.match(ref.getMessage()), refs);
+      }
+      for (MessageReference ref : refs) {
+         metrics.decrementMetrics(ref);
       }
       return refs;
    }
 
    @Override
    public MessageReference removeReferenceWithID(final long id) throws ActiveMQException {
+      final MessageReference ref;
       synchronized (scheduledReferences) {
-         Iterator<RefScheduled> iter = scheduledReferences.iterator();
-         while (iter.hasNext()) {
-            MessageReference ref = iter.next().getRef();
-            if (ref.getMessage().getMessageID() == id) {
-               iter.remove();
-               metrics.decrementMetrics(ref);
-               return ref;
-            }
-         }
+         ref = scheduledReferences.removeWithID(id);
       }
-
-      return null;
+      if (ref != null) {
+         metrics.decrementMetrics(ref);
+      }
+      return ref;
    }
 
    private void scheduleDelivery(final long deliveryTime) {
+      synchronized (scheduledReferences) {
+         if (deliveryTime >= pendingDeliveryTime) {
+            if (logger.isTraceEnabled()) {
+               logger.trace("Couldn't make another scheduler as " + pendingDeliveryTime + " is already set before " + deliveryTime);
+            }
+            return;
+         }
+         pendingDeliveryTime = deliveryTime;
+      }
+
       final long now = System.currentTimeMillis();
 
       final long delay = deliveryTime - now;
 
+      ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
+
       if (delay < 0) {
          if (logger.isTraceEnabled()) {
             logger.trace("calling another scheduler now as deliverTime " + deliveryTime + " < now=" + now);
          }
          // if delay == 0 we will avoid races between adding the scheduler and finishing it
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
          scheduledExecutor.schedule(runnable, 0, TimeUnit.MILLISECONDS);
-      } else if (!runnables.containsKey(deliveryTime)) {
-         ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
-
+      } else {
          if (logger.isTraceEnabled()) {
             logger.trace("Setting up scheduler for " + deliveryTime + " with a delay of " + delay + " as now=" + now);
          }
 
-         runnables.put(deliveryTime, runnable);
          scheduledExecutor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("Couldn't make another scheduler as " + deliveryTime + " is already set, now is " + now);
-         }
       }
    }
 
@@ -191,40 +178,20 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       public void run() {
          HashMap<Queue, LinkedList<MessageReference>> refs = new HashMap<>();
 
-         runnables.remove(deliveryTime);
-
          final long now = System.currentTimeMillis();
 
-         if (now < deliveryTime) {
-            // Ohhhh... blame it on the OS
-            // on some OSes (so far Windows only) the precision of the scheduled executor could eventually give
-            // an executor call earlier than it was supposed...
-            // for that reason we will schedule it again so no messages are lost!
-            // we can't just assume deliveryTime here as we could deliver earlier than what we are supposed to
-            // this is basically a hack to work around an OS or JDK bug!
-            if (logger.isTraceEnabled()) {
-               logger.trace("Scheduler is working around OS imprecisions on " +
-                               "timing and re-scheduling an executor. now=" + now +
-                               " and deliveryTime=" + deliveryTime);
-            }
-            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(deliveryTime);
-         }
-
          if (logger.isTraceEnabled()) {
-            logger.trace("Is it " + System.currentTimeMillis() + " now and we are running deliveryTime = " + deliveryTime);
+            logger.trace("Is it " + now + " now and we are running deliveryTime = " + deliveryTime);
          }
 
-         synchronized (scheduledReferences) {
+         final long nextDeliveryTime;
 
-            Iterator<RefScheduled> iter = scheduledReferences.iterator();
-            while (iter.hasNext()) {
-               MessageReference reference = iter.next().getRef();
-               if (reference.getScheduledDeliveryTime() > now) {
-                  // We will delivery as long as there are messages to be delivered
-                  break;
-               }
+         synchronized (scheduledReferences) {
+            if (pendingDeliveryTime == deliveryTime) {
+               pendingDeliveryTime = Long.MAX_VALUE;
+            }
 
-               iter.remove();
+            scheduledReferences.removeDue(now, reference -> {
                metrics.decrementMetrics(reference);
 
                reference.setScheduledDeliveryTime(0);
@@ -241,10 +208,18 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
                }
 
                references.addFirst(reference);
-            }
+            });
             if (logger.isTraceEnabled()) {
                logger.trace("Finished loop on deliveryTime = " + deliveryTime);
             }
+
+            nextDeliveryTime = scheduledReferences.nextDeliveryTime();
+         }
+
+         // on some OSes (so far Windows only) the precision of the scheduled executor could eventually give
+         // an executor call earlier than it was supposed: the undelivered references are just scheduled again
+         if (nextDeliveryTime != -1) {
+            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(nextDeliveryTime);
          }
 
          for (Map.Entry<Queue, LinkedList<MessageReference>> entry : refs.entrySet()) {
@@ -262,58 +237,4 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       }
    }
 
-   // We need a treeset ordered, but we need to order tail operations as well.
-   // So, this will serve as a delegate to the object
-   class RefScheduled {
-
-      private final MessageReference ref;
-      private final boolean tail;
-
-      RefScheduled(MessageReference ref, boolean tail) {
-         this.ref = ref;
-         this.tail = tail;
-      }
-
-      public MessageReference getRef() {
-         return ref;
-      }
-
-      public boolean isTail() {
-         return tail;
-      }
-
-   }
-
-   static class MessageReferenceComparator implements Comparator<RefScheduled> {
-
-      @Override
-      public int compare(RefScheduled ref1, RefScheduled ref2) {
-         long diff = ref1.getRef().getScheduledDeliveryTime() - ref2.getRef().getScheduledDeliveryTime();
-
-         if (diff < 0L) {
-            return -1;
-         }
-         if (diff > 0L) {
-            return 1;
-         }
-
-         // Even if ref1 and ref2 have the same delivery time, we only want to return 0 if they are identical
-         if (ref1 == ref2) {
-            return 0;
-         } else {
-
-            if (ref1.isTail() && !ref2.isTail()) {
-               return 1;
-            } else if (!ref1.isTail() && ref2.isTail()) {
-               return -1;
-            }
-            if (!ref1.isTail() && !ref2.isTail()) {
-               return -1;
-            } else {
-               return 1;
-            }
-         }
-      }
-   }
-
 }
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+/**
+ * The scheduled references of a {@link ScheduledDeliveryHandlerImpl}, in a two levels timing wheel.
+ * <br>
+ * The first level has a bucket for each millisecond with references to be delivered, hashed by the delivery time:
+ * adding a reference to a bucket costs O(1), no matter how many references are scheduled.
+ * The second level has a bitmap of the occupied milliseconds for each round of {@code 2^ROUND_BITS} milliseconds
+ * with buckets, and a min-heap of these rounds: the next references to deliver are found from the earliest round
+ * and its lowest occupied millisecond, without scanning the empty ones.
+ * A round emptied by a removal is left on the heap until it gets on top.
+ * <br>
+ * The references with the same delivery time are ordered as they were by the previous sorted set:
+ * the ones added on head before the ones added on tail, the former in reverse order of addition
+ * and the latter in order of addition.
+ * <br>
+ * This is not thread safe.
+ */
+final class ScheduledReferencesWheel {
+
+   private static final int ROUND_BITS = 10;
+
+   private static final int SLOT_MASK = (1 << ROUND_BITS) - 1;
+
+   private final LongObjectHashMap<Bucket> buckets = new LongObjectHashMap<>();
+
+   private final LongObjectHashMap<Round> rounds = new LongObjectHashMap<>();
+
+   // min-heap of the keys of rounds
+   private long[] roundsHeap = new long[16];
+
+   private int roundsHeapSize = 0;
+
+   private int size = 0;
+
+   int size() {
+      return size;
+   }
+
+   void add(final long deliveryTime, final MessageReference ref, final boolean tail) {
+      Bucket bucket = buckets.get(deliveryTime);
+      if (bucket == null) {
+         bucket = new Bucket(deliveryTime);
+         buckets.put(deliveryTime, bucket);
+         final long roundKey = deliveryTime >> ROUND_BITS;
+         Round round = rounds.get(roundKey);
+         if (round == null) {
+            round = new Round(roundKey);
+            rounds.put(roundKey, round);
+            pushRound(roundKey);
+         }
+         round.occupy((int) (deliveryTime & SLOT_MASK));
+      }
+      if (tail) {
+         bucket.refs.addLast(ref);
+      } else {
+         bucket.refs.addFirst(ref);
+      }
+      size++;
+   }
+
+   /**
+    * @return the earliest delivery time or {@code -1} if nothing is scheduled
+    */
+   long nextDeliveryTime() {
+      final Bucket bucket = nextBucket(Long.MAX_VALUE, false);
+      return bucket == null ? -1 : bucket.deliveryTime;
+   }
+
+   /**
+    * It removes the references to be delivered up to {@code now}, passing them in delivery order to {@code consumer}.
+    */
+   void removeDue(final long now, final Consumer<MessageReference> consumer) {
+      Bucket bucket;
+      while ((bucket = nextBucket(now, true)) != null) {
+         for (MessageReference ref : bucket.refs) {
+            consumer.accept(ref);
+         }
+      }
+   }
+
+   /**
+    * @return the scheduled references in delivery order
+    */
+   List<MessageReference> toList() {
+      final List<MessageReference> refs = new ArrayList<>(size);
+      for (Bucket bucket : sortedBuckets()) {
+         refs.addAll(bucket.refs);
+      }
+      return refs;
+   }
+
+   /**
+    * It removes the references matching {@code filter}, adding them in delivery order to {@code removed}.
+    */
+   void removeIf(final Predicate<MessageReference> filter, final List<MessageReference> removed) {
+      for (Bucket bucket : sortedBuckets()) {
+         final Iterator<MessageReference> iterator = bucket.refs.iterator();
+         while (iterator.hasNext()) {
+            final MessageReference ref = iterator.next();
+            if (filter.test(ref)) {
+               iterator.remove();
+               size--;
+               removed.add(ref);
+            }
+         }
+         if (bucket.refs.isEmpty()) {
+            removeBucket(bucket);
+         }
+      }
+   }
+
+   /**
+    * It removes the first reference to the message {@code id} in delivery order.
+    */
+   MessageReference removeWithID(final long id) {
+      for (Bucket bucket : sortedBuckets()) {
+         final Iterator<MessageReference> iterator = bucket.refs.iterator();
+         while (iterator.hasNext()) {
+            final MessageReference ref = iterator.next();
+            if (ref.getMessage().getMessageID() == id) {
+               iterator.remove();
+               size--;
+               if (bucket.refs.isEmpty()) {
+                  removeBucket(bucket);
+               }
+               return ref;
+            }
+         }
+      }
+      return null;
+   }
+
+   /**
+    * It drops the emptied rounds on top of the heap.
+    *
+    * @return the earliest bucket, if not after {@code until}, removed if {@code remove} is {@code true}
+    */
+   private Bucket nextBucket(final long until, final boolean remove) {
+      while (roundsHeapSize > 0) {
+         final Round round = rounds.get(roundsHeap[0]);
+         final int slot = round.firstSlot();
+         if (slot < 0) {
+            rounds.remove(round.key);
+            popRound();
+            continue;
+         }
+         final long deliveryTime = (round.key << ROUND_BITS) + slot;
+         if (deliveryTime > until) {
+            return null;
+         }
+         final Bucket bucket = buckets.get(deliveryTime);
+         if (remove) {
+            size -= bucket.refs.size();
+            removeBucket(bucket);
+         }
+         return bucket;
+      }
+      return null;
+   }
+
+   private void removeBucket(final Bucket bucket) {
+      buckets.remove(bucket.deliveryTime);
+      if (buckets.isEmpty()) {
+         rounds.clear();
+         roundsHeapSize = 0;
+      } else {
+         rounds.get(bucket.deliveryTime >> ROUND_BITS).free((int) (bucket.deliveryTime & SLOT_MASK));
+      }
+   }
+
+   private List<Bucket> sortedBuckets() {
+      final List<Bucket> sorted = new ArrayList<>(buckets.size());
+      final long[] roundKeys = Arrays.copyOf(roundsHeap, roundsHeapSize);
+      Arrays.sort(roundKeys);
+      for (long roundKey : roundKeys) {
+         final Round round = rounds.get(roundKey);
+         for (int word = 0; word < round.occupied.length; word++) {
+            long bits = round.occupied[word];
+            while (bits != 0) {
+               final int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+               sorted.add(buckets.get((roundKey << ROUND_BITS) + slot));
+               bits &= bits - 1;
+            }
+         }
+      }
+      return sorted;
+   }
+
+   private void pushRound(final long roundKey) {
+      if (roundsHeapSize == roundsHeap.length) {
+         roundsHeap = Arrays.copyOf(roundsHeap, roundsHeapSize * 2);
+      }
+      int i = roundsHeapSize++;
+      while (i > 0) {
+         final int parent = (i - 1) >>> 1;
+         if (roundsHeap[parent] <= roundKey) {
+            break;
+         }
+         roundsHeap[i] = roundsHeap[parent];
+         i = parent;
+      }
+      roundsHeap[i] = roundKey;
+   }
+
+   private void popRound() {
+      final long last = roundsHeap[--roundsHeapSize];
+      int i = 0;
+      while (true) {
+         int child = (i << 1) + 1;
+         if (child >= roundsHeapSize) {
+            break;
+         }
+         if (child + 1 < roundsHeapSize && roundsHeap[child + 1] < roundsHeap[child]) {
+            child++;
+         }
+         if (last <= roundsHeap[child]) {
+            break;
+         }
+         roundsHeap[i] = roundsHeap[child];
+         i = child;
+      }
+      roundsHeap[i] = last;
+   }
+
+   private static final class Round {
+
+      final long key;
+
+      // a bit for each millisecond with a bucket
+      final long[] occupied = new long[1 << (ROUND_BITS - 6)];
+
+      // a bit for each non-zero word of occupied
+      int occupiedWords = 0;
+
+      Round(final long key) {
+         this.key = key;
+      }
+
+      void occupy(final int slot) {
+         final int word = slot >>> 6;
+         occupied[word] |= 1L << slot;
+         occupiedWords |= 1 << word;
+      }
+
+      void free(final int slot) {
+         final int word = slot >>> 6;
+         occupied[word] &= ~(1L << slot);
+         if (occupied[word] == 0) {
+            occupiedWords &= ~(1 << word);
+         }
+      }
+
+      /**
+       * @return the lowest occupied slot or {@code -1} if none
+       */
+      int firstSlot() {
+         if (occupiedWords == 0) {
+            return -1;
+         }
+         final int word = Integer.numberOfTrailingZeros(occupiedWords);
+         return (word << 6) + Long.numberOfTrailingZeros(occupied[word]);
+      }
+   }
+
+   private static final class Bucket {
+
+      final long deliveryTime;
+
+      final ArrayDeque<MessageReference> refs = new ArrayDeque<>(2);
+
+      Bucket(final long deliveryTime) {
+         this.deliveryTime = deliveryTime;
+      }
+   }
+}
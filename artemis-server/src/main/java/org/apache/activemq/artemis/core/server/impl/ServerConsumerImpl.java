@@ -16,9 +16,11 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.util.ArrayDeque;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -28,6 +30,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
@@ -39,6 +45,7 @@ import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
 import org.apache.activemq.artemis.api.core.management.ManagementHelper;
 import org.apache.activemq.artemis.core.client.impl.ClientConsumerImpl;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.io.SequentialFile;
 import org.apache.activemq.artemis.core.message.LargeBodyEncoder;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
@@ -134,7 +141,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private final StorageManager storageManager;
 
-   private final java.util.Deque<MessageReference> deliveringRefs = new ArrayDeque<>();
+   private final DeliveringReferences deliveringRefs = new DeliveringReferences();
 
    private final SessionCallback callback;
 
@@ -367,7 +374,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (refsOnConsumer != null) {
             refs.addAll(refsOnConsumer);
          }
-         refs.addAll(deliveringRefs);
+         deliveringRefs.addAllTo(refs);
          return refs;
       }
    }
@@ -439,7 +446,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          }
          if (!browseOnly) {
             if (!preAcknowledge) {
-               deliveringRefs.add(ref);
+               deliveringRefs.addLast(ref);
             }
 
             ref.handled();
@@ -1055,42 +1062,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          return null;
       }
 
-      // Expiries can come in out of sequence with respect to delivery order
+      // Expiries can come in out of sequence with respect to delivery order:
+      // the delivering references are indexed by message ID, no need to scan them
 
       synchronized (lock) {
-         // This is an optimization, if the reference is the first one, we just poll it.
-         // But first we need to make sure deliveringRefs isn't empty
-         if (deliveringRefs.isEmpty()) {
-            return null;
-         }
-
-         if (deliveringRefs.peek().getMessage().getMessageID() == messageID) {
-            return deliveringRefs.poll();
-         }
-         //slow path in a separate method
-         return removeDeliveringRefById(messageID);
-      }
-   }
-
-   private MessageReference removeDeliveringRefById(long messageID) {
-      assert deliveringRefs.peek().getMessage().getMessageID() != messageID;
-
-      Iterator<MessageReference> iter = deliveringRefs.iterator();
-
-      MessageReference ref = null;
-
-      while (iter.hasNext()) {
-         MessageReference theRef = iter.next();
-
-         if (theRef.getMessage().getMessageID() == messageID) {
-            iter.remove();
-
-            ref = theRef;
-
-            break;
-         }
+         return deliveringRefs.removeByID(messageID);
       }
-      return ref;
    }
 
    /**
@@ -1239,6 +1216,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       private ByteBuffer chunkBytes;
 
+      /**
+       * The file of the body, if the chunks are sent straight from it: {@code null} once they are read by {@link #context}
+       */
+      private BodyFile bodyFile;
+
       private LargeMessageDeliverer(final LargeServerMessage message, final MessageReference ref) throws Exception {
          largeMessage = message;
 
@@ -1295,6 +1277,10 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                context.open();
 
+               if (callback.supportsFileRegion()) {
+                  bodyFile = BodyFile.open(currentLargeMessage.getFile());
+               }
+
                sentInitialPacket = true;
 
                int packetSize = callback.sendLargeMessage(ref, currentLargeMessage, ServerConsumerImpl.this, context.getLargeBodySize(), ref.getDeliveryCount());
@@ -1333,25 +1319,40 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               final boolean continues = positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage;
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               int packetSize = -1;
 
-               final int readBytes = context.encode(bodyBuffer);
+               if (bodyFile != null) {
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, bodyFile.region(positionPendingLargeMessage, localChunkLen), continues);
+                  if (packetSize < 0) {
+                     releaseBodyFile();
+                     // the chunks already sent from the file haven't been read by the context
+                     skipBody(positionPendingLargeMessage);
+                  }
+               }
 
-               assert readBytes == localChunkLen;
+               if (packetSize < 0) {
+                  final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-               final byte[] body = bodyBuffer.array();
+                  assert bodyBuffer.remaining() == localChunkLen;
 
-               assert body.length == readBytes;
+                  final int readBytes = context.encode(bodyBuffer);
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+                  assert readBytes == localChunkLen;
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+                  final byte[] body = bodyBuffer.array();
 
-               int chunkLen = body.length;
+                  assert body.length == readBytes;
+
+                  //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+                  //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+                  //resendCache != null && packet.isRequiresConfirmations()
+
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, continues, false);
+               }
+
+               final int chunkLen = localChunkLen;
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
@@ -1389,10 +1390,29 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          }
       }
 
+      private void skipBody(long bytes) throws ActiveMQException {
+         while (bytes > 0) {
+            final int readBytes = context.encode(acquireHeapBodyBuffer((int) Math.min(bytes, minLargeMessageSize)));
+            if (readBytes <= 0) {
+               throw new IllegalStateException("Unable to skip " + bytes + " bytes of " + largeMessage);
+            }
+            bytes -= readBytes;
+         }
+      }
+
+      private void releaseBodyFile() {
+         if (bodyFile != null) {
+            bodyFile.release();
+            bodyFile = null;
+         }
+      }
+
       public void finish() throws Exception {
          synchronized (lock) {
             releaseHeapBodyBuffer();
 
+            releaseBodyFile();
+
             if (largeMessage == null) {
                // handleClose could be calling close while handle is also calling finish.
                // As a result one of them could get here after the largeMessage is already gone.
@@ -1420,6 +1440,58 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       }
    }
 
+   /**
+    * The channel of a large message file, shared by the regions of the chunks sent from it:
+    * it is closed once released by the deliverer and by the regions, when written.
+    */
+   private static final class BodyFile extends AbstractReferenceCounted {
+
+      private final FileChannel channel;
+
+      private BodyFile(final FileChannel channel) {
+         this.channel = channel;
+      }
+
+      /**
+       * @return the opened body file or {@code null} if it can't be read straight from the file system
+       */
+      static BodyFile open(final SequentialFile file) {
+         if (file == null) {
+            return null;
+         }
+         try {
+            return new BodyFile(FileChannel.open(file.getJavaFile().toPath(), StandardOpenOption.READ));
+         } catch (IOException e) {
+            logger.debug("Unable to open " + file + ", sending its content from memory", e);
+            return null;
+         }
+      }
+
+      FileRegion region(final long position, final int length) {
+         retain();
+         return new DefaultFileRegion(channel, position, length) {
+            @Override
+            protected void deallocate() {
+               BodyFile.this.release();
+            }
+         };
+      }
+
+      @Override
+      protected void deallocate() {
+         try {
+            channel.close();
+         } catch (IOException e) {
+            logger.debug("Unable to close the body file channel", e);
+         }
+      }
+
+      @Override
+      public ReferenceCounted touch(final Object hint) {
+         return this;
+      }
+   }
+
    protected class BrowserDeliverer implements Runnable {
 
       protected MessageReference current = null;
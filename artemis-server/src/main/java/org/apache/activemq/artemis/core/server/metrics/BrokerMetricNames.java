@@ -22,5 +22,14 @@ public class BrokerMetricNames {
    public static final String CONNECTION_COUNT = "connection.count";
    public static final String TOTAL_CONNECTION_COUNT = "total.connection.count";
    public static final String ADDRESS_MEMORY_USAGE = "address.memory.usage";
+   public static final String JOURNAL_BUFFER_TIMEOUT = "journal.buffer.timeout";
+   public static final String JOURNAL_BUFFER_BATCHED_SYNC_RATIO = "journal.buffer.batched.sync.ratio";
+   public static final String JOURNAL_COMPACT_PENDING_FILES = "journal.compact.pending.files";
+   public static final String JOURNAL_COMPACT_STALL_TIME = "journal.compact.stall.time";
+   public static final String JOURNAL_COMPACT_RECLAIMED_BYTES = "journal.compact.reclaimed.bytes";
+   public static final String AUTHENTICATION_CACHE_HIT_RATIO = "authentication.cache.hit.ratio";
+   public static final String AUTHENTICATION_CACHE_SIZE = "authentication.cache.size";
+   public static final String AUTHORIZATION_CACHE_HIT_RATIO = "authorization.cache.hit.ratio";
+   public static final String AUTHORIZATION_CACHE_SIZE = "authorization.cache.size";
 
 }
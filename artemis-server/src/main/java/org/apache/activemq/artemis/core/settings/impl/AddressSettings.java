@@ -48,6 +48,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    public static final int DEFAULT_PAGE_MAX_CACHE = 5;
 
+   public static final long DEFAULT_PAGE_MAX_CACHE_BYTES = -1;
+
+   public static final int DEFAULT_PAGE_READ_AHEAD = 0;
+
    public static final int DEFAULT_MESSAGE_COUNTER_HISTORY_DAY_LIMIT = 0;
 
    public static final long DEFAULT_REDELIVER_DELAY = 0L;
@@ -117,6 +121,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    private Integer pageMaxCache = null;
 
+   private Long pageMaxCacheBytes = null;
+
+   private Integer pageReadAhead = null;
+
    private Boolean dropMessagesWhenFull = null;
 
    private Integer maxDeliveryAttempts = null;
@@ -224,6 +232,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       this.maxSizeBytes = other.maxSizeBytes;
       this.pageSizeBytes = other.pageSizeBytes;
       this.pageMaxCache = other.pageMaxCache;
+      this.pageMaxCacheBytes = other.pageMaxCacheBytes;
+      this.pageReadAhead = other.pageReadAhead;
       this.dropMessagesWhenFull = other.dropMessagesWhenFull;
       this.maxDeliveryAttempts = other.maxDeliveryAttempts;
       this.messageCounterHistoryDayLimit = other.messageCounterHistoryDayLimit;
@@ -528,6 +538,24 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       return this;
    }
 
+   public long getPageCacheMaxBytes() {
+      return pageMaxCacheBytes != null ? pageMaxCacheBytes : AddressSettings.DEFAULT_PAGE_MAX_CACHE_BYTES;
+   }
+
+   public AddressSettings setPageCacheMaxBytes(final long pageMaxCacheBytes) {
+      this.pageMaxCacheBytes = pageMaxCacheBytes;
+      return this;
+   }
+
+   public int getPageReadAhead() {
+      return pageReadAhead != null ? pageReadAhead : AddressSettings.DEFAULT_PAGE_READ_AHEAD;
+   }
+
+   public AddressSettings setPageReadAhead(final int pageReadAhead) {
+      this.pageReadAhead = pageReadAhead;
+      return this;
+   }
+
    public long getMaxSizeBytes() {
       return maxSizeBytes != null ? maxSizeBytes : AddressSettings.DEFAULT_MAX_SIZE_BYTES;
    }
@@ -933,6 +961,12 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (retroactiveMessageCount == null) {
          retroactiveMessageCount = merged.retroactiveMessageCount;
       }
+      if (pageReadAhead == null) {
+         pageReadAhead = merged.pageReadAhead;
+      }
+      if (pageMaxCacheBytes == null) {
+         pageMaxCacheBytes = merged.pageMaxCacheBytes;
+      }
    }
 
    @Override
@@ -1105,6 +1139,14 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (buffer.readableBytes() > 0) {
          retroactiveMessageCount = BufferHelper.readNullableLong(buffer);
       }
+
+      if (buffer.readableBytes() > 0) {
+         pageReadAhead = BufferHelper.readNullableInteger(buffer);
+      }
+
+      if (buffer.readableBytes() > 0) {
+         pageMaxCacheBytes = BufferHelper.readNullableLong(buffer);
+      }
    }
 
    @Override
@@ -1158,7 +1200,9 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          BufferHelper.sizeOfNullableLong(autoDeleteQueuesMessageCount) +
          BufferHelper.sizeOfNullableBoolean(autoDeleteCreatedQueues) +
          BufferHelper.sizeOfNullableLong(defaultRingSize) +
-         BufferHelper.sizeOfNullableLong(retroactiveMessageCount);
+         BufferHelper.sizeOfNullableLong(retroactiveMessageCount) +
+         BufferHelper.sizeOfNullableInteger(pageReadAhead) +
+         BufferHelper.sizeOfNullableLong(pageMaxCacheBytes);
    }
 
    @Override
@@ -1264,6 +1308,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       buffer.writeNullableSimpleString(defaultGroupFirstKey);
 
       BufferHelper.writeNullableLong(buffer, retroactiveMessageCount);
+
+      BufferHelper.writeNullableInteger(buffer, pageReadAhead);
+
+      BufferHelper.writeNullableLong(buffer, pageMaxCacheBytes);
    }
 
    /* (non-Javadoc)
@@ -1325,6 +1373,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       result = prime * result + ((defaultGroupFirstKey == null) ? 0 : defaultGroupFirstKey.hashCode());
       result = prime * result + ((defaultRingSize == null) ? 0 : defaultRingSize.hashCode());
       result = prime * result + ((retroactiveMessageCount == null) ? 0 : retroactiveMessageCount.hashCode());
+      result = prime * result + ((pageReadAhead == null) ? 0 : pageReadAhead.hashCode());
+      result = prime * result + ((pageMaxCacheBytes == null) ? 0 : pageMaxCacheBytes.hashCode());
       return result;
    }
 
@@ -1613,6 +1663,18 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
             return false;
       } else if (!retroactiveMessageCount.equals(other.retroactiveMessageCount))
          return false;
+
+      if (pageReadAhead == null) {
+         if (other.pageReadAhead != null)
+            return false;
+      } else if (!pageReadAhead.equals(other.pageReadAhead))
+         return false;
+
+      if (pageMaxCacheBytes == null) {
+         if (other.pageMaxCacheBytes != null)
+            return false;
+      } else if (!pageMaxCacheBytes.equals(other.pageMaxCacheBytes))
+         return false;
       return true;
    }
 
@@ -1650,6 +1712,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          pageSizeBytes +
          ", pageMaxCache=" +
          pageMaxCache +
+         ", pageMaxCacheBytes=" +
+         pageMaxCacheBytes +
+         ", pageReadAhead=" +
+         pageReadAhead +
          ", redeliveryDelay=" +
          redeliveryDelay +
          ", redeliveryMultiplier=" +
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.spi.core.protocol;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.server.MessageReference;
@@ -80,6 +81,26 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * @return {@code true} if the chunks of the large messages can be sent with
+    * {@link #sendLargeMessageContinuation(ServerConsumer, FileRegion, boolean)}
+    */
+   default boolean supportsFileRegion() {
+      return false;
+   }
+
+   /**
+    * It sends a chunk of the body of a large message straight from its file, without reading it in memory.
+    * The region is released once written or if it can't be sent.
+    *
+    * @return the size of the sent packet or {@code -1} if not supported: the chunk must be sent with
+    * {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)}
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumer, FileRegion body, boolean continues) {
+      body.release();
+      return -1;
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, SimpleString queueName);
@@ -38,6 +38,10 @@ public class DefaultsFileConfigurationTest extends ConfigurationImplTest {
 
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultSecurityInvalidationInterval(), conf.getSecurityInvalidationInterval());
 
+      Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultAuthenticationCacheSize(), conf.getAuthenticationCacheSize());
+
+      Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultAuthorizationCacheSize(), conf.getAuthorizationCacheSize());
+
       Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultSecurityEnabled(), conf.isSecurityEnabled());
 
       Assert.assertEquals(ActiveMQDefaultConfiguration.isDefaultJmxManagementEnabled(), conf.isJMXManagementEnabled());
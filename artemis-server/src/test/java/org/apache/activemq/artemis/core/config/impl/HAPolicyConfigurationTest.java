@@ -139,6 +139,9 @@ public class HAPolicyConfigurationTest extends ActiveMQTestBase {
          assertTrue(replicatedPolicy.isCheckForLiveServer());
          assertEquals(replicatedPolicy.getClusterName(), "abcdefg");
          assertEquals(replicatedPolicy.getInitialReplicationSyncTimeout(), 9876);
+         assertEquals(replicatedPolicy.getReplicationBatchSize(), 64 * 1024);
+         assertEquals(replicatedPolicy.getReplicationBatchDelay(), 3);
+         assertEquals(replicatedPolicy.getInitialReplicationSyncConcurrency(), 4);
          assertEquals(replicatedPolicy.getRetryReplicationWait(), 12345);
       } finally {
          server.stop();
@@ -162,6 +165,9 @@ public class HAPolicyConfigurationTest extends ActiveMQTestBase {
          assertFalse(replicaPolicy.isRestartBackup());
          assertTrue(replicaPolicy.isAllowFailback());
          assertEquals(replicaPolicy.getInitialReplicationSyncTimeout(), 9876);
+         assertEquals(replicaPolicy.getReplicationBatchSize(), 64 * 1024);
+         assertEquals(replicaPolicy.getReplicationBatchDelay(), 3);
+         assertEquals(replicaPolicy.getInitialReplicationSyncConcurrency(), 4);
          assertEquals(replicaPolicy.getRetryReplicationWait(), 12345);
          ScaleDownPolicy scaleDownPolicy = replicaPolicy.getScaleDownPolicy();
          assertNotNull(scaleDownPolicy);
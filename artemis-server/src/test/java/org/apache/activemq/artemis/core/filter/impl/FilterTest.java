@@ -16,6 +16,14 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInvalidFilterExpressionException;
 import org.apache.activemq.artemis.api.core.Message;
@@ -63,6 +71,42 @@ public class FilterTest extends SilentTestCase {
       Assert.assertFalse(filter.match(message));
    }
 
+   @Test
+   public void testConcurrentMatch() throws Exception {
+      filter = FilterImpl.createFilter(new SimpleString("color = 'RED' AND weight > 10"));
+
+      final int threads = 4;
+      final Message[] messages = new Message[threads];
+      for (int i = 0; i < threads; i++) {
+         messages[i] = new CoreMessage().initBuffer(1024).setMessageID(i);
+         messages[i].putStringProperty(new SimpleString("color"), new SimpleString((i & 1) == 0 ? "RED" : "BLUE"));
+         messages[i].putIntProperty(new SimpleString("weight"), 11);
+      }
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+         final CyclicBarrier barrier = new CyclicBarrier(threads);
+         final List<Future<Boolean>> results = new ArrayList<>();
+         for (int i = 0; i < threads; i++) {
+            final Message threadMessage = messages[i];
+            final boolean expected = (i & 1) == 0;
+            results.add(executor.submit(() -> {
+               barrier.await();
+               for (int j = 0; j < 10_000; j++) {
+                  if (filter.match(threadMessage) != expected) {
+                     return false;
+                  }
+               }
+               return true;
+            }));
+         }
+         for (Future<Boolean> result : results) {
+            Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
    @Test
    public void testInvalidString() throws Exception {
       testInvalidFilter("color = 'red");
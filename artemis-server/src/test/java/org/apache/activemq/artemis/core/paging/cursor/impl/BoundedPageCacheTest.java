@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.cursor.impl;
+
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.cursor.PageCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BoundedPageCacheTest {
+
+   @Test
+   public void shouldEvictLeastRecentlyUsedPages() {
+      final BoundedPageCache cache = new BoundedPageCache(2, -1);
+      cache.put(pageCache(1, 10, false));
+      cache.put(pageCache(2, 10, false));
+      Assert.assertNotNull(cache.get(1));
+      cache.put(pageCache(3, 10, false));
+
+      Assert.assertEquals(2, cache.size());
+      Assert.assertNotNull(cache.get(1));
+      Assert.assertNull(cache.get(2));
+      Assert.assertNotNull(cache.get(3));
+      Assert.assertEquals(1, cache.getEvictions());
+      Assert.assertEquals(20, cache.getSizeBytes());
+   }
+
+   @Test
+   public void shouldEvictInOrderOfUse() {
+      final BoundedPageCache cache = new BoundedPageCache(3, -1);
+      cache.put(pageCache(1, 10, false));
+      cache.put(pageCache(2, 10, false));
+      cache.put(pageCache(3, 10, false));
+      Assert.assertNotNull(cache.get(2));
+      Assert.assertNotNull(cache.get(1));
+      cache.put(pageCache(4, 10, false));
+      Assert.assertNull(cache.get(3));
+
+      cache.put(pageCache(5, 10, false));
+      Assert.assertNull(cache.get(2));
+
+      cache.put(pageCache(6, 10, false));
+      Assert.assertNull(cache.get(1));
+      Assert.assertNotNull(cache.get(4));
+      Assert.assertNotNull(cache.get(5));
+      Assert.assertNotNull(cache.get(6));
+      Assert.assertEquals(3, cache.getEvictions());
+      Assert.assertEquals(30, cache.getSizeBytes());
+   }
+
+   @Test
+   public void shouldEvictBeyondMaxBytes() {
+      final BoundedPageCache cache = new BoundedPageCache(0, 25);
+      cache.put(pageCache(1, 10, false));
+      cache.put(pageCache(2, 10, false));
+      Assert.assertEquals(20, cache.getSizeBytes());
+      cache.put(pageCache(3, 10, false));
+
+      Assert.assertEquals(2, cache.size());
+      Assert.assertNull(cache.get(1));
+      Assert.assertEquals(20, cache.getSizeBytes());
+
+      // the page just added is kept, despite exceeding the limit on its own
+      cache.put(pageCache(4, 100, false));
+      Assert.assertEquals(1, cache.size());
+      Assert.assertNotNull(cache.get(4));
+      Assert.assertEquals(100, cache.getSizeBytes());
+      Assert.assertEquals(3, cache.getEvictions());
+   }
+
+   @Test
+   public void shouldNeverEvictLivePages() {
+      final BoundedPageCache cache = new BoundedPageCache(1, -1);
+      final PageCache livePage = pageCache(1, 10, true);
+      cache.put(livePage);
+      cache.put(pageCache(2, 10, false));
+      cache.put(pageCache(3, 10, false));
+
+      Assert.assertEquals(2, cache.size());
+      Assert.assertNotNull(cache.get(1));
+      Assert.assertNotNull(cache.get(3));
+      // live pages aren't accounted
+      Assert.assertEquals(10, cache.getSizeBytes());
+
+      when(livePage.isLive()).thenReturn(false);
+      cache.setMaxElements(1);
+      Assert.assertEquals(1, cache.size());
+      Assert.assertEquals(10, cache.getSizeBytes());
+   }
+
+   @Test
+   public void shouldAccountReplacedPages() {
+      final BoundedPageCache cache = new BoundedPageCache(0, 100);
+      cache.put(pageCache(1, 10, false));
+      cache.put(pageCache(1, 30, false));
+      Assert.assertEquals(1, cache.size());
+      Assert.assertEquals(30, cache.getSizeBytes());
+
+      cache.setMaxBytes(-1);
+      Assert.assertEquals(30, cache.getSizeBytes());
+      cache.setMaxBytes(20);
+      Assert.assertEquals(0, cache.size());
+      Assert.assertEquals(0, cache.getSizeBytes());
+      Assert.assertEquals(1, cache.getEvictions());
+   }
+
+   @Test
+   public void shouldAccountRemovedPages() {
+      final BoundedPageCache cache = new BoundedPageCache(5, 100);
+      cache.put(pageCache(1, 10, false));
+      cache.put(pageCache(2, 10, false));
+      Assert.assertNotNull(cache.remove(1));
+      Assert.assertNull(cache.remove(1));
+      Assert.assertEquals(10, cache.getSizeBytes());
+      cache.clear();
+      Assert.assertEquals(0, cache.size());
+      Assert.assertEquals(0, cache.getSizeBytes());
+   }
+
+   private static PageCache pageCache(long pageId, int messageSize, boolean live) {
+      final PagedMessage message = mock(PagedMessage.class);
+      when(message.getEncodeSize()).thenReturn(messageSize);
+      final PageCache pageCache = mock(PageCache.class);
+      when(pageCache.getPageId()).thenReturn(pageId);
+      when(pageCache.isLive()).thenReturn(live);
+      when(pageCache.getMessages()).thenReturn(new PagedMessage[]{message});
+      return pageCache;
+   }
+}
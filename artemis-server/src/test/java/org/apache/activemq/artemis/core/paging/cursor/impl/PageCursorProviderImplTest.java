@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.paging.cursor.PageCache;
+import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.paging.impl.Page;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
@@ -31,6 +32,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PageCursorProviderImplTest {
@@ -74,6 +78,79 @@ public class PageCursorProviderImplTest {
       }
    }
 
+   @Test(timeout = 30_000)
+   public void shouldReadAheadNextPages() throws Exception {
+      final PagingStore pagingStore = mock(PagingStore.class);
+      final StorageManager storageManager = mock(StorageManager.class);
+      when(storageManager.beforePageRead(anyLong(), any(TimeUnit.class))).thenReturn(true);
+      final int pages = 5;
+      final ArtemisExecutor artemisExecutor = ArtemisExecutor.delegate(Runnable::run);
+      final PageCursorProviderImpl pageCursorProvider = new PageCursorProviderImpl(pagingStore, storageManager, artemisExecutor, 3);
+      pageCursorProvider.setReadAheadPages(5);
+      when(pagingStore.getCurrentWritingPage()).thenReturn(pages);
+      when(pagingStore.checkPageFileExists(anyInt())).thenReturn(true);
+      final Page[] page = new Page[pages + 1];
+      for (int i = 1; i <= pages; i++) {
+         page[i] = mock(Page.class);
+         when(page[i].getPageId()).thenReturn(i);
+         when(page[i].read(storageManager)).thenReturn(emptyList());
+         when(pagingStore.createPage(i)).thenReturn(page[i]);
+      }
+
+      final PageSubscription subscription = mock(PageSubscription.class);
+      when(subscription.getId()).thenReturn(1L);
+
+      Assert.assertNotNull(pageCursorProvider.getPageCache(1, subscription));
+      // the cache can hold 3 pages: the one being read and 2 pages ahead
+      verify(page[2]).read(storageManager);
+      verify(page[3]).read(storageManager);
+      verify(page[4], never()).read(storageManager);
+      Assert.assertEquals(3, pageCursorProvider.getCacheSize());
+
+      Assert.assertNotNull(pageCursorProvider.getPageCache(2, subscription));
+      Assert.assertNotNull(pageCursorProvider.getPageCache(3, subscription));
+      verify(page[2]).read(storageManager);
+      verify(page[3]).read(storageManager);
+      verify(page[4]).read(storageManager);
+      // the current writing page isn't read ahead
+      verify(page[5], never()).read(storageManager);
+      pageCursorProvider.stop();
+   }
+
+   @Test(timeout = 30_000)
+   public void shouldReadAheadForLaggingSubscription() throws Exception {
+      final PagingStore pagingStore = mock(PagingStore.class);
+      final StorageManager storageManager = mock(StorageManager.class);
+      when(storageManager.beforePageRead(anyLong(), any(TimeUnit.class))).thenReturn(true);
+      final int pages = 7;
+      final ArtemisExecutor artemisExecutor = ArtemisExecutor.delegate(Runnable::run);
+      final PageCursorProviderImpl pageCursorProvider = new PageCursorProviderImpl(pagingStore, storageManager, artemisExecutor, 3);
+      pageCursorProvider.setReadAheadPages(2);
+      when(pagingStore.getCurrentWritingPage()).thenReturn(pages);
+      when(pagingStore.checkPageFileExists(anyInt())).thenReturn(true);
+      final Page[] page = new Page[pages + 1];
+      for (int i = 1; i <= pages; i++) {
+         page[i] = mock(Page.class);
+         when(page[i].getPageId()).thenReturn(i);
+         when(page[i].read(storageManager)).thenReturn(emptyList());
+         when(pagingStore.createPage(i)).thenReturn(page[i]);
+      }
+      final PageSubscription fast = mock(PageSubscription.class);
+      when(fast.getId()).thenReturn(1L);
+      final PageSubscription lagging = mock(PageSubscription.class);
+      when(lagging.getId()).thenReturn(2L);
+
+      for (int i = 1; i <= 4; i++) {
+         Assert.assertNotNull(pageCursorProvider.getPageCache(i, fast));
+      }
+      verify(page[6]).read(storageManager);
+      // pages 2 and 3 have been evicted by the ones read ahead of the fast subscription
+      Assert.assertNotNull(pageCursorProvider.getPageCache(1, lagging));
+      verify(page[2], times(2)).read(storageManager);
+      verify(page[3], times(2)).read(storageManager);
+      pageCursorProvider.stop();
+   }
+
    @Test(timeout = 30_000)
    public void returnPageCacheImplIfEvicted() throws Exception {
       returnCacheIfEvicted(true);
@@ -109,6 +186,10 @@ public class PageCursorProviderImplTest {
       }
       Assert.assertEquals(pageCursorProvider.getCacheSize(), 1);
       Assert.assertTrue(pageCursorProvider.getPageCache(2) instanceof PageCacheImpl);
+      // a PageReader isn't cached, hence it doesn't evict anything
+      Assert.assertEquals(readWholePage ? 0 : 1, pageCursorProvider.getCacheHits());
+      Assert.assertEquals(readWholePage ? 4 : 3, pageCursorProvider.getCacheMisses());
+      Assert.assertEquals(readWholePage ? 3 : 1, pageCursorProvider.getCacheEvictions());
       pageCursorProvider.stop();
    }
 }
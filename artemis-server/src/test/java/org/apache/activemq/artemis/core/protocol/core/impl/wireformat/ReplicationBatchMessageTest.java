@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.ServerPacketDecoder;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReplicationBatchMessageTest {
+
+   @Test
+   public void testEncodeDecode() {
+      final ReplicationBatchMessage batch = new ReplicationBatchMessage();
+      batch.addPacket(new ReplicationDeleteMessage((byte) 1, 10));
+      batch.addPacket(new ReplicationLargeMessageWriteMessage(20, new byte[]{1, 2, 3}));
+      batch.addPacket(new ReplicationCommitMessage((byte) 0, true, 30));
+      batch.setChannelID(2);
+
+      final ActiveMQBuffer buffer = batch.encode(null);
+      Assert.assertEquals(buffer.readableBytes() - 4, buffer.readInt());
+
+      final Packet packet = new ServerPacketDecoder().decode(buffer, null);
+      Assert.assertEquals(0, buffer.readableBytes());
+      Assert.assertEquals(PacketImpl.REPLICATION_BATCH, packet.getType());
+      Assert.assertEquals(2, packet.getChannelID());
+
+      final List<Packet> packets = ((ReplicationBatchMessage) packet).getPackets();
+      Assert.assertEquals(3, packets.size());
+
+      final ReplicationDeleteMessage delete = (ReplicationDeleteMessage) packets.get(0);
+      Assert.assertEquals(1, delete.getJournalID());
+      Assert.assertEquals(10, delete.getId());
+
+      final ReplicationLargeMessageWriteMessage write = (ReplicationLargeMessageWriteMessage) packets.get(1);
+      Assert.assertEquals(20, write.getMessageId());
+      Assert.assertArrayEquals(new byte[]{1, 2, 3}, write.getBody());
+
+      final ReplicationCommitMessage commit = (ReplicationCommitMessage) packets.get(2);
+      Assert.assertEquals(0, commit.getJournalID());
+      Assert.assertTrue(commit.isRollback());
+      Assert.assertEquals(30, commit.getTxId());
+   }
+
+   @Test
+   public void testOnlyOperationsBatchable() {
+      Assert.assertTrue(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_APPEND));
+      Assert.assertTrue(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_PAGE_WRITE));
+      Assert.assertTrue(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_LARGE_MESSAGE_END));
+      Assert.assertFalse(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_SYNC_FILE));
+      Assert.assertFalse(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_START_FINISH_SYNC));
+      Assert.assertFalse(ReplicationBatchMessage.isBatchable(PacketImpl.REPLICATION_SCHEDULED_FAILOVER));
+   }
+}
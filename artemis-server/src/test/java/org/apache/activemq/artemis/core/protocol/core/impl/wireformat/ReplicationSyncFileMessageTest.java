@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.impl.journal.AbstractJournalStorageManager.JournalContent;
+import org.apache.activemq.artemis.core.protocol.ServerPacketDecoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReplicationSyncFileMessageTest {
+
+   @Test
+   public void testEncodeDecodeData() {
+      final ByteBuf data = Unpooled.buffer(8).writeBytes(new byte[]{1, 2, 3});
+      final ReplicationSyncFileMessage decoded = encodeDecode(new ReplicationSyncFileMessage(JournalContent.MESSAGES, null, 10, 3, data));
+      Assert.assertEquals(ReplicationSyncFileMessage.FileType.JOURNAL, decoded.getFileType());
+      Assert.assertEquals(JournalContent.MESSAGES, decoded.getJournalContent());
+      Assert.assertEquals(10, decoded.getId());
+      Assert.assertArrayEquals(new byte[]{1, 2, 3}, decoded.getData());
+      Assert.assertEquals(-1, decoded.getChecksum());
+   }
+
+   @Test
+   public void testEncodeDecodeChecksum() {
+      final ReplicationSyncFileMessage decoded = encodeDecode(new ReplicationSyncFileMessage(null, SimpleString.toSimpleString("store"), 20, 0xCAFEL));
+      Assert.assertEquals(ReplicationSyncFileMessage.FileType.PAGE, decoded.getFileType());
+      Assert.assertEquals(SimpleString.toSimpleString("store"), decoded.getPageStore());
+      Assert.assertEquals(20, decoded.getId());
+      Assert.assertNull(decoded.getData());
+      Assert.assertEquals(0xCAFEL, decoded.getChecksum());
+   }
+
+   private static ReplicationSyncFileMessage encodeDecode(ReplicationSyncFileMessage message) {
+      final ActiveMQBuffer buffer = message.encode(null);
+      Assert.assertEquals(buffer.readableBytes() - 4, buffer.readInt());
+      final ReplicationSyncFileMessage decoded = (ReplicationSyncFileMessage) new ServerPacketDecoder().decode(buffer, null);
+      Assert.assertEquals(0, buffer.readableBytes());
+      return decoded;
+   }
+}
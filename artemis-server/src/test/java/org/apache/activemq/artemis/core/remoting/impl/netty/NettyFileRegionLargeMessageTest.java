@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NettyFileRegionLargeMessageTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.toSimpleString("largeQueue");
+
+   private static final int CHUNK_SIZE = 100 * 1024;
+
+   private ActiveMQServer server;
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      super.setUp();
+      final Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.ZERO_COPY_LARGE_MESSAGES, true);
+      final Configuration configuration = createBasicConfig().addAcceptorConfiguration(new TransportConfiguration(NETTY_ACCEPTOR_FACTORY, params));
+      server = createServer(true, configuration);
+      server.start();
+      server.createQueue(QUEUE, RoutingType.ANYCAST, QUEUE, null, true, false);
+   }
+
+   @Test
+   public void testReceiveLargeMessages() throws Exception {
+      internalReceiveLargeMessages(1024 * 1024);
+   }
+
+   @Test
+   public void testReceiveLargeMessagesWithFlowControl() throws Exception {
+      // fewer credits than a message: the chunks are sent as the client acknowledges the previous ones
+      internalReceiveLargeMessages(CHUNK_SIZE * 2);
+   }
+
+   private void internalReceiveLargeMessages(int consumerWindowSize) throws Exception {
+      final int[] bodySizes = {CHUNK_SIZE * 10, CHUNK_SIZE * 10 + 123, CHUNK_SIZE + 1};
+
+      final ServerLocator locator = addServerLocator(createNettyNonHALocator()).setMinLargeMessageSize(CHUNK_SIZE).setConsumerWindowSize(consumerWindowSize);
+      final ClientSessionFactory sf = createSessionFactory(locator);
+      final ClientSession session = addClientSession(sf.createSession(false, true, true));
+
+      final ClientProducer producer = session.createProducer(QUEUE);
+      for (int bodySize : bodySizes) {
+         final ClientMessage message = session.createMessage(true);
+         message.setBodyInputStream(createFakeLargeStream(bodySize));
+         producer.send(message);
+      }
+
+      for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+         assertTrue(connection.getTransportConnection().isFileRegionSupported());
+      }
+
+      final ClientConsumer consumer = session.createConsumer(QUEUE);
+      session.start();
+      for (int bodySize : bodySizes) {
+         final ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         assertTrue(message.isLargeMessage());
+         assertEquals(bodySize, message.getBodySize());
+         final ActiveMQBuffer body = message.getBodyBuffer();
+         for (int i = 0; i < bodySize; i++) {
+            assertEquals(getSamplebyte(i), body.readByte());
+         }
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+      session.close();
+   }
+}
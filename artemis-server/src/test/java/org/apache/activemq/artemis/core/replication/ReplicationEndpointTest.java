@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.replication;
+
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationSyncFileMessage;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ReplicationEndpointTest {
+
+   @Test
+   public void testCorruptedSyncFileFailsSynchronization() {
+      final Channel channel = mock(Channel.class);
+      final ReplicationEndpoint endpoint = new ReplicationEndpoint(null, null, false, null);
+      endpoint.setChannel(channel);
+      endpoint.resume();
+
+      // no chunk of the file was received, so its checksum can't match
+      endpoint.handlePacket(new ReplicationSyncFileMessage(null, SimpleString.toSimpleString("store"), 1, 0xCAFEL));
+      endpoint.handlePacket(new ReplicationStartSyncMessage("node"));
+
+      final ArgumentCaptor<Packet> sent = ArgumentCaptor.forClass(Packet.class);
+      verify(channel, times(2)).send(sent.capture());
+      final List<Packet> responses = sent.getAllValues();
+      Assert.assertEquals(PacketImpl.REPLICATION_RESPONSE_V2, responses.get(1).getType());
+      final ReplicationResponseMessageV2 response = (ReplicationResponseMessageV2) responses.get(1);
+      Assert.assertTrue(response.isSynchronizationFailed());
+      Assert.assertFalse(response.isSynchronizationIsFinishedAcknowledgement());
+   }
+}
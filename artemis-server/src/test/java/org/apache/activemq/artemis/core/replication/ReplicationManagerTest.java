@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.replication;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.persistence.OperationContext;
+import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
+import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.ChannelHandler;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationBatchResponseMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLiveIsStoppingMessage.LiveStopping;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutorFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReplicationManagerTest {
+
+   private static final long SYNC_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+   private static final int DELETE_SIZE = new ReplicationDeleteMessage((byte) 0, 0).expectedEncodeSize();
+
+   private static final long BATCH_DELAY = 100;
+
+   private ExecutorService executor;
+
+   // the replication stream of the batching tests, run by hand
+   private final Queue<Runnable> replicationTasks = new ConcurrentLinkedQueue<>();
+
+   // the delayed batches, run by hand too
+   private final Queue<Runnable> delayedTasks = new ConcurrentLinkedQueue<>();
+
+   private ScheduledExecutorService scheduledExecutor;
+
+   private CoreRemotingConnection connection;
+
+   private Channel channel;
+
+   private ReplicationManager manager;
+
+   private ChannelHandler responseHandler;
+
+   @Before
+   public void setUp() throws Exception {
+      executor = Executors.newCachedThreadPool();
+      scheduledExecutor = new ScheduledThreadPoolExecutor(1) {
+         @Override
+         public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            Assert.assertEquals(BATCH_DELAY, unit.toMillis(delay));
+            delayedTasks.add(command);
+            return null;
+         }
+      };
+      connection = mock(CoreRemotingConnection.class);
+      channel = mock(Channel.class);
+      when(connection.getChannel(anyLong(), anyInt())).thenReturn(channel);
+      when(connection.blockUntilWritable(anyInt(), anyLong())).thenReturn(true);
+      when(connection.getTransportConnection()).thenReturn(mock(Connection.class));
+      when(channel.getConnection()).thenReturn(connection);
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      OperationContextImpl.clearContext();
+      if (manager != null) {
+         manager.stop();
+      }
+      executor.shutdownNow();
+      scheduledExecutor.shutdownNow();
+   }
+
+   @Test
+   public void testSynchronizationAcknowledged() throws Exception {
+      start(0, 0, new OrderedExecutorFactory(executor));
+      final Future<?> synchronizationDone = sendSynchronizationDone();
+      responseHandler.handlePacket(new ReplicationResponseMessageV2(true));
+      synchronizationDone.get(10, TimeUnit.SECONDS);
+   }
+
+   @Test
+   public void testSynchronizationFailedByBackup() throws Exception {
+      start(0, 0, new OrderedExecutorFactory(executor));
+      final Future<?> synchronizationDone = sendSynchronizationDone();
+      responseHandler.handlePacket(new ReplicationResponseMessageV2().setSynchronizationFailed(true));
+      assertSynchronizationFailed(synchronizationDone);
+   }
+
+   @Test
+   public void testStopReleasesSynchronization() throws Exception {
+      start(0, 0, new OrderedExecutorFactory(executor));
+      final Future<?> synchronizationDone = sendSynchronizationDone();
+      manager.stop();
+      assertSynchronizationFailed(synchronizationDone);
+   }
+
+   @Test
+   public void testBatchSentWhenStreamDrains() throws Exception {
+      startBatching(1024, 0);
+      final OperationContext first = delete(1);
+      final OperationContext second = delete(2);
+      final OperationContext third = delete(3);
+      runReplicationTasks();
+
+      final List<Packet> sent = sentPackets(1);
+      Assert.assertEquals(PacketImpl.REPLICATION_BATCH, sent.get(0).getType());
+      Assert.assertEquals(3, ((ReplicationBatchMessage) sent.get(0)).getPackets().size());
+      Assert.assertFalse(isDone(first));
+
+      responseHandler.handlePacket(new ReplicationBatchResponseMessage(3));
+      Assert.assertTrue(isDone(first));
+      Assert.assertTrue(isDone(second));
+      Assert.assertTrue(isDone(third));
+   }
+
+   @Test
+   public void testBatchSplitWhenFull() throws Exception {
+      startBatching(new ReplicationBatchMessage().expectedEncodeSize() + 2 * DELETE_SIZE, 0);
+      final OperationContext first = delete(1);
+      final OperationContext second = delete(2);
+      final OperationContext third = delete(3);
+      runReplicationTasks();
+
+      final List<Packet> sent = sentPackets(2);
+      Assert.assertEquals(2, ((ReplicationBatchMessage) sent.get(0)).getPackets().size());
+      // a single operation is sent on its own
+      Assert.assertEquals(PacketImpl.REPLICATION_DELETE, sent.get(1).getType());
+
+      responseHandler.handlePacket(new ReplicationBatchResponseMessage(2));
+      Assert.assertTrue(isDone(first));
+      Assert.assertTrue(isDone(second));
+      Assert.assertFalse(isDone(third));
+
+      responseHandler.handlePacket(new ReplicationResponseMessage());
+      Assert.assertTrue(isDone(third));
+   }
+
+   @Test
+   public void testDelayedBatch() throws Exception {
+      startBatching(1024, BATCH_DELAY);
+      delete(1);
+      runReplicationTasks();
+      delete(2);
+      runReplicationTasks();
+      verify(channel, never()).send(any(Packet.class));
+
+      runDelayedBatch();
+
+      final List<Packet> sent = sentPackets(1);
+      Assert.assertEquals(2, ((ReplicationBatchMessage) sent.get(0)).getPackets().size());
+   }
+
+   @Test
+   public void testBatchSentBeforeOtherPackets() throws Exception {
+      startBatching(1024, BATCH_DELAY);
+      final OperationContext deleted = delete(1);
+      newContext();
+      manager.sendLargeMessageIdListMessage(Collections.emptyMap());
+      delete(2);
+      final OperationContext stopping = newContext();
+      manager.sendLiveIsStopping(LiveStopping.FAIL_OVER);
+      runReplicationTasks();
+
+      final List<Packet> sent = sentPackets(4);
+      Assert.assertEquals(PacketImpl.REPLICATION_DELETE, sent.get(0).getType());
+      Assert.assertEquals(PacketImpl.REPLICATION_START_FINISH_SYNC, sent.get(1).getType());
+      Assert.assertEquals(PacketImpl.REPLICATION_DELETE, sent.get(2).getType());
+      Assert.assertEquals(PacketImpl.REPLICATION_SCHEDULED_FAILOVER, sent.get(3).getType());
+
+      // the responses complete the tokens in the order the packets were sent
+      responseHandler.handlePacket(new ReplicationResponseMessage());
+      Assert.assertTrue(isDone(deleted));
+      responseHandler.handlePacket(new ReplicationResponseMessageV2());
+      responseHandler.handlePacket(new ReplicationResponseMessage());
+      Assert.assertFalse(isDone(stopping));
+      responseHandler.handlePacket(new ReplicationResponseMessage());
+      Assert.assertTrue(isDone(stopping));
+   }
+
+   @Test
+   public void testBatchReleasedWhenDisabled() throws Exception {
+      startBatching(1024, BATCH_DELAY);
+      final OperationContext first = delete(1);
+      final OperationContext second = delete(2);
+      runReplicationTasks();
+
+      // the tokens aren't cleared, as when the live is stopping
+      manager.stop(false);
+      runDelayedBatch();
+
+      verify(channel, never()).send(any(Packet.class));
+      Assert.assertTrue(isDone(first));
+      Assert.assertTrue(isDone(second));
+   }
+
+   private void start(int batchSize, long batchDelay, ExecutorFactory executorFactory) throws Exception {
+      final ActiveMQServer server = mock(ActiveMQServer.class);
+      when(server.getScheduledPool()).thenReturn(scheduledExecutor);
+      manager = new ReplicationManager(server, connection, 30_000, SYNC_TIMEOUT, batchSize, batchDelay, 1, executorFactory);
+      manager.start();
+      final ArgumentCaptor<ChannelHandler> handler = ArgumentCaptor.forClass(ChannelHandler.class);
+      verify(channel).setHandler(handler.capture());
+      responseHandler = handler.getValue();
+   }
+
+   private void startBatching(int batchSize, long batchDelay) throws Exception {
+      start(batchSize, batchDelay, () -> ArtemisExecutor.delegate(replicationTasks::add));
+   }
+
+   private void runReplicationTasks() {
+      Runnable task;
+      while ((task = replicationTasks.poll()) != null) {
+         task.run();
+      }
+   }
+
+   private void runDelayedBatch() {
+      Assert.assertEquals(1, delayedTasks.size());
+      delayedTasks.poll().run();
+      runReplicationTasks();
+   }
+
+   private OperationContext delete(long id) throws Exception {
+      final OperationContext context = newContext();
+      manager.appendDeleteRecord((byte) 0, id);
+      return context;
+   }
+
+   private static OperationContext newContext() {
+      final OperationContext context = new OperationContextImpl(Runnable::run);
+      OperationContextImpl.setContext(context);
+      return context;
+   }
+
+   private List<Packet> sentPackets(int count) {
+      final ArgumentCaptor<Packet> sent = ArgumentCaptor.forClass(Packet.class);
+      verify(channel, times(count)).send(sent.capture());
+      return sent.getAllValues();
+   }
+
+   private static boolean isDone(OperationContext context) {
+      final AtomicBoolean done = new AtomicBoolean();
+      context.executeOnCompletion(new IOCallback() {
+         @Override
+         public void done() {
+            done.set(true);
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      });
+      return done.get();
+   }
+
+   private Future<?> sendSynchronizationDone() {
+      final Future<?> synchronizationDone = executor.submit(() -> {
+         manager.sendSynchronizationDone("node", SYNC_TIMEOUT, null);
+         return null;
+      });
+      verify(channel, timeout(10_000)).send(any(ReplicationStartSyncMessage.class));
+      return synchronizationDone;
+   }
+
+   private static void assertSynchronizationFailed(Future<?> synchronizationDone) throws Exception {
+      try {
+         // well before the synchronization timeout
+         synchronizationDone.get(10, TimeUnit.SECONDS);
+         Assert.fail("the synchronization shouldn't have succeeded");
+      } catch (ExecutionException e) {
+         Assert.assertTrue(e.getCause().toString(), e.getCause() instanceof ActiveMQIllegalStateException);
+      }
+   }
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.security.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQSecurityException;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.security.CheckType;
+import org.apache.activemq.artemis.core.security.Role;
+import org.apache.activemq.artemis.core.security.SecurityAuth;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager;
+import org.apache.activemq.artemis.spi.core.security.ActiveMQSecurityManager3;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class SecurityStoreImplTest {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("orders.eu");
+
+   private final HierarchicalObjectRepository<Set<Role>> securityRepository = new HierarchicalObjectRepository<>();
+
+   private final AtomicInteger authentications = new AtomicInteger();
+
+   private final AtomicInteger authorizations = new AtomicInteger();
+
+   // it makes the security manager deny any authorization, as on a failure of its backend
+   private volatile boolean authorizationFailure;
+
+   private final ActiveMQSecurityManager securityManager = new ActiveMQSecurityManager() {
+      @Override
+      public boolean validateUser(String user, String password) {
+         authentications.incrementAndGet();
+         return "secret".equals(password);
+      }
+
+      @Override
+      public boolean validateUserAndRole(String user, String password, Set<Role> roles, CheckType checkType) {
+         authorizations.incrementAndGet();
+         return !authorizationFailure && roles != null && roles.stream().anyMatch(checkType::hasRole);
+      }
+   };
+
+   private final SecurityAuth session = new SecurityAuth() {
+      @Override
+      public String getUsername() {
+         return "user";
+      }
+
+      @Override
+      public String getPassword() {
+         return "secret";
+      }
+
+      @Override
+      public RemotingConnection getRemotingConnection() {
+         return null;
+      }
+   };
+
+   @Before
+   public void setUp() {
+      securityRepository.addMatch("orders.#", roles(true));
+      securityRepository.addMatch("invoices.#", roles(true));
+   }
+
+   @Test
+   public void testAuthorizationCached() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Assert.assertEquals(1, authorizations.get());
+      Assert.assertEquals(0.5, securityStore.getAuthorizationCacheHitRatio(), 0);
+
+      securityStore.check(ADDRESS, CheckType.CONSUME, session);
+      Assert.assertEquals(2, authorizations.get());
+   }
+
+   @Test
+   public void testDeniedAuthorizationNotCached() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      for (int i = 0; i < 2; i++) {
+         try {
+            securityStore.check(ADDRESS, CheckType.MANAGE, session);
+            Assert.fail();
+         } catch (ActiveMQSecurityException expected) {
+         }
+      }
+      Assert.assertEquals(2, authorizations.get());
+      Assert.assertEquals(0, securityStore.getAuthorizationCacheSize());
+   }
+
+   @Test
+   public void testGrantedAfterDenied() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      authorizationFailure = true;
+      try {
+         securityStore.check(ADDRESS, CheckType.SEND, session);
+         Assert.fail();
+      } catch (ActiveMQSecurityException expected) {
+      }
+
+      authorizationFailure = false;
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+   }
+
+   @Test
+   public void testAuthorizationExpired() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(1, 10);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Thread.sleep(10);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+   }
+
+   @Test
+   public void testOnlyChangedAuthorizationsInvalidated() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      final SimpleString invoices = SimpleString.toSimpleString("invoices.eu");
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      securityStore.check(invoices, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+
+      securityRepository.addMatch("orders.#", roles(false));
+      Assert.assertEquals(1, securityStore.getAuthorizationCacheSize());
+
+      securityStore.check(invoices, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+      try {
+         securityStore.check(ADDRESS, CheckType.SEND, session);
+         Assert.fail();
+      } catch (ActiveMQSecurityException expected) {
+      }
+      Assert.assertEquals(3, authorizations.get());
+   }
+
+   @Test
+   public void testAuthorizationCacheBounded() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      for (int i = 0; i < 100; i++) {
+         securityStore.check(SimpleString.toSimpleString("orders." + i), CheckType.SEND, session);
+         Assert.assertTrue(securityStore.getAuthorizationCacheSize() <= 10);
+      }
+      Assert.assertEquals(100, authorizations.get());
+   }
+
+   @Test
+   public void testAuthorizationCacheDisabled() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 0);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      securityStore.check(ADDRESS, CheckType.SEND, session);
+      Assert.assertEquals(2, authorizations.get());
+      Assert.assertEquals(0, securityStore.getAuthorizationCacheSize());
+   }
+
+   @Test
+   public void testAuthenticationCached() throws Exception {
+      final SecurityStoreImpl securityStore = securityStore(10000, 10);
+      final RemotingConnection connection = mock(RemotingConnection.class);
+      securityStore.authenticate("user", "secret", connection);
+      securityStore.authenticate("user", "secret", connection);
+      Assert.assertEquals(1, authentications.get());
+      Assert.assertEquals(0.5, securityStore.getAuthenticationCacheHitRatio(), 0);
+
+      // the failed authentications aren't cached
+      for (int i = 0; i < 2; i++) {
+         try {
+            securityStore.authenticate("user", "wrong", connection);
+            Assert.fail();
+         } catch (ActiveMQSecurityException expected) {
+         }
+      }
+      Assert.assertEquals(3, authentications.get());
+      Assert.assertEquals(1, securityStore.getAuthenticationCacheSize());
+   }
+
+   @Test
+   public void testAuthenticationWithoutCredentialsNotCached() throws Exception {
+      final RemotingConnection alice = mock(RemotingConnection.class);
+      final RemotingConnection bob = mock(RemotingConnection.class);
+      // it authenticates the connections by themselves, as with a Kerberos peer principal
+      final Map<RemotingConnection, String> principals = new HashMap<>();
+      principals.put(alice, "alice");
+      principals.put(bob, "bob");
+      final ActiveMQSecurityManager3 connectionSecurityManager = new ActiveMQSecurityManager3() {
+         @Override
+         public String validateUser(String user, String password, RemotingConnection remotingConnection) {
+            authentications.incrementAndGet();
+            return principals.get(remotingConnection);
+         }
+
+         @Override
+         public String validateUserAndRole(String user, String password, Set<Role> roles, CheckType checkType, String address, RemotingConnection remotingConnection) {
+            return principals.get(remotingConnection);
+         }
+
+         @Override
+         public boolean validateUser(String user, String password) {
+            return false;
+         }
+
+         @Override
+         public boolean validateUserAndRole(String user, String password, Set<Role> roles, CheckType checkType) {
+            return false;
+         }
+      };
+      final SecurityStoreImpl securityStore = new SecurityStoreImpl(securityRepository, connectionSecurityManager, 10000, true, "cluster", "cluster", null, 10, 10);
+
+      Assert.assertEquals("alice", securityStore.authenticate(null, null, alice));
+      Assert.assertEquals("bob", securityStore.authenticate(null, null, bob));
+      Assert.assertEquals("alice", securityStore.authenticate(null, null, alice));
+      Assert.assertEquals(3, authentications.get());
+      Assert.assertEquals(0, securityStore.getAuthenticationCacheSize());
+   }
+
+   private SecurityStoreImpl securityStore(long invalidationInterval, int cacheSize) {
+      return new SecurityStoreImpl(securityRepository, securityManager, invalidationInterval, true, "cluster", "cluster", null, cacheSize, cacheSize);
+   }
+
+   private static Set<Role> roles(boolean send) {
+      return Collections.singleton(new Role("role", send, true, false, false, false, false, false, true, false, false));
+   }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeliveringReferencesTest {
+
+   @Test
+   public void shouldKeepDeliveryOrder() {
+      final DeliveringReferences refs = new DeliveringReferences();
+      final MessageReference first = reference(1);
+      final MessageReference second = reference(2);
+      final MessageReference third = reference(3);
+      refs.addLast(second);
+      refs.addLast(third);
+      refs.addFirst(first);
+
+      Assert.assertEquals(3, refs.size());
+      Assert.assertSame(first, refs.peek());
+      final List<MessageReference> all = new ArrayList<>();
+      refs.addAllTo(all);
+      Assert.assertEquals(Arrays.asList(first, second, third), all);
+
+      Assert.assertSame(first, refs.poll());
+      Assert.assertSame(second, refs.poll());
+      Assert.assertSame(third, refs.poll());
+      Assert.assertNull(refs.poll());
+      Assert.assertTrue(refs.isEmpty());
+   }
+
+   @Test
+   public void shouldRemoveByID() {
+      final DeliveringReferences refs = new DeliveringReferences();
+      final List<MessageReference> added = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         final MessageReference ref = reference(i);
+         added.add(ref);
+         refs.addLast(ref);
+      }
+      Assert.assertSame(added.get(5), refs.removeByID(5));
+      Assert.assertNull(refs.removeByID(5));
+      Assert.assertSame(added.get(9), refs.removeByID(9));
+      Assert.assertSame(added.get(0), refs.removeByID(0));
+      Assert.assertNull(refs.removeByID(10));
+      Assert.assertEquals(7, refs.size());
+      Assert.assertSame(added.get(1), refs.peek());
+
+      final List<MessageReference> all = new ArrayList<>();
+      refs.addAllTo(all);
+      Assert.assertEquals(Arrays.asList(added.get(1), added.get(2), added.get(3), added.get(4), added.get(6), added.get(7), added.get(8)), all);
+
+      refs.addLast(added.get(9));
+      Assert.assertSame(added.get(8), refs.removeByID(8));
+      Assert.assertSame(added.get(9), refs.removeByID(9));
+      Assert.assertEquals(6, refs.size());
+   }
+
+   @Test
+   public void shouldRemoveDuplicatedIDs() {
+      final DeliveringReferences refs = new DeliveringReferences();
+      final MessageReference first = reference(1);
+      final MessageReference duplicate = reference(1);
+      refs.addLast(first);
+      refs.addLast(reference(2));
+      refs.addLast(duplicate);
+
+      Assert.assertSame(first, refs.removeByID(1));
+      Assert.assertSame(duplicate, refs.removeByID(1));
+      Assert.assertNull(refs.removeByID(1));
+      Assert.assertEquals(1, refs.size());
+   }
+
+   @Test
+   public void shouldRemoveWhileIterating() {
+      final DeliveringReferences refs = new DeliveringReferences();
+      for (int i = 0; i < 5; i++) {
+         refs.addLast(reference(i));
+      }
+      final Iterator<MessageReference> iterator = refs.iterator();
+      while (iterator.hasNext()) {
+         if (iterator.next().getMessage().getMessageID() % 2 == 0) {
+            iterator.remove();
+         }
+      }
+      Assert.assertEquals(2, refs.size());
+      Assert.assertNull(refs.removeByID(2));
+      Assert.assertEquals(1, refs.poll().getMessage().getMessageID());
+      Assert.assertNotNull(refs.removeByID(3));
+      Assert.assertTrue(refs.isEmpty());
+   }
+
+   @Test
+   public void shouldKeepOrderWhileGrowingAndCompacting() {
+      final DeliveringReferences refs = new DeliveringReferences();
+      final LinkedList<MessageReference> expected = new LinkedList<>();
+      final Random random = new Random(1);
+      long nextID = 0;
+      for (int i = 0; i < 5000; i++) {
+         final int operation = random.nextInt(10);
+         if (operation < 5) {
+            final MessageReference ref = reference(nextID++);
+            refs.addLast(ref);
+            expected.addLast(ref);
+         } else if (operation < 8 && !expected.isEmpty()) {
+            // acknowledged out of order
+            final MessageReference ref = expected.remove(random.nextInt(expected.size()));
+            Assert.assertSame(ref, refs.removeByID(ref.getMessage().getMessageID()));
+         } else if (operation < 9) {
+            Assert.assertSame(expected.pollFirst(), refs.poll());
+         } else if (!expected.isEmpty()) {
+            // cancelled and delivered again
+            final MessageReference ref = refs.poll();
+            Assert.assertSame(expected.pollFirst(), ref);
+            refs.addFirst(ref);
+            expected.addFirst(ref);
+         }
+         Assert.assertEquals(expected.size(), refs.size());
+         Assert.assertSame(expected.peekFirst(), refs.peek());
+      }
+      final List<MessageReference> all = new ArrayList<>();
+      refs.addAllTo(all);
+      Assert.assertEquals(expected, all);
+      Assert.assertNull(refs.removeByID(nextID));
+   }
+
+   private static MessageReference reference(long messageID) {
+      final Message message = mock(Message.class);
+      when(message.getMessageID()).thenReturn(messageID);
+      final MessageReference reference = mock(MessageReference.class);
+      when(reference.getMessage()).thenReturn(message);
+      return reference;
+   }
+}
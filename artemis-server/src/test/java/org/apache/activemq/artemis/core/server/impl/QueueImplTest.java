@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.paging.cursor.PageIterator;
 import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
@@ -35,6 +36,8 @@ import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.QueueFactory;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.core.settings.impl.HierarchicalObjectRepository;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -86,4 +89,52 @@ public class QueueImplTest {
 
       Assert.assertEquals(pagedReferences, queue.deleteAllReferences(flushLimit));
    }
-}
\ No newline at end of file
+
+   @Test
+   public void expiryScannerSkipsReferencesNotExpiringYetTest() throws Exception {
+      SimpleString address = new SimpleString("test");
+      PostOffice postOffice = Mockito.mock(PostOffice.class);
+      Mockito.doReturn(true).when(postOffice).isStarted();
+      HierarchicalObjectRepository<AddressSettings> addressSettingsRepository = new HierarchicalObjectRepository<>();
+      addressSettingsRepository.setDefault(new AddressSettings());
+      ActiveMQServer server = Mockito.mock(ActiveMQServer.class);
+      Mockito.doReturn(new ConfigurationImpl()).when(server).getConfiguration();
+
+      QueueImpl queue = new QueueImpl(0, address, address, null, null, null, false,
+                                      false, false, Mockito.mock(ScheduledExecutorService.class),
+                                      postOffice, Mockito.mock(StorageManager.class), addressSettingsRepository,
+                                      ArtemisExecutor.delegate(Runnable::run), server,
+                                      Mockito.mock(QueueFactory.class));
+
+      Message notExpiring = mockMessage(0, false);
+      Message expiringLater = mockMessage(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1), false);
+      queue.addHead(new MessageReferenceImpl(notExpiring, queue), false);
+      queue.addHead(new MessageReferenceImpl(expiringLater, queue), false);
+
+      queue.expireReferences();
+
+      Mockito.verify(notExpiring, Mockito.never()).isExpired();
+      Mockito.verify(expiringLater, Mockito.never()).isExpired();
+
+      Message expired = mockMessage(System.currentTimeMillis() - 1, true);
+      queue.addHead(new MessageReferenceImpl(expired, queue), false);
+
+      queue.expireReferences();
+
+      Mockito.verify(expired).isExpired();
+      Mockito.verify(notExpiring).isExpired();
+      Mockito.verify(expiringLater).isExpired();
+
+      queue.expireReferences();
+
+      Mockito.verify(notExpiring).isExpired();
+      Mockito.verify(expiringLater).isExpired();
+   }
+
+   private static Message mockMessage(long expiration, boolean expired) {
+      Message message = Mockito.mock(Message.class);
+      Mockito.doReturn(expiration).when(message).getExpiration();
+      Mockito.doReturn(expired).when(message).isExpired();
+      return message;
+   }
+}
@@ -191,6 +191,83 @@ public class ScheduledDeliveryHandlerTest extends Assert {
       }
    }
 
+   @Test
+   public void testScheduleSinglePendingDelivery() throws Exception {
+      ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         final int NUMBER_OF_MESSAGES = 1000;
+         final FakeQueueForScheduleUnitTest fakeQueue = new FakeQueueForScheduleUnitTest(NUMBER_OF_MESSAGES);
+         final ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(scheduler, fakeQueue);
+
+         final long now = System.currentTimeMillis();
+         // distinct delivery times, spanning a few rounds of the timing wheel
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            checkAndSchedule(handler, i, now + 200 + i * 3, true, fakeQueue);
+         }
+         assertEquals(NUMBER_OF_MESSAGES, handler.getScheduledCount());
+         // a delivery is pending just for the earliest delivery time
+         assertEquals(1, scheduler.getQueue().size());
+
+         if (!fakeQueue.waitCompletion(10, TimeUnit.SECONDS)) {
+            fail("Couldn't complete queue.add, still missing " + fakeQueue.expectedElements.toString());
+         }
+         assertEquals(0, handler.getScheduledCount());
+         assertTrue(handler.getScheduledReferences().isEmpty());
+      } finally {
+         scheduler.shutdownNow();
+      }
+   }
+
+   @Test
+   public void testScheduleAfterEmptyingRounds() throws Exception {
+      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+
+      final int NUMBER_OF_MESSAGES = 3000;
+      // distinct delivery times, spanning many rounds of the timing wheel
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         addMessage(handler, i, 1000000L + i * 7, true);
+      }
+      // it empties whole rounds in the middle and at the start, then it refills them in reverse order
+      for (int i = 500; i < 1500; i++) {
+         assertNotNull(handler.removeReferenceWithID(i));
+      }
+      for (int i = 0; i < 200; i++) {
+         assertNotNull(handler.removeReferenceWithID(i));
+      }
+      for (int i = 1499; i >= 500; i--) {
+         addMessage(handler, i, 1000000L + i * 7, true);
+      }
+      for (int i = 199; i >= 0; i--) {
+         addMessage(handler, i, 1000000L + i * 7, true);
+      }
+      assertEquals(NUMBER_OF_MESSAGES, handler.getScheduledCount());
+      validateSequence(handler);
+
+      assertEquals(NUMBER_OF_MESSAGES, handler.cancel(null).size());
+      assertEquals(0, handler.getScheduledCount());
+      addMessage(handler, 0, 5L, true);
+      addMessage(handler, 1, 5000000L, true);
+      validateSequence(handler);
+   }
+
+   @Test
+   public void testRemoveWithDuplicatedIDInDeliveryOrder() throws Exception {
+      ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(null, new FakeQueueForScheduleUnitTest(0));
+
+      final int NUMBER_OF_MESSAGES = 500;
+      // the same message scheduled many times, spanning many rounds of the timing wheel
+      for (int i = NUMBER_OF_MESSAGES - 1; i >= 0; i--) {
+         addMessage(handler, 7, 1000000L + i * 1013, true);
+      }
+      for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+         MessageReference ref = handler.removeReferenceWithID(7);
+         assertNotNull(ref);
+         assertEquals(1000000L + i * 1013, ref.getScheduledDeliveryTime());
+      }
+      assertNull(handler.removeReferenceWithID(7));
+      assertEquals(0, handler.getScheduledCount());
+   }
+
    private void internalSchedule(ExecutorService executor, ScheduledThreadPoolExecutor scheduler) throws Exception {
       final int NUMBER_OF_MESSAGES = 200;
       int NUMBER_OF_THREADS = 20;
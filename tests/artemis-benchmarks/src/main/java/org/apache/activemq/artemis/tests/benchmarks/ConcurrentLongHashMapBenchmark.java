@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link ConcurrentLongHashMap} indexing the messages and the queues by ID: run it with more threads
+ * (i.e. {@code -t}) to measure the contention on its sections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentLongHashMapBenchmark {
+
+   @Param({"1024", "1048576"})
+   private int size;
+
+   private ConcurrentLongHashMap<Long> map;
+
+   @Setup
+   public void init() {
+      map = new ConcurrentLongHashMap<>();
+      for (long i = 0; i < size; i++) {
+         map.put(i, i);
+      }
+   }
+
+   @Benchmark
+   public Long get() {
+      return map.get(ThreadLocalRandom.current().nextLong(size));
+   }
+
+   /**
+    * The keys added are out of the ones of {@link #get()}, to keep them found.
+    */
+   @Benchmark
+   public Long putAndRemove() {
+      final long key = size + ThreadLocalRandom.current().nextLong(size);
+      map.put(key, key);
+      return map.remove(key);
+   }
+}
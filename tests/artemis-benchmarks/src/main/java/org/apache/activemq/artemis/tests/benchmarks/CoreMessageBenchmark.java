@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.message.impl.CoreMessageObjectPools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The encoding of a {@link CoreMessage} sent to a client and the decoding of a {@link CoreMessage} received from it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CoreMessageBenchmark {
+
+   private static final SimpleString COUNTER = SimpleString.toSimpleString("counter");
+
+   private static final SimpleString LAST_PROPERTY = SimpleString.toSimpleString("property0");
+
+   @Param({"0", "1024"})
+   private int bodySize;
+
+   @Param({"4", "16"})
+   private int properties;
+
+   private CoreMessage message;
+
+   private long counter;
+
+   private ByteBuf sendBuffer;
+
+   private byte[] encoded;
+
+   private CoreMessageObjectPools pools;
+
+   @Setup
+   public void init() {
+      message = new CoreMessage(1, bodySize + 256);
+      message.setAddress("benchmarks.address");
+      message.setDurable(true);
+      message.getBodyBuffer().writeBytes(new byte[bodySize]);
+      for (int i = 0; i < properties; i++) {
+         message.putStringProperty("property" + i, "value" + i);
+      }
+      message.putLongProperty(COUNTER, counter);
+      final ByteBuf buffer = Unpooled.buffer(message.getEncodeSize());
+      message.sendBuffer(buffer, 0);
+      encoded = new byte[buffer.readableBytes()];
+      buffer.readBytes(encoded);
+      sendBuffer = Unpooled.buffer(encoded.length * 2);
+      pools = new CoreMessageObjectPools();
+   }
+
+   /**
+    * The properties of the message are changed before each encoding, as the broker does on each delivery.
+    */
+   @Benchmark
+   public ByteBuf encode() {
+      message.putLongProperty(COUNTER, ++counter);
+      sendBuffer.clear();
+      message.sendBuffer(sendBuffer, 0);
+      return sendBuffer;
+   }
+
+   @Benchmark
+   public CoreMessage decode() {
+      final CoreMessage decoded = new CoreMessage(pools);
+      decoded.receiveBuffer(Unpooled.wrappedBuffer(encoded));
+      return decoded;
+   }
+
+   /**
+    * The properties are decoded lazily, by the first access.
+    */
+   @Benchmark
+   public Object decodeAndReadProperty() {
+      final CoreMessage decoded = new CoreMessage(pools);
+      decoded.receiveBuffer(Unpooled.wrappedBuffer(encoded));
+      return decoded.getObjectProperty(LAST_PROPERTY);
+   }
+}
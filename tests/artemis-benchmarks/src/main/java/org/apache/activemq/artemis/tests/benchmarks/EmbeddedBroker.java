@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+
+/**
+ * A broker without persistence, security, JMX and acceptors, to benchmark its internals without any I/O.
+ */
+final class EmbeddedBroker {
+
+   private EmbeddedBroker() {
+   }
+
+   static ActiveMQServer start() throws Exception {
+      final File instance = Files.createTempDirectory("artemis-benchmarks").toFile();
+      final Configuration configuration = new ConfigurationImpl()
+         .setPersistenceEnabled(false)
+         .setSecurityEnabled(false)
+         .setJMXManagementEnabled(false);
+      configuration.setBrokerInstance(instance);
+      final ActiveMQServer server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+      return server;
+   }
+}
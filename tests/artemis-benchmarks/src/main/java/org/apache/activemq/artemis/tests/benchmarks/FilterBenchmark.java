@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The evaluation of the selectors of the consumers and the filters of the queues on a message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilterBenchmark {
+
+   @Param({"color = 'red'",
+           "price > 100 AND color IN ('red', 'green', 'blue')",
+           "region LIKE 'eu-%' OR (AMQPriority > 4 AND quantity BETWEEN 10 AND 20)"})
+   private String selector;
+
+   private Filter filter;
+
+   private CoreMessage message;
+
+   @Setup
+   public void init() throws ActiveMQException {
+      filter = FilterImpl.createFilter(selector);
+      message = new CoreMessage(1, 256);
+      message.setAddress("benchmarks.address");
+      message.setPriority((byte) 5);
+      message.putStringProperty("color", "blue");
+      message.putStringProperty("region", "us-east");
+      message.putIntProperty("price", 150);
+      message.putIntProperty("quantity", 15);
+   }
+
+   @Benchmark
+   public boolean match() {
+      return filter.match(message);
+   }
+}
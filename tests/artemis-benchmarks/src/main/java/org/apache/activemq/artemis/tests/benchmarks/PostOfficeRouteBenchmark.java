@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The routing of a non durable message by {@link PostOffice#route}, on a broker without persistence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PostOfficeRouteBenchmark {
+
+   private static final SimpleString FILTERED_ADDRESS = SimpleString.toSimpleString("benchmarks.filtered");
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("benchmarks.address");
+
+   /**
+    * The queues of {@link #FILTERED_ADDRESS}, whose filters don't match the routed messages.
+    */
+   @Param({"1", "10"})
+   private int filteredQueues;
+
+   private ActiveMQServer server;
+
+   private PostOffice postOffice;
+
+   private Queue queue;
+
+   private long messageID;
+
+   @Setup
+   public void init() throws Exception {
+      server = EmbeddedBroker.start();
+      server.addAddressInfo(new AddressInfo(FILTERED_ADDRESS, RoutingType.MULTICAST));
+      for (int i = 0; i < filteredQueues; i++) {
+         server.createQueue(FILTERED_ADDRESS, RoutingType.MULTICAST, SimpleString.toSimpleString("filtered." + i), SimpleString.toSimpleString("color = 'color" + i + "'"), false, false);
+      }
+      server.addAddressInfo(new AddressInfo(ADDRESS, RoutingType.MULTICAST));
+      queue = server.createQueue(ADDRESS, RoutingType.MULTICAST, SimpleString.toSimpleString("queue"), null, false, false);
+      postOffice = server.getPostOffice();
+   }
+
+   /**
+    * The messages routed to {@link #ADDRESS} are held by its queue without consumers: they are removed after each iteration.
+    */
+   @TearDown(Level.Iteration)
+   public void deleteRoutedMessages() throws Exception {
+      queue.deleteAllReferences();
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      server.stop();
+   }
+
+   private CoreMessage createMessage(SimpleString address) {
+      final CoreMessage message = new CoreMessage(++messageID, 64);
+      message.setAddress(address);
+      message.putStringProperty("color", "none");
+      return message;
+   }
+
+   @Benchmark
+   public RoutingStatus routeToQueue() throws Exception {
+      return postOffice.route(createMessage(ADDRESS), false);
+   }
+
+   @Benchmark
+   public RoutingStatus routeToFilteredQueues() throws Exception {
+      return postOffice.route(createMessage(FILTERED_ADDRESS), false);
+   }
+}
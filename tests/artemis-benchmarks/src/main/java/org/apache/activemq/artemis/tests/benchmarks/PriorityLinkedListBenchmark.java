@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The operations of the {@link PriorityLinkedListImpl} holding the messages of a queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PriorityLinkedListBenchmark {
+
+   private static final int PRIORITIES = 10;
+
+   @Param({"1", "10"})
+   private int usedPriorities;
+
+   @Param({"1024", "65536"})
+   private int size;
+
+   private PriorityLinkedListImpl<Long> list;
+
+   private long next;
+
+   @Setup
+   public void init() {
+      list = new PriorityLinkedListImpl<>(PRIORITIES);
+      for (int i = 0; i < size; i++) {
+         add();
+      }
+   }
+
+   private void add() {
+      final long value = next++;
+      list.addTail(value, (int) (value % usedPriorities));
+   }
+
+   /**
+    * A message is sent and another is consumed, keeping the size of the queue stable.
+    */
+   @Benchmark
+   public Long addTailAndPoll() {
+      add();
+      return list.poll();
+   }
+
+   /**
+    * A consumed message is added back on head, as done on rollback.
+    */
+   @Benchmark
+   public Long pollAndAddHead() {
+      final Long value = list.poll();
+      list.addHead(value, (int) (value % usedPriorities));
+      return value;
+   }
+
+   @Benchmark
+   public Long iterateAndRemove() {
+      Long removed = null;
+      try (LinkedListIterator<Long> iterator = list.iterator()) {
+         if (iterator.hasNext()) {
+            removed = iterator.next();
+            iterator.remove();
+         }
+      }
+      add();
+      return removed;
+   }
+}
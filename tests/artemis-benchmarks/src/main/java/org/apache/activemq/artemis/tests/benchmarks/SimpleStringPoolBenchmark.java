@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The interning of the addresses and the property names decoded by the broker, against their allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SimpleStringPoolBenchmark {
+
+   @Param({"16", "1024"})
+   private int distinctStrings;
+
+   private String[] strings;
+
+   private ByteBuf[] encoded;
+
+   private int next;
+
+   private SimpleString.StringSimpleStringPool stringPool;
+
+   private SimpleString.ByteBufSimpleStringPool byteBufPool;
+
+   @Setup
+   public void init() {
+      strings = new String[distinctStrings];
+      encoded = new ByteBuf[distinctStrings];
+      for (int i = 0; i < distinctStrings; i++) {
+         strings[i] = "benchmarks.address." + i;
+         encoded[i] = Unpooled.buffer();
+         SimpleString.writeSimpleString(encoded[i], SimpleString.toSimpleString(strings[i]));
+      }
+      stringPool = new SimpleString.StringSimpleStringPool();
+      byteBufPool = new SimpleString.ByteBufSimpleStringPool();
+   }
+
+   private int nextIndex() {
+      final int index = next;
+      next = index + 1 == distinctStrings ? 0 : index + 1;
+      return index;
+   }
+
+   @Benchmark
+   public SimpleString fromString() {
+      return SimpleString.toSimpleString(strings[nextIndex()]);
+   }
+
+   @Benchmark
+   public SimpleString fromStringPooled() {
+      return stringPool.getOrCreate(strings[nextIndex()]);
+   }
+
+   @Benchmark
+   public SimpleString fromByteBuf() {
+      final ByteBuf buffer = encoded[nextIndex()];
+      buffer.readerIndex(0);
+      return SimpleString.readSimpleString(buffer);
+   }
+
+   @Benchmark
+   public SimpleString fromByteBufPooled() {
+      final ByteBuf buffer = encoded[nextIndex()];
+      buffer.readerIndex(0);
+      return byteBufPool.getOrCreate(buffer);
+   }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
+import org.apache.activemq.artemis.core.io.buffer.TimedBufferObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The batching of the journal records by the {@link TimedBuffer} of the NIO journal, with its default configuration
+ * and a file that completes the writes immediately: it measures the cost of the buffer alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimedBufferBenchmark {
+
+   private static final IOCallback NO_OP_CALLBACK = new IOCallback() {
+      @Override
+      public void done() {
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+      }
+   };
+
+   @Param({"64", "4096"})
+   private int recordSize;
+
+   @Param({"false", "true"})
+   private boolean sync;
+
+   private TimedBuffer timedBuffer;
+
+   private ActiveMQBuffer record;
+
+   @Setup
+   public void init() {
+      timedBuffer = new TimedBuffer(null, ActiveMQDefaultConfiguration.getDefaultJournalBufferSizeNio(), ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio(), false);
+      timedBuffer.start();
+      timedBuffer.setObserver(new TimedBufferObserver() {
+         @Override
+         public void flushBuffer(ByteBuf buffer, boolean syncRequested, List<IOCallback> callbacks) {
+            IOCallback.done(callbacks);
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return Integer.MAX_VALUE;
+         }
+      });
+      record = ActiveMQBuffers.wrappedBuffer(new byte[recordSize]);
+   }
+
+   @TearDown
+   public void stop() {
+      timedBuffer.stop();
+   }
+
+   @Benchmark
+   public void addBytes() {
+      timedBuffer.checkSize(recordSize);
+      timedBuffer.addBytes(record, sync, NO_OP_CALLBACK);
+   }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TypedPropertiesBenchmark {
+
+   @Param({"4", "16"})
+   private int size;
+
+   private SimpleString[] keys;
+
+   private SimpleString[] values;
+
+   private TypedProperties properties;
+
+   private ByteBuf encoded;
+
+   private ByteBuf encodeBuffer;
+
+   private TypedProperties.TypedPropertiesDecoderPools pools;
+
+   private int next;
+
+   @Setup
+   public void init() {
+      keys = new SimpleString[size];
+      values = new SimpleString[size];
+      properties = new TypedProperties();
+      for (int i = 0; i < size; i++) {
+         keys[i] = SimpleString.toSimpleString("property" + i);
+         values[i] = SimpleString.toSimpleString("value" + i);
+         properties.putSimpleStringProperty(keys[i], values[i]);
+      }
+      encoded = Unpooled.buffer(properties.getEncodeSize());
+      properties.encode(encoded);
+      encodeBuffer = Unpooled.buffer(properties.getEncodeSize());
+      pools = new TypedProperties.TypedPropertiesDecoderPools();
+   }
+
+   @Benchmark
+   public TypedProperties put() {
+      final TypedProperties properties = new TypedProperties();
+      for (int i = 0; i < size; i++) {
+         properties.putSimpleStringProperty(keys[i], values[i]);
+      }
+      return properties;
+   }
+
+   @Benchmark
+   public Object get() {
+      final int index = next;
+      next = index + 1 == size ? 0 : index + 1;
+      return properties.getProperty(keys[index]);
+   }
+
+   @Benchmark
+   public ByteBuf encode() {
+      encodeBuffer.clear();
+      properties.encode(encodeBuffer);
+      return encodeBuffer;
+   }
+
+   @Benchmark
+   public TypedProperties decode() {
+      final TypedProperties decoded = new TypedProperties();
+      decoded.decode(encoded.duplicate());
+      return decoded;
+   }
+
+   @Benchmark
+   public TypedProperties decodePooled() {
+      final TypedProperties decoded = new TypedProperties();
+      decoded.decode(encoded.duplicate(), pools);
+      return decoded;
+   }
+
+   @Benchmark
+   public Object decodeAndGet() {
+      final TypedProperties decoded = new TypedProperties();
+      decoded.decode(encoded.duplicate(), pools);
+      return decoded.getProperty(keys[size - 1]);
+   }
+
+   @Benchmark
+   public Object lazyDecodeAndGet() {
+      final TypedProperties decoded = new TypedProperties();
+      decoded.lazyDecode(encoded.duplicate(), pools);
+      return decoded.getProperty(keys[size - 1]);
+   }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.postoffice.AddressManager;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.Bindings;
+import org.apache.activemq.artemis.core.postoffice.impl.PostOfficeImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The lookup of the bindings of an address and the linking of a new binding to the wildcard subscriptions,
+ * on the address manager of a broker with many addresses in a hierarchy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WildcardAddressManagerBenchmark {
+
+   private static final int BRANCHES = 10;
+
+   @Param({"100", "10000"})
+   private int addresses;
+
+   private ActiveMQServer server;
+
+   private AddressManager addressManager;
+
+   private SimpleString[] addressNames;
+
+   private Binding[] bindings;
+
+   private int next;
+
+   @Setup
+   public void init() throws Exception {
+      server = EmbeddedBroker.start();
+      addressNames = new SimpleString[addresses];
+      bindings = new Binding[addresses];
+      for (int i = 0; i < addresses; i++) {
+         addressNames[i] = SimpleString.toSimpleString("benchmarks." + (i % BRANCHES) + "." + i);
+         final SimpleString queueName = SimpleString.toSimpleString("queue." + i);
+         server.addAddressInfo(new AddressInfo(addressNames[i], RoutingType.MULTICAST));
+         server.createQueue(addressNames[i], RoutingType.MULTICAST, queueName, null, false, false);
+         bindings[i] = server.getPostOffice().getBinding(queueName);
+      }
+      // the subscriptions of the whole hierarchy and of a branch
+      server.addAddressInfo(new AddressInfo(SimpleString.toSimpleString("benchmarks.#"), RoutingType.MULTICAST));
+      server.createQueue(SimpleString.toSimpleString("benchmarks.#"), RoutingType.MULTICAST, SimpleString.toSimpleString("all"), null, false, false);
+      server.addAddressInfo(new AddressInfo(SimpleString.toSimpleString("benchmarks.0.*"), RoutingType.MULTICAST));
+      server.createQueue(SimpleString.toSimpleString("benchmarks.0.*"), RoutingType.MULTICAST, SimpleString.toSimpleString("branch"), null, false, false);
+      addressManager = ((PostOfficeImpl) server.getPostOffice()).getAddressManager();
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      server.stop();
+   }
+
+   private int nextIndex() {
+      final int index = next;
+      next = index + 1 == addresses ? 0 : index + 1;
+      return index;
+   }
+
+   @Benchmark
+   public Bindings getBindingsForRoutingAddress() throws Exception {
+      return addressManager.getBindingsForRoutingAddress(addressNames[nextIndex()]);
+   }
+
+   /**
+    * The binding is removed and added back, unlinking and linking its address to the wildcard subscriptions.
+    */
+   @Benchmark
+   public boolean removeAndAddBinding() throws Exception {
+      final Binding binding = bindings[nextIndex()];
+      addressManager.removeBinding(binding.getUniqueName(), null);
+      return addressManager.addBinding(binding);
+   }
+}
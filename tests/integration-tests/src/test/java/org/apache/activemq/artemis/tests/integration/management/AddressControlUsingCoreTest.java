@@ -93,6 +93,26 @@ public class AddressControlUsingCoreTest extends AddressControlTest {
             return (long) proxy.retrieveAttributeValue("numberOfBytesPerPage");
          }
 
+         @Override
+         public long getPageCacheSizeBytes() throws Exception {
+            return (long) proxy.retrieveAttributeValue("pageCacheSizeBytes", Long.class);
+         }
+
+         @Override
+         public long getPageCacheHits() throws Exception {
+            return (long) proxy.retrieveAttributeValue("pageCacheHits", Long.class);
+         }
+
+         @Override
+         public long getPageCacheMisses() throws Exception {
+            return (long) proxy.retrieveAttributeValue("pageCacheMisses", Long.class);
+         }
+
+         @Override
+         public long getPageCacheEvictions() throws Exception {
+            return (long) proxy.retrieveAttributeValue("pageCacheEvictions", Long.class);
+         }
+
          @Override
          public String[] getBindingNames() throws Exception {
             return (String[]) proxy.retrieveAttributeValue("bindingNames", String.class);
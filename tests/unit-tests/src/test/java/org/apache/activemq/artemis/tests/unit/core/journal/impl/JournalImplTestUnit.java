@@ -760,6 +760,43 @@ public abstract class JournalImplTestUnit extends JournalImplTestBase {
       stopJournal();
    }
 
+   @Test
+   public void testCompactMetrics() throws Exception {
+      setup(10, 10 * 1024, true);
+      createJournal();
+      startJournal();
+      load();
+
+      int addRecordsPerFile = calculateRecordsPerFile(10 * 1024, journal.getAlignment(), JournalImpl.SIZE_ADD_RECORD + 1 + recordLength);
+
+      int initialNumberOfAddRecords = addRecordsPerFile * 10;
+      for (int i = 0; i < initialNumberOfAddRecords; i++) {
+         add(i);
+      }
+
+      // every data file keeps half of its records alive, so only compacting can reclaim them
+      for (int i = 0; i < initialNumberOfAddRecords; i += 2) {
+         delete(i);
+      }
+
+      JournalImpl journalImpl = (JournalImpl) journal;
+
+      Assert.assertEquals(0, journalImpl.getCompactReclaimedBytes());
+      Assert.assertEquals(0, journalImpl.getCompactLastStallTime());
+
+      journal.testCompact();
+
+      Assert.assertEquals(0, journalImpl.getCompactPendingFiles());
+      Assert.assertTrue(journalImpl.getCompactLastStallTime() > 0);
+      Assert.assertTrue(journalImpl.getCompactReclaimedBytes() >= 10 * 1024);
+      Assert.assertEquals(initialNumberOfAddRecords / 2, journal.getIDMapSize());
+
+      stopJournal();
+      createJournal();
+      startJournal();
+      loadAndCheck();
+   }
+
    @Test
    public void testReclaimAddUpdateDeleteDifferentFiles1() throws Exception {
       // Make sure there is one record per file
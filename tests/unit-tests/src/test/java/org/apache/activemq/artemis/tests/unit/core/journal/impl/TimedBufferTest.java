@@ -125,6 +125,54 @@ public class TimedBufferTest extends ActiveMQTestBase {
       }
 
    }
+
+   @Test
+   public void testAdaptiveTimeout() {
+      class TestObserver implements TimedBufferObserver {
+
+         @Override
+         public void flushBuffer(final ByteBuf byteBuf, final boolean sync, final List<IOCallback> callbacks) {
+            for (IOCallback callback : callbacks) {
+               callback.done();
+            }
+         }
+
+         @Override
+         public int getRemainingBytes() {
+            return 1024 * 1024;
+         }
+      }
+
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100, TimedBufferTest.ONE_SECOND_IN_NANOS, false);
+
+      timedBuffer.setAdaptiveTimeout(true);
+
+      timedBuffer.start();
+
+      try {
+         timedBuffer.setObserver(new TestObserver());
+
+         Assert.assertEquals(TimedBufferTest.ONE_SECOND_IN_NANOS, timedBuffer.getCurrentTimeout());
+
+         // every flush is completing a single sync: nothing is being batched and the timeout should shrink
+         for (int i = 0; i < 100; i++) {
+            timedBuffer.checkSize(10);
+            timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), true, dummyCallback);
+            timedBuffer.flush();
+         }
+
+         Assert.assertEquals(100, timedBuffer.getSyncFlushes());
+         Assert.assertEquals(0, timedBuffer.getBatchedSyncFlushes());
+         Assert.assertEquals(TimedBufferTest.ONE_SECOND_IN_NANOS / 16, timedBuffer.getCurrentTimeout());
+
+         timedBuffer.setAdaptiveTimeout(false);
+
+         Assert.assertEquals(TimedBufferTest.ONE_SECOND_IN_NANOS, timedBuffer.getCurrentTimeout());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
    @Test
    public void testTimeOnTimedBuffer() throws Exception {
       final ReusableLatch latchFlushed = new ReusableLatch(0);
@@ -16,10 +16,15 @@
  */
 package org.apache.activemq.artemis.tests.unit.core.persistence.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
@@ -100,6 +105,145 @@ public class OperationContextUnitTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testCompleteTasksInOrder() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         OperationContextImpl impl = new OperationContextImpl(executor);
+         final List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+         final CountDownLatch latch = new CountDownLatch(10);
+
+         for (int i = 0; i < 10; i++) {
+            final int task = i;
+            impl.storeLineUp();
+            impl.replicationLineUp();
+            impl.executeOnCompletion(new IOCallback() {
+
+               @Override
+               public void onError(int errorCode, String errorMessage) {
+               }
+
+               @Override
+               public void done() {
+                  completed.add(task);
+                  latch.countDown();
+               }
+            });
+         }
+
+         for (int i = 0; i < 10; i++) {
+            impl.done();
+         }
+         assertFalse(latch.await(1, TimeUnit.MILLISECONDS));
+         for (int i = 0; i < 10; i++) {
+            impl.replicationDone();
+         }
+
+         assertTrue(latch.await(10, TimeUnit.SECONDS));
+         assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), completed);
+      } finally {
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void testCompleteTasksFromConcurrentThreads() throws Exception {
+      final int threads = 8;
+      final int tasksPerThread = 1000;
+      ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      ExecutorService completions = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      ExecutorService sessions = Executors.newFixedThreadPool(threads, ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         final OperationContextImpl impl = new OperationContextImpl(executor);
+         final CountDownLatch latch = new CountDownLatch(threads * tasksPerThread);
+         final AtomicInteger failures = new AtomicInteger(0);
+
+         for (int t = 0; t < threads; t++) {
+            sessions.execute(() -> {
+               for (int i = 0; i < tasksPerThread; i++) {
+                  impl.storeLineUp();
+                  completions.execute(impl::done);
+                  impl.executeOnCompletion(new IOCallback() {
+
+                     @Override
+                     public void onError(int errorCode, String errorMessage) {
+                        failures.incrementAndGet();
+                     }
+
+                     @Override
+                     public void done() {
+                        latch.countDown();
+                     }
+                  }, i % 2 == 0);
+               }
+            });
+         }
+
+         assertTrue(latch.await(10, TimeUnit.SECONDS));
+         assertEquals(0, failures.get());
+      } finally {
+         sessions.shutdown();
+         completions.shutdown();
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void testStoreOnlyTasksBeforeLaterCompletions() throws Exception {
+      final int completionsPerStore = 100;
+      ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      ExecutorService completions = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
+      try {
+         final AtomicInteger outOfOrder = new AtomicInteger(0);
+         for (int i = 0; i < 2000; i++) {
+            final OperationContextImpl impl = new OperationContextImpl(executor);
+            final AtomicBoolean storeOnlyDone = new AtomicBoolean(false);
+            final CountDownLatch latch = new CountDownLatch(completionsPerStore + 1);
+
+            impl.storeLineUp();
+            impl.executeOnCompletion(new IOCallback() {
+               @Override
+               public void onError(int errorCode, String errorMessage) {
+               }
+
+               @Override
+               public void done() {
+                  storeOnlyDone.set(true);
+                  latch.countDown();
+               }
+            }, true);
+            // the store completes while the next completions are added: none can run ahead of the store only one
+            final CountDownLatch storing = new CountDownLatch(1);
+            completions.execute(() -> {
+               storing.countDown();
+               impl.done();
+            });
+            storing.await();
+            for (int j = 0; j < completionsPerStore; j++) {
+               impl.executeOnCompletion(new IOCallback() {
+                  @Override
+                  public void onError(int errorCode, String errorMessage) {
+                  }
+
+                  @Override
+                  public void done() {
+                     if (!storeOnlyDone.get()) {
+                        outOfOrder.incrementAndGet();
+                     }
+                     latch.countDown();
+                  }
+               }, false);
+            }
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+         }
+         assertEquals(0, outOfOrder.get());
+      } finally {
+         completions.shutdown();
+         executor.shutdown();
+      }
+   }
+
    @Test
    public void testCaptureExceptionOnExecutor() throws Exception {
       ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory());
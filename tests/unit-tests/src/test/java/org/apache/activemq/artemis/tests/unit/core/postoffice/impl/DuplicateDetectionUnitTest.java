@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.Pair;
@@ -31,6 +32,7 @@ import org.apache.activemq.artemis.core.persistence.AddressBindingInfo;
 import org.apache.activemq.artemis.core.persistence.GroupingInfo;
 import org.apache.activemq.artemis.core.persistence.QueueBindingInfo;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.postoffice.impl.DuplicateIDCacheImpl;
 import org.apache.activemq.artemis.core.server.impl.PostOfficeJournalLoader;
@@ -160,4 +162,74 @@ public class DuplicateDetectionUnitTest extends ActiveMQTestBase {
       }
 
    }
+
+   @Test
+   public void testRotateInMemory() throws Exception {
+      final int cacheSize = 100;
+      DuplicateIDCacheImpl cacheID = new DuplicateIDCacheImpl(new SimpleString("address"), cacheSize, new NullStorageManager(), false);
+
+      final List<byte[]> ids = new ArrayList<>();
+      for (int i = 0; i < cacheSize * 3 + 7; i++) {
+         final byte[] id = RandomUtil.randomBytes();
+         ids.add(id);
+         Assert.assertTrue(cacheID.atomicVerify(id, null));
+         Assert.assertFalse(cacheID.atomicVerify(id.clone(), null));
+      }
+
+      for (int i = 0; i < ids.size(); i++) {
+         Assert.assertEquals(i >= ids.size() - cacheSize, cacheID.contains(ids.get(i).clone()));
+      }
+      Assert.assertEquals(cacheSize, cacheID.getMap().size());
+
+      final byte[] deleted = ids.get(ids.size() - 1);
+      cacheID.deleteFromCache(deleted.clone());
+      Assert.assertFalse(cacheID.contains(deleted));
+      Assert.assertEquals(cacheSize - 1, cacheID.getMap().size());
+
+      // the ids are still rotated: the oldest one is replaced
+      cacheID.addToCache(deleted);
+      Assert.assertTrue(cacheID.contains(deleted));
+      Assert.assertFalse(cacheID.contains(ids.get(ids.size() - cacheSize)));
+      Assert.assertTrue(cacheID.contains(ids.get(ids.size() - cacheSize + 1)));
+
+      cacheID.clear();
+      Assert.assertEquals(0, cacheID.getMap().size());
+      for (byte[] id : ids) {
+         Assert.assertFalse(cacheID.contains(id));
+      }
+   }
+
+   @Test
+   public void testContainsWhileAdding() throws Exception {
+      final DuplicateIDCacheImpl cacheID = new DuplicateIDCacheImpl(new SimpleString("address"), 100_000, new NullStorageManager(), false);
+      final List<byte[]> ids = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         final byte[] id = RandomUtil.randomBytes();
+         ids.add(id);
+         cacheID.addToCache(id);
+      }
+
+      final AtomicBoolean adding = new AtomicBoolean(true);
+      final AtomicBoolean failed = new AtomicBoolean(false);
+      // the ids are looked up while the arrays grow and get rehashed
+      final Thread reader = new Thread(() -> {
+         while (adding.get()) {
+            for (byte[] id : ids) {
+               if (!cacheID.contains(id.clone()) || cacheID.contains(RandomUtil.randomBytes())) {
+                  failed.set(true);
+               }
+            }
+         }
+      });
+      reader.start();
+      try {
+         for (int i = 0; i < 50_000; i++) {
+            cacheID.addToCache(RandomUtil.randomBytes());
+         }
+      } finally {
+         adding.set(false);
+         reader.join();
+      }
+      Assert.assertFalse(failed.get());
+   }
 }
@@ -196,6 +196,51 @@ public class WildcardAddressManagerUnitTest extends ActiveMQTestBase {
 
    }
 
+   @SuppressWarnings("unchecked")
+   @Test
+   public void testWildCardAddressesLinkedAsMatching() throws Exception {
+      final WildcardConfiguration configuration = new WildcardConfiguration();
+      WildcardAddressManager ad = new WildcardAddressManager(new BindingFactoryFake(), configuration, null, null);
+      final String[] addresses = {"a", "b", "a.b", "a.c", "a.b.c", "a.b.c.d", "a.c.c", "b.c", "c.b.a", "a.b.b.c"};
+      final String[] wildCardAddresses = {"#", "a.#", "*", "a.*", "*.b", "*.*.c", "a.#.c", "#.c", "a.*.#", "b.#", "a.b.#", "c.*.*", "a.b.*.d"};
+      int id = 0;
+      for (String address : wildCardAddresses) {
+         ad.addBinding(new BindingFake(address, "q" + id++));
+      }
+      for (String address : addresses) {
+         ad.addBinding(new BindingFake(address, "q" + id++));
+      }
+
+      Field addressesField = WildcardAddressManager.class.getDeclaredField("addresses");
+      addressesField.setAccessible(true);
+      Map<SimpleString, Address> addressesMap = (Map<SimpleString, Address>) addressesField.get(ad);
+      Field wildcardAddressField = WildcardAddressManager.class.getDeclaredField("wildCardAddresses");
+      wildcardAddressField.setAccessible(true);
+      Map<SimpleString, Address> wildcardAddressesMap = (Map<SimpleString, Address>) wildcardAddressField.get(ad);
+
+      assertEquals(addresses.length, addressesMap.size());
+      assertEquals(wildCardAddresses.length, wildcardAddressesMap.size());
+      for (Address address : addressesMap.values()) {
+         for (Address wildCardAddress : wildcardAddressesMap.values()) {
+            final boolean matches = address.matches(wildCardAddress);
+            assertEquals(address.getAddress() + " matching " + wildCardAddress.getAddress(), matches, address.getLinkedAddresses().contains(wildCardAddress));
+            assertEquals(address.getAddress() + " matching " + wildCardAddress.getAddress(), matches, wildCardAddress.getLinkedAddresses().contains(address));
+            assertEquals(address.getAddress() + " matching " + wildCardAddress.getAddress(), matches ? 1 : 0, ad.getBindingsForRoutingAddress(address.getAddress()).getBindings().stream().filter(binding -> binding.getAddress().equals(wildCardAddress.getAddress())).count());
+         }
+      }
+
+      ad.removeBinding(SimpleString.toSimpleString("q1"), null);
+      assertNull(wildcardAddressesMap.get(SimpleString.toSimpleString("a.#")));
+      for (Address address : addressesMap.values()) {
+         for (Address linked : address.getLinkedAddresses()) {
+            assertNotEquals(SimpleString.toSimpleString("a.#"), linked.getAddress());
+         }
+      }
+      ad.addBinding(new BindingFake("a.#", "q" + id++));
+      final Address anyWordsAddress = wildcardAddressesMap.get(SimpleString.toSimpleString("a.#"));
+      assertEquals(addressesMap.values().stream().filter(address -> address.matches(anyWordsAddress)).count(), anyWordsAddress.getLinkedAddresses().size());
+   }
+
    class BindingFactoryFake implements BindingsFactory {
 
       @Override
@@ -16,14 +16,21 @@
  */
 package org.apache.activemq.artemis.tests.unit.core.remoting.impl.netty;
 
+import java.io.File;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.channel.MessageSizeEstimator;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
@@ -31,6 +38,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyServerConnection;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.spi.core.remoting.ClientConnectionLifeCycleListener;
 import org.apache.activemq.artemis.spi.core.remoting.ClientProtocolManager;
@@ -64,6 +72,70 @@ public class NettyConnectionTest extends ActiveMQTestBase {
       Assert.assertEquals(1, channel.outboundMessages().size());
    }
 
+   @Test
+   public void testWriteCoalesced() throws Exception {
+      EmbeddedChannel channel = createChannel();
+      NettyConnection conn = new NettyConnection(emptyMap, channel, new MyListener(), false, false);
+
+      // on the event loop no other coalesced write can be pending: each one is flushed at once
+      conn.writeCoalesced(ActiveMQBuffers.wrappedBuffer(new byte[]{1}));
+      Assert.assertEquals(1, channel.outboundMessages().size());
+      conn.writeCoalesced(ActiveMQBuffers.wrappedBuffer(new byte[]{2}));
+      Assert.assertEquals(2, channel.outboundMessages().size());
+   }
+
+   @Test
+   public void testWriteFileRegion() throws Exception {
+      final File file = new File(getTemporaryDir(), "body");
+      Files.write(file.toPath(), new byte[]{1, 2, 3, 4});
+      final FileRegion fileRegion = new DefaultFileRegion(file, 1, 2);
+      final ActiveMQBuffer header = ActiveMQBuffers.wrappedBuffer(new byte[]{0});
+      final ActiveMQBuffer trailer = ActiveMQBuffers.wrappedBuffer(new byte[]{5});
+      EmbeddedChannel channel = createChannel();
+
+      NettyServerConnection conn = new NettyServerConnection(emptyMap, channel, null, false, false, true);
+      Assert.assertTrue(conn.isFileRegionSupported());
+      conn.write(header, fileRegion, trailer);
+      channel.runPendingTasks();
+
+      Assert.assertEquals(3, channel.outboundMessages().size());
+      Assert.assertSame(header.byteBuf(), channel.readOutbound());
+      Assert.assertSame(fileRegion, channel.readOutbound());
+      Assert.assertSame(trailer.byteBuf(), channel.readOutbound());
+      fileRegion.release();
+   }
+
+   @Test
+   public void testWriteFileRegionNotEnabled() throws Exception {
+      final File file = new File(getTemporaryDir(), "body");
+      Files.write(file.toPath(), new byte[]{1, 2, 3, 4});
+      final FileRegion fileRegion = new DefaultFileRegion(file, 1, 2);
+      EmbeddedChannel channel = createChannel();
+
+      NettyServerConnection conn = new NettyServerConnection(emptyMap, channel, null, false, false);
+      Assert.assertFalse(conn.isFileRegionSupported());
+      // the file region is copied in the buffer, between the header and the trailer
+      conn.write(ActiveMQBuffers.wrappedBuffer(new byte[]{0}), fileRegion, ActiveMQBuffers.wrappedBuffer(new byte[]{5}));
+      channel.runPendingTasks();
+
+      Assert.assertEquals(0, fileRegion.refCnt());
+      Assert.assertEquals(1, channel.outboundMessages().size());
+      final ByteBuf buffer = channel.readOutbound();
+      final byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.readBytes(bytes);
+      buffer.release();
+      Assert.assertArrayEquals(new byte[]{0, 2, 3, 5}, bytes);
+   }
+
+   @Test
+   public void testFileRegionSize() throws Exception {
+      final MessageSizeEstimator.Handle handle = NettyServerConnection.FILE_REGION_SIZE_ESTIMATOR.newHandle();
+      final FileRegion fileRegion = new DefaultFileRegion(new File(getTemporaryDir(), "body"), 10, 1024);
+      Assert.assertEquals(1024, handle.size(fileRegion));
+      Assert.assertEquals(16, handle.size(Unpooled.buffer(16).writerIndex(16)));
+      fileRegion.release();
+   }
+
    @Test
    public void testCreateBuffer() throws Exception {
       EmbeddedChannel channel = createChannel();